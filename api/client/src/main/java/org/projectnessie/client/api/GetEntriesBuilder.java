@@ -16,6 +16,7 @@
 package org.projectnessie.client.api;
 
 import org.projectnessie.error.NessieNotFoundException;
+import org.projectnessie.model.ContentKey;
 import org.projectnessie.model.EntriesResponse;
 
 /**
@@ -32,6 +33,14 @@ public interface GetEntriesBuilder
 
   GetEntriesBuilder withContent(boolean withContent);
 
+  /**
+   * Only return the entry for the given key and the entries whose keys start with the elements of
+   * the given key, for example all entries in a namespace.
+   *
+   * @since {@link NessieApiV2}
+   */
+  GetEntriesBuilder prefixKey(ContentKey prefixKey);
+
   @Override // kept for byte-code compatibility
   EntriesResponse get() throws NessieNotFoundException;
 }
@@ -20,6 +20,7 @@ import java.util.stream.Stream;
 import org.projectnessie.client.StreamingUtil;
 import org.projectnessie.client.api.GetEntriesBuilder;
 import org.projectnessie.error.NessieNotFoundException;
+import org.projectnessie.model.ContentKey;
 import org.projectnessie.model.EntriesResponse;
 import org.projectnessie.model.EntriesResponse.Entry;
 
@@ -33,6 +34,7 @@ public abstract class BaseGetEntriesBuilder<PARAMS>
   protected String filter;
   protected Integer namespaceDepth;
   protected boolean withContent;
+  protected ContentKey prefixKey;
 
   protected BaseGetEntriesBuilder(BiFunction<PARAMS, String, PARAMS> paramsForPage) {
     this.paramsForPage = paramsForPage;
@@ -68,6 +70,12 @@ public abstract class BaseGetEntriesBuilder<PARAMS>
     return this;
   }
 
+  @Override
+  public GetEntriesBuilder prefixKey(ContentKey prefixKey) {
+    this.prefixKey = prefixKey;
+    return this;
+  }
+
   protected abstract PARAMS params();
 
   protected abstract EntriesResponse get(PARAMS p) throws NessieNotFoundException;
@@ -45,6 +45,9 @@ final class HttpGetEntries extends BaseGetEntriesBuilder<EntriesParams> {
     if (withContent) {
       throw new IllegalArgumentException("'withContent' is not available with REST API v1");
     }
+    if (prefixKey != null) {
+      throw new IllegalArgumentException("'prefixKey' is not available with REST API v1");
+    }
     return client.getTreeApi().getEntries(refName, p);
   }
 }
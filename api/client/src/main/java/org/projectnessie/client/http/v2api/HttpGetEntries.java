@@ -37,6 +37,7 @@ final class HttpGetEntries extends BaseGetEntriesBuilder<EntriesParams> {
         .filter(filter)
         .maxRecords(maxRecords)
         .withContent(withContent)
+        .prefixKey(prefixKey)
         .build();
   }
 
@@ -48,6 +49,7 @@ final class HttpGetEntries extends BaseGetEntriesBuilder<EntriesParams> {
         .resolveTemplate("ref", Reference.toPathString(refName, hashOnRef))
         .queryParam("filter", p.filter())
         .queryParam("content", p.withContent() ? "true" : null)
+        .queryParam("prefix-key", p.prefixKey() != null ? p.prefixKey().toPathString() : null)
         .queryParam("page-token", p.pageToken())
         .queryParam("max-records", p.maxRecords())
         .unwrap(NessieNotFoundException.class)
@@ -20,6 +20,7 @@ import javax.ws.rs.QueryParam;
 import org.eclipse.microprofile.openapi.annotations.media.ExampleObject;
 import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
 import org.immutables.builder.Builder.Constructor;
+import org.projectnessie.model.ContentKey;
 
 /**
  * The purpose of this class is to include optional parameters that can be passed to {@code
@@ -52,6 +53,21 @@ public class EntriesParams extends AbstractParams<EntriesParams> {
   @jakarta.ws.rs.QueryParam("content")
   private Boolean withContent;
 
+  @Nullable
+  @jakarta.annotation.Nullable
+  @Parameter(
+      description =
+          "Optionally restricts the returned entries to the given key and the keys that start with "
+              + "the elements of the given key, for example the contents of a namespace. "
+              + "Only the relevant parts of the key index are read.\n"
+              + "\n"
+              + "Key components (namespaces) are separated by the dot ('.') character. Dot ('.') "
+              + "characters that are not Nessie namespace separators must be encoded as the "
+              + "'group separator' ASCII character (0x1D).\n")
+  @QueryParam("prefix-key")
+  @jakarta.ws.rs.QueryParam("prefix-key")
+  private ContentKey prefixKey;
+
   public EntriesParams() {}
 
   @Constructor
@@ -59,10 +75,12 @@ public class EntriesParams extends AbstractParams<EntriesParams> {
       @Nullable @jakarta.annotation.Nullable Integer maxRecords,
       @Nullable @jakarta.annotation.Nullable String pageToken,
       @Nullable @jakarta.annotation.Nullable String filter,
-      @Nullable @jakarta.annotation.Nullable Boolean withContent) {
+      @Nullable @jakarta.annotation.Nullable Boolean withContent,
+      @Nullable @jakarta.annotation.Nullable ContentKey prefixKey) {
     super(maxRecords, pageToken);
     this.filter = filter;
     this.withContent = withContent;
+    this.prefixKey = prefixKey;
   }
 
   public static EntriesParamsBuilder builder() {
@@ -83,8 +101,14 @@ public class EntriesParams extends AbstractParams<EntriesParams> {
     return withContent != null && withContent;
   }
 
+  @Nullable
+  @jakarta.annotation.Nullable
+  public ContentKey prefixKey() {
+    return prefixKey;
+  }
+
   @Override
   public EntriesParams forNextPage(String pageToken) {
-    return new EntriesParams(maxRecords(), pageToken, filter, withContent);
+    return new EntriesParams(maxRecords(), pageToken, filter, withContent, prefixKey);
   }
 }
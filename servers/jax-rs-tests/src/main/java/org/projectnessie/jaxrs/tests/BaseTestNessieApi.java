@@ -999,6 +999,61 @@ public abstract class BaseTestNessieApi {
     }
   }
 
+  @Test
+  public void entriesWithPrefixKey() throws Exception {
+    Branch main =
+        prepCommit(
+                api().getDefaultBranch(),
+                "commit",
+                Put.of(ContentKey.of("ns"), Namespace.of("ns")),
+                Put.of(ContentKey.of("ns", "sub"), Namespace.of("ns", "sub")),
+                Put.of(ContentKey.of("ns2"), Namespace.of("ns2")),
+                dummyPut("ns", "t1"),
+                dummyPut("ns", "sub", "t2"),
+                dummyPut("ns2", "t3"),
+                dummyPut("nst"))
+            .commit();
+
+    if (!isV2()) {
+      soft.assertThatThrownBy(
+              () -> api().getEntries().reference(main).prefixKey(ContentKey.of("ns")).get())
+          .isInstanceOf(IllegalArgumentException.class)
+          .hasMessageContaining("prefixKey");
+      return;
+    }
+
+    // Sibling keys that merely start with the same characters, like 'ns2' and 'nst', must not match
+    soft.assertThat(
+            api().getEntries().reference(main).prefixKey(ContentKey.of("ns")).get().getEntries())
+        .extracting(EntriesResponse.Entry::getName)
+        .containsExactlyInAnyOrder(
+            ContentKey.of("ns"),
+            ContentKey.of("ns", "sub"),
+            ContentKey.of("ns", "sub", "t2"),
+            ContentKey.of("ns", "t1"));
+    soft.assertThat(
+            api()
+                .getEntries()
+                .reference(main)
+                .prefixKey(ContentKey.of("ns", "sub"))
+                .get()
+                .getEntries())
+        .extracting(EntriesResponse.Entry::getName)
+        .containsExactlyInAnyOrder(ContentKey.of("ns", "sub"), ContentKey.of("ns", "sub", "t2"));
+    soft.assertThat(
+            api().getEntries().reference(main).prefixKey(ContentKey.of("n")).get().getEntries())
+        .isEmpty();
+    soft.assertThat(
+            api()
+                .getEntries()
+                .reference(main)
+                .prefixKey(ContentKey.of("ns2"))
+                .maxRecords(1)
+                .stream())
+        .extracting(EntriesResponse.Entry::getName)
+        .containsExactlyInAnyOrder(ContentKey.of("ns2"), ContentKey.of("ns2", "t3"));
+  }
+
   @NessieApiVersions(versions = NessieApiVersion.V2)
   @Test
   public void entryContentId() throws Exception {
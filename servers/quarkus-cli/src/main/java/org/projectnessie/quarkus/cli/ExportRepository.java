@@ -43,6 +43,7 @@ public class ExportRepository extends BaseCommand {
   static final String MAX_FILE_SIZE = "--max-file-size";
   static final String EXPECTED_COMMIT_COUNT = "--expected-commit-count";
   static final String OUTPUT_BUFFER_SIZE = "--output-buffer-size";
+  static final String PARALLELISM = "--parallelism";
 
   enum Format {
     ZIP,
@@ -87,6 +88,16 @@ public class ExportRepository extends BaseCommand {
           "Output buffer size, defaults to " + ExportImportConstants.DEFAULT_BUFFER_SIZE + ".")
   private Integer outputBufferSize;
 
+  @CommandLine.Option(
+      names = PARALLELISM,
+      description = {
+        "Number of threads that walk the commit logs of the named references, defaults to "
+            + ExportImportConstants.DEFAULT_EXPORT_PARALLELISM
+            + ".",
+        "Only effective for the new storage model without --full-scan."
+      })
+  private Integer parallelism;
+
   @CommandLine.Option(
       names = {"--full-scan"},
       description = {
@@ -125,6 +136,9 @@ public class ExportRepository extends BaseCommand {
       if (outputBufferSize != null) {
         builder.outputBufferSize(outputBufferSize);
       }
+      if (parallelism != null) {
+        builder.exportParallelism(parallelism);
+      }
 
       PrintWriter out = spec.commandLine().getOut();
 
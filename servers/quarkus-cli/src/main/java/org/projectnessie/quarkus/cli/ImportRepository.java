@@ -58,6 +58,7 @@ public class ImportRepository extends BaseCommand {
   static final String NO_OPTIMIZE = "--no-optimize";
   static final String INPUT_BUFFER_SIZE = "--input-buffer-size";
   static final String COMMIT_BATCH_SIZE = "--commit-batch-size";
+  static final String PARALLELISM = "--parallelism";
 
   @CommandLine.Option(
       names = {"-p", PATH},
@@ -77,6 +78,16 @@ public class ImportRepository extends BaseCommand {
               + ".")
   private Integer commitBatchSize;
 
+  @CommandLine.Option(
+      names = PARALLELISM,
+      description = {
+        "Number of threads that build and write commits and complete commit indexes, defaults to "
+            + ExportImportConstants.DEFAULT_IMPORT_PARALLELISM
+            + ".",
+        "Only effective for the new storage model."
+      })
+  private Integer parallelism;
+
   @CommandLine.Option(
       names = INPUT_BUFFER_SIZE,
       description =
@@ -183,6 +194,9 @@ public class ImportRepository extends BaseCommand {
       if (commitBatchSize != null) {
         builder.commitBatchSize(commitBatchSize);
       }
+      if (parallelism != null) {
+        builder.importParallelism(parallelism);
+      }
 
       if (!erase && repositoryLogic(persist).repositoryExists()) {
         spec.commandLine()
@@ -279,7 +293,9 @@ public class ImportRepository extends BaseCommand {
           break;
         case END_COMMITS:
           endPhase();
-          out.printf("%d commits imported, total duration: %s.%n%n", count, totalDuration());
+          out.printf(
+              "%d commits imported, total duration: %s, %.1f commits/s.%n%n",
+              count, totalDuration(), perSecond(count, System.nanoTime() - timeOffset));
           break;
         case START_NAMED_REFERENCES:
           out.printf("Importing %d named references...%n", exportMeta.getNamedReferencesCount());
@@ -298,7 +314,9 @@ public class ImportRepository extends BaseCommand {
             long last = timeLast;
             long now = System.nanoTime();
             timeLast = now;
-            out.printf(" %d - duration: %s%n", count, Duration.ofNanos(now - last));
+            out.printf(
+                " %d - duration: %s, %.1f/s%n",
+                count, Duration.ofNanos(now - last), perSecond(1000, now - last));
             dot = false;
           }
           break;
@@ -320,6 +338,10 @@ public class ImportRepository extends BaseCommand {
       }
     }
 
+    private static double perSecond(long count, long nanos) {
+      return nanos > 0L ? count * 1_000_000_000d / nanos : 0d;
+    }
+
     private Duration totalDuration() {
       return Duration.ofNanos(System.nanoTime() - timeOffset);
     }
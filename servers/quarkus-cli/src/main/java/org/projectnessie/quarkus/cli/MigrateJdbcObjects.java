@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.quarkus.cli;
+
+import java.io.PrintWriter;
+import java.time.Duration;
+import javax.enterprise.inject.Instance;
+import javax.inject.Inject;
+import org.projectnessie.versioned.storage.common.persist.Backend;
+import org.projectnessie.versioned.storage.jdbc.JdbcObjectsMigration;
+import picocli.CommandLine.Command;
+
+@Command(
+    name = "migrate-jdbc-objects",
+    mixinStandardHelpOptions = true,
+    description =
+        "Move all objects from the 'objs' table to the compact 'objs_payload' table, requires the "
+            + "PAYLOAD_MIGRATING JDBC objects layout.")
+public class MigrateJdbcObjects extends BaseCommand {
+
+  @Inject Instance<Backend> backendInstance;
+
+  @Override
+  protected Integer callWithPersist() {
+    Backend backend = backendInstance.get();
+    if (!JdbcObjectsMigration.canMigrateObjs(backend)) {
+      spec.commandLine()
+          .getErr()
+          .println(
+              spec.commandLine()
+                  .getColorScheme()
+                  .errorText(
+                      "Command '"
+                          + spec.name()
+                          + "' requires the JDBC version store with the PAYLOAD_MIGRATING objects"
+                          + " layout."));
+      return 1;
+    }
+
+    PrintWriter out = spec.commandLine().getOut();
+
+    out.println("Moving objects to the compact objects table...");
+
+    long t0 = System.nanoTime();
+    long migrated = JdbcObjectsMigration.migrateObjs(backend);
+    Duration duration = Duration.ofNanos(System.nanoTime() - t0);
+
+    out.printf("Moved %d objects, finished after %s%n", migrated, duration);
+    out.println("The JDBC objects layout can now be switched to PAYLOAD.");
+
+    return 0;
+  }
+}
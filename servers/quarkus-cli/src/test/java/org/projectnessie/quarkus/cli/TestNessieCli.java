@@ -43,4 +43,11 @@ class TestNessieCli {
         .contains(
             "Repository information & maintenance for an in-memory implementation is meaningless");
   }
+
+  @Test
+  @Launch(value = "migrate-jdbc-objects", exitCode = 1)
+  public void testMigrateJdbcObjectsRequiresJdbc(LaunchResult result) {
+    assertThat(result.getErrorOutput())
+        .contains("requires the JDBC version store with the PAYLOAD_MIGRATING objects layout");
+  }
 }
@@ -57,6 +57,7 @@ dependencies {
   implementation("io.quarkus:quarkus-jdbc-postgresql")
   implementation("io.quarkiverse.amazonservices:quarkus-amazon-dynamodb")
   implementation(libs.awssdk.apache.client) { exclude("commons-logging", "commons-logging") }
+  implementation(libs.awssdk.netty.nio.client)
   implementation("io.quarkus:quarkus-mongodb-client")
   implementation("com.datastax.oss.quarkus:cassandra-quarkus-client")
   implementation("org.jboss.slf4j:slf4j-jboss-logmanager")
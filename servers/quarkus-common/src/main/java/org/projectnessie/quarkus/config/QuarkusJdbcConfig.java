@@ -21,6 +21,7 @@ import io.smallrye.config.WithConverter;
 import io.smallrye.config.WithDefault;
 import io.smallrye.config.WithName;
 import org.projectnessie.versioned.storage.jdbc.JdbcBackendBaseConfig;
+import org.projectnessie.versioned.storage.jdbc.JdbcObjectsLayout;
 
 @StaticInitSafe
 @ConfigMapping(prefix = "nessie.version.store.persist.jdbc")
@@ -37,4 +38,9 @@ public interface QuarkusJdbcConfig extends JdbcBackendBaseConfig {
   @WithConverter(RepoIdConverter.class)
   @Override
   String schema();
+
+  @WithName("objects-layout")
+  @WithDefault(DEFAULT_OBJECTS_LAYOUT)
+  @Override
+  JdbcObjectsLayout objectsLayout();
 }
@@ -30,4 +30,54 @@ public interface QuarkusRocksConfig extends RocksDBBackendBaseConfig {
   @WithDefault("/tmp/nessie-rocksdb-store")
   @Override
   Path databasePath();
+
+  @WithName("block-cache-size")
+  @WithDefault("" + DEFAULT_BLOCK_CACHE_SIZE)
+  @Override
+  long blockCacheSize();
+
+  @WithName("bloom-filter-bits-per-key")
+  @WithDefault("" + DEFAULT_BLOOM_FILTER_BITS_PER_KEY)
+  @Override
+  int bloomFilterBitsPerKey();
+
+  @WithName("objects-compression")
+  @WithDefault(DEFAULT_OBJECTS_COMPRESSION)
+  @Override
+  String objectsCompression();
+
+  @WithName("objects-bottommost-compression")
+  @WithDefault(DEFAULT_OBJECTS_BOTTOMMOST_COMPRESSION)
+  @Override
+  String objectsBottommostCompression();
+
+  @WithName("references-compression")
+  @WithDefault(DEFAULT_REFERENCES_COMPRESSION)
+  @Override
+  String referencesCompression();
+
+  @WithName("prefix-extractor-length")
+  @WithDefault("" + DEFAULT_PREFIX_EXTRACTOR_LENGTH)
+  @Override
+  int prefixExtractorLength();
+
+  @WithName("write-buffer-size")
+  @WithDefault("" + DEFAULT_WRITE_BUFFER_SIZE)
+  @Override
+  long writeBufferSize();
+
+  @WithName("max-write-buffer-number")
+  @WithDefault("" + DEFAULT_MAX_WRITE_BUFFER_NUMBER)
+  @Override
+  int maxWriteBufferNumber();
+
+  @WithName("max-total-wal-size")
+  @WithDefault("" + DEFAULT_MAX_TOTAL_WAL_SIZE)
+  @Override
+  long maxTotalWalSize();
+
+  @WithName("statistics-enabled")
+  @WithDefault("" + DEFAULT_STATISTICS_ENABLED)
+  @Override
+  boolean statisticsEnabled();
 }
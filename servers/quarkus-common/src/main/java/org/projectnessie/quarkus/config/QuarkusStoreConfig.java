@@ -21,7 +21,10 @@ import io.smallrye.config.ConfigMapping;
 import io.smallrye.config.WithConverter;
 import io.smallrye.config.WithDefault;
 import io.smallrye.config.WithName;
+import java.time.Duration;
+import org.projectnessie.versioned.storage.cache.CacheConfig;
 import org.projectnessie.versioned.storage.common.config.StoreConfig;
+import org.projectnessie.versioned.storage.common.objtypes.Compression;
 
 @StaticInitSafe
 @ConfigMapping(prefix = "nessie.version.store.persist")
@@ -76,6 +79,16 @@ public interface QuarkusStoreConfig extends StoreConfig {
   @Override
   int maxIncrementalIndexSize();
 
+  @WithName(CONFIG_INDEX_COMPRESSION)
+  @WithDefault(DEFAULT_INDEX_COMPRESSION)
+  @Override
+  Compression indexCompression();
+
+  @WithName(CONFIG_INDEX_COMPRESSION_MIN_SIZE)
+  @WithDefault("" + DEFAULT_INDEX_COMPRESSION_MIN_SIZE)
+  @Override
+  int indexCompressionMinSize();
+
   @WithName(CONFIG_MAX_REFERENCE_STRIPES_PER_COMMIT)
   @WithDefault("" + DEFAULT_MAX_REFERENCE_STRIPES_PER_COMMIT)
   @Override
@@ -86,6 +99,36 @@ public interface QuarkusStoreConfig extends StoreConfig {
   @Override
   long assumedWallClockDriftMicros();
 
+  @WithName(CONFIG_INDEX_CACHE_CAPACITY)
+  @WithDefault("" + DEFAULT_INDEX_CACHE_CAPACITY)
+  @Override
+  long indexCacheCapacity();
+
+  @WithName(CONFIG_CONTENT_FETCH_BATCH_SIZE)
+  @WithDefault("" + DEFAULT_CONTENT_FETCH_BATCH_SIZE)
+  @Override
+  int contentFetchBatchSize();
+
+  @WithName(CONFIG_REFERENCE_INFO_PARALLELISM)
+  @WithDefault("" + DEFAULT_REFERENCE_INFO_PARALLELISM)
+  @Override
+  int referenceInfoParallelism();
+
+  @WithName(CONFIG_COMMIT_LOG_PREFETCH_DEPTH)
+  @WithDefault("" + DEFAULT_COMMIT_LOG_PREFETCH_DEPTH)
+  @Override
+  int commitLogPrefetchDepth();
+
+  @WithName(CONFIG_COMMIT_COALESCING)
+  @WithDefault("" + DEFAULT_COMMIT_COALESCING)
+  @Override
+  boolean commitCoalescing();
+
+  @WithName(CONFIG_COMMIT_COALESCING_MAX_COMMITS)
+  @WithDefault("" + DEFAULT_COMMIT_COALESCING_MAX_COMMITS)
+  @Override
+  int commitCoalescingMaxCommits();
+
   @WithName(CONFIG_NAMESPACE_VALIDATION)
   @WithDefault("" + DEFAULT_NAMESPACE_VALIDATION)
   @Override
@@ -97,4 +140,30 @@ public interface QuarkusStoreConfig extends StoreConfig {
   @WithName(CONFIG_CACHE_CAPACITY_MB)
   @WithDefault("" + DEFAULT_CACHE_CAPACITY_MB)
   int cacheCapacityMB();
+
+  String CONFIG_CACHE_OBJ_CAPACITY_MB = "cache-obj-capacity-mb";
+  int DEFAULT_CACHE_OBJ_CAPACITY_MB = 0;
+
+  /**
+   * Capacity of the additional cache tier that holds deserialized objects, which avoids
+   * deserializing frequently accessed objects. Only effective, if {@link #cacheCapacityMB()} is
+   * greater than {@code 0}.
+   */
+  @WithName(CONFIG_CACHE_OBJ_CAPACITY_MB)
+  @WithDefault("" + DEFAULT_CACHE_OBJ_CAPACITY_MB)
+  int cacheObjCapacityMB();
+
+  String CONFIG_CACHE_REFERENCE_TTL = "cache-reference-ttl";
+
+  /**
+   * Duration for which references are served from the cache, only effective, if {@link
+   * #cacheCapacityMB()} is greater than {@code 0}.
+   *
+   * <p>The default of {@code PT0S} disables caching of references, all reference reads are strict
+   * and go to the database. A positive value enables bounded-staleness reads: reference changes
+   * performed by other Nessie instances may become visible only after this duration.
+   */
+  @WithName(CONFIG_CACHE_REFERENCE_TTL)
+  @WithDefault(CacheConfig.DEFAULT_REFERENCE_TTL)
+  Duration cacheReferenceTtl();
 }
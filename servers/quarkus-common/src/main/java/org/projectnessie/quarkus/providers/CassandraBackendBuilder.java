@@ -16,8 +16,14 @@
 package org.projectnessie.quarkus.providers;
 
 import static org.projectnessie.quarkus.config.VersionStoreConfig.VersionStoreType.CASSANDRA;
+import static org.projectnessie.versioned.storage.cassandra.CassandraBackendConfig.DEFAULT_ADAPTIVE_CONCURRENCY;
+import static org.projectnessie.versioned.storage.cassandra.CassandraBackendConfig.DEFAULT_ADAPTIVE_CONCURRENCY_MAX_LIMIT;
 import static org.projectnessie.versioned.storage.cassandra.CassandraBackendConfig.DEFAULT_DDL_TIMEOUT;
 import static org.projectnessie.versioned.storage.cassandra.CassandraBackendConfig.DEFAULT_DML_TIMEOUT;
+import static org.projectnessie.versioned.storage.cassandra.CassandraBackendConfig.DEFAULT_MAX_CONCURRENT_BATCH_READS;
+import static org.projectnessie.versioned.storage.cassandra.CassandraBackendConfig.DEFAULT_MAX_CONCURRENT_DELETES;
+import static org.projectnessie.versioned.storage.cassandra.CassandraBackendConfig.DEFAULT_MAX_CONCURRENT_STORES;
+import static org.projectnessie.versioned.storage.cassandra.CassandraBackendConfig.DEFAULT_SELECT_BATCH_SIZE;
 
 import com.datastax.oss.quarkus.runtime.api.session.QuarkusCqlSession;
 import java.time.Duration;
@@ -52,6 +58,42 @@ public class CassandraBackendBuilder implements BackendBuilder {
       defaultValue = DEFAULT_DML_TIMEOUT)
   Duration dmlTimeout;
 
+  @Inject
+  @ConfigProperty(
+      name = "nessie.version.store.cassandra.select-batch-size",
+      defaultValue = "" + DEFAULT_SELECT_BATCH_SIZE)
+  int selectBatchSize;
+
+  @Inject
+  @ConfigProperty(
+      name = "nessie.version.store.cassandra.max-concurrent-batch-reads",
+      defaultValue = "" + DEFAULT_MAX_CONCURRENT_BATCH_READS)
+  int maxConcurrentBatchReads;
+
+  @Inject
+  @ConfigProperty(
+      name = "nessie.version.store.cassandra.max-concurrent-stores",
+      defaultValue = "" + DEFAULT_MAX_CONCURRENT_STORES)
+  int maxConcurrentStores;
+
+  @Inject
+  @ConfigProperty(
+      name = "nessie.version.store.cassandra.max-concurrent-deletes",
+      defaultValue = "" + DEFAULT_MAX_CONCURRENT_DELETES)
+  int maxConcurrentDeletes;
+
+  @Inject
+  @ConfigProperty(
+      name = "nessie.version.store.cassandra.adaptive-concurrency",
+      defaultValue = "" + DEFAULT_ADAPTIVE_CONCURRENCY)
+  boolean adaptiveConcurrency;
+
+  @Inject
+  @ConfigProperty(
+      name = "nessie.version.store.cassandra.adaptive-concurrency-max-limit",
+      defaultValue = "" + DEFAULT_ADAPTIVE_CONCURRENCY_MAX_LIMIT)
+  int adaptiveConcurrencyMaxLimit;
+
   @Override
   public Backend buildBackend() {
     CassandraBackendFactory factory = new CassandraBackendFactory();
@@ -62,6 +104,12 @@ public class CassandraBackendBuilder implements BackendBuilder {
               .keyspace(keyspace)
               .ddlTimeout(ddlTimeout)
               .dmlTimeout(dmlTimeout)
+              .selectBatchSize(selectBatchSize)
+              .maxConcurrentBatchReads(maxConcurrentBatchReads)
+              .maxConcurrentStores(maxConcurrentStores)
+              .maxConcurrentDeletes(maxConcurrentDeletes)
+              .adaptiveConcurrency(adaptiveConcurrency)
+              .adaptiveConcurrencyMaxLimit(adaptiveConcurrencyMaxLimit)
               .build();
       return factory.buildBackend(c);
     } catch (InterruptedException | ExecutionException e) {
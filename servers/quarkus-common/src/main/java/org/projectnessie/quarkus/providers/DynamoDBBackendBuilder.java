@@ -22,6 +22,7 @@ import javax.inject.Inject;
 import org.projectnessie.versioned.storage.common.persist.Backend;
 import org.projectnessie.versioned.storage.dynamodb.DynamoDBBackendConfig;
 import org.projectnessie.versioned.storage.dynamodb.DynamoDBBackendFactory;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 
 @StoreType(DYNAMODB)
@@ -30,10 +31,13 @@ public class DynamoDBBackendBuilder implements BackendBuilder {
 
   @Inject DynamoDbClient client;
 
+  @Inject DynamoDbAsyncClient asyncClient;
+
   @Override
   public Backend buildBackend() {
     DynamoDBBackendFactory factory = new DynamoDBBackendFactory();
-    DynamoDBBackendConfig c = DynamoDBBackendConfig.builder().client(client).build();
+    DynamoDBBackendConfig c =
+        DynamoDBBackendConfig.builder().client(client).asyncClient(asyncClient).build();
     return factory.buildBackend(c);
   }
 }
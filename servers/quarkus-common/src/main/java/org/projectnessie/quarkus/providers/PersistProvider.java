@@ -20,6 +20,7 @@ import static org.projectnessie.versioned.storage.common.logic.Logics.repository
 import io.opentelemetry.api.trace.Tracer;
 import io.quarkus.runtime.Startup;
 import io.quarkus.runtime.annotations.RegisterForReflection;
+import java.time.Duration;
 import java.util.function.BiFunction;
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.inject.Any;
@@ -34,6 +35,7 @@ import org.projectnessie.quarkus.config.VersionStoreConfig.VersionStoreType;
 import org.projectnessie.quarkus.providers.StoreType.Literal;
 import org.projectnessie.services.config.ServerConfig;
 import org.projectnessie.versioned.storage.cache.CacheBackend;
+import org.projectnessie.versioned.storage.cache.CacheConfig;
 import org.projectnessie.versioned.storage.cache.PersistCaches;
 import org.projectnessie.versioned.storage.common.persist.Backend;
 import org.projectnessie.versioned.storage.common.persist.Persist;
@@ -46,7 +48,9 @@ import org.slf4j.LoggerFactory;
 @RegisterForReflection(
     classNames = {
       "com.github.benmanes.caffeine.cache.SSSMW",
-      "com.github.benmanes.caffeine.cache.PSMW"
+      "com.github.benmanes.caffeine.cache.PSMW",
+      "com.github.benmanes.caffeine.cache.SSSMSW",
+      "com.github.benmanes.caffeine.cache.PSWMS"
     })
 public class PersistProvider {
   private static final Logger LOGGER = LoggerFactory.getLogger(PersistProvider.class);
@@ -145,10 +149,24 @@ public class PersistProvider {
     String cacheInfo;
     int cacheCapacityMB = storeConfig.cacheCapacityMB();
     if (cacheCapacityMB > 0) {
-      CacheBackend cacheBackend = PersistCaches.newBackend(1024L * 1024L * cacheCapacityMB);
+      int cacheObjCapacityMB = storeConfig.cacheObjCapacityMB();
+      Duration cacheReferenceTtl = storeConfig.cacheReferenceTtl();
+      CacheBackend cacheBackend =
+          PersistCaches.newBackend(
+              CacheConfig.builder()
+                  .capacity(1024L * 1024L * cacheCapacityMB)
+                  .objCapacity(1024L * 1024L * cacheObjCapacityMB)
+                  .referenceTtl(cacheReferenceTtl)
+                  .build());
       persist = cacheBackend.wrap(persist);
       persist = wrapPersistTracing.apply(persist, "Cache");
       cacheInfo = "with " + cacheCapacityMB + " MB objects cache";
+      if (cacheObjCapacityMB > 0) {
+        cacheInfo += " and " + cacheObjCapacityMB + " MB deserialized objects cache";
+      }
+      if (cacheReferenceTtl.compareTo(Duration.ZERO) > 0) {
+        cacheInfo += ", caching references for " + cacheReferenceTtl;
+      }
     } else {
       cacheInfo = "without objects cache";
     }
@@ -135,6 +135,7 @@ public class RestTreeResource implements HttpTreeApi {
             params.hashOnRef(),
             params.namespaceDepth(),
             params.filter(),
+            null,
             params.pageToken(),
             false,
             new PagedCountingResponseHandler<EntriesResponse, EntriesResponse.Entry>(maxRecords) {
@@ -178,6 +178,7 @@ public class RestV2TreeResource implements HttpTreeApi {
             reference.hash(),
             null,
             params.filter(),
+            params.prefixKey(),
             params.pageToken(),
             params.withContent(),
             new PagedCountingResponseHandler<EntriesResponse, EntriesResponse.Entry>(maxRecords) {
@@ -31,6 +31,7 @@ dependencies {
   implementation(project(":nessie-model"))
   implementation(project(":nessie-versioned-spi"))
   implementation(libs.slf4j.api)
+  implementation(libs.micrometer.core)
 
   implementation(platform(libs.cel.bom))
   implementation(libs.cel.tools)
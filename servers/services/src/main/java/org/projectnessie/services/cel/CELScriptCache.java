@@ -0,0 +1,167 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.services.cel;
+
+import com.google.api.expr.v1alpha1.Decl;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import org.projectnessie.cel.tools.Script;
+import org.projectnessie.cel.tools.ScriptException;
+import org.projectnessie.cel.tools.ScriptHost;
+
+/**
+ * Bounded cache of compiled CEL {@link Script}s, keyed by the expression and the declarations and
+ * types the expression is compiled against, saves parsing and type-checking frequently used filter
+ * expressions for every request.
+ *
+ * <p>The declarations and types are compared by identity, callers are expected to pass the
+ * constants defined in {@link CELUtil}. The size of a compiled script is not known, the cache
+ * estimates it from the length of the expression. Expressions that fail to compile are not cached.
+ * Hit and miss counts are available via {@link #stats()} and, if a {@link MeterRegistry} is
+ * given, exposed as the {@code cache.*} meters tagged with the cache name {@value #CACHE_NAME}.
+ *
+ * <p>Compiled scripts do not hold any per-evaluation state and can be executed concurrently.
+ */
+public final class CELScriptCache {
+
+  public static final String CACHE_NAME = "nessie-cel-scripts";
+
+  /** Default maximum estimated size of all cached scripts in bytes. */
+  public static final long DEFAULT_MAX_WEIGHT = 16 * 1024 * 1024;
+
+  /** Estimated size of a compiled script, excluding the expression dependent part. */
+  static final int SCRIPT_OVERHEAD = 4096;
+
+  /** Estimated size of the parsed and checked expression per character of the expression. */
+  static final int WEIGHT_PER_EXPRESSION_CHAR = 64;
+
+  private final ScriptHost scriptHost;
+  private final String container;
+  private final Cache<ScriptKey, Script> cache;
+
+  public CELScriptCache(
+      ScriptHost scriptHost, String container, long maxWeight, MeterRegistry meterRegistry) {
+    this.scriptHost = scriptHost;
+    this.container = container;
+    Cache<ScriptKey, Script> cache =
+        CacheBuilder.newBuilder()
+            .maximumWeight(maxWeight)
+            .weigher((ScriptKey key, Script script) -> weigh(key))
+            .recordStats()
+            .build();
+    this.cache =
+        meterRegistry != null ? GuavaCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME) : cache;
+  }
+
+  static int weigh(ScriptKey key) {
+    long weight = SCRIPT_OVERHEAD + (long) WEIGHT_PER_EXPRESSION_CHAR * key.expression.length();
+    return (int) Math.min(weight, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Returns the compiled script for the given expression, compiles the expression, if it is not
+   * cached.
+   *
+   * @param expression the CEL expression
+   * @param declarations the declarations the expression is compiled against, usually one of the
+   *     {@code *_DECLARATIONS} constants in {@link CELUtil}
+   * @param types the types the expression is compiled against, usually one of the {@code *_TYPES}
+   *     constants in {@link CELUtil}
+   * @throws ScriptException if the expression cannot be compiled
+   */
+  public Script script(String expression, List<Decl> declarations, List<Object> types)
+      throws ScriptException {
+    ScriptKey key = new ScriptKey(expression, declarations, types);
+    try {
+      return cache.get(
+          key,
+          () ->
+              scriptHost
+                  .buildScript(expression)
+                  .withContainer(container)
+                  .withDeclarations(declarations)
+                  .withTypes(types)
+                  .build());
+    } catch (ExecutionException | UncheckedExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof ScriptException) {
+        throw (ScriptException) cause;
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new RuntimeException(cause);
+    }
+  }
+
+  public CacheStats stats() {
+    return cache.stats();
+  }
+
+  public long size() {
+    return cache.size();
+  }
+
+  static final class ScriptKey {
+    final String expression;
+    final List<Decl> declarations;
+    final List<Object> types;
+    private final int hash;
+
+    ScriptKey(String expression, List<Decl> declarations, List<Object> types) {
+      this.expression = expression;
+      this.declarations = declarations;
+      this.types = types;
+      // The declarations and types are usually the constants from CELUtil, hashing those by
+      // identity avoids hashing the protobuf declarations on every lookup.
+      this.hash =
+          31 * expression.hashCode()
+              + 7 * System.identityHashCode(declarations)
+              + System.identityHashCode(types);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof ScriptKey)) {
+        return false;
+      }
+      ScriptKey other = (ScriptKey) o;
+      return hash == other.hash
+          && expression.equals(other.expression)
+          && declarations == other.declarations
+          && types == other.types;
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+
+    @Override
+    public String toString() {
+      return expression;
+    }
+  }
+}
@@ -17,6 +17,7 @@ package org.projectnessie.services.cel;
 
 import com.google.api.expr.v1alpha1.Decl;
 import com.google.common.collect.ImmutableList;
+import io.micrometer.core.instrument.Metrics;
 import java.util.List;
 import org.projectnessie.cel.checker.Decls;
 import org.projectnessie.cel.tools.ScriptHost;
@@ -41,6 +42,11 @@ public final class CELUtil {
   public static final ScriptHost SCRIPT_HOST =
       ScriptHost.newBuilder().registry(JacksonRegistry.newRegistry()).build();
 
+  /** Compiled filter scripts, shared by all requests. */
+  public static final CELScriptCache SCRIPT_CACHE =
+      new CELScriptCache(
+          SCRIPT_HOST, CONTAINER, CELScriptCache.DEFAULT_MAX_WEIGHT, Metrics.globalRegistry);
+
   public static final String VAR_REF = "ref";
   public static final String VAR_REF_TYPE = "refType";
   public static final String VAR_REF_META = "refMeta";
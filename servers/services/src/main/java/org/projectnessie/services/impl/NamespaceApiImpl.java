@@ -19,6 +19,8 @@ import static java.util.Spliterators.spliteratorUnknownSize;
 import static java.util.stream.StreamSupport.stream;
 import static org.projectnessie.error.ContentKeyErrorDetails.contentKeyErrorDetails;
 import static org.projectnessie.services.impl.RefUtil.toReference;
+import static org.projectnessie.versioned.KeyRestrictions.NO_KEY_RESTRICTIONS;
+import static org.projectnessie.versioned.KeyRestrictions.prefixKeyRestriction;
 
 import com.google.common.base.Preconditions;
 import com.google.errorprone.annotations.MustBeClosed;
@@ -56,6 +58,7 @@ import org.projectnessie.services.spi.NamespaceService;
 import org.projectnessie.versioned.BranchName;
 import org.projectnessie.versioned.Hash;
 import org.projectnessie.versioned.KeyEntry;
+import org.projectnessie.versioned.KeyRestrictions;
 import org.projectnessie.versioned.NamedRef;
 import org.projectnessie.versioned.Operation;
 import org.projectnessie.versioned.ReferenceConflictException;
@@ -133,7 +136,12 @@ public class NamespaceApiImpl extends BaseApiImpl implements NamespaceService {
       Callable<Void> validator =
           () -> {
             try (PaginationIterator<KeyEntry> keys =
-                getStore().getKeys(refWithHash.getHash(), null, false)) {
+                getStore()
+                    .getKeys(
+                        refWithHash.getHash(),
+                        null,
+                        false,
+                        namespaceKeyRestrictions(namespaceToDelete))) {
               while (keys.hasNext()) {
                 KeyEntry k = keys.next();
                 if (Namespace.of(k.getKey().getElements()).isSameOrSubElementOf(namespaceToDelete)
@@ -285,13 +293,25 @@ public class NamespaceApiImpl extends BaseApiImpl implements NamespaceService {
       Hash hash,
       Predicate<KeyEntry> earlyFilterPredicate)
       throws ReferenceNotFoundException {
-    PaginationIterator<KeyEntry> iter = getStore().getKeys(hash, null, false);
+    PaginationIterator<KeyEntry> iter =
+        getStore().getKeys(hash, null, false, namespaceKeyRestrictions(namespace));
     return stream(spliteratorUnknownSize(iter, 0), false)
         .onClose(iter::close)
         .filter(earlyFilterPredicate)
         .filter(k -> null == namespace || namespaceFromType(k).isSameOrSubElementOf(namespace));
   }
 
+  /**
+   * Restricts the keys returned by the version store to the given namespace, so that only the
+   * relevant part of the key index needs to be scanned.
+   */
+  private static KeyRestrictions namespaceKeyRestrictions(
+      @Nullable @jakarta.annotation.Nullable Namespace namespace) {
+    return namespace != null && !namespace.isEmpty()
+        ? prefixKeyRestriction(namespace.toContentKey())
+        : NO_KEY_RESTRICTIONS;
+  }
+
   /**
    * If the {@link Content.Type} is an actual {@link Content.Type#NAMESPACE}, then we're returning
    * its name without modification as a {@link Namespace} instance. If the {@link Content.Type} is
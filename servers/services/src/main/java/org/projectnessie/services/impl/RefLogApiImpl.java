@@ -15,10 +15,9 @@
  */
 package org.projectnessie.services.impl;
 
-import static org.projectnessie.services.cel.CELUtil.CONTAINER;
 import static org.projectnessie.services.cel.CELUtil.REFLOG_DECLARATIONS;
 import static org.projectnessie.services.cel.CELUtil.REFLOG_TYPES;
-import static org.projectnessie.services.cel.CELUtil.SCRIPT_HOST;
+import static org.projectnessie.services.cel.CELUtil.SCRIPT_CACHE;
 import static org.projectnessie.services.cel.CELUtil.VAR_REFLOG;
 
 import com.google.common.base.Strings;
@@ -131,13 +130,7 @@ public class RefLogApiImpl extends BaseApiImpl implements RefLogService {
 
     final Script script;
     try {
-      script =
-          SCRIPT_HOST
-              .buildScript(filter)
-              .withContainer(CONTAINER)
-              .withDeclarations(REFLOG_DECLARATIONS)
-              .withTypes(REFLOG_TYPES)
-              .build();
+      script = SCRIPT_CACHE.script(filter, REFLOG_DECLARATIONS, REFLOG_TYPES);
     } catch (ScriptException e) {
       throw new IllegalArgumentException(e);
     }
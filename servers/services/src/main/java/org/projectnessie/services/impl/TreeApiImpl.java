@@ -28,12 +28,11 @@ import static org.projectnessie.services.authz.Check.canReadEntries;
 import static org.projectnessie.services.authz.Check.canViewReference;
 import static org.projectnessie.services.cel.CELUtil.COMMIT_LOG_DECLARATIONS;
 import static org.projectnessie.services.cel.CELUtil.COMMIT_LOG_TYPES;
-import static org.projectnessie.services.cel.CELUtil.CONTAINER;
 import static org.projectnessie.services.cel.CELUtil.ENTRIES_DECLARATIONS;
 import static org.projectnessie.services.cel.CELUtil.ENTRIES_TYPES;
 import static org.projectnessie.services.cel.CELUtil.REFERENCES_DECLARATIONS;
 import static org.projectnessie.services.cel.CELUtil.REFERENCES_TYPES;
-import static org.projectnessie.services.cel.CELUtil.SCRIPT_HOST;
+import static org.projectnessie.services.cel.CELUtil.SCRIPT_CACHE;
 import static org.projectnessie.services.cel.CELUtil.VAR_COMMIT;
 import static org.projectnessie.services.cel.CELUtil.VAR_ENTRY;
 import static org.projectnessie.services.cel.CELUtil.VAR_OPERATIONS;
@@ -41,6 +40,8 @@ import static org.projectnessie.services.cel.CELUtil.VAR_REF;
 import static org.projectnessie.services.cel.CELUtil.VAR_REF_META;
 import static org.projectnessie.services.cel.CELUtil.VAR_REF_TYPE;
 import static org.projectnessie.services.impl.RefUtil.toNamedRef;
+import static org.projectnessie.versioned.KeyRestrictions.NO_KEY_RESTRICTIONS;
+import static org.projectnessie.versioned.KeyRestrictions.prefixKeyRestriction;
 
 import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableList;
@@ -196,13 +197,7 @@ public class TreeApiImpl extends BaseApiImpl implements TreeService {
 
     final Script script;
     try {
-      script =
-          SCRIPT_HOST
-              .buildScript(filter)
-              .withContainer(CONTAINER)
-              .withDeclarations(REFERENCES_DECLARATIONS)
-              .withTypes(REFERENCES_TYPES)
-              .build();
+      script = SCRIPT_CACHE.script(filter, REFERENCES_DECLARATIONS, REFERENCES_TYPES);
     } catch (ScriptException e) {
       throw new IllegalArgumentException(e);
     }
@@ -520,13 +515,7 @@ public class TreeApiImpl extends BaseApiImpl implements TreeService {
 
     final Script script;
     try {
-      script =
-          SCRIPT_HOST
-              .buildScript(filter)
-              .withContainer(CONTAINER)
-              .withDeclarations(COMMIT_LOG_DECLARATIONS)
-              .withTypes(COMMIT_LOG_TYPES)
-              .build();
+      script = SCRIPT_CACHE.script(filter, COMMIT_LOG_DECLARATIONS, COMMIT_LOG_TYPES);
     } catch (ScriptException e) {
       throw new IllegalArgumentException(e);
     }
@@ -778,6 +767,7 @@ public class TreeApiImpl extends BaseApiImpl implements TreeService {
       String hashOnRef,
       Integer namespaceDepth,
       String filter,
+      ContentKey prefixKey,
       String pagingToken,
       boolean withContent,
       PagedResponseHandler<R, Entry> pagedResponseHandler,
@@ -799,7 +789,12 @@ public class TreeApiImpl extends BaseApiImpl implements TreeService {
       Predicate<KeyEntry> filterPredicate = filterEntries(filter);
 
       try (PaginationIterator<KeyEntry> entries =
-          getStore().getKeys(refWithHash.getHash(), pagingToken, withContent)) {
+          getStore()
+              .getKeys(
+                  refWithHash.getHash(),
+                  pagingToken,
+                  withContent,
+                  prefixKey != null ? prefixKeyRestriction(prefixKey) : NO_KEY_RESTRICTIONS)) {
 
         AuthzPaginationIterator<KeyEntry> authz =
             new AuthzPaginationIterator<KeyEntry>(
@@ -890,13 +885,7 @@ public class TreeApiImpl extends BaseApiImpl implements TreeService {
 
     final Script script;
     try {
-      script =
-          SCRIPT_HOST
-              .buildScript(filter)
-              .withContainer(CONTAINER)
-              .withDeclarations(ENTRIES_DECLARATIONS)
-              .withTypes(ENTRIES_TYPES)
-              .build();
+      script = SCRIPT_CACHE.script(filter, ENTRIES_DECLARATIONS, ENTRIES_TYPES);
     } catch (ScriptException e) {
       throw new IllegalArgumentException(e);
     }
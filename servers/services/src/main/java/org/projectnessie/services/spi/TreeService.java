@@ -28,6 +28,7 @@ import org.projectnessie.error.NessieNotFoundException;
 import org.projectnessie.model.Branch;
 import org.projectnessie.model.CommitMeta;
 import org.projectnessie.model.CommitResponse;
+import org.projectnessie.model.ContentKey;
 import org.projectnessie.model.EntriesResponse.Entry;
 import org.projectnessie.model.FetchOption;
 import org.projectnessie.model.LogResponse.LogEntry;
@@ -278,6 +279,7 @@ public interface TreeService {
           String hashOnRef,
       @Nullable @jakarta.annotation.Nullable Integer namespaceDepth,
       @Nullable @jakarta.annotation.Nullable String filter,
+      @Nullable @jakarta.annotation.Nullable ContentKey prefixKey,
       @Nullable @jakarta.annotation.Nullable String pagingToken,
       boolean withContent,
       PagedResponseHandler<R, Entry> pagedResponseHandler,
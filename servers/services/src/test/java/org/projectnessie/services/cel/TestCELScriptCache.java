@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.services.cel;
+
+import static java.util.Collections.emptyList;
+import static org.projectnessie.services.cel.CELUtil.COMMIT_LOG_DECLARATIONS;
+import static org.projectnessie.services.cel.CELUtil.COMMIT_LOG_TYPES;
+import static org.projectnessie.services.cel.CELUtil.CONTAINER;
+import static org.projectnessie.services.cel.CELUtil.ENTRIES_DECLARATIONS;
+import static org.projectnessie.services.cel.CELUtil.ENTRIES_TYPES;
+import static org.projectnessie.services.cel.CELUtil.SCRIPT_HOST;
+import static org.projectnessie.services.cel.CELUtil.VAR_COMMIT;
+import static org.projectnessie.services.cel.CELUtil.VAR_OPERATIONS;
+
+import com.google.common.collect.ImmutableMap;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.projectnessie.cel.tools.Script;
+import org.projectnessie.cel.tools.ScriptException;
+import org.projectnessie.model.CommitMeta;
+
+@ExtendWith(SoftAssertionsExtension.class)
+public class TestCELScriptCache {
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  @Test
+  public void cachedScripts() throws Exception {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    CELScriptCache cache =
+        new CELScriptCache(SCRIPT_HOST, CONTAINER, CELScriptCache.DEFAULT_MAX_WEIGHT, registry);
+
+    String filter = "commit.message == 'msg'";
+    Script script = cache.script(filter, COMMIT_LOG_DECLARATIONS, COMMIT_LOG_TYPES);
+    soft.assertThat(cache.script(filter, COMMIT_LOG_DECLARATIONS, COMMIT_LOG_TYPES))
+        .isSameAs(script);
+    soft.assertThat(
+            script.execute(
+                Boolean.class,
+                ImmutableMap.of(
+                    VAR_COMMIT, CommitMeta.fromMessage("msg"), VAR_OPERATIONS, emptyList())))
+        .isTrue();
+
+    // Different declarations
+    Script entries = cache.script("entry.name == 'foo'", ENTRIES_DECLARATIONS, ENTRIES_TYPES);
+    soft.assertThat(entries).isNotSameAs(script);
+
+    soft.assertThat(cache.size()).isEqualTo(2);
+    soft.assertThat(cache.stats().hitCount()).isEqualTo(1);
+    soft.assertThat(cache.stats().missCount()).isEqualTo(2);
+
+    soft.assertThat(
+            registry
+                .get("cache.gets")
+                .tag("cache", CELScriptCache.CACHE_NAME)
+                .tag("result", "hit")
+                .functionCounter())
+        .extracting(FunctionCounter::count)
+        .isEqualTo(1d);
+  }
+
+  @Test
+  public void invalidExpressionNotCached() {
+    CELScriptCache cache =
+        new CELScriptCache(SCRIPT_HOST, CONTAINER, CELScriptCache.DEFAULT_MAX_WEIGHT, null);
+
+    soft.assertThatThrownBy(
+            () -> cache.script("commit.foo ==", COMMIT_LOG_DECLARATIONS, COMMIT_LOG_TYPES))
+        .isInstanceOf(ScriptException.class);
+    soft.assertThat(cache.size()).isEqualTo(0);
+  }
+
+  @Test
+  public void boundedWeight() throws Exception {
+    long maxWeight = 10L * CELScriptCache.SCRIPT_OVERHEAD;
+    CELScriptCache cache = new CELScriptCache(SCRIPT_HOST, CONTAINER, maxWeight, null);
+
+    for (int i = 0; i < 100; i++) {
+      cache.script("entry.name == 'name-" + i + "'", ENTRIES_DECLARATIONS, ENTRIES_TYPES);
+    }
+    soft.assertThat(cache.size()).isGreaterThan(0).isLessThan(10);
+    soft.assertThat(cache.stats().evictionCount()).isGreaterThan(0);
+  }
+}
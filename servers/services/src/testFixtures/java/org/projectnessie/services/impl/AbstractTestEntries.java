@@ -66,6 +66,7 @@ public abstract class AbstractTestEntries extends BaseTestServiceImpl {
               branch.getHash(),
               null,
               null,
+              null,
               "666f6f",
               false,
               new UnlimitedListResponseHandler<>(),
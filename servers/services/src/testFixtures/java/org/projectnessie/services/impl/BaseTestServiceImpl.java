@@ -259,6 +259,7 @@ public abstract class BaseTestServiceImpl {
             namespaceDepth,
             filter,
             null,
+            null,
             withContent,
             new UnlimitedListResponseHandler<>(),
             h -> {});
@@ -359,6 +360,7 @@ public abstract class BaseTestServiceImpl {
                   ref.getHash(),
                   null,
                   filter,
+                  null,
                   token,
                   withContent,
                   new DirectPagedCountingResponseHandler<>(pageSize, nextToken::set),
@@ -55,6 +55,7 @@ import org.projectnessie.versioned.ImmutableMergeResult;
 import org.projectnessie.versioned.ImmutableRefLogDetails;
 import org.projectnessie.versioned.ImmutableRepositoryInformation;
 import org.projectnessie.versioned.KeyEntry;
+import org.projectnessie.versioned.KeyRestrictions;
 import org.projectnessie.versioned.MergeConflictException;
 import org.projectnessie.versioned.MergeResult;
 import org.projectnessie.versioned.MergeType;
@@ -523,13 +524,19 @@ public class PersistVersionStore implements VersionStore {
   }
 
   @Override
-  public PaginationIterator<KeyEntry> getKeys(Ref ref, String pagingToken, boolean withContent)
+  public PaginationIterator<KeyEntry> getKeys(
+      Ref ref, String pagingToken, boolean withContent, KeyRestrictions keyRestrictions)
       throws ReferenceNotFoundException {
     checkArgument(pagingToken == null, "Paging not supported");
     Hash hash = refToHash(ref);
 
+    KeyFilterPredicate keyFilter =
+        keyRestrictions.equals(KeyRestrictions.NO_KEY_RESTRICTIONS)
+            ? KeyFilterPredicate.ALLOW_ALL
+            : (k, c, t) -> keyRestrictions.matches(k);
+
     @SuppressWarnings("MustBeClosedChecker")
-    Stream<KeyListEntry> source = databaseAdapter.keys(hash, KeyFilterPredicate.ALLOW_ALL);
+    Stream<KeyListEntry> source = databaseAdapter.keys(hash, keyFilter);
 
     return new FilteringPaginationIterator<KeyListEntry, KeyEntry>(
         source.iterator(),
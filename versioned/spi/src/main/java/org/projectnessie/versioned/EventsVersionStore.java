@@ -192,9 +192,10 @@ public class EventsVersionStore implements VersionStore {
   }
 
   @Override
-  public PaginationIterator<KeyEntry> getKeys(Ref ref, String pagingToken, boolean withContent)
+  public PaginationIterator<KeyEntry> getKeys(
+      Ref ref, String pagingToken, boolean withContent, KeyRestrictions keyRestrictions)
       throws ReferenceNotFoundException {
-    return delegate.getKeys(ref, pagingToken, withContent);
+    return delegate.getKeys(ref, pagingToken, withContent, keyRestrictions);
   }
 
   @Override
@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned;
+
+import javax.annotation.Nullable;
+import org.immutables.value.Value;
+import org.projectnessie.model.ContentKey;
+
+/**
+ * Restricts the keys returned by {@link VersionStore#getKeys(Ref, String, boolean,
+ * KeyRestrictions)}, allowing implementations to only read the relevant parts of the key index.
+ */
+@Value.Immutable
+public interface KeyRestrictions {
+
+  KeyRestrictions NO_KEY_RESTRICTIONS = KeyRestrictions.builder().build();
+
+  /** Only return keys that are equal to or greater than this key. */
+  @Nullable
+  @jakarta.annotation.Nullable
+  ContentKey minKey();
+
+  /** Only return keys that are equal to or less than this key. */
+  @Nullable
+  @jakarta.annotation.Nullable
+  ContentKey maxKey();
+
+  /**
+   * Only return keys whose elements start with the elements of this key, which includes the key
+   * itself, see {@link ContentKey#startsWith(ContentKey)}.
+   */
+  @Nullable
+  @jakarta.annotation.Nullable
+  ContentKey prefixKey();
+
+  /** Checks whether the given key satisfies all restrictions. */
+  default boolean matches(ContentKey key) {
+    ContentKey min = minKey();
+    ContentKey max = maxKey();
+    ContentKey prefix = prefixKey();
+    return (min == null || key.compareTo(min) >= 0)
+        && (max == null || key.compareTo(max) <= 0)
+        && (prefix == null || key.startsWith(prefix));
+  }
+
+  static ImmutableKeyRestrictions.Builder builder() {
+    return ImmutableKeyRestrictions.builder();
+  }
+
+  static KeyRestrictions prefixKeyRestriction(ContentKey prefixKey) {
+    return builder().prefixKey(prefixKey).build();
+  }
+}
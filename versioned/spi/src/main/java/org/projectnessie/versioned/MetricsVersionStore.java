@@ -207,10 +207,11 @@ public final class MetricsVersionStore implements VersionStore {
   }
 
   @Override
-  public PaginationIterator<KeyEntry> getKeys(Ref ref, String pagingToken, boolean withContent)
+  public PaginationIterator<KeyEntry> getKeys(
+      Ref ref, String pagingToken, boolean withContent, KeyRestrictions keyRestrictions)
       throws ReferenceNotFoundException {
     return delegatePaginationIterator(
-        "getkeys", () -> delegate.getKeys(ref, pagingToken, withContent));
+        "getkeys", () -> delegate.getKeys(ref, pagingToken, withContent, keyRestrictions));
   }
 
   @Override
@@ -277,13 +277,14 @@ public class TracingVersionStore implements VersionStore {
   }
 
   @Override
-  public PaginationIterator<KeyEntry> getKeys(Ref ref, String pagingToken, boolean withContent)
+  public PaginationIterator<KeyEntry> getKeys(
+      Ref ref, String pagingToken, boolean withContent, KeyRestrictions keyRestrictions)
       throws ReferenceNotFoundException {
     return callPaginationIterator(
         tracer,
         "GetKeys",
         b -> b.setAttribute(TAG_REF, safeToString(ref)),
-        () -> delegate.getKeys(ref, pagingToken, withContent));
+        () -> delegate.getKeys(ref, pagingToken, withContent, keyRestrictions));
   }
 
   @Override
@@ -296,7 +296,26 @@ public interface VersionStore {
    * @return The stream of keys available for this ref.
    * @throws ReferenceNotFoundException if {@code ref} is not present in the store
    */
-  PaginationIterator<KeyEntry> getKeys(Ref ref, String pagingToken, boolean withContent)
+  default PaginationIterator<KeyEntry> getKeys(Ref ref, String pagingToken, boolean withContent)
+      throws ReferenceNotFoundException {
+    return getKeys(ref, pagingToken, withContent, KeyRestrictions.NO_KEY_RESTRICTIONS);
+  }
+
+  /**
+   * Get a stream of the available keys for the given ref that match the given restrictions.
+   *
+   * <p>Implementations should use the restrictions to only read the relevant parts of the key
+   * index, instead of filtering all keys.
+   *
+   * @param ref The ref to get keys for.
+   * @param pagingToken paging token to start at
+   * @param withContent whether to populate {@link KeyEntry#getContent()}
+   * @param keyRestrictions restrictions on the returned keys
+   * @return The stream of keys available for this ref.
+   * @throws ReferenceNotFoundException if {@code ref} is not present in the store
+   */
+  PaginationIterator<KeyEntry> getKeys(
+      Ref ref, String pagingToken, boolean withContent, KeyRestrictions keyRestrictions)
       throws ReferenceNotFoundException;
 
   /**
@@ -22,6 +22,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
+import static org.projectnessie.versioned.KeyRestrictions.NO_KEY_RESTRICTIONS;
 
 import com.google.common.collect.ImmutableMap;
 import java.util.Arrays;
@@ -586,9 +587,11 @@ class TestEventsVersionStore {
 
   @Test
   void testGetKeys() throws Exception {
-    when(delegate.getKeys(branch1, "token1", false)).thenReturn(iteratorKeyEntries);
+    when(delegate.getKeys(branch1, "token1", false, NO_KEY_RESTRICTIONS))
+        .thenReturn(iteratorKeyEntries);
     EventsVersionStore versionStore = new EventsVersionStore(delegate, sink);
-    PaginationIterator<KeyEntry> result = versionStore.getKeys(branch1, "token1", false);
+    PaginationIterator<KeyEntry> result =
+        versionStore.getKeys(branch1, "token1", false, NO_KEY_RESTRICTIONS);
     assertThat(result).isSameAs(iteratorKeyEntries);
     verifyNoMoreInteractions(delegate);
     verifyNoInteractions(sink);
@@ -25,6 +25,7 @@ import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.projectnessie.versioned.KeyRestrictions.NO_KEY_RESTRICTIONS;
 
 import io.micrometer.core.instrument.AbstractTimer;
 import io.micrometer.core.instrument.Clock;
@@ -242,7 +243,7 @@ class TestMetricsVersionStore {
                 refNotFoundThrows),
             new VersionStoreInvocation<>(
                 "getkeys",
-                vs -> vs.getKeys(Hash.of("cafe4242"), null, false),
+                vs -> vs.getKeys(Hash.of("cafe4242"), null, false, NO_KEY_RESTRICTIONS),
                 () -> PaginationIterator.of(ContentKey.of("hello", "world")),
                 refNotFoundThrows),
             new VersionStoreInvocation<>(
@@ -26,6 +26,7 @@ import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.projectnessie.versioned.KeyRestrictions.NO_KEY_RESTRICTIONS;
 
 import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.common.Attributes;
@@ -254,7 +255,7 @@ class TestTracingVersionStore {
             new TestedTracingStoreInvocation<VersionStore>("GetKeys.stream", refNotFoundThrows)
                 .tag("nessie.version-store.ref", "Hash cafe4242")
                 .function(
-                    vs -> vs.getKeys(Hash.of("cafe4242"), null, false),
+                    vs -> vs.getKeys(Hash.of("cafe4242"), null, false, NO_KEY_RESTRICTIONS),
                     () -> PaginationIterator.of(ContentKey.of("hello", "world"))),
             new TestedTracingStoreInvocation<VersionStore>("GetNamedRefs.stream", runtimeThrows)
                 .function(
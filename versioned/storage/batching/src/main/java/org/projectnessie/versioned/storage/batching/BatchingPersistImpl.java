@@ -21,10 +21,17 @@ import com.google.common.annotations.VisibleForTesting;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
 import org.projectnessie.versioned.storage.common.config.StoreConfig;
 import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
 import org.projectnessie.versioned.storage.common.exceptions.ObjTooLargeException;
@@ -39,18 +46,33 @@ import org.projectnessie.versioned.storage.common.persist.Persist;
 import org.projectnessie.versioned.storage.common.persist.Reference;
 import org.projectnessie.versioned.storage.common.persist.ValidatingPersist;
 
+/**
+ * Buffers stored and upserted objects in concurrent maps, so that readers and writers do not block
+ * each other. Flushes write a snapshot of the buffered objects to the delegate and remove only the
+ * written objects afterwards, so buffered objects are always visible, either from the buffer or
+ * from the delegate. Only one flush is in progress at any time.
+ */
 final class BatchingPersistImpl implements BatchingPersist, ValidatingPersist {
   private final WriteBatching batching;
 
-  private final Map<ObjId, Obj> pendingUpserts = new HashMap<>();
-  private final Map<ObjId, Obj> pendingStores = new HashMap<>();
+  private final Map<ObjId, Obj> pendingUpserts = new ConcurrentHashMap<>();
+  private final Map<ObjId, Obj> pendingStores = new ConcurrentHashMap<>();
+
+  /** Number of objects in {@link #pendingStores} plus {@link #pendingUpserts}. */
+  private final AtomicInteger pendingCount = new AtomicInteger();
+
+  /** {@link System#nanoTime()} when the buffer became non-empty, {@code 0} if empty. */
+  private final AtomicLong pendingSince = new AtomicLong();
 
-  private final ReentrantReadWriteLock lock;
+  /** Serializes flushes, deletes and erase, but not reads and writes. */
+  private final ReentrantLock flushLock = new ReentrantLock();
+
+  private final AtomicBoolean asyncFlushScheduled = new AtomicBoolean();
+  private final AtomicReference<RuntimeException> asyncFlushFailure = new AtomicReference<>();
 
   BatchingPersistImpl(WriteBatching batching) {
     checkArgument(batching.optimistic(), "Non-optimistic mode is not supported");
     this.batching = batching;
-    this.lock = new ReentrantReadWriteLock();
   }
 
   @VisibleForTesting
@@ -66,53 +88,125 @@ final class BatchingPersistImpl implements BatchingPersist, ValidatingPersist {
   @Override
   public void flush() {
     if (batching.batchSize() > 0) {
-      writeLock();
+      RuntimeException failure = asyncFlushFailure.getAndSet(null);
+      if (failure != null) {
+        throw failure;
+      }
+      flushLock.lock();
       try {
-        if (!pendingStores.isEmpty()) {
-          delegate().storeObjs(pendingStores.values().toArray(new Obj[0]));
-          pendingStores.clear();
-        }
-        if (!pendingUpserts.isEmpty()) {
-          delegate().upsertObjs(pendingUpserts.values().toArray(new Obj[0]));
-          pendingUpserts.clear();
-        }
-      } catch (ObjTooLargeException e) {
-        throw new RuntimeException(e);
+        flushPending();
       } finally {
-        writeUnlock();
+        flushLock.unlock();
       }
     }
   }
 
-  private Persist delegate() {
-    return batching.persist();
+  private void flushPending() {
+    try {
+      flushPending(pendingStores, objs -> delegate().storeObjs(objs));
+      flushPending(pendingUpserts, objs -> delegate().upsertObjs(objs));
+    } catch (ObjTooLargeException e) {
+      throw new RuntimeException(e);
+    }
   }
 
-  private void readLock() {
-    lock.readLock().lock();
+  @FunctionalInterface
+  private interface ObjsWriter {
+    void write(Obj[] objs) throws ObjTooLargeException;
   }
 
-  private void readUnlock() {
-    lock.readLock().unlock();
+  private void flushPending(Map<ObjId, Obj> pending, ObjsWriter writer)
+      throws ObjTooLargeException {
+    if (pending.isEmpty()) {
+      return;
+    }
+    Obj[] objs = pending.values().toArray(new Obj[0]);
+    writer.write(objs);
+    for (Obj obj : objs) {
+      // Objects that have been replaced in the meantime are written by the next flush.
+      if (pending.remove(obj.id(), obj)) {
+        removedPending();
+      }
+    }
   }
 
-  private void writeUnlock() {
-    lock.writeLock().unlock();
+  private Persist delegate() {
+    return batching.persist();
   }
 
-  private void writeLock() {
-    lock.writeLock().lock();
+  private void addedPending() {
+    pendingCount.incrementAndGet();
+    pendingSince.compareAndSet(0L, System.nanoTime());
+  }
+
+  private void removedPending() {
+    if (pendingCount.decrementAndGet() == 0) {
+      pendingSince.set(0L);
+    }
+  }
+
+  private boolean bufferTooOld() {
+    if (!batching.maxBufferAge().isPresent()) {
+      return false;
+    }
+    long since = pendingSince.get();
+    return since != 0L && System.nanoTime() - since > batching.maxBufferAge().get().toNanos();
   }
 
   private void maybeFlush() {
-    if (batching.batchSize() > 0) {
-      if (pendingStores.size() > batching.batchSize()
-          || pendingUpserts.size() > batching.batchSize()) {
-        flush();
+    int batchSize = batching.batchSize();
+    if (batchSize > 0) {
+      int pending = pendingCount.get();
+      if (pending > batchSize || bufferTooOld()) {
+        Optional<Executor> executor = batching.flushExecutor();
+        if (pending > 2 * batchSize) {
+          // Writers are faster than the flushes, wait for a flush.
+          flush();
+        } else if (executor.isPresent()) {
+          scheduleAsyncFlush(executor.get());
+        } else if (flushLock.tryLock()) {
+          // Another thread is already flushing otherwise.
+          try {
+            flushPending();
+          } finally {
+            flushLock.unlock();
+          }
+        }
       }
     }
   }
 
+  private void scheduleAsyncFlush(Executor executor) {
+    if (!asyncFlushScheduled.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      executor.execute(
+          () -> {
+            flushLock.lock();
+            try {
+              flushPending();
+            } catch (RuntimeException e) {
+              asyncFlushFailure.accumulateAndGet(
+                  e,
+                  (prev, curr) -> {
+                    if (prev == null) {
+                      return curr;
+                    }
+                    prev.addSuppressed(curr);
+                    return prev;
+                  });
+            } finally {
+              flushLock.unlock();
+              asyncFlushScheduled.set(false);
+            }
+          });
+    } catch (RejectedExecutionException e) {
+      asyncFlushScheduled.set(false);
+      throw e;
+    }
+  }
+
   @Override
   public boolean storeObj(
       @Nonnull @javax.annotation.Nonnull Obj obj, boolean ignoreSoftSizeRestrictions)
@@ -120,26 +214,20 @@ final class BatchingPersistImpl implements BatchingPersist, ValidatingPersist {
     if (!ignoreSoftSizeRestrictions) {
       verifySoftRestrictions(obj);
     }
-    writeLock();
-    try {
-      pendingStores.putIfAbsent(obj.id(), obj);
-      maybeFlush();
-    } finally {
-      writeUnlock();
+    if (pendingStores.putIfAbsent(obj.id(), obj) == null) {
+      addedPending();
     }
+    maybeFlush();
     return true;
   }
 
   @Override
   public void upsertObj(@Nonnull @javax.annotation.Nonnull Obj obj) throws ObjTooLargeException {
     verifySoftRestrictions(obj);
-    writeLock();
-    try {
-      pendingUpserts.put(obj.id(), obj);
-      maybeFlush();
-    } finally {
-      writeUnlock();
+    if (pendingUpserts.put(obj.id(), obj) == null) {
+      addedPending();
     }
+    maybeFlush();
   }
 
   @Override
@@ -147,15 +235,10 @@ final class BatchingPersistImpl implements BatchingPersist, ValidatingPersist {
   @javax.annotation.Nonnull
   public boolean[] storeObjs(@Nonnull @javax.annotation.Nonnull Obj[] objs)
       throws ObjTooLargeException {
-    writeLock();
-    try {
-      for (Obj obj : objs) {
-        if (obj != null) {
-          storeObj(obj);
-        }
+    for (Obj obj : objs) {
+      if (obj != null) {
+        storeObj(obj);
       }
-    } finally {
-      writeUnlock();
     }
     boolean[] r = new boolean[objs.length];
     Arrays.fill(r, true);
@@ -165,15 +248,10 @@ final class BatchingPersistImpl implements BatchingPersist, ValidatingPersist {
   @Override
   public void upsertObjs(@Nonnull @javax.annotation.Nonnull Obj[] objs)
       throws ObjTooLargeException {
-    writeLock();
-    try {
-      for (Obj obj : objs) {
-        if (obj != null) {
-          upsertObj(obj);
-        }
+    for (Obj obj : objs) {
+      if (obj != null) {
+        upsertObj(obj);
       }
-    } finally {
-      writeUnlock();
     }
   }
 
@@ -181,16 +259,10 @@ final class BatchingPersistImpl implements BatchingPersist, ValidatingPersist {
   @Nonnull
   @javax.annotation.Nonnull
   public Obj fetchObj(@Nonnull @javax.annotation.Nonnull ObjId id) throws ObjNotFoundException {
-    readLock();
-    try {
-      Obj r = pendingObj(id);
-      if (r != null) {
-        return r;
-      }
-    } finally {
-      readUnlock();
+    Obj r = pendingObj(id);
+    if (r != null) {
+      return r;
     }
-
     return delegate().fetchObj(id);
   }
 
@@ -208,19 +280,14 @@ final class BatchingPersistImpl implements BatchingPersist, ValidatingPersist {
   public <T extends Obj> T fetchTypedObj(
       @Nonnull @javax.annotation.Nonnull ObjId id, ObjType type, Class<T> typeClass)
       throws ObjNotFoundException {
-    readLock();
-    try {
-      Obj r = pendingObj(id);
-      if (r != null) {
-        if (r.type() != type) {
-          throw new ObjNotFoundException(id);
-        }
-        @SuppressWarnings("unchecked")
-        T o = (T) r;
-        return o;
+    Obj r = pendingObj(id);
+    if (r != null) {
+      if (r.type() != type) {
+        throw new ObjNotFoundException(id);
       }
-    } finally {
-      readUnlock();
+      @SuppressWarnings("unchecked")
+      T o = (T) r;
+      return o;
     }
     return delegate().fetchTypedObj(id, type, typeClass);
   }
@@ -230,14 +297,9 @@ final class BatchingPersistImpl implements BatchingPersist, ValidatingPersist {
   @javax.annotation.Nonnull
   public ObjType fetchObjType(@Nonnull @javax.annotation.Nonnull ObjId id)
       throws ObjNotFoundException {
-    readLock();
-    try {
-      Obj r = pendingObj(id);
-      if (r != null) {
-        return r.type();
-      }
-    } finally {
-      readUnlock();
+    Obj r = pendingObj(id);
+    if (r != null) {
+      return r.type();
     }
     return delegate().fetchObjType(id);
   }
@@ -251,25 +313,20 @@ final class BatchingPersistImpl implements BatchingPersist, ValidatingPersist {
     ObjId[] backendIds = null;
     Obj[] r = new Obj[ids.length];
 
-    readLock();
-    try {
-      for (int i = 0; i < ids.length; i++) {
-        ObjId id = ids[i];
-        if (id == null) {
-          continue;
-        }
-        Obj o = pendingObj(id);
-        if (o != null) {
-          r[i] = o;
-        } else {
-          if (backendIds == null) {
-            backendIds = new ObjId[ids.length];
-          }
-          backendIds[i] = id;
+    for (int i = 0; i < ids.length; i++) {
+      ObjId id = ids[i];
+      if (id == null) {
+        continue;
+      }
+      Obj o = pendingObj(id);
+      if (o != null) {
+        r[i] = o;
+      } else {
+        if (backendIds == null) {
+          backendIds = new ObjId[ids.length];
         }
+        backendIds[i] = id;
       }
-    } finally {
-      readUnlock();
     }
 
     if (backendIds == null) {
@@ -288,19 +345,28 @@ final class BatchingPersistImpl implements BatchingPersist, ValidatingPersist {
 
   @Override
   public void deleteObj(@Nonnull @javax.annotation.Nonnull ObjId id) {
-    writeLock();
+    // Prevent a concurrent flush from writing the object again
+    flushLock.lock();
     try {
       delegate().deleteObj(id);
-      pendingStores.remove(id);
-      pendingUpserts.remove(id);
+      removePending(id);
     } finally {
-      writeUnlock();
+      flushLock.unlock();
+    }
+  }
+
+  private void removePending(ObjId id) {
+    if (pendingStores.remove(id) != null) {
+      removedPending();
+    }
+    if (pendingUpserts.remove(id) != null) {
+      removedPending();
     }
   }
 
   @Override
   public void deleteObjs(@Nonnull @javax.annotation.Nonnull ObjId[] ids) {
-    writeLock();
+    flushLock.lock();
     try {
       for (ObjId id : ids) {
         if (id != null) {
@@ -308,19 +374,23 @@ final class BatchingPersistImpl implements BatchingPersist, ValidatingPersist {
         }
       }
     } finally {
-      writeUnlock();
+      flushLock.unlock();
     }
   }
 
   @Override
   public void erase() {
-    writeLock();
+    flushLock.lock();
     try {
-      pendingStores.clear();
-      pendingUpserts.clear();
+      for (ObjId id : pendingStores.keySet()) {
+        removePending(id);
+      }
+      for (ObjId id : pendingUpserts.keySet()) {
+        removePending(id);
+      }
       delegate().erase();
     } finally {
-      writeUnlock();
+      flushLock.unlock();
     }
   }
 
@@ -15,6 +15,9 @@
  */
 package org.projectnessie.versioned.storage.batching;
 
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Executor;
 import org.immutables.value.Value;
 import org.projectnessie.versioned.storage.common.persist.Persist;
 
@@ -55,6 +58,24 @@ public interface WriteBatching {
     return DEFAULT_OPTIMISTIC;
   }
 
+  /**
+   * If present, batches that exceed the {@link #batchSize() batch size} or the {@link
+   * #maxBufferAge() maximum buffer age} are flushed asynchronously using this executor, so that
+   * writers do not have to wait for the flush. At most one asynchronous flush is in progress at any
+   * time. Writers wait for a flush, if the number of buffered objects exceeds twice the batch size.
+   *
+   * <p>Failures of asynchronous flushes are rethrown by the next call to {@link
+   * BatchingPersist#flush()}, the affected objects remain buffered.
+   */
+  Optional<Executor> flushExecutor();
+
+  /**
+   * If present, buffered objects are flushed once the oldest buffered object is older than this
+   * duration, even if the {@link #batchSize() batch size} has not been reached. The age is checked
+   * when objects are written.
+   */
+  Optional<Duration> maxBufferAge();
+
   default BatchingPersist create() {
     return new BatchingPersistImpl(this);
   }
@@ -19,10 +19,19 @@ import static java.util.Arrays.stream;
 import static org.assertj.core.api.AssertionsForClassTypes.entry;
 import static org.assertj.core.api.InstanceOfAssertFactories.list;
 import static org.assertj.core.api.InstanceOfAssertFactories.type;
+import static org.projectnessie.nessie.relocated.protobuf.ByteString.copyFromUtf8;
+import static org.projectnessie.versioned.storage.common.objtypes.IndexObj.index;
 import static org.projectnessie.versioned.storage.common.persist.ObjId.randomObjId;
 import static org.projectnessie.versioned.storage.commontests.AbstractBasePersistTests.updateObjChange;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.assertj.core.api.SoftAssertions;
@@ -217,6 +226,96 @@ public class TestBatchingPersist {
     soft.assertThat(persist.pendingUpserts()).containsExactly(entry(obj.id(), updated));
   }
 
+  @Test
+  void concurrentWrites() throws Exception {
+    int threads = 8;
+    int objsPerThread = 250;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<Map<Obj, Obj>>> futures = new ArrayList<>();
+      for (int t = 0; t < threads; t++) {
+        int thread = t;
+        futures.add(
+            executor.submit(
+                () -> {
+                  // stored object -> object read immediately after storing it
+                  Map<Obj, Obj> objs = new LinkedHashMap<>();
+                  for (int i = 0; i < objsPerThread; i++) {
+                    Obj obj = index(copyFromUtf8("thread " + thread + " obj " + i));
+                    batching.storeObj(obj);
+                    objs.put(obj, batching.fetchObj(obj.id()));
+                  }
+                  return objs;
+                }));
+      }
+
+      List<Obj> objs = new ArrayList<>();
+      for (Future<Map<Obj, Obj>> future : futures) {
+        Map<Obj, Obj> stored = future.get();
+        // Must be visible, whether it has been flushed or not
+        stored.forEach((obj, fetched) -> soft.assertThat(fetched).isEqualTo(obj));
+        objs.addAll(stored.keySet());
+      }
+      batching.flush();
+
+      soft.assertThat(batching.pendingStores()).isEmpty();
+      soft.assertThat(batching.pendingUpserts()).isEmpty();
+      soft.assertThat(base.fetchObjs(objs.stream().map(Obj::id).toArray(ObjId[]::new)))
+          .containsExactlyElementsOf(objs);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void asyncFlush() throws Exception {
+    List<Runnable> tasks = new ArrayList<>();
+    BatchingPersistImpl persist =
+        (BatchingPersistImpl)
+            WriteBatching.builder()
+                .persist(base)
+                .batchSize(2)
+                .flushExecutor(tasks::add)
+                .build()
+                .create();
+
+    Obj[] objs = allObjectTypeSamples().limit(4).toArray(Obj[]::new);
+    persist.storeObj(objs[0]);
+    persist.storeObj(objs[1]);
+    soft.assertThat(tasks).isEmpty();
+    persist.storeObj(objs[2]);
+    persist.storeObj(objs[3]);
+    // Only one asynchronous flush is scheduled at a time
+    soft.assertThat(tasks).hasSize(1);
+    soft.assertThat(persist.pendingStores()).hasSize(4);
+
+    tasks.get(0).run();
+    soft.assertThat(persist.pendingStores()).isEmpty();
+    soft.assertThat(base.fetchObjs(stream(objs).map(Obj::id).toArray(ObjId[]::new)))
+        .containsExactly(objs);
+  }
+
+  @Test
+  void maxBufferAge() throws Exception {
+    BatchingPersistImpl persist =
+        (BatchingPersistImpl)
+            WriteBatching.builder()
+                .persist(base)
+                .batchSize(100)
+                .maxBufferAge(Duration.ofMillis(1))
+                .build()
+                .create();
+
+    Obj[] objs = allObjectTypeSamples().limit(2).toArray(Obj[]::new);
+    persist.storeObj(objs[0]);
+    soft.assertThat(persist.pendingStores()).hasSize(1);
+    Thread.sleep(10L);
+    persist.storeObj(objs[1]);
+    soft.assertThat(persist.pendingStores()).isEmpty();
+    soft.assertThat(base.fetchObjs(stream(objs).map(Obj::id).toArray(ObjId[]::new)))
+        .containsExactly(objs);
+  }
+
   private Persist base() {
     InmemoryBackendFactory factory = new InmemoryBackendFactory();
     @SuppressWarnings("resource")
@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.github.jengelman.gradle.plugins.shadow.tasks.ShadowJar
+
+plugins {
+  `java-library`
+  `maven-publish`
+  signing
+  `nessie-conventions`
+}
+
+extra["maven.name"] = "Nessie - Storage - Benchmarks"
+
+description = "JMH benchmarks for the VersionStore implementation relying on 'Persist'."
+
+apply<NessieShadowJarPlugin>()
+
+dependencies {
+  implementation(project(":nessie-model"))
+  implementation(project(":nessie-versioned-spi"))
+  implementation(project(":nessie-versioned-storage-cache"))
+  implementation(project(":nessie-versioned-storage-common"))
+  implementation(project(":nessie-versioned-storage-common-tests"))
+  implementation(project(":nessie-versioned-storage-store"))
+  implementation(project(":nessie-versioned-storage-testextension"))
+  implementation(project(":nessie-versioned-storage-inmemory"))
+  implementation(project(":nessie-versioned-storage-rocksdb"))
+  implementation(libs.jmh.core)
+  annotationProcessor(libs.jmh.generator.annprocess)
+
+  compileOnly(platform(libs.jackson.bom))
+  compileOnly(libs.jackson.annotations)
+
+  compileOnly(libs.microprofile.openapi)
+
+  testImplementation(platform(libs.junit.bom))
+  testImplementation(libs.bundles.junit.testing)
+}
+
+val shadowJar =
+  tasks.named<ShadowJar>("shadowJar") {
+    manifest { attributes["Main-Class"] = "org.openjdk.jmh.Main" }
+  }
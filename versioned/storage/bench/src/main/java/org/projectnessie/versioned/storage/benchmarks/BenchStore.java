@@ -0,0 +1,247 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.benchmarks;
+
+import static org.projectnessie.versioned.storage.common.logic.Logics.repositoryLogic;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+import org.projectnessie.model.CommitMeta;
+import org.projectnessie.model.ContentKey;
+import org.projectnessie.model.IcebergTable;
+import org.projectnessie.model.Namespace;
+import org.projectnessie.versioned.BranchName;
+import org.projectnessie.versioned.Hash;
+import org.projectnessie.versioned.Operation;
+import org.projectnessie.versioned.Put;
+import org.projectnessie.versioned.VersionStore;
+import org.projectnessie.versioned.storage.cache.PersistCaches;
+import org.projectnessie.versioned.storage.common.config.StoreConfig;
+import org.projectnessie.versioned.storage.common.persist.Backend;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.projectnessie.versioned.storage.commontests.ImmutableRealisticKeySet;
+import org.projectnessie.versioned.storage.inmemory.InmemoryBackendTestFactory;
+import org.projectnessie.versioned.storage.rocksdb.RocksDBBackendTestFactory;
+import org.projectnessie.versioned.storage.testextension.BackendTestFactory;
+import org.projectnessie.versioned.storage.versionstore.VersionStoreImpl;
+
+/**
+ * Sets up a {@link Backend}, a {@link Persist} instance, optionally wrapped with a cache, and a
+ * {@link VersionStoreImpl} for the benchmarks, plus generators for content keys and commit
+ * histories.
+ *
+ * <p>The backend names {@code Inmemory} and {@code RocksDB} are always available, other backends
+ * are looked up via the {@link BackendTestFactory} services, the given backend name must match the
+ * beginning of the factory's class name. Store configuration options can be passed as system
+ * properties, prefixed with {@value #CONFIG_PREFIX}, for example {@code
+ * -Dnessie.version.store.persist.commit-coalescing=true}.
+ */
+final class BenchStore implements AutoCloseable {
+
+  static final String CONFIG_PREFIX = "nessie.version.store.persist.";
+
+  static final long CACHE_CAPACITY = 256L * 1024L * 1024L;
+
+  private final BackendTestFactory backendTestFactory;
+  private final Backend backend;
+  final Persist persist;
+  final VersionStore versionStore;
+
+  BenchStore(String backendName, boolean cache) throws Exception {
+    backendTestFactory = backendTestFactory(backendName);
+    backendTestFactory.start();
+    backend = backendTestFactory.createNewBackend();
+    backend.setupSchema();
+
+    StoreConfig config =
+        StoreConfig.Adjustable.empty().fromFunction(k -> System.getProperty(CONFIG_PREFIX + k));
+    Persist p = backend.createFactory().newPersist(config);
+    if (cache) {
+      p = PersistCaches.newBackend(CACHE_CAPACITY).wrap(p);
+    }
+    persist = p;
+
+    persist.erase();
+    repositoryLogic(persist).initialize("main");
+    versionStore = new VersionStoreImpl(persist);
+  }
+
+  private static BackendTestFactory backendTestFactory(String backendName) {
+    String prefix = backendName.toLowerCase(Locale.ROOT);
+    switch (prefix) {
+      case "inmemory":
+        return new InmemoryBackendTestFactory();
+      case "rocksdb":
+        return new RocksDBBackendTestFactory();
+      default:
+        break;
+    }
+    for (BackendTestFactory factory : ServiceLoader.load(BackendTestFactory.class)) {
+      if (factory.getClass().getSimpleName().toLowerCase(Locale.ROOT).startsWith(prefix)) {
+        return factory;
+      }
+    }
+    throw new IllegalArgumentException("No backend test factory found for " + backendName);
+  }
+
+  @Override
+  public void close() throws Exception {
+    try {
+      backend.close();
+    } finally {
+      backendTestFactory.stop();
+    }
+  }
+
+  /**
+   * Generates content keys with realistic names: {@code namespaceLevels} levels of nested
+   * namespaces with {@code foldersPerLevel} namespaces each, and {@code tablesPerNamespace} tables
+   * in each namespace on the deepest level. The generated keys are the same for every call.
+   */
+  static List<ContentKey> realisticKeys(
+      int namespaceLevels, int foldersPerLevel, int tablesPerNamespace) {
+    return ImmutableRealisticKeySet.builder()
+        .namespaceLevels(namespaceLevels)
+        .foldersPerLevel(foldersPerLevel)
+        .tablesPerNamespace(tablesPerNamespace)
+        .deterministic(true)
+        .build()
+        .keys()
+        .stream()
+        .map(k -> ContentKey.of(k.rawString().split("\u0000")))
+        .sorted()
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Creates the namespaces of all {@code keys} on {@code branch}, because commits are validated
+   * against the existing namespaces by default. Uses one commit per namespace level, parent
+   * namespaces first.
+   *
+   * @return the hash of the last commit
+   */
+  Hash createNamespaces(BranchName branch, Collection<ContentKey> keys) throws Exception {
+    Map<Integer, Set<ContentKey>> namespacesByLevel = new TreeMap<>();
+    for (ContentKey key : keys) {
+      List<String> elements = key.getElements();
+      for (int level = 1; level < elements.size(); level++) {
+        namespacesByLevel
+            .computeIfAbsent(level, l -> new TreeSet<>())
+            .add(ContentKey.of(elements.subList(0, level)));
+      }
+    }
+
+    Hash head = null;
+    for (Set<ContentKey> namespaces : namespacesByLevel.values()) {
+      List<Operation> operations = new ArrayList<>(namespaces.size());
+      for (ContentKey namespace : namespaces) {
+        operations.add(Put.of(namespace, Namespace.of(namespace)));
+      }
+      head = commit(branch, operations, new HashMap<>());
+    }
+    return head;
+  }
+
+  /**
+   * Creates the namespaces and adds all {@code keys} to {@code branch}, {@code keysPerCommit} keys
+   * per commit, then adds commits that update {@code keysPerCommit} randomly chosen keys until
+   * {@code commitDepth} commits have been added to the branch.
+   *
+   * @param contentIds receives the content IDs of the added keys
+   * @return the hash of the last commit
+   */
+  Hash populate(
+      BranchName branch,
+      List<ContentKey> keys,
+      int keysPerCommit,
+      int commitDepth,
+      Map<ContentKey, String> contentIds)
+      throws Exception {
+    Hash head = createNamespaces(branch, keys);
+    int commits = 0;
+    for (int i = 0; i < keys.size(); i += keysPerCommit, commits++) {
+      List<Operation> operations = new ArrayList<>(keysPerCommit);
+      for (ContentKey key : keys.subList(i, Math.min(keys.size(), i + keysPerCommit))) {
+        operations.add(put(key, null));
+      }
+      head = commit(branch, operations, contentIds);
+    }
+
+    Random random = new Random(42L);
+    for (; commits < commitDepth; commits++) {
+      head = updateRandomKeys(branch, keys, keysPerCommit, contentIds, random);
+    }
+    return head;
+  }
+
+  /** Adds a commit to {@code branch} that updates {@code count} randomly chosen keys. */
+  Hash updateRandomKeys(
+      BranchName branch,
+      List<ContentKey> keys,
+      int count,
+      Map<ContentKey, String> contentIds,
+      Random random)
+      throws Exception {
+    List<Operation> operations = new ArrayList<>(count);
+    random
+        .ints(0, keys.size())
+        .distinct()
+        .limit(Math.min(count, keys.size()))
+        .mapToObj(keys::get)
+        .forEach(key -> operations.add(put(key, contentIds.get(key))));
+    return commit(branch, operations, contentIds);
+  }
+
+  Hash commit(BranchName branch, List<Operation> operations, Map<ContentKey, String> contentIds)
+      throws Exception {
+    return versionStore
+        .commit(
+            branch,
+            Optional.empty(),
+            CommitMeta.fromMessage("benchmark commit"),
+            operations,
+            () -> null,
+            contentIds::put)
+        .getCommitHash();
+  }
+
+  /**
+   * Returns a {@link Put} operation for a table with random contents, {@code contentId} must be
+   * {@code null} for new keys and the content ID of the existing table for existing keys.
+   */
+  static Put put(ContentKey key, String contentId) {
+    long snapshotId = ThreadLocalRandom.current().nextLong();
+    String metadataLocation =
+        "s3://bucket/" + key.toPathString() + "/metadata/" + snapshotId + ".metadata.json";
+    IcebergTable table =
+        contentId != null
+            ? IcebergTable.of(metadataLocation, snapshotId, 1, 2, 3, contentId)
+            : IcebergTable.of(metadataLocation, snapshotId, 1, 2, 3);
+    return Put.of(key, table);
+  }
+}
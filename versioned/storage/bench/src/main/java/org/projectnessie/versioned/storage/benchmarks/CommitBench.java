@@ -0,0 +1,173 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.benchmarks;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.projectnessie.model.ContentKey;
+import org.projectnessie.versioned.BranchName;
+import org.projectnessie.versioned.Hash;
+import org.projectnessie.versioned.Operation;
+import org.projectnessie.versioned.ReferenceConflictException;
+import org.projectnessie.versioned.ReferenceRetryFailureException;
+
+/** Commit throughput with and without contention on the branch and on the content keys. */
+@Warmup(iterations = 2, time = 2000, timeUnit = MILLISECONDS)
+@Measurement(iterations = 3, time = 5000, timeUnit = MILLISECONDS)
+@Fork(1)
+@Threads(4)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(SECONDS)
+public class CommitBench {
+
+  @State(Scope.Benchmark)
+  public static class BenchmarkParam {
+
+    @Param({"Inmemory", "RocksDB"})
+    public String backend;
+
+    @Param({"false", "true"})
+    public boolean cache;
+
+    @Param({"1", "5"})
+    public int tablesPerCommit;
+
+    final AtomicInteger threadNum = new AtomicInteger();
+    final AtomicInteger retryFailures = new AtomicInteger();
+    final AtomicInteger conflictsFailures = new AtomicInteger();
+    final AtomicInteger success = new AtomicInteger();
+    final BranchName branch = BranchName.of("main");
+    final Map<ContentKey, String> contentIds = new ConcurrentHashMap<>();
+    BenchStore store;
+    List<ContentKey> keys;
+
+    @Setup
+    public void init() throws Exception {
+      store = new BenchStore(backend, cache);
+      keys = keys("shared", tablesPerCommit);
+      store.createNamespaces(branch, keys);
+      store.commit(branch, newTables(keys), contentIds);
+    }
+
+    @TearDown
+    public void close() throws Exception {
+      int retries = retryFailures.get();
+      int conflicts = conflictsFailures.get();
+      int successes = success.get();
+      double total = Math.max(retries + conflicts + successes, 1);
+      System.out.printf(
+          "(%.02f%% retries (%d), %.02f%% conflicts (%d), %.02f%% success (%d)) ",
+          retries * 100d / total,
+          retries,
+          conflicts * 100d / total,
+          conflicts,
+          successes * 100d / total,
+          successes);
+      store.close();
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class ThreadParam {
+    BranchName branch;
+    List<ContentKey> keys;
+    Map<ContentKey, String> contentIds;
+
+    @Setup
+    public void createBranch(BenchmarkParam bp) throws Exception {
+      String name = "thread-" + bp.threadNum.incrementAndGet();
+      branch = BranchName.of(name);
+      keys = keys(name, bp.tablesPerCommit);
+      contentIds = new ConcurrentHashMap<>();
+
+      bp.store.createNamespaces(bp.branch, keys);
+      Hash hash = bp.store.commit(bp.branch, newTables(keys), contentIds);
+      bp.store.versionStore.create(branch, Optional.of(hash));
+    }
+  }
+
+  @Benchmark
+  public void singleBranchSharedKeys(BenchmarkParam bp) throws Exception {
+    doCommit(bp, bp.branch, bp.keys, bp.contentIds);
+  }
+
+  @Benchmark
+  public void branchPerThreadSharedKeys(BenchmarkParam bp, ThreadParam tp) throws Exception {
+    doCommit(bp, tp.branch, bp.keys, bp.contentIds);
+  }
+
+  @Benchmark
+  public void singleBranchUnsharedKeys(BenchmarkParam bp, ThreadParam tp) throws Exception {
+    doCommit(bp, bp.branch, tp.keys, tp.contentIds);
+  }
+
+  @Benchmark
+  public void branchPerThreadUnsharedKeys(BenchmarkParam bp, ThreadParam tp) throws Exception {
+    doCommit(bp, tp.branch, tp.keys, tp.contentIds);
+  }
+
+  private static void doCommit(
+      BenchmarkParam bp,
+      BranchName branch,
+      List<ContentKey> keys,
+      Map<ContentKey, String> contentIds)
+      throws Exception {
+    List<Operation> operations = new ArrayList<>(keys.size());
+    for (ContentKey key : keys) {
+      operations.add(BenchStore.put(key, contentIds.get(key)));
+    }
+    try {
+      bp.store.commit(branch, operations, contentIds);
+      bp.success.incrementAndGet();
+    } catch (ReferenceRetryFailureException e) {
+      bp.retryFailures.incrementAndGet();
+    } catch (ReferenceConflictException e) {
+      bp.conflictsFailures.incrementAndGet();
+    }
+  }
+
+  static List<ContentKey> keys(String namespace, int count) {
+    return IntStream.range(0, count)
+        .mapToObj(i -> ContentKey.of(namespace, "table-" + i))
+        .collect(Collectors.toList());
+  }
+
+  static List<Operation> newTables(List<ContentKey> keys) {
+    return keys.stream().map(k -> BenchStore.put(k, null)).collect(Collectors.toList());
+  }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.benchmarks;
+
+import static java.util.Collections.emptyMap;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.projectnessie.model.CommitMeta;
+import org.projectnessie.model.ContentKey;
+import org.projectnessie.model.MergeBehavior;
+import org.projectnessie.versioned.BranchName;
+import org.projectnessie.versioned.Commit;
+import org.projectnessie.versioned.Hash;
+import org.projectnessie.versioned.MergeResult;
+import org.projectnessie.versioned.MetadataRewriter;
+import org.projectnessie.versioned.paging.PaginationIterator;
+
+/**
+ * Merges and transplants of the commits of a source branch onto a new target branch, which is
+ * created before and deleted after each invocation.
+ */
+@Warmup(iterations = 2, time = 2000, timeUnit = MILLISECONDS)
+@Measurement(iterations = 3, time = 5000, timeUnit = MILLISECONDS)
+@Fork(1)
+@Threads(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MILLISECONDS)
+public class MergeBench {
+
+  static final int KEYS_PER_COMMIT = 5;
+
+  static final MetadataRewriter<CommitMeta> METADATA_REWRITER =
+      new MetadataRewriter<CommitMeta>() {
+        @Override
+        public CommitMeta rewriteSingle(CommitMeta metadata) {
+          return metadata;
+        }
+
+        @Override
+        public CommitMeta squash(List<CommitMeta> metadata) {
+          return CommitMeta.fromMessage(
+              metadata.stream().map(CommitMeta::getMessage).collect(Collectors.joining("\n")));
+        }
+      };
+
+  @State(Scope.Benchmark)
+  public static class BenchmarkParam {
+
+    @Param({"Inmemory", "RocksDB"})
+    public String backend;
+
+    @Param({"false", "true"})
+    public boolean cache;
+
+    @Param({"1", "10", "50"})
+    public int sourceCommits;
+
+    final BranchName branch = BranchName.of("main");
+    final BranchName source = BranchName.of("source");
+    final AtomicInteger targetNum = new AtomicInteger();
+    BenchStore store;
+    Hash forkPoint;
+    Hash sourceHead;
+    List<Hash> sourceHashes;
+
+    @Setup
+    public void init() throws Exception {
+      store = new BenchStore(backend, cache);
+      List<ContentKey> keys = BenchStore.realisticKeys(3, 3, 20);
+
+      Map<ContentKey, String> contentIds = new HashMap<>();
+      forkPoint = store.populate(branch, keys, 50, 100, contentIds);
+
+      store.versionStore.create(source, Optional.of(forkPoint));
+      Random random = new Random(42L);
+      for (int i = 0; i < sourceCommits; i++) {
+        sourceHead = store.updateRandomKeys(source, keys, KEYS_PER_COMMIT, contentIds, random);
+      }
+
+      sourceHashes = new ArrayList<>(sourceCommits);
+      try (PaginationIterator<Commit> commits = store.versionStore.getCommits(source, false)) {
+        for (int i = 0; i < sourceCommits; i++) {
+          sourceHashes.add(commits.next().getHash());
+        }
+      }
+      // oldest commit first
+      Collections.reverse(sourceHashes);
+    }
+
+    @TearDown
+    public void close() throws Exception {
+      store.close();
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class TargetBranch {
+    BranchName target;
+
+    @Setup(Level.Invocation)
+    public void createTarget(BenchmarkParam bp) throws Exception {
+      target = BranchName.of("target-" + bp.targetNum.incrementAndGet());
+      bp.store.versionStore.create(target, Optional.of(bp.forkPoint));
+    }
+
+    @TearDown(Level.Invocation)
+    public void deleteTarget(BenchmarkParam bp) throws Exception {
+      bp.store.versionStore.delete(target, Optional.empty());
+    }
+  }
+
+  @Benchmark
+  public MergeResult<Commit> merge(BenchmarkParam bp, TargetBranch tb) throws Exception {
+    return bp.store.versionStore.merge(
+        bp.source,
+        bp.sourceHead,
+        tb.target,
+        Optional.empty(),
+        METADATA_REWRITER,
+        false,
+        emptyMap(),
+        MergeBehavior.NORMAL,
+        false,
+        false);
+  }
+
+  @Benchmark
+  public MergeResult<Commit> transplant(BenchmarkParam bp, TargetBranch tb) throws Exception {
+    return bp.store.versionStore.transplant(
+        bp.source,
+        tb.target,
+        Optional.empty(),
+        bp.sourceHashes,
+        METADATA_REWRITER,
+        true,
+        emptyMap(),
+        MergeBehavior.NORMAL,
+        false,
+        false);
+  }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.benchmarks;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.projectnessie.model.Content;
+import org.projectnessie.model.ContentKey;
+import org.projectnessie.versioned.BranchName;
+import org.projectnessie.versioned.Diff;
+import org.projectnessie.versioned.KeyEntry;
+import org.projectnessie.versioned.paging.PaginationIterator;
+
+/**
+ * Content reads, key listings and diffs against a branch with a realistic key set and commit
+ * history.
+ */
+@Warmup(iterations = 2, time = 2000, timeUnit = MILLISECONDS)
+@Measurement(iterations = 3, time = 5000, timeUnit = MILLISECONDS)
+@Fork(1)
+@Threads(4)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MICROSECONDS)
+public class ReadBench {
+
+  static final int KEYS_PER_COMMIT = 20;
+  static final int DIFF_COMMITS = 10;
+  static final int GET_VALUES_KEYS = 10;
+  static final int KEYS_PAGE_SIZE = 100;
+
+  @State(Scope.Benchmark)
+  public static class BenchmarkParam {
+
+    @Param({"Inmemory", "RocksDB"})
+    public String backend;
+
+    @Param({"false", "true"})
+    public boolean cache;
+
+    @Param({"3"})
+    public int namespaceLevels;
+
+    /** 200 keys with 2 folders per level, 3125 keys with 5 folders per level. */
+    @Param({"2", "5"})
+    public int foldersPerLevel;
+
+    @Param({"25"})
+    public int tablesPerNamespace;
+
+    @Param({"200", "1000"})
+    public int commitDepth;
+
+    final BranchName branch = BranchName.of("main");
+    final BranchName diffBranch = BranchName.of("diff");
+    BenchStore store;
+    List<ContentKey> keys;
+
+    @Setup
+    public void init() throws Exception {
+      store = new BenchStore(backend, cache);
+      keys = BenchStore.realisticKeys(namespaceLevels, foldersPerLevel, tablesPerNamespace);
+
+      Map<ContentKey, String> contentIds = new HashMap<>();
+      store.populate(branch, keys, KEYS_PER_COMMIT, commitDepth, contentIds);
+
+      store.versionStore.create(
+          diffBranch, Optional.of(store.versionStore.hashOnReference(branch, Optional.empty())));
+      Random random = new Random(42L);
+      for (int i = 0; i < DIFF_COMMITS; i++) {
+        store.updateRandomKeys(diffBranch, keys, KEYS_PER_COMMIT, contentIds, random);
+      }
+    }
+
+    @TearDown
+    public void close() throws Exception {
+      store.close();
+    }
+
+    ContentKey randomKey() {
+      return keys.get(ThreadLocalRandom.current().nextInt(keys.size()));
+    }
+  }
+
+  @Benchmark
+  public Content getValue(BenchmarkParam bp) throws Exception {
+    return bp.store.versionStore.getValue(bp.branch, bp.randomKey());
+  }
+
+  @Benchmark
+  public Map<ContentKey, Content> getValues(BenchmarkParam bp) throws Exception {
+    List<ContentKey> keys = new ArrayList<>(GET_VALUES_KEYS);
+    for (int i = 0; i < GET_VALUES_KEYS; i++) {
+      keys.add(bp.randomKey());
+    }
+    return bp.store.versionStore.getValues(bp.branch, keys);
+  }
+
+  @Benchmark
+  public void getKeysFirstPage(BenchmarkParam bp, Blackhole bh) throws Exception {
+    try (PaginationIterator<KeyEntry> iter =
+        bp.store.versionStore.getKeys(bp.branch, null, false)) {
+      for (int i = 0; i < KEYS_PAGE_SIZE && iter.hasNext(); i++) {
+        bh.consume(iter.next());
+      }
+      bh.consume(iter.tokenForCurrent());
+    }
+  }
+
+  @Benchmark
+  public void getKeysAll(BenchmarkParam bp, Blackhole bh) throws Exception {
+    try (PaginationIterator<KeyEntry> iter =
+        bp.store.versionStore.getKeys(bp.branch, null, false)) {
+      iter.forEachRemaining(bh::consume);
+    }
+  }
+
+  @Benchmark
+  public void getDiffs(BenchmarkParam bp, Blackhole bh) throws Exception {
+    try (PaginationIterator<Diff> iter =
+        bp.store.versionStore.getDiffs(bp.branch, bp.diffBranch, null)) {
+      iter.forEachRemaining(bh::consume);
+    }
+  }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.benchmarks;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.projectnessie.versioned.GetNamedRefsParams.RetrieveOptions.BARE;
+import static org.projectnessie.versioned.GetNamedRefsParams.RetrieveOptions.BASE_REFERENCE_RELATED_AND_COMMIT_META;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.projectnessie.model.CommitMeta;
+import org.projectnessie.model.ContentKey;
+import org.projectnessie.versioned.BranchName;
+import org.projectnessie.versioned.GetNamedRefsParams;
+import org.projectnessie.versioned.Hash;
+import org.projectnessie.versioned.ReferenceInfo;
+import org.projectnessie.versioned.paging.PaginationIterator;
+
+/**
+ * Lists references, with and without computing the commits ahead and behind of the default branch.
+ * Each branch has up to {@value #MAX_COMMITS_AHEAD} commits that are not on the default branch,
+ * the default branch has {@value #COMMITS_BEHIND} commits that are not on the other branches.
+ */
+@Warmup(iterations = 2, time = 2000, timeUnit = MILLISECONDS)
+@Measurement(iterations = 3, time = 5000, timeUnit = MILLISECONDS)
+@Fork(1)
+@Threads(4)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MICROSECONDS)
+public class ReferencesBench {
+
+  static final int MAX_COMMITS_AHEAD = 5;
+  static final int COMMITS_BEHIND = 5;
+  static final int KEYS_PER_COMMIT = 5;
+
+  @State(Scope.Benchmark)
+  public static class BenchmarkParam {
+
+    @Param({"Inmemory", "RocksDB"})
+    public String backend;
+
+    @Param({"false", "true"})
+    public boolean cache;
+
+    @Param({"10", "100"})
+    public int numReferences;
+
+    final BranchName branch = BranchName.of("main");
+    BenchStore store;
+    GetNamedRefsParams bare;
+    GetNamedRefsParams aheadBehind;
+
+    @Setup
+    public void init() throws Exception {
+      store = new BenchStore(backend, cache);
+      List<ContentKey> keys = BenchStore.realisticKeys(2, 3, 10);
+
+      Map<ContentKey, String> contentIds = new HashMap<>();
+      Hash forkPoint = store.populate(branch, keys, 30, 20, contentIds);
+
+      Random random = new Random(42L);
+      for (int i = 0; i < numReferences; i++) {
+        BranchName ref = BranchName.of("branch-" + i);
+        store.versionStore.create(ref, Optional.of(forkPoint));
+        Map<ContentKey, String> refContentIds = new HashMap<>(contentIds);
+        for (int c = i % (MAX_COMMITS_AHEAD + 1); c > 0; c--) {
+          store.updateRandomKeys(ref, keys, KEYS_PER_COMMIT, refContentIds, random);
+        }
+      }
+      for (int i = 0; i < COMMITS_BEHIND; i++) {
+        store.updateRandomKeys(branch, keys, KEYS_PER_COMMIT, contentIds, random);
+      }
+
+      bare = GetNamedRefsParams.builder().branchRetrieveOptions(BARE).build();
+      aheadBehind =
+          GetNamedRefsParams.builder()
+              .baseReference(branch)
+              .branchRetrieveOptions(BASE_REFERENCE_RELATED_AND_COMMIT_META)
+              .build();
+    }
+
+    @TearDown
+    public void close() throws Exception {
+      store.close();
+    }
+  }
+
+  @Benchmark
+  public void namedRefs(BenchmarkParam bp, Blackhole bh) throws Exception {
+    listReferences(bp, bp.bare, bh);
+  }
+
+  @Benchmark
+  public void namedRefsAheadBehind(BenchmarkParam bp, Blackhole bh) throws Exception {
+    listReferences(bp, bp.aheadBehind, bh);
+  }
+
+  private static void listReferences(BenchmarkParam bp, GetNamedRefsParams params, Blackhole bh)
+      throws Exception {
+    try (PaginationIterator<ReferenceInfo<CommitMeta>> refs =
+        bp.store.versionStore.getNamedRefs(params, null)) {
+      refs.forEachRemaining(bh::consume);
+    }
+  }
+}
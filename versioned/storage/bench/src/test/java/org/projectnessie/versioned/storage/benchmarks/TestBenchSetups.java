@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.benchmarks;
+
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.openjdk.jmh.infra.Blackhole;
+
+/** Runs the setup of each benchmark once, followed by a single invocation of its benchmarks. */
+@ExtendWith(SoftAssertionsExtension.class)
+public class TestBenchSetups {
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  private static Blackhole blackhole() {
+    return new Blackhole(
+        "Today's password is swordfish. "
+            + "I understand instantiating Blackholes directly is dangerous.");
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"Inmemory", "RocksDB"})
+  public void commitBench(String backend) throws Exception {
+    CommitBench bench = new CommitBench();
+    CommitBench.BenchmarkParam bp = new CommitBench.BenchmarkParam();
+    bp.backend = backend;
+    bp.cache = true;
+    bp.tablesPerCommit = 5;
+    bp.init();
+    try {
+      CommitBench.ThreadParam tp = new CommitBench.ThreadParam();
+      tp.createBranch(bp);
+
+      bench.singleBranchSharedKeys(bp);
+      bench.branchPerThreadSharedKeys(bp, tp);
+      bench.singleBranchUnsharedKeys(bp, tp);
+      bench.branchPerThreadUnsharedKeys(bp, tp);
+
+      soft.assertThat(bp.success).hasValue(4);
+      soft.assertThat(bp.conflictsFailures).hasValue(0);
+      soft.assertThat(bp.retryFailures).hasValue(0);
+    } finally {
+      bp.close();
+    }
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"Inmemory", "RocksDB"})
+  public void readBench(String backend) throws Exception {
+    ReadBench bench = new ReadBench();
+    ReadBench.BenchmarkParam bp = new ReadBench.BenchmarkParam();
+    bp.backend = backend;
+    bp.cache = false;
+    bp.namespaceLevels = 3;
+    bp.foldersPerLevel = 2;
+    bp.tablesPerNamespace = 25;
+    bp.commitDepth = 20;
+    bp.init();
+    try {
+      soft.assertThat(bench.getValue(bp)).isNotNull();
+      soft.assertThat(bench.getValues(bp)).isNotEmpty();
+      Blackhole bh = blackhole();
+      bench.getKeysFirstPage(bp, bh);
+      bench.getKeysAll(bp, bh);
+      bench.getDiffs(bp, bh);
+    } finally {
+      bp.close();
+    }
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"Inmemory", "RocksDB"})
+  public void mergeBench(String backend) throws Exception {
+    MergeBench bench = new MergeBench();
+    MergeBench.BenchmarkParam bp = new MergeBench.BenchmarkParam();
+    bp.backend = backend;
+    bp.cache = false;
+    bp.sourceCommits = 2;
+    bp.init();
+    try {
+      MergeBench.TargetBranch tb = new MergeBench.TargetBranch();
+      tb.createTarget(bp);
+      soft.assertThat(bench.merge(bp, tb).wasSuccessful()).isTrue();
+      tb.deleteTarget(bp);
+
+      tb.createTarget(bp);
+      soft.assertThat(bench.transplant(bp, tb).wasSuccessful()).isTrue();
+      tb.deleteTarget(bp);
+    } finally {
+      bp.close();
+    }
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"Inmemory", "RocksDB"})
+  public void referencesBench(String backend) throws Exception {
+    ReferencesBench bench = new ReferencesBench();
+    ReferencesBench.BenchmarkParam bp = new ReferencesBench.BenchmarkParam();
+    bp.backend = backend;
+    bp.cache = false;
+    bp.numReferences = 10;
+    bp.init();
+    try {
+      Blackhole bh = blackhole();
+      bench.namedRefs(bp, bh);
+      bench.namedRefsAheadBehind(bp, bh);
+    } finally {
+      bp.close();
+    }
+  }
+}
@@ -20,6 +20,7 @@ plugins {
   `maven-publish`
   signing
   `nessie-conventions`
+  alias(libs.plugins.jmh)
 }
 
 extra["maven.name"] = "Nessie - Storage - Cache"
@@ -51,4 +52,11 @@ dependencies {
 
   testImplementation(platform(libs.junit.bom))
   testImplementation(libs.bundles.junit.testing)
+
+  jmhImplementation(libs.jmh.core)
+  jmhAnnotationProcessor(libs.jmh.generator.annprocess)
 }
+
+tasks.named("processJmhJandexIndex") { enabled = false }
+
+tasks.named("processTestJandexIndex") { enabled = false }
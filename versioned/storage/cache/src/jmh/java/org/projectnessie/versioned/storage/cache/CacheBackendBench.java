@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.cache;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexElement.indexElement;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.newStoreIndex;
+import static org.projectnessie.versioned.storage.common.indexes.StoreKey.key;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitHeaders.newCommitHeaders;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitOp.COMMIT_OP_SERIALIZER;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitOp.commitOp;
+import static org.projectnessie.versioned.storage.common.objtypes.IndexSegmentsObj.indexSegments;
+import static org.projectnessie.versioned.storage.common.objtypes.IndexStripe.indexStripe;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.randomObjId;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.projectnessie.versioned.storage.common.indexes.StoreIndex;
+import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
+import org.projectnessie.versioned.storage.common.objtypes.CommitOp;
+import org.projectnessie.versioned.storage.common.objtypes.CommitOp.Action;
+import org.projectnessie.versioned.storage.common.objtypes.IndexStripe;
+import org.projectnessie.versioned.storage.common.persist.Obj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+
+/**
+ * Compares cache hits served from the serialized tier, which deserializes the object for each
+ * access, with cache hits served from the tier holding deserialized objects.
+ *
+ * <p>Run with {@code -prof gc} to see the allocation rates.
+ */
+@Warmup(iterations = 2, time = 2000, timeUnit = MILLISECONDS)
+@Measurement(iterations = 3, time = 1000, timeUnit = MILLISECONDS)
+@Fork(1)
+@Threads(4)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(NANOSECONDS)
+public class CacheBackendBench {
+  @State(Scope.Benchmark)
+  public static class BenchmarkParam {
+
+    @Param({"false", "true"})
+    public boolean objTier;
+
+    @Param({"10", "100"})
+    public int numElements;
+
+    private CacheBackend backend;
+    private ObjId commitId;
+    private ObjId segmentsId;
+
+    @Setup
+    public void init() {
+      backend =
+          objTier
+              ? PersistCaches.newBackend(
+                  CacheConfig.builder()
+                      .capacity(64 * 1024 * 1024)
+                      .objCapacity(64 * 1024 * 1024)
+                      .build())
+              : PersistCaches.newBackend(64 * 1024 * 1024);
+
+      StoreIndex<CommitOp> index = newStoreIndex(COMMIT_OP_SERIALIZER);
+      List<IndexStripe> stripes = new ArrayList<>();
+      for (int i = 0; i < numElements; i++) {
+        index.add(
+            indexElement(key("namespace", "table-" + i), commitOp(Action.ADD, 1, randomObjId())));
+        stripes.add(
+            indexStripe(
+                key("namespace", "table-" + i), key("namespace", "table-" + i), randomObjId()));
+      }
+
+      Obj commit =
+          CommitObj.commitBuilder()
+              .id(randomObjId())
+              .seq(1L)
+              .created(42L)
+              .message("commit message")
+              .headers(newCommitHeaders().add("Author", "Nessie").build())
+              .addTail(randomObjId())
+              .incrementalIndex(index.serialize())
+              .build();
+      Obj segments = indexSegments(randomObjId(), stripes);
+
+      backend.put("repo", commit);
+      backend.put("repo", segments);
+      commitId = commit.id();
+      segmentsId = segments.id();
+    }
+  }
+
+  @Benchmark
+  public Obj getCommit(BenchmarkParam param) {
+    return param.backend.get("repo", param.commitId);
+  }
+
+  @Benchmark
+  public Obj getIndexSegments(BenchmarkParam param) {
+    return param.backend.get("repo", param.segmentsId);
+  }
+}
@@ -16,10 +16,12 @@
 package org.projectnessie.versioned.storage.cache;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.projectnessie.versioned.storage.common.persist.Backend;
 import org.projectnessie.versioned.storage.common.persist.Obj;
 import org.projectnessie.versioned.storage.common.persist.ObjId;
 import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.projectnessie.versioned.storage.common.persist.Reference;
 
 /**
  * Provides the cache primitives for a caching {@link Persist} facade, suitable for multiple
@@ -40,5 +42,31 @@ public interface CacheBackend {
 
   void clear(@Nonnull @jakarta.annotation.Nonnull String repositoryId);
 
+  /** Whether references are cached, see {@link CacheConfig#referenceTtl()}. */
+  boolean referencesCached();
+
+  Reference getReference(
+      @Nonnull @jakarta.annotation.Nonnull String repositoryId,
+      @Nonnull @jakarta.annotation.Nonnull String name);
+
+  /** Caches a reference read from the backend, unless the reference is already cached. */
+  void putReferenceIfAbsent(
+      @Nonnull @jakarta.annotation.Nonnull String repositoryId,
+      @Nonnull @jakarta.annotation.Nonnull Reference reference);
+
+  /**
+   * Caches a reference after a successful conditional update of the reference from {@code
+   * expected}, which is {@code null} for a newly created reference. A cached reference that is
+   * neither absent nor equal to {@code expected} could be newer and is invalidated instead.
+   */
+  void replaceReference(
+      @Nonnull @jakarta.annotation.Nonnull String repositoryId,
+      @Nullable @jakarta.annotation.Nullable Reference expected,
+      @Nonnull @jakarta.annotation.Nonnull Reference updated);
+
+  void removeReference(
+      @Nonnull @jakarta.annotation.Nonnull String repositoryId,
+      @Nonnull @jakarta.annotation.Nonnull String name);
+
   Persist wrap(@Nonnull @jakarta.annotation.Nonnull Persist perist);
 }
@@ -0,0 +1,62 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.cache;
+
+import java.time.Duration;
+import org.immutables.value.Value;
+
+@Value.Immutable
+public interface CacheConfig {
+
+  /** Capacity in bytes of the cache holding serialized objects. */
+  long capacity();
+
+  /**
+   * Capacity in bytes of the optional tier that holds deserialized objects, disabled if {@code 0}.
+   */
+  @Value.Default
+  default long objCapacity() {
+    return 0L;
+  }
+
+  /**
+   * Maximum time references are served from the cache.
+   *
+   * <p>The default of {@link Duration#ZERO} disables the reference cache, which means that all
+   * reference reads are <em>strict</em> and go to the backend. A positive value enables
+   * <em>bounded-staleness</em> reads: changes to references performed via the same cache backend
+   * are visible immediately, but changes performed by other Nessie instances may only become
+   * visible after this duration.
+   */
+  @Value.Default
+  default Duration referenceTtl() {
+    return Duration.ZERO;
+  }
+
+  /** Maximum number of references held in the reference cache. */
+  @Value.Default
+  default long referenceCacheMaxSize() {
+    return DEFAULT_REFERENCE_CACHE_MAX_SIZE;
+  }
+
+  String DEFAULT_REFERENCE_TTL = "PT0S";
+
+  long DEFAULT_REFERENCE_CACHE_MAX_SIZE = 10_000L;
+
+  static ImmutableCacheConfig.Builder builder() {
+    return ImmutableCacheConfig.builder();
+  }
+}
@@ -254,7 +254,14 @@ class CachingPersistImpl implements Persist {
   @jakarta.annotation.Nonnull
   public Reference addReference(@Nonnull @jakarta.annotation.Nonnull Reference reference)
       throws RefAlreadyExistsException {
-    return persist.addReference(reference);
+    try {
+      Reference r = persist.addReference(reference);
+      cache.replaceReference(null, r);
+      return r;
+    } catch (RefAlreadyExistsException e) {
+      cache.removeReference(reference.name());
+      throw e;
+    }
   }
 
   @Override
@@ -262,13 +269,24 @@ class CachingPersistImpl implements Persist {
   @jakarta.annotation.Nonnull
   public Reference markReferenceAsDeleted(@Nonnull @jakarta.annotation.Nonnull Reference reference)
       throws RefNotFoundException, RefConditionFailedException {
-    return persist.markReferenceAsDeleted(reference);
+    try {
+      Reference r = persist.markReferenceAsDeleted(reference);
+      cache.replaceReference(reference, r);
+      return r;
+    } catch (RefNotFoundException | RefConditionFailedException e) {
+      cache.removeReference(reference.name());
+      throw e;
+    }
   }
 
   @Override
   public void purgeReference(@Nonnull @jakarta.annotation.Nonnull Reference reference)
       throws RefNotFoundException, RefConditionFailedException {
-    persist.purgeReference(reference);
+    try {
+      persist.purgeReference(reference);
+    } finally {
+      cache.removeReference(reference.name());
+    }
   }
 
   @Override
@@ -278,18 +296,69 @@ class CachingPersistImpl implements Persist {
       @Nonnull @jakarta.annotation.Nonnull Reference reference,
       @Nonnull @jakarta.annotation.Nonnull ObjId newPointer)
       throws RefNotFoundException, RefConditionFailedException {
-    return persist.updateReferencePointer(reference, newPointer);
+    try {
+      Reference r = persist.updateReferencePointer(reference, newPointer);
+      // Another thread may have updated the reference again in the meantime, do not overwrite it.
+      cache.replaceReference(reference, r);
+      return r;
+    } catch (RefNotFoundException | RefConditionFailedException e) {
+      // The cached reference, if any, is probably stale, the next read must hit the backend.
+      cache.removeReference(reference.name());
+      throw e;
+    }
   }
 
   @Override
   public Reference fetchReference(@Nonnull @jakarta.annotation.Nonnull String name) {
-    return persist.fetchReference(name);
+    Reference r = cache.getReference(name);
+    if (r == null) {
+      r = persist.fetchReference(name);
+      if (r != null) {
+        cache.putReferenceIfAbsent(r);
+      }
+    }
+    return r;
   }
 
   @Override
   @Nonnull
   @jakarta.annotation.Nonnull
   public Reference[] fetchReferences(@Nonnull @jakarta.annotation.Nonnull String[] names) {
-    return persist.fetchReferences(names);
+    if (!cache.referencesCached()) {
+      return persist.fetchReferences(names);
+    }
+
+    String[] backendNames = null;
+    Reference[] r = new Reference[names.length];
+
+    for (int i = 0; i < names.length; i++) {
+      String name = names[i];
+      if (name == null) {
+        continue;
+      }
+      Reference ref = cache.getReference(name);
+      if (ref != null) {
+        r[i] = ref;
+      } else {
+        if (backendNames == null) {
+          backendNames = new String[names.length];
+        }
+        backendNames[i] = name;
+      }
+    }
+
+    if (backendNames == null) {
+      return r;
+    }
+
+    Reference[] backendResult = persist.fetchReferences(backendNames);
+    for (int i = 0; i < backendResult.length; i++) {
+      Reference ref = backendResult[i];
+      if (ref != null) {
+        r[i] = ref;
+        cache.putReferenceIfAbsent(ref);
+      }
+    }
+    return r;
   }
 }
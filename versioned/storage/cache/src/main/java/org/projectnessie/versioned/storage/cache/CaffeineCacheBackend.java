@@ -15,17 +15,20 @@
  */
 package org.projectnessie.versioned.storage.cache;
 
+import static org.projectnessie.versioned.storage.serialize.ProtoSerialization.deserializeObj;
 import static org.projectnessie.versioned.storage.serialize.ProtoSerialization.serializeObj;
 
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.immutables.value.Value;
 import org.projectnessie.versioned.storage.common.exceptions.ObjTooLargeException;
 import org.projectnessie.versioned.storage.common.persist.Obj;
 import org.projectnessie.versioned.storage.common.persist.ObjId;
 import org.projectnessie.versioned.storage.common.persist.Persist;
-import org.projectnessie.versioned.storage.serialize.ProtoSerialization;
+import org.projectnessie.versioned.storage.common.persist.Reference;
 
 @Value.Immutable
 abstract class CaffeineCacheBackend implements CacheBackend {
@@ -36,7 +39,7 @@ abstract class CaffeineCacheBackend implements CacheBackend {
     return ImmutableCaffeineCacheBackend.builder();
   }
 
-  abstract long capacity();
+  abstract CacheConfig config();
 
   @Value.Derived
   Cache<CacheKey, byte[]> cache() {
@@ -45,12 +48,42 @@ abstract class CaffeineCacheBackend implements CacheBackend {
     // _native_ Quarkus tests and adopt the `@ReflectionConfig` in
     // org.projectnessie.quarkus.providers.PersistProvider.
     return Caffeine.newBuilder()
-        .maximumWeight(capacity())
+        .maximumWeight(config().capacity())
         .recordStats()
         .weigher(this::weigher)
         .build();
   }
 
+  @Value.Derived
+  @Nullable
+  @jakarta.annotation.Nullable
+  Cache<CacheKey, Obj> objCache() {
+    long objCapacity = config().objCapacity();
+    if (objCapacity <= 0L) {
+      return null;
+    }
+    return Caffeine.newBuilder()
+        .maximumWeight(objCapacity)
+        .recordStats()
+        .weigher(this::objWeigher)
+        .build();
+  }
+
+  @Value.Derived
+  @Nullable
+  @jakarta.annotation.Nullable
+  Cache<RefCacheKey, Reference> referenceCache() {
+    Duration ttl = config().referenceTtl();
+    if (ttl.isZero() || ttl.isNegative()) {
+      return null;
+    }
+    return Caffeine.newBuilder()
+        .maximumSize(config().referenceCacheMaxSize())
+        .expireAfterWrite(ttl)
+        .recordStats()
+        .build();
+  }
+
   @Override
   public Persist wrap(@Nonnull @jakarta.annotation.Nonnull Persist persist) {
     ObjCacheImpl cache = new ObjCacheImpl(this, persist.config().repositoryId());
@@ -61,13 +94,32 @@ abstract class CaffeineCacheBackend implements CacheBackend {
     return key.heapSize() + JAVA_OBJ_HEADER + data.length;
   }
 
+  private int objWeigher(CacheKey key, Obj obj) {
+    return key.heapSize() + ObjHeapSizes.heapSize(obj);
+  }
+
   @Override
   public Obj get(
       @Nonnull @jakarta.annotation.Nonnull String repositoryId,
       @Nonnull @jakarta.annotation.Nonnull ObjId id) {
     CacheKey key = cacheKey(repositoryId, id);
+    Cache<CacheKey, Obj> objCache = objCache();
+    if (objCache != null) {
+      Obj obj = objCache.getIfPresent(key);
+      if (obj != null) {
+        return obj;
+      }
+    }
+
     byte[] bytes = cache().getIfPresent(key);
-    return bytes != null ? ProtoSerialization.deserializeObj(id, bytes) : null;
+    if (bytes == null) {
+      return null;
+    }
+    Obj obj = deserializeObj(id, bytes);
+    if (objCache != null) {
+      objCache.put(key, obj);
+    }
+    return obj;
   }
 
   @Override
@@ -81,6 +133,10 @@ abstract class CaffeineCacheBackend implements CacheBackend {
       // this should never happen
       throw new RuntimeException(e);
     }
+    Cache<CacheKey, Obj> objCache = objCache();
+    if (objCache != null) {
+      objCache.put(key, obj);
+    }
   }
 
   @Override
@@ -89,11 +145,75 @@ abstract class CaffeineCacheBackend implements CacheBackend {
       @Nonnull @jakarta.annotation.Nonnull ObjId id) {
     CacheKey key = cacheKey(repositoryId, id);
     cache().invalidate(key);
+    Cache<CacheKey, Obj> objCache = objCache();
+    if (objCache != null) {
+      objCache.invalidate(key);
+    }
   }
 
   @Override
   public void clear(@Nonnull @jakarta.annotation.Nonnull String repositoryId) {
     cache().asMap().keySet().removeIf(k -> k.repositoryId.equals(repositoryId));
+    Cache<CacheKey, Obj> objCache = objCache();
+    if (objCache != null) {
+      objCache.asMap().keySet().removeIf(k -> k.repositoryId.equals(repositoryId));
+    }
+    Cache<RefCacheKey, Reference> referenceCache = referenceCache();
+    if (referenceCache != null) {
+      referenceCache.asMap().keySet().removeIf(k -> k.repositoryId.equals(repositoryId));
+    }
+  }
+
+  @Override
+  public boolean referencesCached() {
+    return referenceCache() != null;
+  }
+
+  @Override
+  public Reference getReference(
+      @Nonnull @jakarta.annotation.Nonnull String repositoryId,
+      @Nonnull @jakarta.annotation.Nonnull String name) {
+    Cache<RefCacheKey, Reference> referenceCache = referenceCache();
+    return referenceCache != null
+        ? referenceCache.getIfPresent(new RefCacheKey(repositoryId, name))
+        : null;
+  }
+
+  @Override
+  public void putReferenceIfAbsent(
+      @Nonnull @jakarta.annotation.Nonnull String repositoryId,
+      @Nonnull @jakarta.annotation.Nonnull Reference reference) {
+    Cache<RefCacheKey, Reference> referenceCache = referenceCache();
+    if (referenceCache != null) {
+      referenceCache
+          .asMap()
+          .putIfAbsent(new RefCacheKey(repositoryId, reference.name()), reference);
+    }
+  }
+
+  @Override
+  public void replaceReference(
+      @Nonnull @jakarta.annotation.Nonnull String repositoryId,
+      @Nullable @jakarta.annotation.Nullable Reference expected,
+      @Nonnull @jakarta.annotation.Nonnull Reference updated) {
+    Cache<RefCacheKey, Reference> referenceCache = referenceCache();
+    if (referenceCache != null) {
+      referenceCache
+          .asMap()
+          .compute(
+              new RefCacheKey(repositoryId, updated.name()),
+              (k, cached) -> cached == null || cached.equals(expected) ? updated : null);
+    }
+  }
+
+  @Override
+  public void removeReference(
+      @Nonnull @jakarta.annotation.Nonnull String repositoryId,
+      @Nonnull @jakarta.annotation.Nonnull String name) {
+    Cache<RefCacheKey, Reference> referenceCache = referenceCache();
+    if (referenceCache != null) {
+      referenceCache.invalidate(new RefCacheKey(repositoryId, name));
+    }
   }
 
   private CacheKey cacheKey(String repositoryId, ObjId id) {
@@ -137,4 +257,36 @@ abstract class CaffeineCacheBackend implements CacheBackend {
       return "CacheKey{" + repositoryId + ", " + id + '}';
     }
   }
+
+  static final class RefCacheKey {
+    final String repositoryId;
+    final String name;
+
+    RefCacheKey(String repositoryId, String name) {
+      this.repositoryId = repositoryId;
+      this.name = name;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof RefCacheKey)) {
+        return false;
+      }
+      RefCacheKey refCacheKey = (RefCacheKey) o;
+      return repositoryId.equals(refCacheKey.repositoryId) && name.equals(refCacheKey.name);
+    }
+
+    @Override
+    public int hashCode() {
+      return repositoryId.hashCode() * 31 + name.hashCode();
+    }
+
+    @Override
+    public String toString() {
+      return "RefCacheKey{" + repositoryId + ", " + name + '}';
+    }
+  }
 }
@@ -16,9 +16,11 @@
 package org.projectnessie.versioned.storage.cache;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.projectnessie.versioned.storage.common.persist.Obj;
 import org.projectnessie.versioned.storage.common.persist.ObjId;
 import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.projectnessie.versioned.storage.common.persist.Reference;
 
 /** Cache primitives for a specific repository ID, used for one {@link Persist} instance. */
 public interface ObjCache {
@@ -30,4 +32,16 @@ public interface ObjCache {
   void remove(@Nonnull @jakarta.annotation.Nonnull ObjId id);
 
   void clear();
+
+  boolean referencesCached();
+
+  Reference getReference(@Nonnull @jakarta.annotation.Nonnull String name);
+
+  void putReferenceIfAbsent(@Nonnull @jakarta.annotation.Nonnull Reference reference);
+
+  void replaceReference(
+      @Nullable @jakarta.annotation.Nullable Reference expected,
+      @Nonnull @jakarta.annotation.Nonnull Reference updated);
+
+  void removeReference(@Nonnull @jakarta.annotation.Nonnull String name);
 }
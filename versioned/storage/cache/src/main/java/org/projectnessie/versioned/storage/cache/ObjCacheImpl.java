@@ -16,8 +16,10 @@
 package org.projectnessie.versioned.storage.cache;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.projectnessie.versioned.storage.common.persist.Obj;
 import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.Reference;
 
 final class ObjCacheImpl implements ObjCache {
   private final CacheBackend backend;
@@ -47,4 +49,31 @@ final class ObjCacheImpl implements ObjCache {
   public void clear() {
     backend.clear(repositoryId);
   }
+
+  @Override
+  public boolean referencesCached() {
+    return backend.referencesCached();
+  }
+
+  @Override
+  public Reference getReference(@Nonnull @jakarta.annotation.Nonnull String name) {
+    return backend.getReference(repositoryId, name);
+  }
+
+  @Override
+  public void putReferenceIfAbsent(@Nonnull @jakarta.annotation.Nonnull Reference reference) {
+    backend.putReferenceIfAbsent(repositoryId, reference);
+  }
+
+  @Override
+  public void replaceReference(
+      @Nullable @jakarta.annotation.Nullable Reference expected,
+      @Nonnull @jakarta.annotation.Nonnull Reference updated) {
+    backend.replaceReference(repositoryId, expected, updated);
+  }
+
+  @Override
+  public void removeReference(@Nonnull @jakarta.annotation.Nonnull String name) {
+    backend.removeReference(repositoryId, name);
+  }
 }
@@ -0,0 +1,151 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.cache;
+
+import java.util.List;
+import org.projectnessie.nessie.relocated.protobuf.ByteString;
+import org.projectnessie.versioned.storage.common.indexes.StoreKey;
+import org.projectnessie.versioned.storage.common.objtypes.CommitHeaders;
+import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
+import org.projectnessie.versioned.storage.common.objtypes.ContentValueObj;
+import org.projectnessie.versioned.storage.common.objtypes.IndexObj;
+import org.projectnessie.versioned.storage.common.objtypes.IndexSegmentsObj;
+import org.projectnessie.versioned.storage.common.objtypes.IndexStripe;
+import org.projectnessie.versioned.storage.common.objtypes.RefObj;
+import org.projectnessie.versioned.storage.common.objtypes.StringObj;
+import org.projectnessie.versioned.storage.common.objtypes.TagObj;
+import org.projectnessie.versioned.storage.common.persist.Obj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+
+/**
+ * Estimates the retained heap size of deserialized {@link Obj} instances. The estimates are
+ * intentionally rough and rather too high than too low, they are only used to weigh cache entries.
+ */
+final class ObjHeapSizes {
+  private ObjHeapSizes() {}
+
+  static final int JAVA_OBJ_HEADER = CaffeineCacheBackend.JAVA_OBJ_HEADER;
+  static final int JAVA_REF = 8;
+  static final int JAVA_ARRAY_HEADER = JAVA_OBJ_HEADER + 8;
+  static final int LIST_OVERHEAD = JAVA_OBJ_HEADER + JAVA_ARRAY_HEADER;
+
+  static int heapSize(Obj obj) {
+    switch (obj.type()) {
+      case COMMIT:
+        return commitHeapSize((CommitObj) obj);
+      case INDEX:
+        return JAVA_OBJ_HEADER + objIdSize(obj.id()) + byteStringSize(((IndexObj) obj).index());
+      case INDEX_SEGMENTS:
+        return JAVA_OBJ_HEADER
+            + objIdSize(obj.id())
+            + stripesSize(((IndexSegmentsObj) obj).stripes());
+      case VALUE:
+        ContentValueObj value = (ContentValueObj) obj;
+        return JAVA_OBJ_HEADER
+            + objIdSize(value.id())
+            + stringSize(value.contentId())
+            + byteStringSize(value.data());
+      case STRING:
+        StringObj string = (StringObj) obj;
+        return JAVA_OBJ_HEADER
+            + objIdSize(string.id())
+            + stringSize(string.contentType())
+            + stringSize(string.filename())
+            + objIdsSize(string.predecessors())
+            + byteStringSize(string.text());
+      case TAG:
+        TagObj tag = (TagObj) obj;
+        return JAVA_OBJ_HEADER
+            + objIdSize(tag.id())
+            + objIdSize(tag.commitId())
+            + stringSize(tag.message())
+            + headersSize(tag.headers())
+            + byteStringSize(tag.signature());
+      case REF:
+        RefObj ref = (RefObj) obj;
+        return JAVA_OBJ_HEADER
+            + objIdSize(ref.id())
+            + stringSize(ref.name())
+            + objIdSize(ref.initialPointer());
+      default:
+        throw new IllegalArgumentException("Unknown object type " + obj.type());
+    }
+  }
+
+  private static int commitHeapSize(CommitObj c) {
+    return JAVA_OBJ_HEADER
+        + objIdSize(c.id())
+        + objIdsSize(c.tail())
+        + objIdsSize(c.secondaryParents())
+        + headersSize(c.headers())
+        + stringSize(c.message())
+        + objIdSize(c.referenceIndex())
+        + stripesSize(c.referenceIndexStripes())
+        + byteStringSize(c.incrementalIndex());
+  }
+
+  private static int objIdSize(ObjId id) {
+    return id != null ? JAVA_OBJ_HEADER + id.size() : 0;
+  }
+
+  private static int objIdsSize(List<ObjId> ids) {
+    int size = LIST_OVERHEAD;
+    for (ObjId id : ids) {
+      size += JAVA_REF + objIdSize(id);
+    }
+    return size;
+  }
+
+  private static int stringSize(String s) {
+    // Assume 2 bytes per character, which is the worst case for compact strings.
+    return s != null ? JAVA_OBJ_HEADER + JAVA_ARRAY_HEADER + 2 * s.length() : 0;
+  }
+
+  private static int byteStringSize(ByteString bytes) {
+    return bytes != null ? JAVA_OBJ_HEADER + JAVA_ARRAY_HEADER + bytes.size() : 0;
+  }
+
+  private static int storeKeySize(StoreKey key) {
+    return JAVA_OBJ_HEADER + stringSize(key.rawString());
+  }
+
+  private static int stripesSize(List<IndexStripe> stripes) {
+    int size = LIST_OVERHEAD;
+    for (IndexStripe stripe : stripes) {
+      size +=
+          JAVA_REF
+              + JAVA_OBJ_HEADER
+              + storeKeySize(stripe.firstKey())
+              + storeKeySize(stripe.lastKey())
+              + objIdSize(stripe.segment());
+    }
+    return size;
+  }
+
+  private static int headersSize(CommitHeaders headers) {
+    if (headers == null) {
+      return 0;
+    }
+    int size = JAVA_OBJ_HEADER + LIST_OVERHEAD;
+    for (String name : headers.keySet()) {
+      size += JAVA_REF + stringSize(name) + LIST_OVERHEAD;
+      for (String value : headers.getAll(name)) {
+        size += JAVA_REF + stringSize(value);
+      }
+    }
+    return size;
+  }
+}
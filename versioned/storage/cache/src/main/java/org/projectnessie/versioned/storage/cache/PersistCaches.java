@@ -20,6 +20,11 @@ public final class PersistCaches {
 
   /** Produces a {@link CacheBackend} with the given maximum capacity. */
   public static CacheBackend newBackend(long capacity) {
-    return CaffeineCacheBackend.builder().capacity(capacity).build();
+    return newBackend(CacheConfig.builder().capacity(capacity).build());
+  }
+
+  /** Produces a {@link CacheBackend} using the given configuration. */
+  public static CacheBackend newBackend(CacheConfig config) {
+    return CaffeineCacheBackend.builder().config(config).build();
   }
 }
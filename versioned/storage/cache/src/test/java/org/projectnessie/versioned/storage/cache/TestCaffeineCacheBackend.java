@@ -0,0 +1,124 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.cache;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.emptyImmutableIndex;
+import static org.projectnessie.versioned.storage.common.indexes.StoreKey.keyFromString;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitHeaders.EMPTY_COMMIT_HEADERS;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitHeaders.newCommitHeaders;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitOp.COMMIT_OP_SERIALIZER;
+import static org.projectnessie.versioned.storage.common.objtypes.ContentValueObj.contentValue;
+import static org.projectnessie.versioned.storage.common.objtypes.IndexObj.index;
+import static org.projectnessie.versioned.storage.common.objtypes.IndexSegmentsObj.indexSegments;
+import static org.projectnessie.versioned.storage.common.objtypes.IndexStripe.indexStripe;
+import static org.projectnessie.versioned.storage.common.objtypes.RefObj.ref;
+import static org.projectnessie.versioned.storage.common.objtypes.StringObj.stringData;
+import static org.projectnessie.versioned.storage.common.objtypes.TagObj.tag;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.randomObjId;
+
+import java.util.stream.Stream;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.projectnessie.nessie.relocated.protobuf.ByteString;
+import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
+import org.projectnessie.versioned.storage.common.objtypes.Compression;
+import org.projectnessie.versioned.storage.common.persist.Obj;
+
+@ExtendWith(SoftAssertionsExtension.class)
+public class TestCaffeineCacheBackend {
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  static Stream<Obj> objs() {
+    return Stream.of(
+        ref(randomObjId(), "hello", randomObjId(), 42L),
+        CommitObj.commitBuilder()
+            .id(randomObjId())
+            .seq(1L)
+            .created(42L)
+            .message("msg")
+            .headers(newCommitHeaders().add("Foo", "bar").build())
+            .addTail(randomObjId())
+            .incrementalIndex(emptyImmutableIndex(COMMIT_OP_SERIALIZER).serialize())
+            .build(),
+        tag(randomObjId(), randomObjId(), null, null, ByteString.copyFrom(new byte[1])),
+        contentValue(randomObjId(), "cid", 0, ByteString.copyFrom(new byte[1])),
+        stringData(
+            randomObjId(),
+            "foo",
+            Compression.NONE,
+            "foo",
+            emptyList(),
+            ByteString.copyFrom(new byte[1])),
+        indexSegments(
+            randomObjId(),
+            singletonList(indexStripe(keyFromString("a"), keyFromString("b"), randomObjId()))),
+        index(randomObjId(), emptyImmutableIndex(COMMIT_OP_SERIALIZER).serialize()));
+  }
+
+  @ParameterizedTest
+  @MethodSource("objs")
+  public void objTier(Obj obj) {
+    CaffeineCacheBackend backend =
+        CaffeineCacheBackend.builder().capacity(1024 * 1024).objCapacity(1024 * 1024).build();
+
+    soft.assertThat(ObjHeapSizes.heapSize(obj)).isPositive();
+
+    backend.put("repo", obj);
+    soft.assertThat(backend.get("repo", obj.id())).isSameAs(obj);
+    soft.assertThat(backend.get("other", obj.id())).isNull();
+
+    // Fall back to the serialized tier, which populates the deserialized tier again
+    backend.objCache().invalidateAll();
+    Obj deserialized = backend.get("repo", obj.id());
+    soft.assertThat(deserialized).isEqualTo(obj).isNotSameAs(obj);
+    soft.assertThat(backend.get("repo", obj.id())).isSameAs(deserialized);
+
+    backend.remove("repo", obj.id());
+    soft.assertThat(backend.get("repo", obj.id())).isNull();
+
+    backend.put("repo", obj);
+    backend.put("other", obj);
+    backend.clear("repo");
+    soft.assertThat(backend.get("repo", obj.id())).isNull();
+    soft.assertThat(backend.get("other", obj.id())).isSameAs(obj);
+  }
+
+  @Test
+  public void noObjTier() {
+    CaffeineCacheBackend backend = CaffeineCacheBackend.builder().capacity(1024 * 1024).build();
+    soft.assertThat(backend.objCache()).isNull();
+
+    Obj obj =
+        CommitObj.commitBuilder()
+            .id(randomObjId())
+            .seq(1L)
+            .created(42L)
+            .message("msg")
+            .headers(EMPTY_COMMIT_HEADERS)
+            .incrementalIndex(emptyImmutableIndex(COMMIT_OP_SERIALIZER).serialize())
+            .build();
+
+    backend.put("repo", obj);
+    soft.assertThat(backend.get("repo", obj.id())).isEqualTo(obj).isNotSameAs(obj);
+  }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.cache;
+
+import static org.projectnessie.versioned.storage.common.persist.ObjId.randomObjId;
+import static org.projectnessie.versioned.storage.common.persist.Reference.reference;
+
+import java.time.Duration;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.projectnessie.versioned.storage.common.config.StoreConfig;
+import org.projectnessie.versioned.storage.common.exceptions.RefConditionFailedException;
+import org.projectnessie.versioned.storage.common.persist.Backend;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.projectnessie.versioned.storage.common.persist.Reference;
+import org.projectnessie.versioned.storage.inmemory.InmemoryBackendTestFactory;
+
+@ExtendWith(SoftAssertionsExtension.class)
+public class TestReferenceCaching {
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  Backend backend;
+
+  /** Simulates another Nessie instance, which does not share the cache. */
+  Persist other;
+
+  @BeforeEach
+  void setup() {
+    backend = new InmemoryBackendTestFactory().createNewBackend();
+    other = backend.createFactory().newPersist(StoreConfig.Adjustable.empty());
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    backend.close();
+  }
+
+  Persist cachedPersist(Duration referenceTtl) {
+    CacheBackend cacheBackend =
+        PersistCaches.newBackend(
+            CacheConfig.builder().capacity(1024 * 1024).referenceTtl(referenceTtl).build());
+    return cacheBackend.wrap(backend.createFactory().newPersist(StoreConfig.Adjustable.empty()));
+  }
+
+  @Test
+  public void strictReads() throws Exception {
+    Persist persist = cachedPersist(Duration.ZERO);
+
+    Reference ref = persist.addReference(reference("refs/heads/main", randomObjId(), false));
+    soft.assertThat(persist.fetchReference(ref.name())).isEqualTo(ref);
+
+    Reference updated = other.updateReferencePointer(ref, randomObjId());
+    soft.assertThat(persist.fetchReference(ref.name())).isEqualTo(updated);
+    soft.assertThat(persist.fetchReferences(new String[] {ref.name(), "refs/heads/nope"}))
+        .containsExactly(updated, null);
+  }
+
+  @Test
+  public void boundedStalenessReads() throws Exception {
+    Persist persist = cachedPersist(Duration.ofMinutes(1));
+
+    Reference ref = persist.addReference(reference("refs/heads/main", randomObjId(), false));
+    Reference ref2 = persist.addReference(reference("refs/heads/other", randomObjId(), false));
+
+    // Changes via the caching instance are visible immediately
+    Reference updated = persist.updateReferencePointer(ref, randomObjId());
+    soft.assertThat(persist.fetchReference(ref.name())).isEqualTo(updated);
+
+    // Changes via another instance are not visible
+    Reference updatedByOther = other.updateReferencePointer(updated, randomObjId());
+    soft.assertThat(persist.fetchReference(ref.name())).isEqualTo(updated);
+    soft.assertThat(persist.fetchReferences(new String[] {ref.name(), ref2.name(), "nope"}))
+        .containsExactly(updated, ref2, null);
+
+    // A failed CAS invalidates the stale cache entry
+    ObjId next = randomObjId();
+    soft.assertThatThrownBy(() -> persist.updateReferencePointer(updated, next))
+        .isInstanceOf(RefConditionFailedException.class);
+    soft.assertThat(persist.fetchReference(ref.name())).isEqualTo(updatedByOther);
+
+    // The CAS against the current state succeeds
+    Reference afterRetry = persist.updateReferencePointer(updatedByOther, next);
+    soft.assertThat(persist.fetchReference(ref.name())).isEqualTo(afterRetry);
+    soft.assertThat(other.fetchReference(ref.name())).isEqualTo(afterRetry);
+
+    Reference deleted = persist.markReferenceAsDeleted(ref2);
+    soft.assertThat(persist.fetchReference(ref2.name())).isEqualTo(deleted);
+    persist.purgeReference(deleted);
+    soft.assertThat(persist.fetchReference(ref2.name())).isNull();
+  }
+
+  @Test
+  public void conditionalReferenceUpdates() {
+    CacheBackend cacheBackend =
+        PersistCaches.newBackend(
+            CacheConfig.builder()
+                .capacity(1024 * 1024)
+                .referenceTtl(Duration.ofMinutes(1))
+                .build());
+    String repo = "repo";
+
+    Reference ref = reference("refs/heads/main", randomObjId(), false);
+    Reference updated = reference(ref.name(), randomObjId(), false);
+    Reference concurrent = reference(ref.name(), randomObjId(), false);
+
+    // A reference read from the backend does not overwrite a cached reference
+    cacheBackend.replaceReference(repo, null, ref);
+    cacheBackend.putReferenceIfAbsent(repo, updated);
+    soft.assertThat(cacheBackend.getReference(repo, ref.name())).isEqualTo(ref);
+
+    // The result of a CAS replaces the expected reference
+    cacheBackend.replaceReference(repo, ref, updated);
+    soft.assertThat(cacheBackend.getReference(repo, ref.name())).isEqualTo(updated);
+
+    // A cached reference, that is not the expected one, could be newer and is invalidated
+    cacheBackend.replaceReference(repo, ref, concurrent);
+    soft.assertThat(cacheBackend.getReference(repo, ref.name())).isNull();
+
+    // Not cached yet
+    cacheBackend.replaceReference(repo, ref, concurrent);
+    soft.assertThat(cacheBackend.getReference(repo, ref.name())).isEqualTo(concurrent);
+  }
+}
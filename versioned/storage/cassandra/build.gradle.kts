@@ -42,6 +42,7 @@ dependencies {
   implementation(libs.agrona)
   implementation(libs.guava)
   implementation(libs.slf4j.api)
+  implementation(libs.micrometer.core)
 
   implementation(platform(libs.cassandra.driver.bom))
   implementation(libs.cassandra.driver.core)
@@ -57,6 +58,9 @@ dependencies {
 
   compileOnly(project(":nessie-versioned-storage-testextension"))
 
+  testImplementation(platform(libs.junit.bom))
+  testImplementation(libs.bundles.junit.testing)
+
   intTestImplementation(project(":nessie-versioned-storage-common-tests"))
   intTestImplementation(project(":nessie-versioned-storage-testextension"))
   intTestImplementation(project(":nessie-versioned-tests"))
@@ -29,8 +29,6 @@ import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.C
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.COL_REPO_ID;
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.CREATE_TABLE_OBJS;
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.CREATE_TABLE_REFS;
-import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.MAX_CONCURRENT_BATCH_READS;
-import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.SELECT_BATCH_SIZE;
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.TABLE_OBJS;
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.TABLE_REFS;
 import static org.projectnessie.versioned.storage.cassandra.CqlColumnType.NAME;
@@ -46,22 +44,24 @@ import com.datastax.oss.driver.api.core.cql.ResultSet;
 import com.datastax.oss.driver.api.core.cql.Row;
 import com.datastax.oss.driver.api.core.cql.SimpleStatement;
 import com.datastax.oss.driver.api.core.metadata.Metadata;
+import com.datastax.oss.driver.api.core.metadata.Node;
 import com.datastax.oss.driver.api.core.metadata.schema.ColumnMetadata;
 import com.datastax.oss.driver.api.core.metadata.schema.KeyspaceMetadata;
 import com.datastax.oss.driver.api.core.metadata.schema.TableMetadata;
+import com.datastax.oss.driver.api.core.metadata.token.Token;
 import com.datastax.oss.driver.api.core.servererrors.CASWriteUnknownException;
 import com.google.common.collect.ImmutableMap;
 import java.lang.reflect.Array;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.BiFunction;
@@ -87,19 +87,71 @@ final class CassandraBackend implements Backend {
   private final Map<String, PreparedStatement> statements = new ConcurrentHashMap<>();
   private final CqlSession session;
 
+  private final ConcurrencyLimiter readLimiter;
+  private final ConcurrencyLimiter storeLimiter;
+  private final ConcurrencyLimiter deleteLimiter;
+  private final CassandraMetrics metrics;
+
   CassandraBackend(CassandraBackendConfig config, boolean closeClient) {
     this.config = config;
     this.session = requireNonNull(config.client());
     this.closeClient = closeClient;
+    this.readLimiter = newLimiter(config.maxConcurrentBatchReads());
+    this.storeLimiter = newLimiter(config.maxConcurrentStores());
+    this.deleteLimiter = newLimiter(config.maxConcurrentDeletes());
+    this.metrics =
+        new CassandraMetrics(
+            ImmutableMap.of(
+                "reads", readLimiter, "stores", storeLimiter, "deletes", deleteLimiter));
+  }
+
+  private ConcurrencyLimiter newLimiter(int initialLimit) {
+    // Do not let a burst of failures throttle the whole backend down to a single query.
+    return new ConcurrencyLimiter(
+        initialLimit,
+        Math.max(1, initialLimit / 4),
+        Math.max(initialLimit, config.adaptiveConcurrencyMaxLimit()),
+        config.adaptiveConcurrency(),
+        config.dmlTimeout());
+  }
+
+  /** Limits the concurrent object writes. */
+  ConcurrencyLimiter storeLimiter() {
+    return storeLimiter;
+  }
+
+  /** Limits the concurrent deletes. */
+  ConcurrencyLimiter deleteLimiter() {
+    return deleteLimiter;
   }
 
+  /**
+   * Creates a new batched query for the partition keys {@code (repositoryId, key)}.
+   *
+   * <p>Keys are grouped by the replicas owning them, each group is read via queries built by {@code
+   * queryBuilder} for up to {@link CassandraBackendConfig#selectBatchSize()} keys, routed to one of
+   * the replicas of the group. {@code queryBuilder} receives a single key for groups that consist
+   * of a single key, so it can use a single-partition statement.
+   */
   <K, R> BatchedQuery<K, R> newBatchedQuery(
-      Function<List<K>, CompletionStage<AsyncResultSet>> queryBuilder,
+      String repositoryId,
+      Function<K, String> partitionKey,
+      Function<List<K>, BoundStatement> queryBuilder,
       Function<Row, R> rowToResult,
       Function<R, K> idExtractor,
       int results,
       Class<? extends R> elementType) {
-    return new BatchedQueryImpl<>(queryBuilder, rowToResult, idExtractor, results, elementType);
+    return new BatchedQueryImpl<>(
+        session,
+        ReplicaRouting.forRepository(session, config.keyspace(), repositoryId),
+        partitionKey,
+        queryBuilder,
+        rowToResult,
+        idExtractor,
+        results,
+        elementType,
+        config.selectBatchSize(),
+        readLimiter);
   }
 
   interface BatchedQuery<K, R> extends AutoCloseable {
@@ -116,9 +168,13 @@ final class CassandraBackend implements Backend {
     private static final AtomicLong ID_GEN = new AtomicLong();
     private static final long BATCH_TIMEOUT_MILLIS = SECONDS.toMillis(30);
     private final long id;
-    private final Function<List<K>, CompletionStage<AsyncResultSet>> queryBuilder;
-    private final List<K> keys = new ArrayList<>();
-    private final Semaphore permits = new Semaphore(MAX_CONCURRENT_BATCH_READS);
+    private final CqlSession session;
+    private final ReplicaRouting routing;
+    private final Function<K, String> partitionKey;
+    private final Function<List<K>, BoundStatement> queryBuilder;
+    private final Map<Set<Node>, KeyGroup<K>> groups = new HashMap<>();
+    private final int batchSize;
+    private final ConcurrencyLimiter limiter;
     private final Function<Row, R> rowToResult;
     private final Function<R, K> idExtractor;
     private final Object2IntHashMap<K> idToIndex;
@@ -131,11 +187,21 @@ final class CassandraBackend implements Backend {
     private volatile long timeoutAt;
 
     BatchedQueryImpl(
-        Function<List<K>, CompletionStage<AsyncResultSet>> queryBuilder,
+        CqlSession session,
+        ReplicaRouting routing,
+        Function<K, String> partitionKey,
+        Function<List<K>, BoundStatement> queryBuilder,
         Function<Row, R> rowToResult,
         Function<R, K> idExtractor,
         int results,
-        Class<? extends R> elementType) {
+        Class<? extends R> elementType,
+        int batchSize,
+        ConcurrencyLimiter limiter) {
+      this.session = session;
+      this.routing = routing;
+      this.partitionKey = partitionKey;
+      this.batchSize = batchSize;
+      this.limiter = limiter;
       this.idToIndex = new Object2IntHashMap<>(results * 2, Hashing.DEFAULT_LOAD_FACTOR, -1);
       this.result = new AtomicReferenceArray<>(results);
       this.elementType = elementType;
@@ -153,9 +219,11 @@ final class CassandraBackend implements Backend {
     @Override
     public void add(K key, int index) {
       idToIndex.put(key, index);
-      keys.add(key);
-      if (keys.size() == SELECT_BATCH_SIZE) {
-        flush();
+      Token token = routing.token(partitionKey.apply(key));
+      KeyGroup<K> group = groups.computeIfAbsent(routing.replicas(token), r -> new KeyGroup<>());
+      group.add(key, token);
+      if (group.keys.size() == batchSize) {
+        flush(group);
       }
     }
 
@@ -170,22 +238,37 @@ final class CassandraBackend implements Backend {
       }
     }
 
-    private void flush() {
-      if (keys.isEmpty()) {
+    private void flush(KeyGroup<K> group) {
+      if (group.keys.isEmpty()) {
         return;
       }
 
-      List<K> batchKeys = new ArrayList<>(keys);
-      keys.clear();
+      List<K> batchKeys = new ArrayList<>(group.keys);
+      Token routingToken = group.routingToken;
+      group.clear();
+
+      BoundStatement statement = queryBuilder.apply(batchKeys);
+      if (batchKeys.size() > 1 && routingToken != null) {
+        // The driver cannot compute the routing key of a multi-partition query, route it to one of
+        // the replicas that own all keys of the group.
+        statement = statement.setRoutingToken(routingToken);
+      }
+
+      // Acquire the permit first, a timeout must not leave a query that never completes.
+      limiter.acquire();
 
       synchronized (this) {
         queryCount++;
       }
 
-      Consumer<CompletionStage<AsyncResultSet>> terminate =
-          query -> {
+      setNewTimeout();
+
+      long startNanos = System.nanoTime();
+
+      Consumer<Throwable> terminate =
+          failure -> {
             // Remove the completed query from the queue, so another query can be submitted
-            permits.release();
+            limiter.release(startNanos, failure != null);
             // Increment the number of completed queries and notify the "driver"
             synchronized (this) {
               queriesCompleted++;
@@ -193,15 +276,13 @@ final class CassandraBackend implements Backend {
             }
           };
 
-      CompletionStage<AsyncResultSet> query = queryBuilder.apply(batchKeys);
-
       BiFunction<AsyncResultSet, Throwable, ?> pageHandler =
           new BiFunction<AsyncResultSet, Throwable, Object>() {
             @Override
             public Object apply(AsyncResultSet rs, Throwable ex) {
               if (ex != null) {
                 noteException(ex);
-                terminate.accept(query);
+                terminate.accept(ex);
               } else {
                 try {
                   for (Row row : rs.currentPage()) {
@@ -216,25 +297,26 @@ final class CassandraBackend implements Backend {
                   if (rs.hasMorePages()) {
                     rs.fetchNextPage().handleAsync(this);
                   } else {
-                    terminate.accept(query);
+                    terminate.accept(null);
                   }
 
                 } catch (Throwable t) {
                   noteException(t);
-                  terminate.accept(query);
+                  terminate.accept(t);
                 }
               }
               return null;
             }
           };
 
+      CompletionStage<AsyncResultSet> query;
       try {
-        permits.acquire();
-        setNewTimeout();
-      } catch (InterruptedException e) {
-        throw new RuntimeException(e);
+        query = session.executeAsync(statement);
+      } catch (RuntimeException e) {
+        noteException(e);
+        terminate.accept(e);
+        return;
       }
-
       query.handleAsync(pageHandler);
     }
 
@@ -245,7 +327,7 @@ final class CassandraBackend implements Backend {
 
     @Override
     public R[] finish() {
-      flush();
+      groups.values().forEach(this::flush);
 
       while (true) {
         synchronized (this) {
@@ -291,7 +373,25 @@ final class CassandraBackend implements Backend {
     }
   }
 
-  private BoundStatement buildStatement(String cql, Object[] values) {
+  /** Keys owned by the same replicas, pending to be queried. */
+  private static final class KeyGroup<K> {
+    final List<K> keys = new ArrayList<>();
+    Token routingToken;
+
+    void add(K key, Token token) {
+      if (keys.isEmpty()) {
+        routingToken = token;
+      }
+      keys.add(key);
+    }
+
+    void clear() {
+      keys.clear();
+      routingToken = null;
+    }
+  }
+
+  BoundStatement buildStatement(String cql, Object... values) {
     PreparedStatement prepared =
         statements.computeIfAbsent(cql, c -> session.prepare(format(c, config.keyspace())));
     return prepared
@@ -348,6 +448,7 @@ final class CassandraBackend implements Backend {
 
   @Override
   public void close() {
+    metrics.close();
     if (closeClient) {
       session.close();
     }
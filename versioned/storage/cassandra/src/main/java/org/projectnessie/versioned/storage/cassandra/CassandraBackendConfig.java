@@ -40,10 +40,71 @@ public interface CassandraBackendConfig {
     return Duration.parse(DEFAULT_DML_TIMEOUT);
   }
 
+  /** Number of keys per bulk-read query. */
+  @Value.Default
+  default int selectBatchSize() {
+    return DEFAULT_SELECT_BATCH_SIZE;
+  }
+
+  /**
+   * Limit of concurrent bulk-read queries. The limit is shared by all operations of a backend, it
+   * is the initial limit, if {@link #adaptiveConcurrency()} is enabled.
+   */
+  @Value.Default
+  default int maxConcurrentBatchReads() {
+    return DEFAULT_MAX_CONCURRENT_BATCH_READS;
+  }
+
+  /**
+   * Limit of concurrent object writes. The limit is shared by all operations of a backend, it is
+   * the initial limit, if {@link #adaptiveConcurrency()} is enabled.
+   */
+  @Value.Default
+  default int maxConcurrentStores() {
+    return DEFAULT_MAX_CONCURRENT_STORES;
+  }
+
+  /**
+   * Limit of concurrent deletes. The limit is shared by all operations of a backend, it is the
+   * initial limit, if {@link #adaptiveConcurrency()} is enabled.
+   */
+  @Value.Default
+  default int maxConcurrentDeletes() {
+    return DEFAULT_MAX_CONCURRENT_DELETES;
+  }
+
+  /**
+   * Whether the concurrency limits adapt to the observed latencies and failures of the queries,
+   * between a quarter of the configured limits and {@link #adaptiveConcurrencyMaxLimit()}. If
+   * disabled, which is the default, the configured limits are fixed.
+   */
+  @Value.Default
+  default boolean adaptiveConcurrency() {
+    return DEFAULT_ADAPTIVE_CONCURRENCY;
+  }
+
+  /** Upper bound for the adaptive concurrency limits. */
+  @Value.Default
+  default int adaptiveConcurrencyMaxLimit() {
+    return DEFAULT_ADAPTIVE_CONCURRENCY_MAX_LIMIT;
+  }
+
   String DEFAULT_DDL_TIMEOUT = "PT5S";
 
   String DEFAULT_DML_TIMEOUT = "PT3S";
 
+  int DEFAULT_SELECT_BATCH_SIZE = 20;
+
+  int DEFAULT_MAX_CONCURRENT_BATCH_READS = 20;
+
+  int DEFAULT_MAX_CONCURRENT_STORES = 20;
+
+  int DEFAULT_MAX_CONCURRENT_DELETES = 20;
+
+  boolean DEFAULT_ADAPTIVE_CONCURRENCY = false;
+
+  int DEFAULT_ADAPTIVE_CONCURRENCY_MAX_LIMIT = 500;
+
   static ImmutableCassandraBackendConfig.Builder builder() {
     return ImmutableCassandraBackendConfig.builder();
   }
@@ -17,11 +17,6 @@ package org.projectnessie.versioned.storage.cassandra;
 
 final class CassandraConstants {
 
-  static final int SELECT_BATCH_SIZE = 20;
-  static final int MAX_CONCURRENT_BATCH_READS = 20;
-  static final int MAX_CONCURRENT_DELETES = 20;
-  static final int MAX_CONCURRENT_STORES = 20;
-
   static final String TABLE_REFS = "refs";
   static final String TABLE_OBJS = "objs";
   static final String COL_REPO_ID = "repo";
@@ -154,6 +149,20 @@ final class CassandraConstants {
           + "=? AND "
           + COL_REFS_NAME
           + " IN ?";
+  static final String FIND_REFERENCE =
+      "SELECT "
+          + COL_REFS_NAME
+          + ", "
+          + COL_REFS_POINTER
+          + ", "
+          + COL_REFS_DELETED
+          + " FROM %s."
+          + TABLE_REFS
+          + " WHERE "
+          + COL_REPO_ID
+          + "=? AND "
+          + COL_REFS_NAME
+          + "=?";
   static final String CREATE_TABLE_REFS =
       "CREATE TABLE %s."
           + TABLE_REFS
@@ -242,6 +251,19 @@ final class CassandraConstants {
 
   static final String FIND_OBJS_TYPED = FIND_OBJS + " AND " + COL_OBJ_TYPE + "=? ALLOW FILTERING";
 
+  static final String FIND_OBJ =
+      "SELECT "
+          + COLS_OBJS_ALL
+          + " FROM %s."
+          + TABLE_OBJS
+          + " WHERE "
+          + COL_REPO_ID
+          + "=? AND "
+          + COL_OBJ_ID
+          + "=?";
+
+  static final String FIND_OBJ_TYPED = FIND_OBJ + " AND " + COL_OBJ_TYPE + "=? ALLOW FILTERING";
+
   static final String SCAN_OBJS =
       "SELECT "
           + COLS_OBJS_ALL
@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.cassandra;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Exports the current {@link ConcurrencyLimiter concurrency limits} and the number of in-flight
+ * queries via Micrometer. The meters are removed from the registry when this instance is closed.
+ */
+final class CassandraMetrics implements AutoCloseable {
+
+  private static final String PREFIX = "nessie.cassandra.concurrency.";
+
+  private final MeterRegistry registry;
+  private final List<Meter> meters = new ArrayList<>();
+
+  CassandraMetrics(Map<String, ConcurrencyLimiter> limiters) {
+    this(Metrics.globalRegistry, limiters);
+  }
+
+  CassandraMetrics(MeterRegistry registry, Map<String, ConcurrencyLimiter> limiters) {
+    this.registry = registry;
+    Tags commonTags = Tags.of("application", "Nessie");
+
+    limiters.forEach(
+        (operation, limiter) -> {
+          Tags tags = commonTags.and("operation", operation);
+          meters.add(
+              Gauge.builder(PREFIX + "limit", limiter, ConcurrencyLimiter::limit)
+                  .tags(tags)
+                  .register(registry));
+          meters.add(
+              Gauge.builder(PREFIX + "in.flight", limiter, ConcurrencyLimiter::inFlight)
+                  .tags(tags)
+                  .register(registry));
+        });
+  }
+
+  @Override
+  public void close() {
+    meters.forEach(registry::remove);
+    meters.clear();
+  }
+}
@@ -54,8 +54,11 @@ import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.E
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.ERASE_REF;
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.ERASE_REFS_SCAN;
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.FETCH_OBJ_TYPE;
+import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.FIND_OBJ;
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.FIND_OBJS;
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.FIND_OBJS_TYPED;
+import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.FIND_OBJ_TYPED;
+import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.FIND_REFERENCE;
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.FIND_REFERENCES;
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.INSERT_OBJ_COMMIT;
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.INSERT_OBJ_INDEX;
@@ -65,8 +68,6 @@ import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.I
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.INSERT_OBJ_TAG;
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.INSERT_OBJ_VALUE;
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.MARK_REFERENCE_AS_DELETED;
-import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.MAX_CONCURRENT_DELETES;
-import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.MAX_CONCURRENT_STORES;
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.PURGE_REFERENCE;
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.SCAN_OBJS;
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.STORE_OBJ_SUFFIX;
@@ -83,7 +84,7 @@ import static org.projectnessie.versioned.storage.common.persist.ObjId.objIdFrom
 import static org.projectnessie.versioned.storage.common.persist.Reference.reference;
 
 import com.datastax.oss.driver.api.core.DriverException;
-import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
 import com.datastax.oss.driver.api.core.cql.Row;
 import com.google.common.collect.AbstractIterator;
 import java.io.IOException;
@@ -94,7 +95,6 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.CompletionStage;
 import java.util.concurrent.atomic.AtomicIntegerArray;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -166,7 +166,12 @@ public class CassandraPersist implements Persist {
   public Reference[] fetchReferences(@Nonnull @jakarta.annotation.Nonnull String[] names) {
     try (BatchedQuery<String, Reference> batchedQuery =
         backend.newBatchedQuery(
-            keys -> backend.executeAsync(FIND_REFERENCES, config.repositoryId(), keys),
+            config.repositoryId(),
+            Function.identity(),
+            keys ->
+                keys.size() == 1
+                    ? backend.buildStatement(FIND_REFERENCE, config.repositoryId(), keys.get(0))
+                    : backend.buildStatement(FIND_REFERENCES, config.repositoryId(), keys),
             CassandraPersist::deserializeReference,
             Reference::name,
             names.length,
@@ -318,13 +323,26 @@ public class CassandraPersist implements Persist {
     Function<List<ObjId>, List<String>> idsToStrings =
         queryIds -> queryIds.stream().map(ObjId::toString).collect(Collectors.toList());
 
-    Function<List<ObjId>, CompletionStage<AsyncResultSet>> queryFunc =
+    Function<List<ObjId>, BoundStatement> queryFunc =
         type == null
             ? keys ->
-                backend.executeAsync(FIND_OBJS, config.repositoryId(), idsToStrings.apply(keys))
+                keys.size() == 1
+                    ? backend.buildStatement(
+                        FIND_OBJ, config.repositoryId(), serializeObjId(keys.get(0)))
+                    : backend.buildStatement(
+                        FIND_OBJS, config.repositoryId(), idsToStrings.apply(keys))
             : keys ->
-                backend.executeAsync(
-                    FIND_OBJS_TYPED, config.repositoryId(), idsToStrings.apply(keys), type.name());
+                keys.size() == 1
+                    ? backend.buildStatement(
+                        FIND_OBJ_TYPED,
+                        config.repositoryId(),
+                        serializeObjId(keys.get(0)),
+                        type.name())
+                    : backend.buildStatement(
+                        FIND_OBJS_TYPED,
+                        config.repositoryId(),
+                        idsToStrings.apply(keys),
+                        type.name());
 
     Function<Row, Obj> rowMapper =
         row -> {
@@ -334,7 +352,14 @@ public class CassandraPersist implements Persist {
 
     Obj[] r;
     try (BatchedQuery<ObjId, Obj> batchedQuery =
-        backend.newBatchedQuery(queryFunc, rowMapper, Obj::id, ids.length, Obj.class)) {
+        backend.newBatchedQuery(
+            config.repositoryId(),
+            ObjId::toString,
+            queryFunc,
+            rowMapper,
+            Obj::id,
+            ids.length,
+            Obj.class)) {
 
       for (int i = 0; i < ids.length; i++) {
         ObjId id = ids[i];
@@ -408,7 +433,7 @@ public class CassandraPersist implements Persist {
     AtomicIntegerArray results = new AtomicIntegerArray(objs.length);
 
     try (LimitedConcurrentRequests requests =
-        new LimitedConcurrentRequests(MAX_CONCURRENT_STORES)) {
+        new LimitedConcurrentRequests(backend.storeLimiter())) {
       for (int i = 0; i < objs.length; i++) {
         Obj o = objs[i];
         if (o != null) {
@@ -417,28 +442,27 @@ public class CassandraPersist implements Persist {
               o,
               false,
               (storeObj, values) -> {
-                CompletionStage<?> cs =
-                    backend
-                        .executeAsync(storeObj.cql(insert), values)
-                        .handle(
-                            (resultSet, e) -> {
-                              if (e != null) {
-                                if (e instanceof DriverException) {
-                                  backend.handleDriverException((DriverException) e);
-                                }
-                                if (e instanceof RuntimeException) {
-                                  throw (RuntimeException) e;
-                                }
-                                throw new RuntimeException(e);
-                              }
-
-                              if (resultSet.wasApplied()) {
-                                results.set(idx, 1);
-                              }
-                              return null;
-                            })
-                        .thenAccept(x -> {});
-                requests.submitted(cs);
+                requests.submit(
+                    () ->
+                        backend
+                            .executeAsync(storeObj.cql(insert), values)
+                            .handle(
+                                (resultSet, e) -> {
+                                  if (e != null) {
+                                    if (e instanceof DriverException) {
+                                      backend.handleDriverException((DriverException) e);
+                                    }
+                                    if (e instanceof RuntimeException) {
+                                      throw (RuntimeException) e;
+                                    }
+                                    throw new RuntimeException(e);
+                                  }
+
+                                  if (resultSet.wasApplied()) {
+                                    results.set(idx, 1);
+                                  }
+                                  return null;
+                                }));
                 return null;
               });
         }
@@ -497,11 +521,11 @@ public class CassandraPersist implements Persist {
   @Override
   public void deleteObjs(@Nonnull @jakarta.annotation.Nonnull ObjId[] ids) {
     try (LimitedConcurrentRequests requests =
-        new LimitedConcurrentRequests(MAX_CONCURRENT_STORES)) {
+        new LimitedConcurrentRequests(backend.deleteLimiter())) {
       String repoId = config.repositoryId();
       for (ObjId id : ids) {
         if (id != null) {
-          requests.submitted(backend.executeAsync(DELETE_OBJ, repoId, serializeObjId(id)));
+          requests.submit(() -> backend.executeAsync(DELETE_OBJ, repoId, serializeObjId(id)));
         }
       }
     }
@@ -510,16 +534,16 @@ public class CassandraPersist implements Persist {
   @Override
   public void erase() {
     try (LimitedConcurrentRequests requests =
-        new LimitedConcurrentRequests(MAX_CONCURRENT_DELETES)) {
+        new LimitedConcurrentRequests(backend.deleteLimiter())) {
       String repoId = config.repositoryId();
       for (Row row : backend.execute(ERASE_REFS_SCAN, repoId)) {
         String ref = row.getString(0);
-        requests.submitted(backend.executeAsync(ERASE_REF, repoId, ref));
+        requests.submit(() -> backend.executeAsync(ERASE_REF, repoId, ref));
       }
 
       for (Row row : backend.execute(ERASE_OBJS_SCAN, repoId)) {
         String objId = row.getString(0);
-        requests.submitted(backend.executeAsync(ERASE_OBJ, repoId, objId));
+        requests.submit(() -> backend.executeAsync(ERASE_OBJ, repoId, objId));
       }
     }
     // We must ensure that the system clock advances a little, so that C*'s next write-timestamp
@@ -0,0 +1,152 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.cassandra;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.datastax.oss.driver.api.core.DriverTimeoutException;
+import com.google.common.annotations.VisibleForTesting;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits the number of concurrently executed asynchronous queries of one kind, shared by all
+ * operations of a {@link CassandraBackend}.
+ *
+ * <p>If adaptive, the limit is adjusted after each query, similar to TCP Vegas: the latency of a
+ * query is compared to the lowest latency observed recently ("no load" latency), which yields an
+ * estimate of the number of queries queued in the cluster. The limit grows while that estimate is
+ * small and shrinks when it becomes large. A failed query, for example a timeout, reduces the limit
+ * multiplicatively (AIMD). The limit always stays between the minimum and maximum limit.
+ *
+ * <p>If not adaptive, the limit stays at the initial limit.
+ *
+ * <p>Waiting for a permit is bounded by the acquire timeout, so that request threads do not block
+ * forever, if the limit has collapsed or permits are not released.
+ */
+final class ConcurrencyLimiter {
+
+  /** Factor applied to the limit when a query failed. */
+  static final double BACKOFF_RATIO = 0.9d;
+
+  /** Number of samples after which the "no load" latency is measured again. */
+  static final int NO_LOAD_PROBE_INTERVAL = 1000;
+
+  private final int minLimit;
+  private final int maxLimit;
+  private final boolean adaptive;
+  private final Duration acquireTimeout;
+
+  private double limit;
+  private int inFlight;
+  private long noLoadLatencyNanos;
+  private int samples;
+
+  ConcurrencyLimiter(
+      int initialLimit, int minLimit, int maxLimit, boolean adaptive, Duration acquireTimeout) {
+    checkArgument(
+        minLimit >= 1 && minLimit <= initialLimit && initialLimit <= maxLimit,
+        "Concurrency limits must satisfy 1 <= min (%s) <= initial (%s) <= max (%s)",
+        minLimit,
+        initialLimit,
+        maxLimit);
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.adaptive = adaptive;
+    this.acquireTimeout = acquireTimeout;
+    this.limit = initialLimit;
+  }
+
+  /**
+   * Waits until the number of in-flight queries is below the current limit and registers a new
+   * in-flight query.
+   *
+   * @throws DriverTimeoutException if no permit became available within the acquire timeout
+   */
+  synchronized void acquire() {
+    long deadline = System.nanoTime() + acquireTimeout.toNanos();
+    while (inFlight >= (int) limit) {
+      long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+      if (remainingMillis <= 0L) {
+        throw new DriverTimeoutException(
+            String.format(
+                "No permit for a Cassandra query within %s, %d of %d permits in use",
+                acquireTimeout, inFlight, (int) limit));
+      }
+      try {
+        wait(remainingMillis);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new RuntimeException(e);
+      }
+    }
+    inFlight++;
+  }
+
+  /**
+   * Unregisters a finished query and adjusts the limit.
+   *
+   * @param startNanos {@link System#nanoTime()} when the query was submitted
+   * @param failed whether the query failed
+   */
+  void release(long startNanos, boolean failed) {
+    long latencyNanos = System.nanoTime() - startNanos;
+    synchronized (this) {
+      int inFlightBefore = inFlight--;
+      if (adaptive) {
+        update(latencyNanos, failed, inFlightBefore);
+      }
+      notifyAll();
+    }
+  }
+
+  @VisibleForTesting
+  synchronized void update(long latencyNanos, boolean failed, int inFlightQueries) {
+    latencyNanos = Math.max(latencyNanos, 1L);
+    if (failed) {
+      limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+      return;
+    }
+
+    if (++samples % NO_LOAD_PROBE_INTERVAL == 0) {
+      // The "no load" latency might have changed, for example after the cluster has been scaled.
+      noLoadLatencyNanos = latencyNanos;
+    } else if (noLoadLatencyNanos == 0L || latencyNanos < noLoadLatencyNanos) {
+      noLoadLatencyNanos = latencyNanos;
+    }
+
+    if (inFlightQueries * 2 < limit) {
+      // The limit is not the bottleneck, a latency sample tells nothing about a higher limit.
+      return;
+    }
+
+    double log = Math.max(1d, Math.log10(limit));
+    double queued = Math.ceil(limit * (1d - (double) noLoadLatencyNanos / latencyNanos));
+    if (queued <= 3d * log) {
+      limit = Math.min(maxLimit, limit + log);
+    } else if (queued >= 6d * log) {
+      limit = Math.max(minLimit, limit - log);
+    }
+  }
+
+  synchronized int limit() {
+    return (int) limit;
+  }
+
+  synchronized int inFlight() {
+    return inFlight;
+  }
+}
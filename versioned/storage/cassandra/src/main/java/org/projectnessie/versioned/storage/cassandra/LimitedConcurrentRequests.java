@@ -16,7 +16,7 @@
 package org.projectnessie.versioned.storage.cassandra;
 
 import java.util.concurrent.CompletionStage;
-import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
 import org.projectnessie.versioned.storage.common.persist.Obj;
 import org.projectnessie.versioned.storage.common.persist.ObjId;
 
@@ -24,13 +24,13 @@ import org.projectnessie.versioned.storage.common.persist.ObjId;
  * Synchronization helper for asynchronous "child" queries for {@link CassandraPersist#erase()},
  * {@link CassandraPersist#deleteObjs(ObjId[])}, {@link CassandraPersist#storeObjs(Obj[])}.
  *
- * <p>Note: this implementation does not actively prevent submitting a new query, but it prevents
- * making further progress by blocking inside {@link #submitted(CompletionStage)}.
+ * <p>Note: {@link #submit(Supplier)} blocks until the backend-wide {@link ConcurrencyLimiter}
+ * permits another in-flight query, before the query is actually submitted.
  */
 final class LimitedConcurrentRequests implements AutoCloseable {
 
-  /** Currently available "permits" for child queries. */
-  final Semaphore permits;
+  /** Limits the number of in-flight child queries. */
+  final ConcurrencyLimiter limiter;
 
   /** Holds the potential failure. */
   final Throwable[] failureHolder = new Throwable[1];
@@ -41,29 +41,34 @@ final class LimitedConcurrentRequests implements AutoCloseable {
   /** Number of finished queries. */
   volatile int finished;
 
-  LimitedConcurrentRequests(int maxChildQueries) {
-    permits = new Semaphore(maxChildQueries);
+  LimitedConcurrentRequests(ConcurrencyLimiter limiter) {
+    this.limiter = limiter;
   }
 
-  void submitted(CompletionStage<?> cs) {
+  void submit(Supplier<? extends CompletionStage<?>> query) {
+    // Acquire a permit before submitting the query, so the measured latency does not include the
+    // time spent waiting for the permit.
+    limiter.acquire();
+    long startNanos = System.nanoTime();
+
+    CompletionStage<?> cs;
+    try {
+      cs = query.get();
+    } catch (RuntimeException e) {
+      limiter.release(startNanos, true);
+      throw e;
+    }
+
     synchronized (this) {
       // Increment the number of started queries.
       started++;
     }
 
-    // Acquire a permit for the started query.
-    try {
-      permits.acquire();
-    } catch (InterruptedException e) {
-      Thread.currentThread().interrupt();
-      throw new RuntimeException(e);
-    }
-
     cs.whenComplete(
         (resultSet, throable) -> {
           try {
             // Release the acquired permit
-            permits.release();
+            limiter.release(startNanos, throable != null);
 
             // Record the failure (if the query failed)
             if (throable != null) {
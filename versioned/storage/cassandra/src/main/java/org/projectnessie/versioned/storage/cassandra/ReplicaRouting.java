@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.cassandra;
+
+import static java.util.Collections.emptySet;
+
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.ProtocolVersion;
+import com.datastax.oss.driver.api.core.metadata.Node;
+import com.datastax.oss.driver.api.core.metadata.TokenMap;
+import com.datastax.oss.driver.api.core.metadata.token.Token;
+import com.datastax.oss.driver.api.core.type.codec.TypeCodecs;
+import java.nio.ByteBuffer;
+import java.util.Set;
+import javax.annotation.Nullable;
+
+/**
+ * Computes the tokens and replica sets of partition keys of the form {@code (repo_id, key)} using
+ * the driver's token map, so that multi-key reads can be grouped by the nodes that own all of their
+ * keys.
+ *
+ * <p>If the driver has no token metadata, for example because token metadata has been disabled via
+ * {@code advanced.metadata.token-map.enabled}, all keys map to the same group and no routing
+ * information is available.
+ */
+final class ReplicaRouting {
+
+  private static final ReplicaRouting UNAVAILABLE = new ReplicaRouting(null, null, null, null);
+
+  private final TokenMap tokenMap;
+  private final CqlIdentifier keyspace;
+  private final ProtocolVersion protocolVersion;
+  private final ByteBuffer repositoryId;
+
+  private ReplicaRouting(
+      TokenMap tokenMap,
+      CqlIdentifier keyspace,
+      ProtocolVersion protocolVersion,
+      ByteBuffer repositoryId) {
+    this.tokenMap = tokenMap;
+    this.keyspace = keyspace;
+    this.protocolVersion = protocolVersion;
+    this.repositoryId = repositoryId;
+  }
+
+  static ReplicaRouting forRepository(CqlSession session, String keyspace, String repositoryId) {
+    return session
+        .getMetadata()
+        .getTokenMap()
+        .map(
+            tokenMap -> {
+              ProtocolVersion protocolVersion = session.getContext().getProtocolVersion();
+              return new ReplicaRouting(
+                  tokenMap,
+                  CqlIdentifier.fromCql(keyspace),
+                  protocolVersion,
+                  TypeCodecs.TEXT.encode(repositoryId, protocolVersion));
+            })
+        .orElse(UNAVAILABLE);
+  }
+
+  /** Returns the token of the partition {@code (repo_id, key)} or {@code null}. */
+  @Nullable
+  @jakarta.annotation.Nullable
+  Token token(String key) {
+    if (tokenMap == null) {
+      return null;
+    }
+    // The obj_id column is of type ASCII, which is encoded the same way as TEXT.
+    return tokenMap.newToken(
+        repositoryId.duplicate(), TypeCodecs.TEXT.encode(key, protocolVersion));
+  }
+
+  /**
+   * Returns the replicas owning the given token, an empty set if the token is {@code null} or the
+   * replicas are not known.
+   */
+  Set<Node> replicas(@Nullable @jakarta.annotation.Nullable Token token) {
+    if (token == null) {
+      return emptySet();
+    }
+    return tokenMap.getReplicas(keyspace, token);
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.cassandra;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import com.datastax.oss.driver.api.core.DriverTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith(SoftAssertionsExtension.class)
+public class TestConcurrencyLimiter {
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  private static final long LATENCY = MILLISECONDS.toNanos(2);
+  private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+  @Test
+  public void invalidLimits() {
+    soft.assertThatIllegalArgumentException()
+        .isThrownBy(() -> new ConcurrencyLimiter(10, 0, 20, true, TIMEOUT));
+    soft.assertThatIllegalArgumentException()
+        .isThrownBy(() -> new ConcurrencyLimiter(10, 11, 20, true, TIMEOUT));
+    soft.assertThatIllegalArgumentException()
+        .isThrownBy(() -> new ConcurrencyLimiter(21, 1, 20, true, TIMEOUT));
+  }
+
+  @Test
+  public void growsWithStableLatency() {
+    ConcurrencyLimiter limiter = new ConcurrencyLimiter(20, 1, 100, true, TIMEOUT);
+    for (int i = 0; i < 200; i++) {
+      limiter.update(LATENCY, false, limiter.limit());
+    }
+    soft.assertThat(limiter.limit()).isEqualTo(100);
+  }
+
+  @Test
+  public void doesNotGrowWhenNotSaturated() {
+    ConcurrencyLimiter limiter = new ConcurrencyLimiter(20, 1, 100, true, TIMEOUT);
+    for (int i = 0; i < 200; i++) {
+      limiter.update(LATENCY, false, 2);
+    }
+    soft.assertThat(limiter.limit()).isEqualTo(20);
+  }
+
+  @Test
+  public void shrinksWithIncreasingLatency() {
+    ConcurrencyLimiter limiter = new ConcurrencyLimiter(50, 5, 100, true, TIMEOUT);
+    limiter.update(LATENCY, false, 1);
+    for (int i = 0; i < 200; i++) {
+      limiter.update(10 * LATENCY, false, limiter.limit());
+    }
+    soft.assertThat(limiter.limit()).isEqualTo(5);
+  }
+
+  @Test
+  public void backsOffOnFailures() {
+    ConcurrencyLimiter limiter = new ConcurrencyLimiter(20, 2, 100, true, TIMEOUT);
+    limiter.update(LATENCY, true, 20);
+    soft.assertThat(limiter.limit()).isEqualTo(18);
+    for (int i = 0; i < 100; i++) {
+      limiter.update(LATENCY, true, 20);
+    }
+    soft.assertThat(limiter.limit()).isEqualTo(2);
+  }
+
+  @Test
+  public void fixedLimit() throws Exception {
+    ConcurrencyLimiter limiter = new ConcurrencyLimiter(2, 1, 100, false, TIMEOUT);
+    limiter.acquire();
+    limiter.acquire();
+    soft.assertThat(limiter.inFlight()).isEqualTo(2);
+
+    CompletableFuture<?> third = CompletableFuture.runAsync(limiter::acquire);
+    Thread.sleep(50L);
+    soft.assertThat(third).isNotDone();
+
+    limiter.release(System.nanoTime() - LATENCY, true);
+    third.get(5, SECONDS);
+    soft.assertThat(limiter.inFlight()).isEqualTo(2);
+    soft.assertThat(limiter.limit()).isEqualTo(2);
+  }
+
+  @Test
+  public void acquireTimesOut() {
+    ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, 1, 1, false, Duration.ofMillis(50));
+    limiter.acquire();
+    soft.assertThatThrownBy(limiter::acquire)
+        .isInstanceOf(DriverTimeoutException.class)
+        .hasMessageContaining("1 of 1 permits in use");
+    soft.assertThat(limiter.inFlight()).isEqualTo(1);
+  }
+}
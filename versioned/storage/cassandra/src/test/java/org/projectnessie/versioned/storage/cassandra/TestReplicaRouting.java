@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.cassandra;
+
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.DefaultProtocolVersion;
+import com.datastax.oss.driver.api.core.ProtocolVersion;
+import com.datastax.oss.driver.api.core.context.DriverContext;
+import com.datastax.oss.driver.api.core.metadata.Metadata;
+import com.datastax.oss.driver.api.core.metadata.Node;
+import com.datastax.oss.driver.api.core.metadata.TokenMap;
+import com.datastax.oss.driver.api.core.metadata.token.Token;
+import com.datastax.oss.driver.api.core.type.codec.TypeCodecs;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith(SoftAssertionsExtension.class)
+public class TestReplicaRouting {
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  private static final ProtocolVersion PROTOCOL_VERSION = DefaultProtocolVersion.V4;
+  private static final String KEYSPACE = "nessie";
+  private static final String REPO = "repo";
+
+  private final Node node1 = mock(Node.class);
+  private final Node node2 = mock(Node.class);
+  private final Node node3 = mock(Node.class);
+
+  private final Token tokenA = mock(Token.class);
+  private final Token tokenB = mock(Token.class);
+  private final Token tokenC = mock(Token.class);
+
+  private final Map<String, Token> tokens = ImmutableMap.of("a", tokenA, "b", tokenB, "c", tokenC);
+
+  @Test
+  public void tokensAndReplicas() {
+    TokenMap tokenMap = tokenMap();
+    CqlSession session = session(Optional.of(tokenMap));
+
+    ReplicaRouting routing = ReplicaRouting.forRepository(session, KEYSPACE, REPO);
+
+    soft.assertThat(routing.token("a")).isSameAs(tokenA);
+    soft.assertThat(routing.token("b")).isSameAs(tokenB);
+    soft.assertThat(routing.token("c")).isSameAs(tokenC);
+    // The repository ID must be usable for more than one token
+    soft.assertThat(routing.token("a")).isSameAs(tokenA);
+
+    soft.assertThat(routing.replicas(tokenA)).containsExactlyInAnyOrder(node1, node2);
+    soft.assertThat(routing.replicas(tokenC)).containsExactlyInAnyOrder(node2, node3);
+    soft.assertThat(routing.replicas(null)).isEmpty();
+  }
+
+  @Test
+  public void groupsKeysByReplicas() {
+    ReplicaRouting routing =
+        ReplicaRouting.forRepository(session(Optional.of(tokenMap())), KEYSPACE, REPO);
+
+    soft.assertThat(groupByReplicas(routing, "a", "c", "b"))
+        .containsOnlyKeys(ImmutableSet.of(node1, node2), ImmutableSet.of(node2, node3))
+        .containsEntry(ImmutableSet.of(node1, node2), ImmutableList.of("a", "b"))
+        .containsEntry(ImmutableSet.of(node2, node3), ImmutableList.of("c"));
+  }
+
+  @Test
+  public void noTokenMap() {
+    CqlSession session = session(Optional.empty());
+
+    ReplicaRouting routing = ReplicaRouting.forRepository(session, KEYSPACE, REPO);
+
+    soft.assertThat(routing.token("a")).isNull();
+    soft.assertThat(routing.replicas(routing.token("a"))).isEmpty();
+    // All keys end up in the same group, queries are not routed
+    soft.assertThat(groupByReplicas(routing, "a", "b", "c"))
+        .containsExactly(entry(ImmutableSet.<Node>of(), ImmutableList.of("a", "b", "c")));
+
+    verify(session, never()).getContext();
+  }
+
+  /** Groups the keys like {@code CassandraBackend.BatchedQueryImpl.add()}. */
+  private static Map<Set<Node>, List<String>> groupByReplicas(
+      ReplicaRouting routing, String... keys) {
+    Map<Set<Node>, List<String>> groups = new LinkedHashMap<>();
+    Stream.of(keys)
+        .forEach(
+            key ->
+                groups
+                    .computeIfAbsent(routing.replicas(routing.token(key)), r -> new ArrayList<>())
+                    .add(key));
+    return groups;
+  }
+
+  private TokenMap tokenMap() {
+    TokenMap tokenMap = mock(TokenMap.class);
+    when(tokenMap.newToken(any(ByteBuffer.class), any(ByteBuffer.class)))
+        .thenAnswer(
+            invocation -> {
+              ByteBuffer repo = invocation.getArgument(0);
+              ByteBuffer key = invocation.getArgument(1);
+              // Partition key is (repo_id, key)
+              if (!REPO.equals(TypeCodecs.TEXT.decode(repo, PROTOCOL_VERSION))) {
+                throw new IllegalArgumentException("Unexpected repository ID");
+              }
+              return tokens.get(TypeCodecs.TEXT.decode(key, PROTOCOL_VERSION));
+            });
+    CqlIdentifier keyspace = CqlIdentifier.fromCql(KEYSPACE);
+    when(tokenMap.getReplicas(keyspace, tokenA)).thenReturn(ImmutableSet.of(node1, node2));
+    when(tokenMap.getReplicas(keyspace, tokenB)).thenReturn(ImmutableSet.of(node2, node1));
+    when(tokenMap.getReplicas(keyspace, tokenC)).thenReturn(ImmutableSet.of(node2, node3));
+    return tokenMap;
+  }
+
+  private static CqlSession session(Optional<TokenMap> tokenMap) {
+    Metadata metadata = mock(Metadata.class);
+    when(metadata.getTokenMap()).thenReturn(tokenMap);
+    DriverContext context = mock(DriverContext.class);
+    when(context.getProtocolVersion()).thenReturn(PROTOCOL_VERSION);
+    CqlSession session = mock(CqlSession.class);
+    when(session.getMetadata()).thenReturn(metadata);
+    when(session.getContext()).thenReturn(context);
+    return session;
+  }
+}
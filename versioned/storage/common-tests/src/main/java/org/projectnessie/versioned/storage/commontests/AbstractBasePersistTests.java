@@ -509,6 +509,44 @@ public class AbstractBasePersistTests {
         .containsExactly(obj1, obj2, obj3, obj4, obj5);
   }
 
+  @Test
+  public void deleteManyObjects() throws Exception {
+    List<TagObj> objects =
+        IntStream.range(0, 57)
+            .mapToObj(i -> tag(randomObjId(), randomObjId(), null, null, ByteString.EMPTY))
+            .collect(Collectors.toList());
+    soft.assertThat(persist.storeObjs(objects.toArray(new Obj[0])))
+        .hasSize(objects.size())
+        .containsOnly(true);
+
+    ObjId[] deleted =
+        IntStream.range(0, objects.size())
+            .filter(i -> i % 3 == 0)
+            .mapToObj(i -> objects.get(i).id())
+            .toArray(ObjId[]::new);
+    ObjId[] retained =
+        IntStream.range(0, objects.size())
+            .filter(i -> i % 3 != 0)
+            .mapToObj(i -> objects.get(i).id())
+            .toArray(ObjId[]::new);
+
+    persist.deleteObjs(deleted);
+
+    soft.assertThat(persist.fetchObjs(retained)).doesNotContainNull().hasSize(retained.length);
+    for (ObjId id : deleted) {
+      soft.assertThatThrownBy(() -> persist.fetchObj(id)).isInstanceOf(ObjNotFoundException.class);
+    }
+    soft.assertThatThrownBy(() -> persist.fetchObjs(deleted))
+        .isInstanceOf(ObjNotFoundException.class);
+
+    // Deleted objects can be stored again.
+    boolean[] expectStored = new boolean[objects.size()];
+    for (int i = 0; i < expectStored.length; i++) {
+      expectStored[i] = i % 3 == 0;
+    }
+    soft.assertThat(persist.storeObjs(objects.toArray(new Obj[0]))).containsExactly(expectStored);
+  }
+
   @Test
   public void fetchEmptyObjId() {
     soft.assertThatThrownBy(() -> persist.fetchObj(EMPTY_OBJ_ID))
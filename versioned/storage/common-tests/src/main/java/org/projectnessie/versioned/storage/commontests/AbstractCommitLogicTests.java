@@ -27,6 +27,10 @@ import static org.assertj.core.api.Assertions.tuple;
 import static org.assertj.core.api.InstanceOfAssertFactories.list;
 import static org.assertj.core.api.InstanceOfAssertFactories.type;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
+import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_COMMIT_LOG_PREFETCH_DEPTH;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexElement.indexElement;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.indexFromStripes;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.newStoreIndex;
 import static org.projectnessie.versioned.storage.common.indexes.StoreKey.key;
 import static org.projectnessie.versioned.storage.common.logic.CommitConflict.ConflictType.VALUE_DIFFERS;
 import static org.projectnessie.versioned.storage.common.logic.CommitLogQuery.commitLogQuery;
@@ -42,6 +46,12 @@ import static org.projectnessie.versioned.storage.common.logic.Logics.indexesLog
 import static org.projectnessie.versioned.storage.common.logic.Logics.referenceLogic;
 import static org.projectnessie.versioned.storage.common.logic.PagingToken.emptyPagingToken;
 import static org.projectnessie.versioned.storage.common.objtypes.CommitHeaders.EMPTY_COMMIT_HEADERS;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitObj.commitBuilder;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitOp.Action.ADD;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitOp.Action.INCREMENTAL_ADD;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitOp.Action.REMOVE;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitOp.COMMIT_OP_SERIALIZER;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitOp.commitOp;
 import static org.projectnessie.versioned.storage.common.persist.ObjId.EMPTY_OBJ_ID;
 import static org.projectnessie.versioned.storage.common.persist.ObjId.objIdFromString;
 import static org.projectnessie.versioned.storage.common.persist.ObjId.randomObjId;
@@ -69,6 +79,7 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.projectnessie.nessie.relocated.protobuf.ByteString;
 import org.projectnessie.versioned.storage.common.exceptions.CommitConflictException;
 import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
+import org.projectnessie.versioned.storage.common.indexes.StoreIndex;
 import org.projectnessie.versioned.storage.common.indexes.StoreIndexElement;
 import org.projectnessie.versioned.storage.common.indexes.StoreKey;
 import org.projectnessie.versioned.storage.common.logic.CommitConflict;
@@ -82,12 +93,14 @@ import org.projectnessie.versioned.storage.common.logic.PagingToken;
 import org.projectnessie.versioned.storage.common.logic.ReferenceLogic;
 import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
 import org.projectnessie.versioned.storage.common.objtypes.CommitOp;
+import org.projectnessie.versioned.storage.common.objtypes.IndexStripe;
 import org.projectnessie.versioned.storage.common.objtypes.TagObj;
 import org.projectnessie.versioned.storage.common.persist.Obj;
 import org.projectnessie.versioned.storage.common.persist.ObjId;
 import org.projectnessie.versioned.storage.common.persist.Persist;
 import org.projectnessie.versioned.storage.common.persist.Reference;
 import org.projectnessie.versioned.storage.testextension.NessiePersist;
+import org.projectnessie.versioned.storage.testextension.NessieStoreConfig;
 import org.projectnessie.versioned.storage.testextension.PersistExtension;
 
 /** {@link CommitLogic} related tests to be run against every {@link Persist} implementation. */
@@ -176,6 +189,84 @@ public class AbstractCommitLogicTests {
     }
   }
 
+  @Test
+  public void commonAncestorLongHistory() throws Exception {
+    CommitLogic commitLogic = commitLogic(persist);
+    int parentsPerCommit = persist.config().parentsPerCommit();
+
+    ObjId root = requireNonNull(commitLogic.doCommit(stdCommit().build(), emptyList())).id();
+
+    ObjId commonAncestor = root;
+    for (int i = 0; i < 3 * parentsPerCommit + 3; i++) {
+      commonAncestor =
+          requireNonNull(
+                  commitLogic.doCommit(
+                      stdCommit().parentCommitId(commonAncestor).message("Commit #" + i).build(),
+                      emptyList()))
+              .id();
+    }
+
+    int[] branchLengths = {1, parentsPerCommit - 1, parentsPerCommit, 2 * parentsPerCommit + 5};
+    ObjId[] branches = new ObjId[branchLengths.length];
+    for (int branch = 0; branch < branches.length; branch++) {
+      branches[branch] = commonAncestor;
+      for (int i = 0; i < branchLengths[branch]; i++) {
+        branches[branch] =
+            requireNonNull(
+                    commitLogic.doCommit(
+                        stdCommit()
+                            .parentCommitId(branches[branch])
+                            .message("Branch " + branch + " commit #" + i)
+                            .build(),
+                        emptyList()))
+                .id();
+      }
+    }
+
+    for (int i = 0; i < branches.length; i++) {
+      soft.assertThat(commitLogic.findCommonAncestor(branches[i], root)).isEqualTo(root);
+      soft.assertThat(commitLogic.findCommonAncestor(root, branches[i])).isEqualTo(root);
+      soft.assertThat(commitLogic.findCommonAncestor(branches[i], commonAncestor))
+          .isEqualTo(commonAncestor);
+      for (int j = 0; j < branches.length; j++) {
+        soft.assertThat(commitLogic.findCommonAncestor(branches[i], branches[j]))
+            .isEqualTo(i == j ? branches[i] : commonAncestor);
+      }
+    }
+  }
+
+  @Test
+  public void commonAncestorInconsistentSeq() throws Exception {
+    CommitLogic commitLogic = commitLogic(persist);
+
+    CommitObj root = seqCommit(1L, EMPTY_OBJ_ID);
+    CommitObj branch1 = seqCommit(5L, root.id(), EMPTY_OBJ_ID);
+    CommitObj branch2 = seqCommit(1L, root.id(), EMPTY_OBJ_ID);
+    for (CommitObj commit : asList(root, branch1, branch2)) {
+      soft.assertThat(commitLogic.storeCommit(commit, emptyList())).isTrue();
+    }
+
+    soft.assertThat(commitLogic.findCommonAncestor(branch1.id(), branch2.id()))
+        .isEqualTo(root.id());
+    soft.assertThat(commitLogic.findCommonAncestor(branch2.id(), branch1.id()))
+        .isEqualTo(root.id());
+  }
+
+  private static CommitObj seqCommit(long seq, ObjId... tail) {
+    CommitObj.Builder commit =
+        commitBuilder()
+            .created(42L)
+            .seq(seq)
+            .id(randomObjId())
+            .message("msg")
+            .headers(EMPTY_COMMIT_HEADERS)
+            .incrementalIndex(newStoreIndex(COMMIT_OP_SERIALIZER).serialize());
+    for (ObjId parent : tail) {
+      commit.addTail(parent);
+    }
+    return commit.build();
+  }
+
   @Test
   public void noCommonAncestor() throws Exception {
     CommitLogic commitLogic = commitLogic(persist);
@@ -336,6 +427,65 @@ public class AbstractCommitLogicTests {
     }
   }
 
+  @Test
+  public void commitLogPrefetchDepth1(
+      @NessieStoreConfig(name = CONFIG_COMMIT_LOG_PREFETCH_DEPTH, value = "1") @NessiePersist
+          Persist persist)
+      throws Exception {
+    commitLogPrefetch(persist);
+  }
+
+  @Test
+  public void commitLogPrefetchDepth2(
+      @NessieStoreConfig(name = CONFIG_COMMIT_LOG_PREFETCH_DEPTH, value = "2") @NessiePersist
+          Persist persist)
+      throws Exception {
+    commitLogPrefetch(persist);
+  }
+
+  @Test
+  public void commitLogPrefetchDepth3(
+      @NessieStoreConfig(name = CONFIG_COMMIT_LOG_PREFETCH_DEPTH, value = "3") @NessiePersist
+          Persist persist)
+      throws Exception {
+    commitLogPrefetch(persist);
+  }
+
+  private void commitLogPrefetch(Persist persist) throws Exception {
+    CommitLogic commitLogic = commitLogic(persist);
+
+    List<ObjId> expected = new ArrayList<>();
+    ObjId tip = EMPTY_OBJ_ID;
+    for (int i = 0; i < 5 * persist.config().parentsPerCommit() + 3; i++) {
+      tip =
+          requireNonNull(
+                  commitLogic.doCommit(
+                      stdCommit().parentCommitId(tip).message("commit #" + i).build(),
+                      emptyList()))
+              .id();
+      expected.add(0, tip);
+    }
+
+    soft.assertThat(newArrayList(commitLogic.commitLog(commitLogQuery(tip))))
+        .extracting(CommitObj::id)
+        .containsExactlyElementsOf(expected);
+
+    for (int i : new int[] {0, 1, 19, 20, 21, 50, expected.size() - 1}) {
+      ObjId end = expected.get(i);
+      soft.assertThat(newArrayList(commitLogic.commitLog(commitLogQuery(null, tip, end))))
+          .extracting(CommitObj::id)
+          .containsExactlyElementsOf(expected.subList(0, i + 1));
+    }
+
+    // Stop consuming in the middle, while batches are being prefetched.
+    PagedResult<CommitObj, ObjId> iter = commitLogic.commitLog(commitLogQuery(tip));
+    for (int i = 0; i < 5; i++) {
+      soft.assertThat(iter.next()).extracting(CommitObj::id).isEqualTo(expected.get(i));
+    }
+    iter.close();
+    soft.assertThat(iter.hasNext()).isFalse();
+  }
+
   @Test
   public void commitIdLog() throws Exception {
     CommitLogic commitLogic = commitLogic(persist);
@@ -559,6 +709,81 @@ public class AbstractCommitLogicTests {
     }
   }
 
+  @Test
+  public void diffSharedStripes() throws Exception {
+    CommitLogic commitLogic = commitLogic(persist);
+    IndexesLogic indexesLogic = indexesLogic(persist);
+
+    StoreIndex<CommitOp> reference1 = newStoreIndex(COMMIT_OP_SERIALIZER);
+    StoreIndex<CommitOp> reference2 = newStoreIndex(COMMIT_OP_SERIALIZER);
+    for (int i = 0; i < 100; i++) {
+      StoreKey key = key(String.format("k%03d", i));
+      ObjId id = randomObjId();
+      reference1.add(indexElement(key, commitOp(ADD, 0, id)));
+      reference2.add(indexElement(key, commitOp(ADD, 0, id)));
+    }
+    ObjId id95 = requireNonNull(reference1.get(key("k095"))).content().value();
+    ObjId id95changed = randomObjId();
+    reference2.add(indexElement(key("k095"), commitOp(ADD, 0, id95changed)));
+
+    List<IndexStripe> stripes1 =
+        indexesLogic.persistIndexStripesFromIndex(indexFromStripes(reference1.divide(5)));
+    List<IndexStripe> stripes2 =
+        indexesLogic.persistIndexStripesFromIndex(indexFromStripes(reference2.divide(5)));
+    soft.assertThat(stripes1.subList(0, 4)).containsExactlyElementsOf(stripes2.subList(0, 4));
+    soft.assertThat(stripes1.get(4)).isNotEqualTo(stripes2.get(4));
+
+    ObjId id10 = requireNonNull(reference1.get(key("k010"))).content().value();
+    ObjId id10changed = randomObjId();
+    ObjId id20 = requireNonNull(reference1.get(key("k020"))).content().value();
+    ObjId id50a = randomObjId();
+
+    StoreIndex<CommitOp> incremental1 = newStoreIndex(COMMIT_OP_SERIALIZER);
+    incremental1.add(indexElement(key("k010"), commitOp(INCREMENTAL_ADD, 0, id10changed)));
+    StoreIndex<CommitOp> incremental2 = newStoreIndex(COMMIT_OP_SERIALIZER);
+    incremental2.add(indexElement(key("k020"), commitOp(REMOVE, 0, id20)));
+    incremental2.add(indexElement(key("k050a"), commitOp(ADD, 0, id50a)));
+
+    CommitObj commit1 = sharedStripesCommit(stripes1, incremental1);
+    CommitObj commit2 = sharedStripesCommit(stripes2, incremental2);
+    commitLogic.storeCommit(commit1, emptyList());
+    commitLogic.storeCommit(commit2, emptyList());
+
+    List<DiffEntry> diffs =
+        asList(
+            diffEntry(key("k010"), id10changed, 0, null, id10, 0, null),
+            diffEntry(key("k020"), id20, 0, null, null, 0, null),
+            diffEntry(key("k050a"), null, 0, null, id50a, 0, null),
+            diffEntry(key("k095"), id95, 0, null, id95changed, 0, null));
+
+    soft.assertThat(commitLogic.diff(diffQuery(commit1, commit2, false)))
+        .toIterable()
+        .containsExactlyElementsOf(diffs);
+    soft.assertThat(commitLogic.diff(diffQuery(commit1, commit1, false))).toIterable().isEmpty();
+    soft.assertThat(
+            commitLogic.diff(diffQuery(null, commit1, commit2, key("k015"), key("k060"), false)))
+        .toIterable()
+        .containsExactlyElementsOf(diffs.subList(1, 3));
+    soft.assertThat(
+            commitLogic.diff(diffQuery(null, commit1, commit2, key("k050"), key("k050"), false)))
+        .toIterable()
+        .containsExactly(diffs.get(2));
+  }
+
+  private static CommitObj sharedStripesCommit(
+      List<IndexStripe> stripes, StoreIndex<CommitOp> incremental) {
+    return commitBuilder()
+        .created(42L)
+        .seq(1L)
+        .id(randomObjId())
+        .addTail(EMPTY_OBJ_ID)
+        .message("msg")
+        .headers(EMPTY_COMMIT_HEADERS)
+        .incrementalIndex(incremental.serialize())
+        .referenceIndexStripes(stripes)
+        .build();
+  }
+
   @Test
   public void diffToCreateCommit() throws Exception {
     CommitLogic commitLogic = commitLogic(persist);
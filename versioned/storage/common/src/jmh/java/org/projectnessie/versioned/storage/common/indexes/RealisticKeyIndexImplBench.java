@@ -18,6 +18,8 @@ package org.projectnessie.versioned.storage.common.indexes;
 import static java.util.concurrent.TimeUnit.MICROSECONDS;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.projectnessie.versioned.storage.common.indexes.StoreIndexElement.indexElement;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.serializedImmutableIndex;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitOp.COMMIT_OP_SERIALIZER;
 import static org.projectnessie.versioned.storage.common.objtypes.CommitOp.commitOp;
 import static org.projectnessie.versioned.storage.common.persist.ObjId.randomObjId;
 
@@ -64,6 +66,7 @@ public class RealisticKeyIndexImplBench {
     public boolean deterministic;
 
     private KeyIndexTestSet<CommitOp> keyIndexTestSet;
+    private StoreIndex<CommitOp> serializedIndex;
 
     @Setup
     public void init() {
@@ -77,10 +80,12 @@ public class RealisticKeyIndexImplBench {
                       .deterministic(deterministic)
                       .build())
               .elementSupplier(key -> indexElement(key, commitOp(Action.ADD, 1, randomObjId())))
-              .elementSerializer(CommitOp.COMMIT_OP_SERIALIZER)
+              .elementSerializer(COMMIT_OP_SERIALIZER)
               .build();
 
       this.keyIndexTestSet = builder.generateIndexTestSet();
+      this.serializedIndex =
+          serializedImmutableIndex(keyIndexTestSet.serialized(), COMMIT_OP_SERIALIZER);
 
       System.err.printf(
           "%nNumber of tables: %d%nSerialized size: %d%n",
@@ -102,4 +107,29 @@ public class RealisticKeyIndexImplBench {
   public void randomGetKey(BenchmarkParam param, Blackhole bh) {
     bh.consume(param.keyIndexTestSet.randomGetKey());
   }
+
+  @Benchmark
+  public void serializedImmutable(BenchmarkParam param, Blackhole bh) {
+    bh.consume(serializedImmutableIndex(param.keyIndexTestSet.serialized(), COMMIT_OP_SERIALIZER));
+  }
+
+  @Benchmark
+  public void serializedImmutableRandomGetKey(BenchmarkParam param, Blackhole bh) {
+    bh.consume(param.serializedIndex.get(param.keyIndexTestSet.randomKey()));
+  }
+
+  /** Point lookup against a serialized index, the index is fully deserialized. */
+  @Benchmark
+  public void deserializeAndGetKey(BenchmarkParam param, Blackhole bh) {
+    StoreIndex<CommitOp> index = param.keyIndexTestSet.deserialize();
+    bh.consume(index.get(param.keyIndexTestSet.randomKey()));
+  }
+
+  /** Point lookup against a serialized index, only the required elements are decoded. */
+  @Benchmark
+  public void serializedImmutableAndGetKey(BenchmarkParam param, Blackhole bh) {
+    StoreIndex<CommitOp> index =
+        serializedImmutableIndex(param.keyIndexTestSet.serialized(), COMMIT_OP_SERIALIZER);
+    bh.consume(index.get(param.keyIndexTestSet.randomKey()));
+  }
 }
@@ -17,12 +17,15 @@ package org.projectnessie.versioned.storage.common.config;
 
 import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.projectnessie.versioned.storage.common.indexes.IndexCompression.checkIndexCompression;
 
 import java.time.Clock;
 import java.time.Instant;
+import java.util.Locale;
 import java.util.function.Function;
 import org.immutables.value.Value;
 import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
+import org.projectnessie.versioned.storage.common.objtypes.Compression;
 import org.projectnessie.versioned.storage.common.objtypes.IndexObj;
 import org.projectnessie.versioned.storage.common.objtypes.IndexSegmentsObj;
 import org.projectnessie.versioned.storage.common.persist.Persist;
@@ -56,12 +59,36 @@ public interface StoreConfig {
   String CONFIG_MAX_SERIALIZED_INDEX_SIZE = "max-serialized-index-size";
   int DEFAULT_MAX_SERIALIZED_INDEX_SIZE = 200 * 1024;
 
+  String CONFIG_INDEX_COMPRESSION = "index-compression";
+  String DEFAULT_INDEX_COMPRESSION = "NONE";
+
+  String CONFIG_INDEX_COMPRESSION_MIN_SIZE = "index-compression-min-size";
+  int DEFAULT_INDEX_COMPRESSION_MIN_SIZE = 8 * 1024;
+
   String CONFIG_MAX_REFERENCE_STRIPES_PER_COMMIT = "max-reference-stripes-per-commit";
   int DEFAULT_MAX_REFERENCE_STRIPES_PER_COMMIT = 50;
 
   String CONFIG_ASSUMED_WALL_CLOCK_DRIFT_MICROS = "assumed-wall-clock-drift-micros";
   long DEFAULT_ASSUMED_WALL_CLOCK_DRIFT_MICROS = 5_000_000L;
 
+  String CONFIG_INDEX_CACHE_CAPACITY = "index-cache-capacity";
+  long DEFAULT_INDEX_CACHE_CAPACITY = 8 * 1024 * 1024;
+
+  String CONFIG_CONTENT_FETCH_BATCH_SIZE = "content-fetch-batch-size";
+  int DEFAULT_CONTENT_FETCH_BATCH_SIZE = 250;
+
+  String CONFIG_REFERENCE_INFO_PARALLELISM = "reference-info-parallelism";
+  int DEFAULT_REFERENCE_INFO_PARALLELISM = 4;
+
+  String CONFIG_COMMIT_LOG_PREFETCH_DEPTH = "commit-log-prefetch-depth";
+  int DEFAULT_COMMIT_LOG_PREFETCH_DEPTH = 0;
+
+  String CONFIG_COMMIT_COALESCING = "commit-coalescing";
+  boolean DEFAULT_COMMIT_COALESCING = false;
+
+  String CONFIG_COMMIT_COALESCING_MAX_COMMITS = "commit-coalescing-max-commits";
+  int DEFAULT_COMMIT_COALESCING_MAX_COMMITS = 32;
+
   String CONFIG_NAMESPACE_VALIDATION = "namespace-validation";
   boolean DEFAULT_NAMESPACE_VALIDATION = true;
 
@@ -185,7 +212,8 @@ public interface StoreConfig {
    * The maximum allowed serialized size of a {@link
    * org.projectnessie.versioned.storage.common.indexes.StoreIndex store index}. This value is used
    * to determine, when elements in a {@link IndexObj#index() reference index segment} need to be
-   * split, defaults to {@value #DEFAULT_MAX_SERIALIZED_INDEX_SIZE}.
+   * split, defaults to {@value #DEFAULT_MAX_SERIALIZED_INDEX_SIZE}. If {@link #indexCompression()
+   * index compression} is enabled, this is the size of the compressed segment.
    *
    * <p>Note: this value <em>must</em> be smaller than a database's {@link
    * Persist#hardObjectSizeLimit() hard item/row size limit}.
@@ -211,6 +239,34 @@ public interface StoreConfig {
     return DEFAULT_MAX_INCREMENTAL_INDEX_SIZE;
   }
 
+  /**
+   * Compression codec for serialized {@link IndexObj#index() reference index segments}, either
+   * {@code NONE}, {@code DEFLATE} or {@code GZIP}. Compressed segments need less space in the
+   * database and in the cache, at the cost of CPU time to compress and decompress the segments.
+   * Segments are only compressed, if their serialized size is at least {@link
+   * #indexCompressionMinSize()} bytes. The codec is recorded in the stored segment, so existing
+   * segments remain readable when this setting is changed. Defaults to {@value
+   * #DEFAULT_INDEX_COMPRESSION}.
+   *
+   * <p>Note: {@link #maxSerializedIndexSize()} refers to the compressed size of a segment, so
+   * reference index stripes are split later and fewer segments are written, if compression is
+   * enabled.
+   */
+  @Value.Default
+  default Compression indexCompression() {
+    return Compression.valueOf(DEFAULT_INDEX_COMPRESSION);
+  }
+
+  /**
+   * Minimum serialized size of a {@link IndexObj#index() reference index segment} in bytes to be
+   * compressed, if {@link #indexCompression()} is enabled. Defaults to {@value
+   * #DEFAULT_INDEX_COMPRESSION_MIN_SIZE}.
+   */
+  @Value.Default
+  default int indexCompressionMinSize() {
+    return DEFAULT_INDEX_COMPRESSION_MIN_SIZE;
+  }
+
   /**
    * If the external reference index for this commit consists of up to this amount of stripes, the
    * references to the stripes will be stored {@link CommitObj#referenceIndexStripes() inside} the
@@ -231,6 +287,67 @@ public interface StoreConfig {
     return DEFAULT_ASSUMED_WALL_CLOCK_DRIFT_MICROS;
   }
 
+  /**
+   * Capacity in bytes of the per-repository cache of commit incremental indexes and reference index
+   * stripes, which saves the cost of rebuilding the index structures for frequently accessed
+   * commits, for example the HEADs of branches. Defaults to {@value #DEFAULT_INDEX_CACHE_CAPACITY},
+   * {@code 0} disables the cache.
+   */
+  @Value.Default
+  default long indexCacheCapacity() {
+    return DEFAULT_INDEX_CACHE_CAPACITY;
+  }
+
+  /**
+   * Number of entries for which the content objects are fetched using a single bulk read, when
+   * listing keys with their contents. Defaults to {@value #DEFAULT_CONTENT_FETCH_BATCH_SIZE}.
+   */
+  @Value.Default
+  default int contentFetchBatchSize() {
+    return DEFAULT_CONTENT_FETCH_BATCH_SIZE;
+  }
+
+  /**
+   * Maximum number of threads used to compute the common ancestors and commits ahead/behind of the
+   * references of a single reference listing. {@code 1} computes those sequentially. Defaults to
+   * {@value #DEFAULT_REFERENCE_INFO_PARALLELISM}.
+   */
+  @Value.Default
+  default int referenceInfoParallelism() {
+    return DEFAULT_REFERENCE_INFO_PARALLELISM;
+  }
+
+  /**
+   * Number of commit log batches, each consisting of the commits in the {@link #parentsPerCommit()
+   * tail} of a commit, that are fetched asynchronously ahead of the batch being consumed. {@code 0}
+   * disables the read-ahead. Defaults to {@value #DEFAULT_COMMIT_LOG_PREFETCH_DEPTH}.
+   */
+  @Value.Default
+  default int commitLogPrefetchDepth() {
+    return DEFAULT_COMMIT_LOG_PREFETCH_DEPTH;
+  }
+
+  /**
+   * Whether concurrent commits to the same branch via the same Nessie instance are coalesced into
+   * a group. The commits of a group are applied in order against the group's in-memory HEAD and
+   * published with a single reference pointer update, so that commits do not have to retry
+   * against each other. Concurrent updates by other Nessie instances are still handled by
+   * retries. Defaults to {@value #DEFAULT_COMMIT_COALESCING}.
+   */
+  @Value.Default
+  default boolean commitCoalescing() {
+    return DEFAULT_COMMIT_COALESCING;
+  }
+
+  /**
+   * Maximum number of commits in a group, if {@link #commitCoalescing()} is enabled. Defaults to
+   * {@value #DEFAULT_COMMIT_COALESCING_MAX_COMMITS}.
+   */
+  @Value.Default
+  default int commitCoalescingMaxCommits() {
+    return DEFAULT_COMMIT_COALESCING_MAX_COMMITS;
+  }
+
   /** The {@link Clock} to use, do not change for production. */
   @Value.Default
   default Clock clock() {
@@ -301,6 +418,16 @@ public interface StoreConfig {
       if (v != null) {
         a = a.withMaxSerializedIndexSize(Integer.parseInt(v.trim()));
       }
+      v = configFunction.apply(CONFIG_INDEX_COMPRESSION);
+      if (v != null) {
+        a =
+            a.withIndexCompression(
+                checkIndexCompression(Compression.valueOf(v.trim().toUpperCase(Locale.ROOT))));
+      }
+      v = configFunction.apply(CONFIG_INDEX_COMPRESSION_MIN_SIZE);
+      if (v != null) {
+        a = a.withIndexCompressionMinSize(Integer.parseInt(v.trim()));
+      }
       v = configFunction.apply(CONFIG_MAX_REFERENCE_STRIPES_PER_COMMIT);
       if (v != null) {
         a = a.withMaxReferenceStripesPerCommit(Integer.parseInt(v.trim()));
@@ -309,6 +436,30 @@ public interface StoreConfig {
       if (v != null) {
         a = a.withAssumedWallClockDriftMicros(Integer.parseInt(v.trim()));
       }
+      v = configFunction.apply(CONFIG_INDEX_CACHE_CAPACITY);
+      if (v != null) {
+        a = a.withIndexCacheCapacity(Long.parseLong(v.trim()));
+      }
+      v = configFunction.apply(CONFIG_CONTENT_FETCH_BATCH_SIZE);
+      if (v != null) {
+        a = a.withContentFetchBatchSize(Integer.parseInt(v.trim()));
+      }
+      v = configFunction.apply(CONFIG_REFERENCE_INFO_PARALLELISM);
+      if (v != null) {
+        a = a.withReferenceInfoParallelism(Integer.parseInt(v.trim()));
+      }
+      v = configFunction.apply(CONFIG_COMMIT_LOG_PREFETCH_DEPTH);
+      if (v != null) {
+        a = a.withCommitLogPrefetchDepth(Integer.parseInt(v.trim()));
+      }
+      v = configFunction.apply(CONFIG_COMMIT_COALESCING);
+      if (v != null) {
+        a = a.withCommitCoalescing(Boolean.parseBoolean(v.trim()));
+      }
+      v = configFunction.apply(CONFIG_COMMIT_COALESCING_MAX_COMMITS);
+      if (v != null) {
+        a = a.withCommitCoalescingMaxCommits(Integer.parseInt(v.trim()));
+      }
       v = configFunction.apply(CONFIG_NAMESPACE_VALIDATION);
       if (v != null) {
         a = a.withValidateNamespaces(Boolean.parseBoolean(v.trim()));
@@ -343,12 +494,36 @@ public interface StoreConfig {
     /** See {@link StoreConfig#maxSerializedIndexSize()}. */
     Adjustable withMaxSerializedIndexSize(int maxSerializedIndexSize);
 
+    /** See {@link StoreConfig#indexCompression()}. */
+    Adjustable withIndexCompression(Compression indexCompression);
+
+    /** See {@link StoreConfig#indexCompressionMinSize()}. */
+    Adjustable withIndexCompressionMinSize(int indexCompressionMinSize);
+
     /** See {@link StoreConfig#maxReferenceStripesPerCommit()}. */
     Adjustable withMaxReferenceStripesPerCommit(int maxReferenceStripesPerCommit);
 
     /** See {@link StoreConfig#assumedWallClockDriftMicros()}. */
     Adjustable withAssumedWallClockDriftMicros(long assumedWallClockDriftMicros);
 
+    /** See {@link StoreConfig#indexCacheCapacity()}. */
+    Adjustable withIndexCacheCapacity(long indexCacheCapacity);
+
+    /** See {@link StoreConfig#contentFetchBatchSize()}. */
+    Adjustable withContentFetchBatchSize(int contentFetchBatchSize);
+
+    /** See {@link StoreConfig#referenceInfoParallelism()}. */
+    Adjustable withReferenceInfoParallelism(int referenceInfoParallelism);
+
+    /** See {@link StoreConfig#commitLogPrefetchDepth()}. */
+    Adjustable withCommitLogPrefetchDepth(int commitLogPrefetchDepth);
+
+    /** See {@link StoreConfig#commitCoalescing()}. */
+    Adjustable withCommitCoalescing(boolean commitCoalescing);
+
+    /** See {@link StoreConfig#commitCoalescingMaxCommits()}. */
+    Adjustable withCommitCoalescingMaxCommits(int commitCoalescingMaxCommits);
+
     /** See {@link StoreConfig#validateNamespaces ()} ()}. */
     Adjustable withValidateNamespaces(boolean validateNamespaces);
 
@@ -28,4 +28,13 @@ public interface ElementSerializer<V> {
    * ByteBuffer} only contains data for the value to deserialize, other data likely follows.
    */
   V deserialize(ByteBuffer buffer);
+
+  /**
+   * Skips over a serialized value in {@code buffer}, used by read-only indexes that only
+   * deserialize the values that are actually accessed. The default implementation deserializes the
+   * value, implementations should override this function with a cheaper variant.
+   */
+  default void skip(ByteBuffer buffer) {
+    deserialize(buffer);
+  }
 }
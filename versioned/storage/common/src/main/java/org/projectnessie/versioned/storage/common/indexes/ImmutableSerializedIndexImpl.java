@@ -0,0 +1,401 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.common.indexes;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Collections.emptyIterator;
+import static java.util.Collections.singletonList;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexElement.indexElement;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexImpl.MAX_KEY_BYTES;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexImpl.newKeyBuffer;
+import static org.projectnessie.versioned.storage.common.indexes.StoreKey.deserializeKey;
+import static org.projectnessie.versioned.storage.common.indexes.StoreKey.findPositionAfterKey;
+import static org.projectnessie.versioned.storage.common.util.Ser.readVarInt;
+
+import com.google.common.collect.AbstractIterator;
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.projectnessie.nessie.relocated.protobuf.ByteString;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+
+/**
+ * Read-only {@link StoreIndex} that operates directly on the "version 1" serialized representation
+ * produced by {@link StoreIndexImpl#serialize()}.
+ *
+ * <p>Keys are serialized using a diff-like encoding, which means that keys can only be decoded
+ * sequentially. This implementation scans the serialized representation once and memorizes the
+ * offset and the full key of every {@value #RESTART_INTERVAL}th element ("restart points"). Point
+ * lookups perform a binary search over the restart points and then only decode the keys of the
+ * elements up to the requested key. Values are only deserialized for the elements that are
+ * returned.
+ *
+ * <p>Mutating operations are not supported, {@link #asMutableIndex()} returns a fully deserialized
+ * {@link StoreIndexImpl}.
+ *
+ * <p>Unlike most other {@link StoreIndex} implementations, instances of this class are safe to be
+ * used by multiple threads, once {@link #setObjId(ObjId)} has been called.
+ */
+final class ImmutableSerializedIndexImpl<V> implements StoreIndex<V> {
+
+  static final int RESTART_INTERVAL = 16;
+
+  private final ByteString serialized;
+  private final ByteBuffer buffer;
+  private final ElementSerializer<V> serializer;
+  private final int elementCount;
+  private final int[] restartOffsets;
+  private final StoreKey[] restartKeys;
+  private final StoreKey lastKey;
+  private final int maxKeyBytes;
+  private ObjId objId;
+
+  ImmutableSerializedIndexImpl(ByteString serialized, ElementSerializer<V> serializer) {
+    this.serialized = serialized;
+    this.serializer = serializer;
+
+    ByteBuffer buf = serialized.asReadOnlyByteBuffer();
+    this.buffer = buf.duplicate();
+
+    byte version = buf.get();
+    checkArgument(version == 1, "Unsupported serialized representation of KeyIndexSegment");
+
+    // This buffer holds the previous key, reused.
+    ByteBuffer previousKey = newKeyBuffer();
+
+    int[] offsets = new int[16];
+    StoreKey[] keys = new StoreKey[16];
+    int count = 0;
+    int maxKey = 0;
+    while (buf.remaining() > 0) {
+      int offset = buf.position();
+      int strip = count == 0 ? 0 : readVarInt(buf);
+
+      // strip
+      previousKey.position(previousKey.position() - strip);
+      previousKey.limit(MAX_KEY_BYTES);
+      // add
+      int limitSave = buf.limit();
+      previousKey.put(buf.limit(findPositionAfterKey(buf)));
+      buf.limit(limitSave);
+      previousKey.flip();
+      maxKey = Math.max(maxKey, previousKey.remaining());
+
+      if ((count % RESTART_INTERVAL) == 0) {
+        int restart = count / RESTART_INTERVAL;
+        if (restart == offsets.length) {
+          offsets = Arrays.copyOf(offsets, restart * 2);
+          keys = Arrays.copyOf(keys, restart * 2);
+        }
+        offsets[restart] = offset;
+        keys[restart] = deserializeKey(previousKey);
+      }
+      previousKey.position(previousKey.limit());
+
+      serializer.skip(buf);
+      count++;
+    }
+
+    int restarts = (count + RESTART_INTERVAL - 1) / RESTART_INTERVAL;
+    this.elementCount = count;
+    this.restartOffsets = Arrays.copyOf(offsets, restarts);
+    this.restartKeys = Arrays.copyOf(keys, restarts);
+    this.maxKeyBytes = maxKey;
+    if (count == 0) {
+      this.lastKey = null;
+    } else if (((count - 1) % RESTART_INTERVAL) == 0) {
+      this.lastKey = keys[restarts - 1];
+    } else {
+      previousKey.position(0);
+      this.lastKey = deserializeKey(previousKey);
+    }
+  }
+
+  @Override
+  public boolean isModified() {
+    return false;
+  }
+
+  @Override
+  public ObjId getObjId() {
+    return objId;
+  }
+
+  @Override
+  public StoreIndex<V> setObjId(ObjId objId) {
+    this.objId = objId;
+    return this;
+  }
+
+  @Override
+  public StoreIndex<V> loadIfNecessary(Set<StoreKey> keys) {
+    return this;
+  }
+
+  @Override
+  public boolean isLoaded() {
+    return true;
+  }
+
+  @Override
+  public StoreIndex<V> asMutableIndex() {
+    return StoreIndexImpl.deserializeStoreIndex(buffer.duplicate(), serializer).setObjId(objId);
+  }
+
+  @Override
+  public boolean isMutable() {
+    return false;
+  }
+
+  @Override
+  public List<StoreIndex<V>> divide(int parts) {
+    throw new UnsupportedOperationException("Operation not supported for non-mutable indexes");
+  }
+
+  @Override
+  public List<StoreIndex<V>> stripes() {
+    return singletonList(this);
+  }
+
+  @Override
+  public int elementCount() {
+    return elementCount;
+  }
+
+  @Override
+  public int estimatedSerializedSize() {
+    return serialized.size();
+  }
+
+  @Override
+  public boolean add(@Nonnull @jakarta.annotation.Nonnull StoreIndexElement<V> element) {
+    throw unsupported();
+  }
+
+  @Override
+  public void updateAll(Function<StoreIndexElement<V>, V> updater) {
+    throw unsupported();
+  }
+
+  @Override
+  public boolean remove(@Nonnull @jakarta.annotation.Nonnull StoreKey key) {
+    throw unsupported();
+  }
+
+  private static UnsupportedOperationException unsupported() {
+    return new UnsupportedOperationException("Serialized indexes do not support updates");
+  }
+
+  @Override
+  public boolean contains(@Nonnull @jakarta.annotation.Nonnull StoreKey key) {
+    Cursor c = seek(key);
+    return c != null && c.key.equals(key);
+  }
+
+  @Override
+  @Nullable
+  @jakarta.annotation.Nullable
+  public StoreIndexElement<V> get(@Nonnull @jakarta.annotation.Nonnull StoreKey key) {
+    Cursor c = seek(key);
+    return c != null && c.key.equals(key) ? c.element() : null;
+  }
+
+  @Override
+  @Nullable
+  @jakarta.annotation.Nullable
+  public StoreKey first() {
+    return elementCount > 0 ? restartKeys[0] : null;
+  }
+
+  @Override
+  @Nullable
+  @jakarta.annotation.Nullable
+  public StoreKey last() {
+    return lastKey;
+  }
+
+  @Override
+  public List<StoreKey> asKeyList() {
+    return new AbstractList<StoreKey>() {
+      @Override
+      public StoreKey get(int index) {
+        if (index < 0 || index >= elementCount) {
+          throw new IndexOutOfBoundsException();
+        }
+        Cursor c = new Cursor(index / RESTART_INTERVAL);
+        for (int i = index % RESTART_INTERVAL; i > 0; i--) {
+          c.next();
+        }
+        return c.key;
+      }
+
+      @Override
+      public int size() {
+        return elementCount;
+      }
+    };
+  }
+
+  @Override
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  public Iterator<StoreIndexElement<V>> iterator(
+      @Nullable @jakarta.annotation.Nullable StoreKey begin,
+      @Nullable @jakarta.annotation.Nullable StoreKey end,
+      boolean prefetch) {
+    boolean prefix = begin != null && begin.equals(end);
+    checkArgument(
+        prefix || begin == null || end == null || begin.compareTo(end) <= 0,
+        "'to' must be greater than 'from'");
+
+    if (elementCount == 0) {
+      return emptyIterator();
+    }
+    Cursor c = begin != null ? seek(begin) : new Cursor(0);
+    if (c == null) {
+      return emptyIterator();
+    }
+
+    return new AbstractIterator<StoreIndexElement<V>>() {
+      private boolean first = true;
+
+      @Override
+      protected StoreIndexElement<V> computeNext() {
+        if (first) {
+          first = false;
+        } else if (!c.next()) {
+          return endOfData();
+        }
+        StoreKey k = c.key;
+        if (prefix) {
+          if (!k.startsWith(begin)) {
+            return endOfData();
+          }
+        } else if (end != null && k.compareTo(end) > 0) {
+          return endOfData();
+        }
+        return c.element();
+      }
+    };
+  }
+
+  @Override
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  public ByteString serialize() {
+    return serialized;
+  }
+
+  @Override
+  public String toString() {
+    StoreKey f = first();
+    StoreKey l = last();
+    String fk = f != null ? f.toString() : "";
+    String lk = l != null ? l.toString() : "";
+    return "ImmutableSerializedIndexImpl{size="
+        + elementCount
+        + ", first="
+        + fk
+        + ", last="
+        + lk
+        + "}";
+  }
+
+  /**
+   * Returns a cursor positioned at the first element that is equal to or greater than the given
+   * key, or {@code null} if no such element exists.
+   */
+  private Cursor seek(StoreKey key) {
+    if (elementCount == 0) {
+      return null;
+    }
+    int restart = Arrays.binarySearch(restartKeys, key);
+    if (restart >= 0) {
+      return new Cursor(restart);
+    }
+    restart = -restart - 2;
+    if (restart < 0) {
+      // key is smaller than the first key
+      return new Cursor(0);
+    }
+    Cursor c = new Cursor(restart);
+    while (c.key.compareTo(key) < 0) {
+      if (!c.next()) {
+        return null;
+      }
+    }
+    return c;
+  }
+
+  /** Sequentially decodes the elements starting at a restart point. */
+  private final class Cursor {
+    private final ByteBuffer buf = buffer.duplicate();
+    /** Holds the serialized current key, only allocated when moving past the restart point. */
+    private ByteBuffer keyBuf;
+
+    StoreKey key;
+    private boolean valueConsumed;
+
+    Cursor(int restart) {
+      buf.position(restartOffsets[restart]);
+      if (restart > 0) {
+        // strip
+        readVarInt(buf);
+      }
+      buf.position(findPositionAfterKey(buf));
+      key = restartKeys[restart];
+    }
+
+    StoreIndexElement<V> element() {
+      valueConsumed = true;
+      return indexElement(key, serializer.deserialize(buf));
+    }
+
+    boolean next() {
+      if (!valueConsumed) {
+        serializer.skip(buf);
+      }
+      valueConsumed = false;
+      if (buf.remaining() == 0) {
+        return false;
+      }
+
+      ByteBuffer kb = keyBuf;
+      if (kb == null) {
+        kb = keyBuf = ByteBuffer.allocate(maxKeyBytes);
+        key.serialize(kb);
+        kb.position(kb.limit());
+      }
+
+      int strip = readVarInt(buf);
+      kb.position(kb.position() - strip);
+      kb.limit(kb.capacity());
+      int limitSave = buf.limit();
+      kb.put(buf.limit(findPositionAfterKey(buf)));
+      buf.limit(limitSave);
+      kb.flip();
+      key = deserializeKey(kb);
+      kb.position(kb.limit());
+      return true;
+    }
+  }
+}
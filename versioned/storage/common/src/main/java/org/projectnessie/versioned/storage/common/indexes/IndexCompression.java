@@ -0,0 +1,147 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.common.indexes;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static org.projectnessie.nessie.relocated.protobuf.UnsafeByteOperations.unsafeWrap;
+import static org.projectnessie.versioned.storage.common.util.Ser.putVarInt;
+import static org.projectnessie.versioned.storage.common.util.Ser.readVarInt;
+
+import com.google.common.io.ByteStreams;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+import org.projectnessie.nessie.relocated.protobuf.ByteString;
+import org.projectnessie.versioned.storage.common.objtypes.Compression;
+
+/**
+ * Optional block compression of serialized {@link StoreIndex store indexes}.
+ *
+ * <p>A compressed index starts with the byte {@code 0x80}, which never appears as the first byte
+ * of an uncompressed serialized index (that is the serialization format version {@code 1}),
+ * followed by the {@link Compression#value() compression codec}, the var-int encoded size of the
+ * uncompressed representation and the compressed representation. Indexes written without
+ * compression can therefore always be read, regardless of the configured codec.
+ */
+public final class IndexCompression {
+  private IndexCompression() {}
+
+  static final byte COMPRESSED_INDEX_MARKER = (byte) 0x80;
+
+  /**
+   * Compresses the given serialized index using the given codec, if its size is at least {@code
+   * minSize} bytes. Returns {@code serialized} unchanged, if {@code compression} is {@link
+   * Compression#NONE} or if the compressed representation would not be smaller.
+   */
+  public static ByteString compressIndex(
+      ByteString serialized, Compression compression, int minSize) {
+    if (compression == Compression.NONE || serialized.size() < minSize) {
+      return serialized;
+    }
+
+    ByteBuffer header = ByteBuffer.allocate(7);
+    header.put(COMPRESSED_INDEX_MARKER);
+    header.put((byte) compression.value());
+    putVarInt(header, serialized.size());
+    header.flip();
+
+    ByteString.Output output = ByteString.newOutput(serialized.size() / 2);
+    try {
+      output.write(header.array(), 0, header.limit());
+      try (OutputStream out = compressingStream(compression, output)) {
+        serialized.writeTo(out);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    ByteString compressed = output.toByteString();
+    return compressed.size() < serialized.size() ? compressed : serialized;
+  }
+
+  /**
+   * Returns the uncompressed serialized index, returns {@code serialized} unchanged, if it is not
+   * compressed.
+   */
+  public static ByteString decompressIndex(ByteString serialized) {
+    if (!isCompressedIndex(serialized)) {
+      return serialized;
+    }
+
+    ByteBuffer buffer = serialized.asReadOnlyByteBuffer();
+    buffer.get();
+    Compression compression = Compression.fromValue((char) buffer.get());
+    int size = readVarInt(buffer);
+
+    byte[] uncompressed = new byte[size];
+    try (InputStream in =
+        decompressingStream(compression, serialized.substring(buffer.position()).newInput())) {
+      ByteStreams.readFully(in, uncompressed);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return unsafeWrap(uncompressed);
+  }
+
+  public static boolean isCompressedIndex(ByteString serialized) {
+    return !serialized.isEmpty() && serialized.byteAt(0) == COMPRESSED_INDEX_MARKER;
+  }
+
+  /** Checks whether the given codec can be used to compress indexes. */
+  public static Compression checkIndexCompression(Compression compression) {
+    switch (compression) {
+      case NONE:
+      case GZIP:
+      case DEFLATE:
+        return compression;
+      default:
+        throw new IllegalArgumentException(
+            "Compression " + compression + " is not supported for indexes");
+    }
+  }
+
+  private static OutputStream compressingStream(Compression compression, OutputStream output)
+      throws IOException {
+    switch (checkIndexCompression(compression)) {
+      case GZIP:
+        return new GZIPOutputStream(output);
+      case DEFLATE:
+        return new DeflaterOutputStream(output);
+      default:
+        throw new IllegalArgumentException("Compression " + compression);
+    }
+  }
+
+  private static InputStream decompressingStream(Compression compression, InputStream input)
+      throws IOException {
+    checkArgument(
+        compression != Compression.NONE, "Illegal compression codec for a compressed index");
+    switch (checkIndexCompression(compression)) {
+      case GZIP:
+        return new GZIPInputStream(input);
+      case DEFLATE:
+        return new InflaterInputStream(input);
+      default:
+        throw new IllegalArgumentException("Compression " + compression);
+    }
+  }
+}
@@ -16,6 +16,7 @@
 package org.projectnessie.versioned.storage.common.indexes;
 
 import static com.google.common.base.Preconditions.checkArgument;
+import static org.projectnessie.versioned.storage.common.indexes.IndexCompression.decompressIndex;
 import static org.projectnessie.versioned.storage.common.indexes.IndexLoader.notLoading;
 
 import java.util.List;
@@ -38,7 +39,19 @@ public final class StoreIndexes {
 
   public static <V> StoreIndex<V> deserializeStoreIndex(
       ByteString serialized, ElementSerializer<V> ser) {
-    return StoreIndexImpl.deserializeStoreIndex(serialized.asReadOnlyByteBuffer(), ser);
+    return StoreIndexImpl.deserializeStoreIndex(
+        decompressIndex(serialized).asReadOnlyByteBuffer(), ser);
+  }
+
+  /**
+   * Returns a read-only {@link StoreIndex} that operates on the given serialized representation and
+   * only decodes the elements that are actually accessed, which is cheaper than {@link
+   * #deserializeStoreIndex(ByteString, ElementSerializer)} for point lookups. {@link
+   * StoreIndex#asMutableIndex()} returns a fully deserialized, mutable index.
+   */
+  public static <V> StoreIndex<V> serializedImmutableIndex(
+      ByteString serialized, ElementSerializer<V> ser) {
+    return new ImmutableSerializedIndexImpl<>(decompressIndex(serialized), ser);
   }
 
   /**
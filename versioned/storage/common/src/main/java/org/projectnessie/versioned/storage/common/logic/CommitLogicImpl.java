@@ -24,6 +24,7 @@ import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static java.util.Objects.requireNonNull;
 import static org.projectnessie.nessie.relocated.protobuf.ByteString.copyFromUtf8;
+import static org.projectnessie.versioned.storage.common.indexes.IndexCompression.compressIndex;
 import static org.projectnessie.versioned.storage.common.indexes.StoreIndexElement.indexElement;
 import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.indexFromStripes;
 import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.newStoreIndex;
@@ -53,27 +54,39 @@ import static org.projectnessie.versioned.storage.common.objtypes.Hashes.hashCom
 import static org.projectnessie.versioned.storage.common.objtypes.Hashes.newHasher;
 import static org.projectnessie.versioned.storage.common.persist.ObjId.EMPTY_OBJ_ID;
 import static org.projectnessie.versioned.storage.common.persist.ObjType.COMMIT;
+import static org.projectnessie.versioned.storage.common.util.DaemonThreadPools.newBoundedDaemonPool;
 
 import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.Iterators;
 import com.google.common.hash.Hasher;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableSet;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import org.agrona.collections.ObjectHashSet;
+import org.projectnessie.nessie.relocated.protobuf.ByteString;
 import org.projectnessie.versioned.storage.common.config.StoreConfig;
 import org.projectnessie.versioned.storage.common.exceptions.CommitConflictException;
 import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
@@ -90,6 +103,7 @@ import org.projectnessie.versioned.storage.common.objtypes.CommitObjReference;
 import org.projectnessie.versioned.storage.common.objtypes.CommitOp;
 import org.projectnessie.versioned.storage.common.objtypes.CommitOp.Action;
 import org.projectnessie.versioned.storage.common.objtypes.CommitType;
+import org.projectnessie.versioned.storage.common.objtypes.Compression;
 import org.projectnessie.versioned.storage.common.objtypes.IndexStripe;
 import org.projectnessie.versioned.storage.common.persist.CloseableIterator;
 import org.projectnessie.versioned.storage.common.persist.Obj;
@@ -105,6 +119,11 @@ final class CommitLogicImpl implements CommitLogic {
   private static final Logger LOGGER = LoggerFactory.getLogger(CommitLogicImpl.class);
 
   static final String NO_COMMON_ANCESTOR_IN_PARENTS_OF = "No common ancestor in parents of ";
+
+  /** Runs the blocking reads of commit log batches fetched ahead of the consumer. */
+  private static final Executor COMMIT_LOG_PREFETCH_EXECUTOR =
+      newBoundedDaemonPool(
+          "nessie-commit-log-prefetch", Math.max(4, Runtime.getRuntime().availableProcessors()));
   private final Persist persist;
 
   CommitLogicImpl(Persist persist) {
@@ -123,19 +142,36 @@ final class CommitLogicImpl implements CommitLogic {
             .map(ObjId::objIdFromBytes)
             .orElse(commitLogQuery.commitId());
 
-    return new CommitLogIter(startCommitId, commitLogQuery.endCommitId().orElse(null));
+    return new CommitLogIter(
+        startCommitId,
+        commitLogQuery.endCommitId().orElse(null),
+        persist.config().commitLogPrefetchDepth());
   }
 
+  /**
+   * Iterates over the commit log, fetching the commits in the {@link CommitObj#tail() tail} of the
+   * last commit of a batch using a single bulk read.
+   *
+   * <p>With a positive {@code prefetchDepth}, up to that amount of the following batches are
+   * fetched asynchronously, while the current batch is being consumed. Each batch can only be
+   * fetched after the previous one, because the IDs of a batch are only known from the previous
+   * batch. Batches that are fetched ahead are cancelled, when the end of the commit log has been
+   * reached or when the iterator is {@link #close() closed}.
+   */
   private final class CommitLogIter extends AbstractIterator<CommitObj>
       implements PagedResult<CommitObj, ObjId> {
     private final ObjId endCommitId;
+    private final int prefetchDepth;
+    private final Deque<CompletableFuture<Obj[]>> prefetched;
 
     private Iterator<Obj> batch;
     private List<ObjId> next;
 
-    CommitLogIter(ObjId startCommitId, ObjId endCommitId) {
+    CommitLogIter(ObjId startCommitId, ObjId endCommitId, int prefetchDepth) {
       this.next = singletonList(startCommitId);
       this.endCommitId = endCommitId;
+      this.prefetchDepth = prefetchDepth;
+      this.prefetched = prefetchDepth > 0 ? new ArrayDeque<>(prefetchDepth) : null;
     }
 
     @Override
@@ -143,28 +179,11 @@ final class CommitLogicImpl implements CommitLogic {
       while (true) {
         Iterator<Obj> b = batch;
         if (b == null || !b.hasNext()) {
-          List<ObjId> n = next;
-          next = null;
-
-          if (n == null) {
+          Obj[] objs = nextBatch();
+          if (objs == null) {
             return endOfData();
           }
-          int i = n.indexOf(EMPTY_OBJ_ID);
-          if (i != -1) {
-            n = n.subList(0, i);
-          }
-          if (n.isEmpty()) {
-            return endOfData();
-          }
-
-          try {
-            b = batch = Arrays.asList(persist.fetchObjs(n.toArray(new ObjId[0]))).iterator();
-          } catch (ObjNotFoundException e) {
-            throw new NoSuchElementException(
-                "Commit(s) "
-                    + e.objIds().stream().map(ObjId::toString).collect(Collectors.joining(", "))
-                    + " not found");
-          }
+          b = batch = Arrays.asList(objs).iterator();
         }
 
         if (b.hasNext()) {
@@ -178,8 +197,7 @@ final class CommitLogicImpl implements CommitLogic {
           if (c.id().equals(endCommitId)) {
             batch = emptyIterator();
             next = null;
-          } else if (!b.hasNext()) {
-            next = c.tail();
+            cancelPrefetched();
           }
 
           return c;
@@ -187,6 +205,105 @@ final class CommitLogicImpl implements CommitLogic {
       }
     }
 
+    private Obj[] nextBatch() {
+      Obj[] objs;
+      CompletableFuture<Obj[]> future = prefetched != null ? prefetched.poll() : null;
+      if (future != null) {
+        try {
+          objs = future.join();
+        } catch (CompletionException e) {
+          Throwable cause = e.getCause();
+          if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+          }
+          throw e;
+        }
+        if (prefetched.isEmpty()) {
+          // No more batches in flight, continue with the batch that follows the consumed one.
+          next = followingIds(objs);
+        }
+      } else {
+        List<ObjId> n = next;
+        next = null;
+        objs = fetchBatch(n);
+        next = followingIds(objs);
+      }
+
+      if (prefetched != null) {
+        while (prefetched.size() < prefetchDepth) {
+          CompletableFuture<Obj[]> last = prefetched.peekLast();
+          if (last == null) {
+            List<ObjId> n = next;
+            next = null;
+            if (n == null) {
+              break;
+            }
+            prefetched.add(
+                CompletableFuture.supplyAsync(() -> fetchBatch(n), COMMIT_LOG_PREFETCH_EXECUTOR));
+          } else {
+            prefetched.add(
+                last.thenApplyAsync(
+                    o -> fetchBatch(followingIds(o)), COMMIT_LOG_PREFETCH_EXECUTOR));
+          }
+        }
+      }
+
+      return objs;
+    }
+
+    private void cancelPrefetched() {
+      if (prefetched != null) {
+        for (CompletableFuture<Obj[]> future; (future = prefetched.poll()) != null; ) {
+          future.cancel(false);
+        }
+      }
+    }
+
+    @Override
+    public void close() {
+      batch = emptyIterator();
+      next = null;
+      cancelPrefetched();
+    }
+
+    /**
+     * Returns the IDs of the batch that follows the given batch, which are the commits in the tail
+     * of the last commit, or {@code null} if the end of the commit log has been reached.
+     */
+    private List<ObjId> followingIds(Obj[] objs) {
+      if (objs == null) {
+        return null;
+      }
+      for (Obj obj : objs) {
+        if (obj == null || obj.id().equals(endCommitId)) {
+          return null;
+        }
+      }
+      return ((CommitObj) objs[objs.length - 1]).tail();
+    }
+
+    private Obj[] fetchBatch(List<ObjId> ids) {
+      if (ids == null) {
+        return null;
+      }
+      int i = ids.indexOf(EMPTY_OBJ_ID);
+      if (i != -1) {
+        ids = ids.subList(0, i);
+      }
+      if (ids.isEmpty()) {
+        return null;
+      }
+
+      try {
+        return persist.fetchObjs(ids.toArray(new ObjId[0]));
+      } catch (ObjNotFoundException e) {
+        throw new NoSuchElementException(
+            "Commit(s) "
+                + e.objIds().stream().map(ObjId::toString).collect(Collectors.joining(", "))
+                + " not found");
+      }
+    }
+
     @Nonnull
     @jakarta.annotation.Nonnull
     @Override
@@ -318,6 +435,8 @@ final class CommitLogicImpl implements CommitLogic {
       } catch (ObjTooLargeException ex) {
         // Hit the "Hard database object size limit"
         throw new RuntimeException(ex);
+      } finally {
+        invalidateIncrementalIndex(commit.id());
       }
     }
   }
@@ -337,16 +456,34 @@ final class CommitLogicImpl implements CommitLogic {
         // Hit the "Hard database object size limit"
         throw new RuntimeException(ex);
       }
+    } finally {
+      invalidateIncrementalIndex(commit.id());
     }
     return commit;
   }
 
+  /**
+   * Commits are only updated in place by {@link #updateCommit(CommitObj)} and when the incremental
+   * index is spilled out while storing a commit, the {@link IndexCache} relies on that.
+   */
+  private void invalidateIncrementalIndex(ObjId commitId) {
+    IndexCache cache = IndexCache.indexCache(persist);
+    if (cache != null) {
+      cache.invalidateIncrementalIndex(commitId);
+    }
+  }
+
   private CommitObj indexTooBigStoreUpdate(CommitObj commit) {
     StoreIndex<CommitOp> newIncremental = newStoreIndex(COMMIT_OP_SERIALIZER);
-    StoreIndex<CommitOp> referenceIndex = createReferenceIndexForCommit(commit, newIncremental);
+    // Serialized and compressed stripes from the size checks, reused when persisting the stripes
+    Map<StoreIndex<CommitOp>, ByteString> compressedStripes = new IdentityHashMap<>();
+    StoreIndex<CommitOp> referenceIndex =
+        createReferenceIndexForCommit(commit, newIncremental, compressedStripes);
 
     try {
-      commit = persistReferenceIndexForCommit(commit, newIncremental, referenceIndex);
+      commit =
+          persistReferenceIndexForCommit(
+              commit, newIncremental, referenceIndex, compressedStripes);
     } catch (ObjTooLargeException ex) {
       throw new RuntimeException(ex);
     }
@@ -354,17 +491,21 @@ final class CommitLogicImpl implements CommitLogic {
   }
 
   private CommitObj persistReferenceIndexForCommit(
-      CommitObj commit, StoreIndex<CommitOp> newIncremental, StoreIndex<CommitOp> referenceIndex)
+      CommitObj commit,
+      StoreIndex<CommitOp> newIncremental,
+      StoreIndex<CommitOp> referenceIndex,
+      Map<StoreIndex<CommitOp>, ByteString> compressedStripes)
       throws ObjTooLargeException {
-    IndexesLogic indexesLogic = indexesLogic(persist);
+    IndexesLogicImpl indexesLogic = new IndexesLogicImpl(persist);
     ObjId referenceIndexId = null;
     List<IndexStripe> referenceIndexStripes = emptyList();
     // 'referenceIndex' can be null, if it became empty (aka all keys have been deleted)
     if (referenceIndex != null) {
       if (referenceIndex.stripes().size() <= persist.config().maxReferenceStripesPerCommit()) {
-        referenceIndexStripes = indexesLogic.persistIndexStripesFromIndex(referenceIndex);
+        referenceIndexStripes =
+            indexesLogic.persistIndexStripesFromIndex(referenceIndex, compressedStripes);
       } else {
-        referenceIndexId = indexesLogic.persistStripedIndex(referenceIndex);
+        referenceIndexId = indexesLogic.persistStripedIndex(referenceIndex, compressedStripes);
       }
     }
     commit =
@@ -378,14 +519,16 @@ final class CommitLogicImpl implements CommitLogic {
   }
 
   private StoreIndex<CommitOp> createReferenceIndexForCommit(
-      CommitObj commit, StoreIndex<CommitOp> newIncremental) {
+      CommitObj commit,
+      StoreIndex<CommitOp> newIncremental,
+      Map<StoreIndex<CommitOp>, ByteString> compressedStripes) {
     List<StoreIndex<CommitOp>> stripes;
     if (commit.hasReferenceIndex()) {
       // There is already an existing reference index, spill incremental index to existing ones.
-      stripes = updateExistingReferenceIndex(commit, newIncremental);
+      stripes = updateExistingReferenceIndex(commit, newIncremental, compressedStripes);
     } else {
       // The commit does not refer to a reference index yet.
-      stripes = createNewReferenceIndex(commit, newIncremental);
+      stripes = createNewReferenceIndex(commit, newIncremental, compressedStripes);
     }
 
     // The reference index is empty now (someone deleted all keys...)
@@ -399,7 +542,9 @@ final class CommitLogicImpl implements CommitLogic {
   }
 
   private List<StoreIndex<CommitOp>> updateExistingReferenceIndex(
-      CommitObj commitObj, StoreIndex<CommitOp> newIncremental) {
+      CommitObj commitObj,
+      StoreIndex<CommitOp> newIncremental,
+      Map<StoreIndex<CommitOp>, ByteString> compressedStripes) {
     int maxSize = persist.effectiveIndexSegmentSizeLimit();
     // use halt of the max as the initial size for _new_ segments/splits
     int newSegmentSize = maxSize / 2;
@@ -453,9 +598,10 @@ final class CommitLogicImpl implements CommitLogic {
       if (s.isMutable()) {
         touched++;
         // a stripe has been modified, if it is mutable
-        if (s.estimatedSerializedSize() > maxSize) {
+        int size = persistedIndexSize(s, compressedStripes);
+        if (size > maxSize) {
           // Further split an existing stripe into at least two stripes
-          int parts = Math.max(s.estimatedSerializedSize() / newSegmentSize + 1, 2);
+          int parts = Math.max(size / newSegmentSize + 1, 2);
           List<StoreIndex<CommitOp>> divided = s.divide(parts);
           newStripes += divided.size() - 1;
           stripes.addAll(divided);
@@ -484,8 +630,32 @@ final class CommitLogicImpl implements CommitLogic {
     return stripes;
   }
 
+  /**
+   * Returns the size of the given reference index stripe as it will be persisted, which is the
+   * compressed size, if {@link StoreConfig#indexCompression() index compression} applies.
+   *
+   * <p>If the stripe had to be serialized to compute its size, the serialized representation is
+   * put into {@code compressedStripes}, so the stripe is not compressed again when it is persisted.
+   * Callers must remove that entry, if they modify the stripe afterwards.
+   */
+  private int persistedIndexSize(
+      StoreIndex<CommitOp> index, Map<StoreIndex<CommitOp>, ByteString> compressedStripes) {
+    int size = index.estimatedSerializedSize();
+    StoreConfig config = persist.config();
+    Compression compression = config.indexCompression();
+    int minSize = config.indexCompressionMinSize();
+    if (compression == Compression.NONE || size < minSize) {
+      return size;
+    }
+    ByteString serialized = compressIndex(index.serialize(), compression, minSize);
+    compressedStripes.put(index, serialized);
+    return serialized.size();
+  }
+
   private List<StoreIndex<CommitOp>> createNewReferenceIndex(
-      CommitObj commitObj, StoreIndex<CommitOp> newIncremental) {
+      CommitObj commitObj,
+      StoreIndex<CommitOp> newIncremental,
+      Map<StoreIndex<CommitOp>, ByteString> compressedStripes) {
     int maxSize = persist.effectiveIndexSegmentSizeLimit();
     // use half of the max as the initial size for _new_ segments/splits
     int newSegmentSize = maxSize / 2;
@@ -493,6 +663,8 @@ final class CommitLogicImpl implements CommitLogic {
     List<StoreIndex<CommitOp>> stripes = new ArrayList<>();
 
     StoreIndex<CommitOp> current = newStoreIndex(COMMIT_OP_SERIALIZER);
+    // Uncompressed size at which the persisted size of the current stripe is checked next
+    int checkSize = newSegmentSize;
 
     IndexesLogic indexesLogic = indexesLogic(persist);
 
@@ -505,9 +677,20 @@ final class CommitLogicImpl implements CommitLogic {
       } else {
         newIncremental.add(el);
       }
-      if (current.estimatedSerializedSize() > newSegmentSize) {
-        stripes.add(current);
-        current = newStoreIndex(COMMIT_OP_SERIALIZER);
+      int size = current.estimatedSerializedSize();
+      if (size > checkSize) {
+        int persistedSize = persistedIndexSize(current, compressedStripes);
+        if (persistedSize > newSegmentSize) {
+          stripes.add(current);
+          current = newStoreIndex(COMMIT_OP_SERIALIZER);
+          checkSize = newSegmentSize;
+        } else {
+          // More elements will be added to the current stripe.
+          compressedStripes.remove(current);
+          // Compressed stripe still fits, extrapolate the uncompressed size using the current
+          // compression ratio.
+          checkSize = (int) Math.max(size + 1L, (long) size * newSegmentSize / persistedSize);
+        }
       }
     }
     if (current.elementCount() > 0) {
@@ -568,7 +751,9 @@ final class CommitLogicImpl implements CommitLogic {
 
       IndexesLogic indexesLogic = indexesLogic(persist);
 
-      StoreIndex<CommitOp> incrementalIndex = indexesLogic.incrementalIndexFromCommit(parent);
+      // The mutable incremental index is shared by 'index' and 'fullIndex'
+      StoreIndex<CommitOp> incrementalIndex =
+          indexesLogic.incrementalIndexFromCommit(parent).asMutableIndex();
       index = indexesLogic.incrementalIndexForUpdate(parent, Optional.of(incrementalIndex));
       c.seq(parent.seq() + 1)
           .referenceIndex(parent.referenceIndex())
@@ -827,6 +1012,135 @@ final class CommitLogicImpl implements CommitLogic {
       @Nonnull @jakarta.annotation.Nonnull ObjId headId,
       @Nonnull @jakarta.annotation.Nonnull ObjId otherId)
       throws NoSuchElementException {
+    CommitObj other = commonAncestorCommit(otherId);
+    CommitObj head = commonAncestorCommit(headId);
+    if (head == null || other == null) {
+      throw noCommonAncestor(headId, otherId);
+    }
+
+    ObjId commonAncestor = findCommonAncestorBySeq(head, other);
+    if (commonAncestor == null) {
+      return findCommonAncestorByCommitLog(headId, otherId);
+    }
+    if (EMPTY_OBJ_ID.equals(commonAncestor)) {
+      throw noCommonAncestor(headId, otherId);
+    }
+    return commonAncestor;
+  }
+
+  /**
+   * Identifies the common ancestor using the commits' {@link CommitObj#seq() sequence numbers} and
+   * {@link CommitObj#tail() tails}.
+   *
+   * <p>The sequence number of a commit is the number of commits in its direct-parent chain, so
+   * the ancestor at {@code tail().get(i)} has the sequence number {@code seq() - 1 - i}. The commit
+   * with the higher sequence number is moved to the sequence number of the other commit by jumping
+   * up to {@link StoreConfig#parentsPerCommit()} commits at once. Once both commits have the same
+   * sequence number, the first equal entry in both tails is the common ancestor, otherwise both
+   * commits are moved to the last entries of their tails, which are fetched in a single round-trip.
+   *
+   * @return the ID of the common ancestor, {@link ObjId#EMPTY_OBJ_ID} if there is no common
+   *     ancestor or {@code null}, if the sequence numbers of the visited commits are not consistent
+   *     with their tails
+   */
+  private ObjId findCommonAncestorBySeq(CommitObj head, CommitObj other) {
+    while (!head.id().equals(other.id())) {
+      long headSeq = head.seq();
+      long otherSeq = other.seq();
+      if (headSeq > otherSeq) {
+        head = ancestorTowardsSeq(head, otherSeq);
+        if (head == null) {
+          return null;
+        }
+      } else if (otherSeq > headSeq) {
+        other = ancestorTowardsSeq(other, headSeq);
+        if (other == null) {
+          return null;
+        }
+      } else {
+        List<ObjId> headTail = head.tail();
+        List<ObjId> otherTail = other.tail();
+        int n = Math.min(headTail.size(), otherTail.size());
+        for (int i = 0; i < n; i++) {
+          ObjId id = headTail.get(i);
+          if (id.equals(otherTail.get(i))) {
+            return id;
+          }
+        }
+        if (n == 0) {
+          return EMPTY_OBJ_ID;
+        }
+        ObjId headAncestor = headTail.get(n - 1);
+        ObjId otherAncestor = otherTail.get(n - 1);
+        if (EMPTY_OBJ_ID.equals(headAncestor) || EMPTY_OBJ_ID.equals(otherAncestor)) {
+          // Only one commit reached the "beginning of time", sequence numbers are not consistent.
+          return null;
+        }
+        CommitObj[] commits = fetchCommitPair(headAncestor, otherAncestor);
+        long expectedSeq = headSeq - n;
+        if (commits[0] == null
+            || commits[1] == null
+            || commits[0].seq() != expectedSeq
+            || commits[1].seq() != expectedSeq) {
+          return null;
+        }
+        head = commits[0];
+        other = commits[1];
+      }
+    }
+    return head.id();
+  }
+
+  /**
+   * Returns the ancestor of the given commit that is nearest to {@code seq}, but at most {@link
+   * CommitObj#tail() tail().size()} commits away, or {@code null} if the sequence numbers are not
+   * consistent.
+   */
+  private CommitObj ancestorTowardsSeq(CommitObj commit, long seq) {
+    List<ObjId> tail = commit.tail();
+    int distance = (int) Math.min(commit.seq() - seq, tail.size());
+    if (distance == 0) {
+      return null;
+    }
+    ObjId ancestorId = tail.get(distance - 1);
+    if (EMPTY_OBJ_ID.equals(ancestorId)) {
+      return null;
+    }
+    CommitObj ancestor = commonAncestorCommit(ancestorId);
+    return ancestor != null && ancestor.seq() == commit.seq() - distance ? ancestor : null;
+  }
+
+  private CommitObj commonAncestorCommit(ObjId commitId) {
+    try {
+      return fetchCommit(commitId);
+    } catch (ObjNotFoundException e) {
+      // this is a race, commit deleted in the meantime
+      throw commonAncestorCommitNotFound(commitId);
+    }
+  }
+
+  private CommitObj[] fetchCommitPair(ObjId id1, ObjId id2) {
+    Obj[] objs;
+    try {
+      objs = persist.fetchObjs(new ObjId[] {id1, id2});
+    } catch (ObjNotFoundException e) {
+      throw commonAncestorCommitNotFound(e.objIds().get(0));
+    }
+    CommitObj[] commits = new CommitObj[2];
+    for (int i = 0; i < 2; i++) {
+      Obj obj = objs[i];
+      // Resolve CommitObjReference, if necessary
+      commits[i] =
+          obj instanceof CommitObj ? (CommitObj) obj : commonAncestorCommit(i == 0 ? id1 : id2);
+    }
+    return commits;
+  }
+
+  /**
+   * Identifies the common ancestor by walking the commit logs of both commits until a commit is
+   * found in both logs. Used, if the sequence numbers of the commits are not consistent.
+   */
+  private ObjId findCommonAncestorByCommitLog(ObjId headId, ObjId otherId) {
     PagedResult<ObjId, ObjId> log1 = commitIdLog(commitLogQuery(headId));
     PagedResult<ObjId, ObjId> log2 = commitIdLog(commitLogQuery(otherId));
 
@@ -913,8 +1227,59 @@ final class CommitLogicImpl implements CommitLogic {
             .orElse(diffQuery.start());
     StoreKey end = diffQuery.end();
 
-    StoreIndex<CommitOp> fromIndex = indexesLogic.buildCompleteIndexOrEmpty(diffQuery.fromCommit());
-    StoreIndex<CommitOp> toIndex = indexesLogic.buildCompleteIndexOrEmpty(diffQuery.toCommit());
+    CommitObj fromCommit = diffQuery.fromCommit();
+    CommitObj toCommit = diffQuery.toCommit();
+
+    if (fromCommit != null && toCommit != null) {
+      List<IndexStripe> fromStripes = indexesLogic.referenceIndexStripes(fromCommit);
+      List<IndexStripe> toStripes = indexesLogic.referenceIndexStripes(toCommit);
+      List<IndexStripe> sharedStripes = sharedStripes(fromStripes, toStripes);
+      if (!sharedStripes.isEmpty()) {
+        // Reference index stripes that are shared by both commits contain the same keys and values,
+        // keys in those stripes can only differ, if a key is contained in an incremental index.
+        // Only the stripes that are not shared and the incremental indexes need to be iterated,
+        // shared stripes are only loaded for point lookups of keys in the incremental indexes.
+        NavigableSet<StoreKey> incrementalKeys = new TreeSet<>();
+        collectKeysInStripes(
+            indexesLogic.incrementalIndexFromCommit(fromCommit),
+            start,
+            end,
+            sharedStripes,
+            incrementalKeys);
+        collectKeysInStripes(
+            indexesLogic.incrementalIndexFromCommit(toCommit),
+            start,
+            end,
+            sharedStripes,
+            incrementalKeys);
+
+        Iterator<StoreIndexElement<CommitOp>> fromIter =
+            iteratorSkippingSharedStripes(
+                indexesLogic,
+                fromCommit,
+                fromStripes,
+                sharedStripes,
+                incrementalKeys,
+                start,
+                end,
+                diffQuery.prefetch());
+        Iterator<StoreIndexElement<CommitOp>> toIter =
+            iteratorSkippingSharedStripes(
+                indexesLogic,
+                toCommit,
+                toStripes,
+                sharedStripes,
+                incrementalKeys,
+                start,
+                end,
+                diffQuery.prefetch());
+
+        return new DiffEntryIter(fromIter, toIter);
+      }
+    }
+
+    StoreIndex<CommitOp> fromIndex = indexesLogic.buildCompleteIndexOrEmpty(fromCommit);
+    StoreIndex<CommitOp> toIndex = indexesLogic.buildCompleteIndexOrEmpty(toCommit);
 
     Iterator<StoreIndexElement<CommitOp>> fromIter =
         fromIndex.iterator(start, end, diffQuery.prefetch());
@@ -924,6 +1289,93 @@ final class CommitLogicImpl implements CommitLogic {
     return new DiffEntryIter(fromIter, toIter);
   }
 
+  /** Returns the stripes that are contained in both lists, in key order. */
+  private static List<IndexStripe> sharedStripes(
+      List<IndexStripe> fromStripes, List<IndexStripe> toStripes) {
+    if (fromStripes.isEmpty() || toStripes.isEmpty()) {
+      return emptyList();
+    }
+    Set<IndexStripe> to = new HashSet<>(toStripes);
+    List<IndexStripe> shared = new ArrayList<>();
+    for (IndexStripe stripe : fromStripes) {
+      if (to.contains(stripe)) {
+        shared.add(stripe);
+      }
+    }
+    return shared;
+  }
+
+  /**
+   * Collects the keys of the given (incremental) index within {@code start} and {@code end}, which
+   * are in the key range of one of the given stripes.
+   */
+  private static void collectKeysInStripes(
+      StoreIndex<CommitOp> index,
+      StoreKey start,
+      StoreKey end,
+      List<IndexStripe> stripes,
+      Set<StoreKey> keys) {
+    for (Iterator<StoreIndexElement<CommitOp>> iter = index.iterator(start, end, false);
+        iter.hasNext(); ) {
+      StoreKey key = iter.next().key();
+      if (isInStripes(stripes, key)) {
+        keys.add(key);
+      }
+    }
+  }
+
+  private static boolean isInStripes(List<IndexStripe> stripes, StoreKey key) {
+    int low = 0;
+    int high = stripes.size() - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      IndexStripe stripe = stripes.get(mid);
+      if (key.compareTo(stripe.firstKey()) < 0) {
+        high = mid - 1;
+      } else if (key.compareTo(stripe.lastKey()) > 0) {
+        low = mid + 1;
+      } else {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Iterates over the complete index of the given commit, but omits the shared reference index
+   * stripes. The elements for the {@code incrementalKeys}, which are in the key ranges of the
+   * shared stripes, are retrieved via point lookups against the commit's complete index.
+   */
+  private static Iterator<StoreIndexElement<CommitOp>> iteratorSkippingSharedStripes(
+      IndexesLogic indexesLogic,
+      CommitObj commit,
+      List<IndexStripe> commitStripes,
+      List<IndexStripe> sharedStripes,
+      NavigableSet<StoreKey> incrementalKeys,
+      StoreKey start,
+      StoreKey end,
+      boolean prefetch) {
+    Set<IndexStripe> shared = new HashSet<>(sharedStripes);
+    List<IndexStripe> ownStripes =
+        commitStripes.stream().filter(s -> !shared.contains(s)).collect(Collectors.toList());
+
+    StoreIndex<CommitOp> ownIndex = indexesLogic.buildCompleteIndexFromStripes(commit, ownStripes);
+    Iterator<StoreIndexElement<CommitOp>> ownIter = ownIndex.iterator(start, end, prefetch);
+    if (incrementalKeys.isEmpty()) {
+      return ownIter;
+    }
+
+    StoreIndex<CommitOp> completeIndex = indexesLogic.buildCompleteIndex(commit, Optional.empty());
+    Iterator<StoreIndexElement<CommitOp>> incrementalIter =
+        Iterators.filter(
+            Iterators.transform(incrementalKeys.iterator(), completeIndex::get), Objects::nonNull);
+    return Iterators.mergeSorted(
+        Arrays.asList(
+            Iterators.filter(ownIter, el -> !incrementalKeys.contains(el.key())),
+            incrementalIter),
+        Comparator.comparing((StoreIndexElement<CommitOp> el) -> el.key()));
+  }
+
   private static final class DiffEntryIter extends AbstractIterator<DiffEntry>
       implements PagedResult<DiffEntry, StoreKey> {
     private final Iterator<StoreIndexElement<CommitOp>> fromIter;
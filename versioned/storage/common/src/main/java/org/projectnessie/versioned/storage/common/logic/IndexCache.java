@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.common.logic;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import org.projectnessie.versioned.storage.common.indexes.StoreIndex;
+import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
+import org.projectnessie.versioned.storage.common.objtypes.CommitOp;
+import org.projectnessie.versioned.storage.common.objtypes.IndexObj;
+import org.projectnessie.versioned.storage.common.objtypes.IndexSegmentsObj;
+import org.projectnessie.versioned.storage.common.objtypes.IndexStripe;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+
+/**
+ * Per-repository cache of the immutable building blocks of commit indexes, used by {@link
+ * IndexesLogicImpl}.
+ *
+ * <p>The cache holds the read-only incremental indexes of {@link CommitObj commits} keyed by commit
+ * ID, the read-only reference index segments keyed by {@link IndexObj} ID and the stripes of {@link
+ * IndexSegmentsObj}s. All these objects are immutable and safe to be shared across threads. The
+ * (not thread-safe) composite index structures are built for each access from the cached building
+ * blocks, stripes that are referenced by multiple commits are only loaded once.
+ *
+ * <p>Index objects are content-addressed and commits are immutable, so cached values are never
+ * stale. The only exception are the rare in-place updates of a commit via {@link
+ * CommitLogic#updateCommit(CommitObj)} or when the incremental index is spilled out to the
+ * reference index while storing a commit, {@link CommitLogicImpl} invalidates the cached
+ * incremental index of the commit in those cases.
+ */
+final class IndexCache {
+
+  /** Approximate heap overhead of a cached index, in addition to its serialized size. */
+  private static final int INDEX_OVERHEAD = 256;
+
+  /** Approximate heap size of an {@link IndexStripe}. */
+  private static final int STRIPE_SIZE = 256;
+
+  private static final Cache<Persist, IndexCache> INDEX_CACHES =
+      CacheBuilder.newBuilder().weakKeys().build();
+
+  /**
+   * Index-cache for the given {@link Persist} instance or {@code null}, if {@link
+   * org.projectnessie.versioned.storage.common.config.StoreConfig#indexCacheCapacity()} is {@code
+   * 0}.
+   */
+  static IndexCache indexCache(Persist persist) {
+    long capacity = persist.config().indexCacheCapacity();
+    if (capacity <= 0L) {
+      return null;
+    }
+    try {
+      return INDEX_CACHES.get(persist, () -> new IndexCache(capacity));
+    } catch (ExecutionException e) {
+      throw new RuntimeException(e.getCause());
+    }
+  }
+
+  // Commit IDs and IndexObj IDs are hashes over different object types and never collide.
+  private final Cache<ObjId, StoreIndex<CommitOp>> indexes;
+  private final Cache<ObjId, List<IndexStripe>> indexStripes;
+
+  IndexCache(long capacity) {
+    this.indexes =
+        CacheBuilder.newBuilder()
+            .maximumWeight(capacity)
+            .weigher(
+                (ObjId id, StoreIndex<CommitOp> index) ->
+                    INDEX_OVERHEAD + index.estimatedSerializedSize())
+            .build();
+    this.indexStripes =
+        CacheBuilder.newBuilder()
+            .maximumWeight(Math.max(capacity / 16, 1L))
+            .weigher((ObjId id, List<IndexStripe> stripes) -> STRIPE_SIZE * (1 + stripes.size()))
+            .build();
+  }
+
+  /** Retrieves the read-only incremental index of the given commit. */
+  StoreIndex<CommitOp> incrementalIndex(ObjId commitId) {
+    return indexes.getIfPresent(commitId);
+  }
+
+  void putIncrementalIndex(ObjId commitId, StoreIndex<CommitOp> index) {
+    indexes.put(commitId, index);
+  }
+
+  /** Removes the cached incremental index of a commit that has been updated in place. */
+  void invalidateIncrementalIndex(ObjId commitId) {
+    indexes.invalidate(commitId);
+  }
+
+  /** Retrieves a read-only reference index segment, the content of an {@link IndexObj}. */
+  StoreIndex<CommitOp> indexSegment(ObjId indexId) {
+    return indexes.getIfPresent(indexId);
+  }
+
+  void putIndexSegment(ObjId indexId, StoreIndex<CommitOp> index) {
+    indexes.put(indexId, index);
+  }
+
+  /** Retrieves the stripes of an {@link IndexSegmentsObj}. */
+  List<IndexStripe> indexStripes(ObjId indexSegmentsId) {
+    return indexStripes.getIfPresent(indexSegmentsId);
+  }
+
+  void putIndexStripes(ObjId indexSegmentsId, List<IndexStripe> stripes) {
+    indexStripes.put(indexSegmentsId, stripes);
+  }
+}
@@ -60,6 +60,30 @@ public interface IndexesLogic {
         : emptyImmutableIndex(COMMIT_OP_SERIALIZER);
   }
 
+  /**
+   * Builds the complete index of the given commit like {@link #buildCompleteIndex(CommitObj,
+   * Optional)}, but only uses the given stripes as the reference index.
+   *
+   * @param commit the commit to build the index for
+   * @param referenceIndexStripes subset of the commit's {@link #referenceIndexStripes(CommitObj)
+   *     reference index stripes}, in key order
+   */
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  StoreIndex<CommitOp> buildCompleteIndexFromStripes(
+      @Nonnull @jakarta.annotation.Nonnull CommitObj commit,
+      @Nonnull @jakarta.annotation.Nonnull List<IndexStripe> referenceIndexStripes);
+
+  /**
+   * Returns the stripes of the commit's reference index, either the stripes embedded in the commit
+   * or the stripes of the referenced {@link
+   * org.projectnessie.versioned.storage.common.objtypes.IndexSegmentsObj}. Returns an empty list,
+   * if the commit has no reference index or if the reference index is a single segment.
+   */
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  List<IndexStripe> referenceIndexStripes(@Nonnull @jakarta.annotation.Nonnull CommitObj commit);
+
   @Nullable
   @jakarta.annotation.Nullable
   StoreIndex<CommitOp> buildReferenceIndexOnly(
@@ -71,12 +95,24 @@ public interface IndexesLogic {
       @Nonnull @jakarta.annotation.Nonnull ObjId indexId,
       @Nonnull @jakarta.annotation.Nonnull ObjId commitId);
 
+  /**
+   * Returns a mutable copy of the commit's incremental index with the operations of the commit
+   * itself converted to "incremental" operations, suitable as the incremental index of a new child
+   * commit.
+   *
+   * <p>If {@code loadedIncrementalIndex} is given and already {@link StoreIndex#isMutable()
+   * mutable}, that instance is updated and returned.
+   */
   @Nonnull
   @jakarta.annotation.Nonnull
   StoreIndex<CommitOp> incrementalIndexForUpdate(
       @Nonnull @jakarta.annotation.Nonnull CommitObj commit,
       Optional<StoreIndex<CommitOp>> loadedIncrementalIndex);
 
+  /**
+   * Returns the commit's incremental index as a read-only index, use {@link
+   * StoreIndex#asMutableIndex()} to get a mutable instance.
+   */
   @Nonnull
   @jakarta.annotation.Nonnull
   StoreIndex<CommitOp> incrementalIndexFromCommit(
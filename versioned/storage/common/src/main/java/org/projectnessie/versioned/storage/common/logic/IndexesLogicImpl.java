@@ -19,11 +19,12 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
 import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
-import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.deserializeStoreIndex;
+import static org.projectnessie.versioned.storage.common.indexes.IndexCompression.compressIndex;
 import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.indexFromSplits;
 import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.layeredIndex;
 import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.lazyStoreIndex;
 import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.newStoreIndex;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.serializedImmutableIndex;
 import static org.projectnessie.versioned.storage.common.logic.CommitLogQuery.commitLogQuery;
 import static org.projectnessie.versioned.storage.common.logic.Logics.commitLogic;
 import static org.projectnessie.versioned.storage.common.objtypes.CommitObj.commitBuilder;
@@ -47,12 +48,14 @@ import java.util.Collections;
 import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.IntFunction;
 import java.util.function.Supplier;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import org.projectnessie.nessie.relocated.protobuf.ByteString;
+import org.projectnessie.versioned.storage.common.config.StoreConfig;
 import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
 import org.projectnessie.versioned.storage.common.exceptions.ObjTooLargeException;
 import org.projectnessie.versioned.storage.common.indexes.IndexLoader;
@@ -74,9 +77,11 @@ import org.slf4j.LoggerFactory;
 final class IndexesLogicImpl implements IndexesLogic {
   private static final Logger LOGGER = LoggerFactory.getLogger(IndexesLogicImpl.class);
   private final Persist persist;
+  private final IndexCache indexCache;
 
   IndexesLogicImpl(Persist persist) {
     this.persist = persist;
+    this.indexCache = IndexCache.indexCache(persist);
   }
 
   @Override
@@ -110,7 +115,7 @@ final class IndexesLogicImpl implements IndexesLogic {
     boolean hasReferenceIndex = commit.hasReferenceIndex();
 
     StoreIndex<CommitOp> i =
-        loadedIncrementalIndex.orElseGet(() -> incrementalIndexFromCommit(commit));
+        loadedIncrementalIndex.orElseGet(() -> incrementalIndexFromCommit(commit)).asMutableIndex();
     i.updateAll(
         el -> {
           CommitOp c = el.content();
@@ -178,7 +183,16 @@ final class IndexesLogicImpl implements IndexesLogic {
   @Override
   public StoreIndex<CommitOp> incrementalIndexFromCommit(
       @Nonnull @jakarta.annotation.Nonnull CommitObj commit) {
-    return deserializeIndex(commit.incrementalIndex());
+    IndexCache cache = indexCache;
+    if (cache == null) {
+      return deserializeIndex(commit.incrementalIndex());
+    }
+    StoreIndex<CommitOp> index = cache.incrementalIndex(commit.id());
+    if (index == null) {
+      index = deserializeIndex(commit.incrementalIndex());
+      cache.putIncrementalIndex(commit.id(), index);
+    }
+    return index;
   }
 
   @Override
@@ -210,6 +224,64 @@ final class IndexesLogicImpl implements IndexesLogic {
     return index;
   }
 
+  @Override
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  public StoreIndex<CommitOp> buildCompleteIndexFromStripes(
+      @Nonnull @jakarta.annotation.Nonnull CommitObj commit,
+      @Nonnull @jakarta.annotation.Nonnull List<IndexStripe> referenceIndexStripes) {
+    checkArgument(!commit.incompleteIndex(), "Commit %s has no complete key index", commit.id());
+
+    StoreIndex<CommitOp> incremental = incrementalIndexFromCommit(commit);
+    if (referenceIndexStripes.isEmpty()) {
+      return incremental;
+    }
+    return layeredIndex(referenceIndexFromStripes(referenceIndexStripes, commit.id()), incremental);
+  }
+
+  @Override
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  public List<IndexStripe> referenceIndexStripes(
+      @Nonnull @jakarta.annotation.Nonnull CommitObj commit) {
+    List<IndexStripe> commitStripes = commit.referenceIndexStripes();
+    if (!commitStripes.isEmpty()) {
+      return commitStripes;
+    }
+    ObjId referenceIndexId = commit.referenceIndex();
+    if (referenceIndexId == null) {
+      return Collections.emptyList();
+    }
+
+    IndexCache cache = indexCache;
+    if (cache != null) {
+      List<IndexStripe> indexStripes = cache.indexStripes(referenceIndexId);
+      if (indexStripes != null) {
+        return indexStripes;
+      }
+      if (cache.indexSegment(referenceIndexId) != null) {
+        return Collections.emptyList();
+      }
+    }
+
+    Obj keyIndex;
+    try {
+      keyIndex = persist.fetchObj(referenceIndexId);
+    } catch (ObjNotFoundException e) {
+      throw new IllegalStateException(
+          format(
+              "Commit %s references a reference index, which does not exist", referenceIndexId));
+    }
+    if (!(keyIndex instanceof IndexSegmentsObj)) {
+      return Collections.emptyList();
+    }
+    List<IndexStripe> indexStripes = ((IndexSegmentsObj) keyIndex).stripes();
+    if (cache != null) {
+      cache.putIndexStripes(referenceIndexId, indexStripes);
+    }
+    return indexStripes;
+  }
+
   @Override
   @Nullable
   @jakarta.annotation.Nullable
@@ -242,6 +314,18 @@ final class IndexesLogicImpl implements IndexesLogic {
   private StoreIndex<CommitOp> loadReferenceIndex(
       @Nonnull @jakarta.annotation.Nonnull ObjId indexId,
       @Nonnull @jakarta.annotation.Nonnull ObjId commitId) {
+    IndexCache cache = indexCache;
+    if (cache != null) {
+      StoreIndex<CommitOp> segment = cache.indexSegment(indexId);
+      if (segment != null) {
+        return segment;
+      }
+      List<IndexStripe> indexStripes = cache.indexStripes(indexId);
+      if (indexStripes != null) {
+        return referenceIndexFromStripes(indexStripes, commitId);
+      }
+    }
+
     StoreIndex<CommitOp> referenceIndex;
     Obj keyIndex;
     try {
@@ -255,10 +339,16 @@ final class IndexesLogicImpl implements IndexesLogic {
       case INDEX_SEGMENTS:
         IndexSegmentsObj split = (IndexSegmentsObj) keyIndex;
         List<IndexStripe> indexStripes = split.stripes();
+        if (cache != null) {
+          cache.putIndexStripes(indexId, indexStripes);
+        }
         referenceIndex = referenceIndexFromStripes(indexStripes, commitId);
         break;
       case INDEX:
         referenceIndex = deserializeIndex(((IndexObj) keyIndex).index()).setObjId(keyIndex.id());
+        if (cache != null) {
+          cache.putIndexSegment(indexId, referenceIndex);
+        }
         break;
       default:
         throw new IllegalStateException(
@@ -269,11 +359,19 @@ final class IndexesLogicImpl implements IndexesLogic {
   }
 
   static StoreIndex<CommitOp> deserializeIndex(ByteString serialized) {
-    return deserializeStoreIndex(serialized, COMMIT_OP_SERIALIZER);
+    // Most accesses are point lookups, only decode the elements that are actually needed.
+    return serializedImmutableIndex(serialized, COMMIT_OP_SERIALIZER);
   }
 
   private StoreIndex<CommitOp> loadIndexSegment(
       @Nonnull @jakarta.annotation.Nonnull ObjId indexId) {
+    IndexCache cache = indexCache;
+    if (cache != null) {
+      StoreIndex<CommitOp> segment = cache.indexSegment(indexId);
+      if (segment != null) {
+        return segment;
+      }
+    }
     IndexObj index;
     try {
       index = persist.fetchTypedObj(indexId, INDEX, IndexObj.class);
@@ -281,20 +379,49 @@ final class IndexesLogicImpl implements IndexesLogic {
       throw new IllegalStateException(
           format("Commit %s references a reference index, which does not exist", indexId));
     }
-    return deserializeIndex(index.index()).setObjId(indexId);
+    StoreIndex<CommitOp> segment = deserializeIndex(index.index()).setObjId(indexId);
+    if (cache != null) {
+      cache.putIndexSegment(indexId, segment);
+    }
+    return segment;
   }
 
   private StoreIndex<CommitOp>[] loadIndexSegments(
       @Nonnull @jakarta.annotation.Nonnull ObjId[] indexes) {
+    IndexCache cache = indexCache;
+    @SuppressWarnings("unchecked")
+    StoreIndex<CommitOp>[] r = new StoreIndex[indexes.length];
+    ObjId[] toFetch = indexes;
+    if (cache != null) {
+      toFetch = new ObjId[indexes.length];
+      boolean fetch = false;
+      for (int i = 0; i < indexes.length; i++) {
+        ObjId id = indexes[i];
+        if (id != null) {
+          StoreIndex<CommitOp> segment = cache.indexSegment(id);
+          if (segment != null) {
+            r[i] = segment;
+          } else {
+            toFetch[i] = id;
+            fetch = true;
+          }
+        }
+      }
+      if (!fetch) {
+        return r;
+      }
+    }
     try {
-      Obj[] objs = persist.fetchObjs(indexes);
-      @SuppressWarnings("unchecked")
-      StoreIndex<CommitOp>[] r = new StoreIndex[indexes.length];
+      Obj[] objs = persist.fetchObjs(toFetch);
       for (int i = 0; i < objs.length; i++) {
         Obj obj = objs[i];
         if (obj != null) {
           IndexObj index = (IndexObj) obj;
-          r[i] = deserializeIndex(index.index()).setObjId(indexes[i]);
+          StoreIndex<CommitOp> segment = deserializeIndex(index.index()).setObjId(toFetch[i]);
+          if (cache != null) {
+            cache.putIndexSegment(toFetch[i], segment);
+          }
+          r[i] = segment;
         }
       }
       return r;
@@ -382,16 +509,27 @@ final class IndexesLogicImpl implements IndexesLogic {
   public ObjId persistStripedIndex(
       @Nonnull @jakarta.annotation.Nonnull StoreIndex<CommitOp> stripedIndex)
       throws ObjTooLargeException {
+    return persistStripedIndex(stripedIndex, Collections.emptyMap());
+  }
+
+  /**
+   * Variant of {@link #persistStripedIndex(StoreIndex)} that uses the already serialized and
+   * compressed representation from {@code compressedStripes}, if present for a stripe, instead of
+   * serializing and compressing the stripe again.
+   */
+  ObjId persistStripedIndex(
+      StoreIndex<CommitOp> stripedIndex, Map<StoreIndex<CommitOp>, ByteString> compressedStripes)
+      throws ObjTooLargeException {
     List<StoreIndex<CommitOp>> stripes = stripedIndex.stripes();
     if (stripes.isEmpty()) {
-      return persistIndex(stripedIndex);
+      return persistIndex(stripedIndex, compressedStripes);
     }
     if (stripes.size() == 1) {
-      return persistIndex(stripes.get(0));
+      return persistIndex(stripes.get(0), compressedStripes);
     }
 
     List<Obj> toStore = new ArrayList<>();
-    List<IndexStripe> indexStripes = buildIndexStripes(stripes, toStore);
+    List<IndexStripe> indexStripes = buildIndexStripes(stripes, toStore, compressedStripes);
 
     IndexSegmentsObj referenceIndex = indexSegments(indexStripes);
     toStore.add(referenceIndex);
@@ -407,15 +545,28 @@ final class IndexesLogicImpl implements IndexesLogic {
   public List<IndexStripe> persistIndexStripesFromIndex(
       @Nonnull @jakarta.annotation.Nonnull StoreIndex<CommitOp> stripedIndex)
       throws ObjTooLargeException {
+    return persistIndexStripesFromIndex(stripedIndex, Collections.emptyMap());
+  }
+
+  /**
+   * Variant of {@link #persistIndexStripesFromIndex(StoreIndex)} that uses the already serialized
+   * and compressed representation from {@code compressedStripes}, if present for a stripe, instead
+   * of serializing and compressing the stripe again.
+   */
+  List<IndexStripe> persistIndexStripesFromIndex(
+      StoreIndex<CommitOp> stripedIndex, Map<StoreIndex<CommitOp>, ByteString> compressedStripes)
+      throws ObjTooLargeException {
     List<StoreIndex<CommitOp>> stripes = stripedIndex.stripes();
     List<Obj> toStore = new ArrayList<>();
-    List<IndexStripe> indexStripes = buildIndexStripes(stripes, toStore);
+    List<IndexStripe> indexStripes = buildIndexStripes(stripes, toStore, compressedStripes);
     persist.storeObjs(toStore.toArray(new Obj[0]));
     return indexStripes;
   }
 
   private List<IndexStripe> buildIndexStripes(
-      List<StoreIndex<CommitOp>> stripes, List<Obj> toStore) {
+      List<StoreIndex<CommitOp>> stripes,
+      List<Obj> toStore,
+      Map<StoreIndex<CommitOp>, ByteString> compressedStripes) {
     List<IndexStripe> indexStripes = new ArrayList<>(stripes.size());
     for (StoreIndex<CommitOp> indexSegment : stripes) {
       ObjId segId;
@@ -424,7 +575,7 @@ final class IndexesLogicImpl implements IndexesLogic {
             requireNonNull(
                 indexSegment.getObjId(), "Loaded index segment does not contain its ObjId");
       } else {
-        IndexObj segment = index(indexSegment.serialize());
+        IndexObj segment = indexObj(indexSegment, compressedStripes);
         toStore.add(segment);
         segId = segment.id();
       }
@@ -439,16 +590,32 @@ final class IndexesLogicImpl implements IndexesLogic {
     return indexStripes;
   }
 
-  private ObjId persistIndex(StoreIndex<CommitOp> indexSegment) throws ObjTooLargeException {
+  private ObjId persistIndex(
+      StoreIndex<CommitOp> indexSegment, Map<StoreIndex<CommitOp>, ByteString> compressedStripes)
+      throws ObjTooLargeException {
     if (!indexSegment.isModified()) {
       return requireNonNull(
           indexSegment.getObjId(), "Loaded index segment does not contain its ObjId");
     }
-    IndexObj segment = index(indexSegment.serialize());
+    IndexObj segment = indexObj(indexSegment, compressedStripes);
     persist.storeObj(segment);
     return segment.id();
   }
 
+  private IndexObj indexObj(
+      StoreIndex<CommitOp> indexSegment, Map<StoreIndex<CommitOp>, ByteString> compressedStripes) {
+    ByteString serialized = compressedStripes.get(indexSegment);
+    if (serialized == null) {
+      StoreConfig config = persist.config();
+      serialized =
+          compressIndex(
+              indexSegment.serialize(),
+              config.indexCompression(),
+              config.indexCompressionMinSize());
+    }
+    return index(serialized);
+  }
+
   @Override
   public void completeIndexesInCommitChain(
       @Nonnull @jakarta.annotation.Nonnull ObjId commitId, Runnable progressCallback)
@@ -559,13 +726,14 @@ final class IndexesLogicImpl implements IndexesLogic {
   List<ObjId> findCommitsWithIncompleteIndex(@Nonnull @jakarta.annotation.Nonnull ObjId commitId) {
     ArrayList<ObjId> commitsToUpdate = new ArrayList<>();
     CommitLogic commitLogic = commitLogic(persist);
-    for (PagedResult<CommitObj, ObjId> iter = commitLogic.commitLog(commitLogQuery(commitId));
-        iter.hasNext(); ) {
-      CommitObj c = iter.next();
-      if (!c.incompleteIndex()) {
-        break;
+    try (PagedResult<CommitObj, ObjId> iter = commitLogic.commitLog(commitLogQuery(commitId))) {
+      while (iter.hasNext()) {
+        CommitObj c = iter.next();
+        if (!c.incompleteIndex()) {
+          break;
+        }
+        commitsToUpdate.add(c.id());
       }
-      commitsToUpdate.add(c.id());
     }
     commitsToUpdate.trimToSize();
     return commitsToUpdate;
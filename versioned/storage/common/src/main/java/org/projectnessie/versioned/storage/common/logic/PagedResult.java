@@ -22,8 +22,12 @@ import javax.annotation.Nonnull;
  * Extends {@link Iterator} with ability to generate a {@link PagingToken} instead of the next
  * element.
  */
-public interface PagedResult<E, K> extends Iterator<E> {
+public interface PagedResult<E, K> extends Iterator<E>, AutoCloseable {
   @Nonnull
   @jakarta.annotation.Nonnull
   PagingToken tokenForKey(K key);
+
+  /** Releases resources, like asynchronous reads ahead, held by this result. */
+  @Override
+  default void close() {}
 }
@@ -17,6 +17,7 @@ package org.projectnessie.versioned.storage.common.objtypes;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static org.projectnessie.versioned.storage.common.persist.ObjId.deserializeObjId;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.skipObjId;
 import static org.projectnessie.versioned.storage.common.util.Ser.putVarInt;
 import static org.projectnessie.versioned.storage.common.util.Ser.readVarInt;
 
@@ -184,6 +185,17 @@ public interface CommitOp {
       UUID contentId = (msb != 0L || lsb != 0L) ? new UUID(msb, lsb) : null;
       return commitOp(operation, payload, id, contentId);
     }
+
+    @Override
+    public void skip(ByteBuffer buffer) {
+      // action
+      buffer.get();
+      // payload
+      readVarInt(buffer);
+      skipObjId(buffer);
+      // content ID
+      buffer.position(buffer.position() + 16);
+    }
   }
 
   /**
@@ -130,6 +130,12 @@ public abstract class ObjId {
     return fromBytes(len, bytes);
   }
 
+  /** Skips over a serialized object ID, counterpart of {@link #deserializeObjId(ByteBuffer)}. */
+  public static void skipObjId(@Nonnull @jakarta.annotation.Nonnull ByteBuffer bytes) {
+    int len = readVarInt(bytes);
+    bytes.position(bytes.position() + len);
+  }
+
   private static ObjId fromBytes(int len, ByteBuffer bytes) {
     switch (len) {
       case 0:
@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.common.util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.concurrent.TimeUnit.MINUTES;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This is an <em>internal</em> utility class, which provides thread pools for blocking backend
+ * reads, which must not run on {@link java.util.concurrent.ForkJoinPool#commonPool()}.
+ */
+public final class DaemonThreadPools {
+
+  private DaemonThreadPools() {}
+
+  /**
+   * Creates a thread pool with up to {@code maxThreads} named daemon threads. Idle threads are
+   * terminated after a minute, tasks are queued while all threads are busy.
+   */
+  public static ExecutorService newBoundedDaemonPool(String namePrefix, int maxThreads) {
+    checkArgument(maxThreads > 0, "maxThreads must be positive");
+    AtomicInteger threadNum = new AtomicInteger();
+    ThreadFactory threadFactory =
+        r -> {
+          Thread t = new Thread(r, namePrefix + "-" + threadNum.incrementAndGet());
+          t.setDaemon(true);
+          return t;
+        };
+    ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(
+            maxThreads, maxThreads, 1, MINUTES, new LinkedBlockingQueue<>(), threadFactory);
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+}
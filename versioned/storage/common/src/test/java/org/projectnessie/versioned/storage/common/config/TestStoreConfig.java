@@ -19,13 +19,21 @@ import static java.util.Collections.singletonMap;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_ASSUMED_WALL_CLOCK_DRIFT_MICROS;
+import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_COMMIT_COALESCING;
+import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_COMMIT_COALESCING_MAX_COMMITS;
+import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_COMMIT_LOG_PREFETCH_DEPTH;
 import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_COMMIT_RETRIES;
 import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_COMMIT_TIMEOUT_MILLIS;
+import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_CONTENT_FETCH_BATCH_SIZE;
+import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_INDEX_CACHE_CAPACITY;
+import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_INDEX_COMPRESSION;
+import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_INDEX_COMPRESSION_MIN_SIZE;
 import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_MAX_INCREMENTAL_INDEX_SIZE;
 import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_MAX_REFERENCE_STRIPES_PER_COMMIT;
 import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_MAX_SERIALIZED_INDEX_SIZE;
 import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_NAMESPACE_VALIDATION;
 import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_PARENTS_PER_COMMIT;
+import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_REFERENCE_INFO_PARALLELISM;
 import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_REPOSITORY_ID;
 import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_RETRY_INITIAL_SLEEP_MILLIS_LOWER;
 import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_RETRY_INITIAL_SLEEP_MILLIS_UPPER;
@@ -46,6 +54,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.projectnessie.versioned.storage.common.config.StoreConfig.Adjustable;
+import org.projectnessie.versioned.storage.common.objtypes.Compression;
 
 @ExtendWith(SoftAssertionsExtension.class)
 public class TestStoreConfig {
@@ -111,6 +120,46 @@ public class TestStoreConfig {
             "1234567",
             (Function<Adjustable, StoreConfig>) e -> e.withAssumedWallClockDriftMicros(1234567),
             (Predicate<StoreConfig>) c -> c.assumedWallClockDriftMicros() == 1234567),
+        arguments(
+            CONFIG_INDEX_CACHE_CAPACITY,
+            "12345678",
+            (Function<Adjustable, StoreConfig>) e -> e.withIndexCacheCapacity(12345678),
+            (Predicate<StoreConfig>) c -> c.indexCacheCapacity() == 12345678),
+        arguments(
+            CONFIG_CONTENT_FETCH_BATCH_SIZE,
+            "42",
+            (Function<Adjustable, StoreConfig>) e -> e.withContentFetchBatchSize(42),
+            (Predicate<StoreConfig>) c -> c.contentFetchBatchSize() == 42),
+        arguments(
+            CONFIG_REFERENCE_INFO_PARALLELISM,
+            "7",
+            (Function<Adjustable, StoreConfig>) e -> e.withReferenceInfoParallelism(7),
+            (Predicate<StoreConfig>) c -> c.referenceInfoParallelism() == 7),
+        arguments(
+            CONFIG_COMMIT_LOG_PREFETCH_DEPTH,
+            "3",
+            (Function<Adjustable, StoreConfig>) e -> e.withCommitLogPrefetchDepth(3),
+            (Predicate<StoreConfig>) c -> c.commitLogPrefetchDepth() == 3),
+        arguments(
+            CONFIG_COMMIT_COALESCING,
+            "true",
+            (Function<Adjustable, StoreConfig>) e -> e.withCommitCoalescing(true),
+            (Predicate<StoreConfig>) StoreConfig::commitCoalescing),
+        arguments(
+            CONFIG_COMMIT_COALESCING_MAX_COMMITS,
+            "5",
+            (Function<Adjustable, StoreConfig>) e -> e.withCommitCoalescingMaxCommits(5),
+            (Predicate<StoreConfig>) c -> c.commitCoalescingMaxCommits() == 5),
+        arguments(
+            CONFIG_INDEX_COMPRESSION,
+            "deflate",
+            (Function<Adjustable, StoreConfig>) e -> e.withIndexCompression(Compression.DEFLATE),
+            (Predicate<StoreConfig>) c -> c.indexCompression() == Compression.DEFLATE),
+        arguments(
+            CONFIG_INDEX_COMPRESSION_MIN_SIZE,
+            "42",
+            (Function<Adjustable, StoreConfig>) e -> e.withIndexCompressionMinSize(42),
+            (Predicate<StoreConfig>) c -> c.indexCompressionMinSize() == 42),
         arguments(
             CONFIG_NAMESPACE_VALIDATION,
             "false",
@@ -0,0 +1,161 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.common.indexes;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static java.util.Collections.emptySet;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexElement.indexElement;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.newStoreIndex;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.serializedImmutableIndex;
+import static org.projectnessie.versioned.storage.common.indexes.StoreKey.key;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitOp.Action.ADD;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitOp.COMMIT_OP_SERIALIZER;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitOp.commitOp;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.objIdFromString;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.randomObjId;
+import static org.projectnessie.versioned.storage.commontests.KeyIndexTestSet.basicIndexTestSet;
+
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.projectnessie.versioned.storage.common.objtypes.CommitOp;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.commontests.KeyIndexTestSet;
+
+@ExtendWith(SoftAssertionsExtension.class)
+public class TestImmutableSerializedIndexImpl {
+  @InjectSoftAssertions SoftAssertions soft;
+
+  @ParameterizedTest
+  @ValueSource(ints = {0, 1, 15, 16, 17, 31, 32, 33, 100})
+  public void sameAsDeserialized(int numElements) {
+    StoreIndex<CommitOp> index = newStoreIndex(COMMIT_OP_SERIALIZER);
+    for (int i = 0; i < numElements; i++) {
+      index.add(indexElement(key("k" + (1000 + i * 2)), commitOp(ADD, i, randomObjId())));
+    }
+
+    StoreIndex<CommitOp> serialized =
+        serializedImmutableIndex(index.serialize(), COMMIT_OP_SERIALIZER);
+
+    soft.assertThat(serialized.elementCount()).isEqualTo(index.elementCount());
+    soft.assertThat(serialized.first()).isEqualTo(index.first());
+    soft.assertThat(serialized.last()).isEqualTo(index.last());
+    soft.assertThat(serialized.asKeyList()).containsExactlyElementsOf(index.asKeyList());
+    soft.assertThat(newArrayList(serialized)).containsExactlyElementsOf(newArrayList(index));
+    soft.assertThat(serialized.serialize()).isEqualTo(index.serialize());
+
+    for (int i = 0; i < numElements; i++) {
+      StoreKey existing = key("k" + (1000 + i * 2));
+      StoreKey notExisting = key("k" + (1000 + i * 2 + 1));
+      soft.assertThat(serialized.get(existing)).isEqualTo(index.get(existing));
+      soft.assertThat(serialized.contains(existing)).isTrue();
+      soft.assertThat(serialized.get(notExisting)).isNull();
+      soft.assertThat(serialized.contains(notExisting)).isFalse();
+      soft.assertThat(newArrayList(serialized.iterator(notExisting, null, false)))
+          .containsExactlyElementsOf(newArrayList(index.iterator(notExisting, null, false)));
+      soft.assertThat(newArrayList(serialized.iterator(existing, null, false)))
+          .containsExactlyElementsOf(newArrayList(index.iterator(existing, null, false)));
+      soft.assertThat(newArrayList(serialized.iterator(null, existing, false)))
+          .containsExactlyElementsOf(newArrayList(index.iterator(null, existing, false)));
+      soft.assertThat(newArrayList(serialized.iterator(null, notExisting, false)))
+          .containsExactlyElementsOf(newArrayList(index.iterator(null, notExisting, false)));
+    }
+    soft.assertThat(serialized.get(key("a"))).isNull();
+    soft.assertThat(serialized.get(key("z"))).isNull();
+  }
+
+  @Test
+  public void basicTestSet() {
+    KeyIndexTestSet<CommitOp> indexTestSet = basicIndexTestSet();
+    StoreIndex<CommitOp> index = indexTestSet.keyIndex();
+    StoreIndex<CommitOp> serialized =
+        serializedImmutableIndex(indexTestSet.serialized(), COMMIT_OP_SERIALIZER);
+
+    soft.assertThat(newArrayList(serialized)).containsExactlyElementsOf(newArrayList(index));
+    for (StoreKey key : indexTestSet.keys()) {
+      soft.assertThat(serialized.get(key)).isEqualTo(index.get(key));
+    }
+  }
+
+  @Test
+  public void iterator() {
+    StoreIndex<CommitOp> index = newStoreIndex(COMMIT_OP_SERIALIZER);
+
+    ObjId id = objIdFromString("12344568");
+    for (char e1 = 'j'; e1 >= 'a'; e1--) {
+      for (char e2 = 'J'; e2 >= 'A'; e2--) {
+        StoreKey key = key("" + e1, "" + e2);
+        index.add(indexElement(key, commitOp(ADD, 1, id)));
+      }
+    }
+
+    StoreIndex<CommitOp> serialized =
+        serializedImmutableIndex(index.serialize(), COMMIT_OP_SERIALIZER);
+
+    soft.assertThat(serialized.elementCount()).isEqualTo(10 * 10);
+
+    soft.assertThat(newArrayList(serialized.iterator())).hasSize(10 * 10);
+    soft.assertThat(newArrayList(serialized.iterator(key("a"), key("j"), false))).hasSize(9 * 10);
+    soft.assertThat(newArrayList(serialized.iterator(null, key("j"), false))).hasSize(9 * 10);
+    soft.assertThat(newArrayList(serialized.iterator(key("b"), key("j"), false))).hasSize(8 * 10);
+    soft.assertThat(newArrayList(serialized.iterator(key("j"), null, false))).hasSize(10);
+    soft.assertThat(newArrayList(serialized.iterator(key("a", "C"), key("a", "Z"), false)))
+        .hasSize(8);
+    soft.assertThat(newArrayList(serialized.iterator(key("b", "B"), key("b", "B"), false)))
+        .hasSize(1);
+    soft.assertThat(newArrayList(serialized.iterator(key("b"), key("b"), false)))
+        .hasSize(10)
+        .allMatch(el -> el.key().startsWith(key("b")));
+    soft.assertThat(newArrayList(serialized.iterator(key("b"), key("c", "A"), false))).hasSize(11);
+
+    soft.assertThatIllegalArgumentException()
+        .isThrownBy(() -> serialized.iterator(key("z"), key("a"), false));
+  }
+
+  @Test
+  public void stateRelated() {
+    KeyIndexTestSet<CommitOp> indexTestSet = basicIndexTestSet();
+    ObjId id = randomObjId();
+    StoreIndex<CommitOp> index =
+        serializedImmutableIndex(indexTestSet.serialized(), COMMIT_OP_SERIALIZER).setObjId(id);
+
+    soft.assertThat(index.isMutable()).isFalse();
+    soft.assertThat(index.isModified()).isFalse();
+    soft.assertThat(index.isLoaded()).isTrue();
+    soft.assertThat(index.loadIfNecessary(emptySet())).isSameAs(index);
+    soft.assertThat(index.stripes()).containsExactly(index);
+    soft.assertThat(index.estimatedSerializedSize()).isEqualTo(indexTestSet.serialized().size());
+    soft.assertThatThrownBy(() -> index.divide(3))
+        .isInstanceOf(UnsupportedOperationException.class);
+    soft.assertThatThrownBy(() -> index.add(indexElement(key("foo"), commitOp(ADD, 0, id))))
+        .isInstanceOf(UnsupportedOperationException.class);
+    soft.assertThatThrownBy(() -> index.remove(key("foo")))
+        .isInstanceOf(UnsupportedOperationException.class);
+    soft.assertThatThrownBy(() -> index.updateAll(el -> null))
+        .isInstanceOf(UnsupportedOperationException.class);
+
+    StoreIndex<CommitOp> mutable = index.asMutableIndex();
+    soft.assertThat(mutable).isInstanceOf(StoreIndexImpl.class).isNotSameAs(index);
+    soft.assertThat(mutable.isMutable()).isTrue();
+    soft.assertThat(mutable.isModified()).isFalse();
+    soft.assertThat(mutable.getObjId()).isEqualTo(id);
+    soft.assertThat(newArrayList(mutable)).containsExactlyElementsOf(newArrayList(index));
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.common.indexes;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static org.projectnessie.versioned.storage.common.indexes.IndexCompression.compressIndex;
+import static org.projectnessie.versioned.storage.common.indexes.IndexCompression.decompressIndex;
+import static org.projectnessie.versioned.storage.common.indexes.IndexCompression.isCompressedIndex;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexElement.indexElement;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.deserializeStoreIndex;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.newStoreIndex;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.serializedImmutableIndex;
+import static org.projectnessie.versioned.storage.common.indexes.StoreKey.key;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitOp.Action.ADD;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitOp.COMMIT_OP_SERIALIZER;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitOp.commitOp;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.randomObjId;
+
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.projectnessie.nessie.relocated.protobuf.ByteString;
+import org.projectnessie.versioned.storage.common.objtypes.CommitOp;
+import org.projectnessie.versioned.storage.common.objtypes.Compression;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+
+@ExtendWith(SoftAssertionsExtension.class)
+public class TestIndexCompression {
+  @InjectSoftAssertions SoftAssertions soft;
+
+  static StoreIndex<CommitOp> index(int numElements) {
+    StoreIndex<CommitOp> index = newStoreIndex(COMMIT_OP_SERIALIZER);
+    ObjId value = randomObjId();
+    for (int i = 0; i < numElements; i++) {
+      index.add(
+          indexElement(key("namespace", "table-" + (1000 + i)), commitOp(ADD, i % 5, value)));
+    }
+    return index;
+  }
+
+  @ParameterizedTest
+  @EnumSource(
+      value = Compression.class,
+      names = {"GZIP", "DEFLATE"})
+  public void roundTrip(Compression compression) {
+    StoreIndex<CommitOp> index = index(1000);
+    ByteString serialized = index.serialize();
+
+    ByteString compressed = compressIndex(serialized, compression, 1024);
+    soft.assertThat(isCompressedIndex(compressed)).isTrue();
+    soft.assertThat(isCompressedIndex(serialized)).isFalse();
+    soft.assertThat(compressed.size()).isLessThan(serialized.size());
+    soft.assertThat(decompressIndex(compressed)).isEqualTo(serialized);
+
+    soft.assertThat(newArrayList(deserializeStoreIndex(compressed, COMMIT_OP_SERIALIZER)))
+        .containsExactlyElementsOf(newArrayList(index));
+    StoreIndex<CommitOp> immutable = serializedImmutableIndex(compressed, COMMIT_OP_SERIALIZER);
+    soft.assertThat(newArrayList(immutable)).containsExactlyElementsOf(newArrayList(index));
+    soft.assertThat(immutable.serialize()).isEqualTo(serialized);
+  }
+
+  @ParameterizedTest
+  @EnumSource(
+      value = Compression.class,
+      names = {"GZIP", "DEFLATE"})
+  public void belowMinSize(Compression compression) {
+    ByteString serialized = index(10).serialize();
+    soft.assertThat(compressIndex(serialized, compression, serialized.size() + 1))
+        .isSameAs(serialized);
+    soft.assertThat(decompressIndex(compressIndex(serialized, compression, serialized.size())))
+        .isEqualTo(serialized);
+  }
+
+  @Test
+  public void uncompressed() {
+    ByteString serialized = index(1000).serialize();
+    soft.assertThat(compressIndex(serialized, Compression.NONE, 0)).isSameAs(serialized);
+    soft.assertThat(decompressIndex(serialized)).isSameAs(serialized);
+    soft.assertThat(decompressIndex(ByteString.EMPTY)).isSameAs(ByteString.EMPTY);
+  }
+
+  @ParameterizedTest
+  @EnumSource(
+      value = Compression.class,
+      names = {"ZSTD", "LZ4"})
+  public void unsupported(Compression compression) {
+    ByteString serialized = index(1000).serialize();
+    soft.assertThatIllegalArgumentException()
+        .isThrownBy(() -> compressIndex(serialized, compression, 0));
+    soft.assertThatIllegalArgumentException()
+        .isThrownBy(() -> IndexCompression.checkIndexCompression(compression));
+  }
+}
@@ -42,6 +42,7 @@ import java.util.UUID;
 import java.util.function.Consumer;
 import org.assertj.core.api.InstanceOfAssertFactories;
 import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
@@ -188,6 +189,31 @@ public class TestIndexesLogicImpl extends AbstractIndexesLogicTests {
     tail.add(0, cid);
   }
 
+  @Test
+  public void cachedIncrementalIndexes() throws Exception {
+    CommitLogic commitLogic = commitLogic(persist);
+    IndexesLogicImpl indexesLogic = new IndexesLogicImpl(persist);
+
+    List<ObjId> tail = fiveCompleteCommits(new HashMap<>());
+    CommitObj head = requireNonNull(commitLogic.fetchCommit(tail.get(0)));
+
+    StoreIndex<CommitOp> incremental = indexesLogic.incrementalIndexFromCommit(head);
+    soft.assertThat(indexesLogic.incrementalIndexFromCommit(head)).isSameAs(incremental);
+    soft.assertThat(new IndexesLogicImpl(persist).incrementalIndexFromCommit(head))
+        .isSameAs(incremental);
+
+    // A commit that has been updated in place must not yield the previously cached index
+    StoreIndex<CommitOp> updatedIndex = newStoreIndex(COMMIT_OP_SERIALIZER);
+    updatedIndex.add(indexElement(key("updated"), commitOp(ADD, 1, randomObjId())));
+    CommitObj updated =
+        commitLogic.updateCommit(
+            commitBuilder().from(head).incrementalIndex(updatedIndex.serialize()).build());
+    StoreIndex<CommitOp> updatedIncremental = indexesLogic.incrementalIndexFromCommit(updated);
+    soft.assertThat(updatedIncremental).isNotSameAs(incremental);
+    soft.assertThat(updatedIncremental.asKeyList()).containsExactly(key("updated"));
+    soft.assertThat(indexesLogic.incrementalIndexFromCommit(updated)).isSameAs(updatedIncremental);
+  }
+
   private List<ObjId> fiveCompleteCommits(Map<StoreKey, ObjId> keyValue) throws Exception {
     CommitLogic commitLogic = commitLogic(persist);
 
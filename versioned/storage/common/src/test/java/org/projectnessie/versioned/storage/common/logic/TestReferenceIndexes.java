@@ -28,9 +28,13 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.InstanceOfAssertFactories.list;
 import static org.assertj.core.api.InstanceOfAssertFactories.type;
 import static org.projectnessie.nessie.relocated.protobuf.ByteString.copyFromUtf8;
+import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_INDEX_COMPRESSION;
+import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_INDEX_COMPRESSION_MIN_SIZE;
 import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_MAX_INCREMENTAL_INDEX_SIZE;
 import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_MAX_REFERENCE_STRIPES_PER_COMMIT;
 import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_MAX_SERIALIZED_INDEX_SIZE;
+import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_REPOSITORY_ID;
+import static org.projectnessie.versioned.storage.common.indexes.IndexCompression.isCompressedIndex;
 import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.deserializeStoreIndex;
 import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.newStoreIndex;
 import static org.projectnessie.versioned.storage.common.indexes.StoreKey.key;
@@ -571,4 +575,96 @@ public class TestReferenceIndexes {
       soft.assertThat(newArrayList(updatedIndex)).isEqualTo(newArrayList(completeIndex));
     }
   }
+
+  @Test
+  public void compressedReferenceIndex(
+      @NessieStoreConfig(name = CONFIG_MAX_INCREMENTAL_INDEX_SIZE, value = "1024")
+          @NessieStoreConfig(name = CONFIG_MAX_SERIALIZED_INDEX_SIZE, value = "4096")
+          @NessieStoreConfig(name = CONFIG_INDEX_COMPRESSION, value = "DEFLATE")
+          @NessieStoreConfig(name = CONFIG_INDEX_COMPRESSION_MIN_SIZE, value = "0")
+          @NessiePersist
+          Persist persist)
+      throws Exception {
+    IndexesLogic indexesLogic = indexesLogic(persist);
+
+    Map<StoreKey, ObjId> knownKeys = new LinkedHashMap<>();
+    CommitObj commit = commitManyKeys(persist, knownKeys);
+    soft.assertThat(commit.hasReferenceIndex()).isTrue();
+
+    List<ObjId> segmentIds = referenceIndexSegments(persist, commit);
+    soft.assertThat(segmentIds).isNotEmpty();
+    for (ObjId segmentId : segmentIds) {
+      IndexObj segment = persist.fetchTypedObj(segmentId, INDEX, IndexObj.class);
+      soft.assertThat(isCompressedIndex(segment.index())).isTrue();
+      soft.assertThat(segment.index().size()).isLessThanOrEqualTo(4096);
+    }
+
+    StoreIndex<CommitOp> index = indexesLogic.buildCompleteIndexOrEmpty(commit);
+    soft.assertThat(index.asKeyList()).containsExactlyInAnyOrderElementsOf(knownKeys.keySet());
+    soft.assertThat(knownKeys)
+        .allSatisfy(
+            (k, v) -> assertThat(requireNonNull(index.get(k)).content().value()).isEqualTo(v));
+  }
+
+  /** Stripes are split based on their compressed size, so compression yields fewer stripes. */
+  @Test
+  public void compressionAwareStripeSplitting(
+      @NessieStoreConfig(name = CONFIG_MAX_INCREMENTAL_INDEX_SIZE, value = "1024")
+          @NessieStoreConfig(name = CONFIG_MAX_SERIALIZED_INDEX_SIZE, value = "4096")
+          @NessieStoreConfig(name = CONFIG_INDEX_COMPRESSION, value = "DEFLATE")
+          @NessieStoreConfig(name = CONFIG_INDEX_COMPRESSION_MIN_SIZE, value = "0")
+          @NessiePersist
+          Persist compressed,
+      @NessieStoreConfig(name = CONFIG_REPOSITORY_ID, value = "uncompressed")
+          @NessieStoreConfig(name = CONFIG_MAX_INCREMENTAL_INDEX_SIZE, value = "1024")
+          @NessieStoreConfig(name = CONFIG_MAX_SERIALIZED_INDEX_SIZE, value = "4096")
+          @NessiePersist
+          Persist uncompressed)
+      throws Exception {
+    List<ObjId> compressedSegments =
+        referenceIndexSegments(compressed, commitManyKeys(compressed, new LinkedHashMap<>()));
+    List<ObjId> uncompressedSegments =
+        referenceIndexSegments(uncompressed, commitManyKeys(uncompressed, new LinkedHashMap<>()));
+
+    soft.assertThat(compressedSegments).isNotEmpty();
+    soft.assertThat(compressedSegments.size()).isLessThan(uncompressedSegments.size());
+  }
+
+  private CommitObj commitManyKeys(Persist persist, Map<StoreKey, ObjId> knownKeys)
+      throws Exception {
+    CommitLogic commitLogic = commitLogic(persist);
+
+    @SuppressWarnings("InlineMeInliner")
+    String suffix = Strings.repeat("-table", 10);
+
+    ObjId tip = EMPTY_OBJ_ID;
+    for (int numKeys = 0; numKeys < 500; ) {
+      CreateCommit.Builder createCommit = stdCommit().parentCommitId(tip);
+      for (int numAdd = 0; numAdd < 10; numAdd++, numKeys++) {
+        StoreKey key = key("namespace", format("%04d", numKeys) + suffix);
+        ObjId value = randomObjId();
+        knownKeys.put(key, value);
+        createCommit.addAdds(commitAdd(key, 0, value, null, null));
+      }
+      tip = requireNonNull(commitLogic.doCommit(createCommit.build(), emptyList())).id();
+    }
+
+    return requireNonNull(commitLogic.fetchCommit(tip));
+  }
+
+  private static List<ObjId> referenceIndexSegments(Persist persist, CommitObj commit)
+      throws Exception {
+    List<ObjId> segmentIds = new ArrayList<>();
+    commit.referenceIndexStripes().forEach(s -> segmentIds.add(s.segment()));
+    ObjId referenceIndexId = commit.referenceIndex();
+    if (referenceIndexId != null) {
+      Obj referenceIndex = persist.fetchObj(referenceIndexId);
+      if (referenceIndex instanceof IndexSegmentsObj) {
+        ((IndexSegmentsObj) referenceIndex).stripes().forEach(s -> segmentIds.add(s.segment()));
+      } else {
+        segmentIds.add(referenceIndexId);
+      }
+    }
+    return segmentIds;
+  }
 }
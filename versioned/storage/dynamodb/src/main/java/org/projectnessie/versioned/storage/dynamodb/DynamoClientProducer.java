@@ -18,8 +18,11 @@ package org.projectnessie.versioned.storage.dynamodb;
 import java.net.URI;
 import org.immutables.value.Value;
 import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
 import software.amazon.awssdk.http.urlconnection.UrlConnectionHttpClient;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClientBuilder;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClientBuilder;
 
@@ -53,4 +56,22 @@ public abstract class DynamoClientProducer {
 
     return clientBuilder.build();
   }
+
+  public DynamoDbAsyncClient createAsyncClient() {
+    DynamoDbAsyncClientBuilder clientBuilder =
+        DynamoDbAsyncClient.builder()
+            .httpClientBuilder(NettyNioAsyncHttpClient.builder())
+            .region(Region.of(region()));
+
+    AwsCredentialsProvider credentialsProvider = credentialsProvider();
+    if (credentialsProvider != null) {
+      clientBuilder = clientBuilder.credentialsProvider(credentialsProvider);
+    }
+    String endpointURI = endpointURI();
+    if (endpointURI != null) {
+      clientBuilder = clientBuilder.endpointOverride(URI.create(endpointURI));
+    }
+
+    return clientBuilder.build();
+  }
 }
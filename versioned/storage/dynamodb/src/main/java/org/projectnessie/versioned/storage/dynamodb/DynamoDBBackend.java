@@ -15,18 +15,32 @@
  */
 package org.projectnessie.versioned.storage.dynamodb;
 
+import static org.projectnessie.versioned.storage.common.util.DaemonThreadPools.newBoundedDaemonPool;
+import static org.projectnessie.versioned.storage.dynamodb.DynamoDBConstants.BATCH_GET_MAX_RETRIES;
+import static org.projectnessie.versioned.storage.dynamodb.DynamoDBConstants.BATCH_GET_RETRY_BASE_DELAY_MILLIS;
+import static org.projectnessie.versioned.storage.dynamodb.DynamoDBConstants.BATCH_GET_RETRY_MAX_DELAY_MILLIS;
 import static org.projectnessie.versioned.storage.dynamodb.DynamoDBConstants.KEY_NAME;
 import static org.projectnessie.versioned.storage.dynamodb.DynamoDBConstants.TABLE_OBJS;
 import static org.projectnessie.versioned.storage.dynamodb.DynamoDBConstants.TABLE_REFS;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Consumer;
 import javax.annotation.Nonnull;
 import org.projectnessie.versioned.storage.common.persist.Backend;
 import org.projectnessie.versioned.storage.common.persist.PersistFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.dynamodb.model.AttributeDefinition;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemResponse;
 import software.amazon.awssdk.services.dynamodb.model.BillingMode;
 import software.amazon.awssdk.services.dynamodb.model.DescribeTableRequest;
 import software.amazon.awssdk.services.dynamodb.model.DescribeTableResponse;
@@ -40,11 +54,54 @@ final class DynamoDBBackend implements Backend {
   private static final Logger LOGGER = LoggerFactory.getLogger(DynamoDBBackend.class);
 
   private final DynamoDbClient client;
+  private final DynamoDbAsyncClient asyncClient;
   private final boolean closeClient;
+  private final ScheduledExecutorService retryScheduler;
+  private final ExecutorService retryExecutor;
+  private final DynamoDBBatchGet batchGet;
 
-  DynamoDBBackend(@Nonnull @jakarta.annotation.Nonnull DynamoDbClient client, boolean closeClient) {
-    this.client = client;
+  DynamoDBBackend(
+      @Nonnull @jakarta.annotation.Nonnull DynamoDBBackendConfig config, boolean closeClient) {
+    this.client = config.client();
+    this.asyncClient = config.asyncClient().orElse(null);
     this.closeClient = closeClient;
+    this.retryScheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            r -> {
+              Thread t = new Thread(r, "nessie-dynamodb-batch-get-retry");
+              t.setDaemon(true);
+              return t;
+            });
+    this.retryExecutor =
+        newBoundedDaemonPool(
+            "nessie-dynamodb-batch-get", Math.max(config.maxConcurrentBatchReads(), 1));
+    this.batchGet =
+        asyncClient != null
+            ? new DynamoDBBatchGet(
+                asyncClient::batchGetItem,
+                retryScheduler,
+                retryExecutor,
+                config.maxConcurrentBatchReads(),
+                BATCH_GET_MAX_RETRIES,
+                BATCH_GET_RETRY_BASE_DELAY_MILLIS,
+                BATCH_GET_RETRY_MAX_DELAY_MILLIS)
+            // Without an async client, the synchronous client fetches the pages one after another
+            : new DynamoDBBatchGet(
+                request -> {
+                  CompletableFuture<BatchGetItemResponse> future = new CompletableFuture<>();
+                  try {
+                    future.complete(client.batchGetItem(request));
+                  } catch (RuntimeException e) {
+                    future.completeExceptionally(e);
+                  }
+                  return future;
+                },
+                retryScheduler,
+                retryExecutor,
+                1,
+                BATCH_GET_MAX_RETRIES,
+                BATCH_GET_RETRY_BASE_DELAY_MILLIS,
+                BATCH_GET_RETRY_MAX_DELAY_MILLIS);
   }
 
   @Nonnull
@@ -53,6 +110,26 @@ final class DynamoDBBackend implements Backend {
     return client;
   }
 
+  /**
+   * Fetches the items for the given keys using {@code BatchGetItem} requests, see {@link
+   * DynamoDBBatchGet}, and waits for the bulk read to finish. The item consumer may be invoked
+   * concurrently.
+   */
+  void batchGet(
+      String table,
+      List<Map<String, AttributeValue>> keys,
+      Consumer<Map<String, AttributeValue>> itemConsumer) {
+    try {
+      batchGet.fetch(table, keys, itemConsumer).join();
+    } catch (CompletionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw e;
+    }
+  }
+
   @Override
   @Nonnull
   @jakarta.annotation.Nonnull
@@ -62,8 +139,13 @@ final class DynamoDBBackend implements Backend {
 
   @Override
   public void close() {
+    retryScheduler.shutdownNow();
+    retryExecutor.shutdownNow();
     if (closeClient) {
       client.close();
+      if (asyncClient != null) {
+        asyncClient.close();
+      }
     }
   }
 
@@ -15,13 +15,30 @@
  */
 package org.projectnessie.versioned.storage.dynamodb;
 
+import java.util.Optional;
 import org.immutables.value.Value;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 
 @Value.Immutable
 public interface DynamoDBBackendConfig {
+  int DEFAULT_MAX_CONCURRENT_BATCH_READS = 8;
+
   DynamoDbClient client();
 
+  /**
+   * Optional asynchronous client. If present, the pages of bulk reads of objects and references
+   * are requested concurrently, otherwise one after another using the synchronous {@link
+   * #client()}.
+   */
+  Optional<DynamoDbAsyncClient> asyncClient();
+
+  /** Maximum number of concurrent {@code BatchGetItem} requests issued for a single bulk read. */
+  @Value.Default
+  default int maxConcurrentBatchReads() {
+    return DEFAULT_MAX_CONCURRENT_BATCH_READS;
+  }
+
   static ImmutableDynamoDBBackendConfig.Builder builder() {
     return ImmutableDynamoDBBackendConfig.builder();
   }
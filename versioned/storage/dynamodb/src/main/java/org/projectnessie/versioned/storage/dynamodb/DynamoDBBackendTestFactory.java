@@ -37,18 +37,27 @@ public class DynamoDBBackendTestFactory implements BackendTestFactory {
 
   @Override
   public DynamoDBBackend createNewBackend() {
-    return new DynamoDBBackend(buildNewClient(), true);
+    DynamoClientProducer clientProducer = clientProducer();
+    return new DynamoDBBackend(
+        DynamoDBBackendConfig.builder()
+            .client(clientProducer.createClient())
+            .asyncClient(clientProducer.createAsyncClient())
+            .build(),
+        true);
   }
 
   @VisibleForTesting
   DynamoDbClient buildNewClient() {
+    return clientProducer().createClient();
+  }
+
+  private DynamoClientProducer clientProducer() {
     return DynamoClientProducer.builder()
         .endpointURI(endpointURI)
         .region("US_WEST_2")
         .credentialsProvider(
             StaticCredentialsProvider.create(AwsBasicCredentials.create("xxx", "xxx")))
-        .build()
-        .createClient();
+        .build();
   }
 
   @SuppressWarnings("resource")
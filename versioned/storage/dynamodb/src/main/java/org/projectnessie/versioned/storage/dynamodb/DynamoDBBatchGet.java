@@ -0,0 +1,174 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.dynamodb;
+
+import static java.util.Collections.singletonMap;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.projectnessie.versioned.storage.dynamodb.DynamoDBConstants.BATCH_GET_LIMIT;
+
+import com.google.common.collect.Lists;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.KeysAndAttributes;
+import software.amazon.awssdk.services.dynamodb.model.ProvisionedThroughputExceededException;
+
+/**
+ * Issues the {@code BatchGetItem} requests for a bulk read of many keys.
+ *
+ * <p>The keys are split into pages of {@value DynamoDBConstants#BATCH_GET_LIMIT} keys, up to
+ * {@code maxConcurrency} pages are requested concurrently. Keys that DynamoDB returns as {@link
+ * BatchGetItemResponse#unprocessedKeys() unprocessed}, usually due to throttling, are requested
+ * again after an exponential backoff with full jitter. A bulk read fails with a {@link
+ * ProvisionedThroughputExceededException}, if keys are still unprocessed after {@code maxRetries}
+ * retries, so that no item is silently reported as "not found".
+ *
+ * <p>The {@code retryScheduler} only waits for the backoff delay, the retry itself and the
+ * following pages are then requested from a thread of the {@code retryExecutor}.
+ */
+final class DynamoDBBatchGet {
+
+  private final Function<BatchGetItemRequest, CompletableFuture<BatchGetItemResponse>> client;
+  private final ScheduledExecutorService retryScheduler;
+  private final Executor retryExecutor;
+  private final int maxConcurrency;
+  private final int maxRetries;
+  private final long baseDelayMillis;
+  private final long maxDelayMillis;
+
+  DynamoDBBatchGet(
+      Function<BatchGetItemRequest, CompletableFuture<BatchGetItemResponse>> client,
+      ScheduledExecutorService retryScheduler,
+      Executor retryExecutor,
+      int maxConcurrency,
+      int maxRetries,
+      long baseDelayMillis,
+      long maxDelayMillis) {
+    this.client = client;
+    this.retryScheduler = retryScheduler;
+    this.retryExecutor = retryExecutor;
+    this.maxConcurrency = Math.max(maxConcurrency, 1);
+    this.maxRetries = maxRetries;
+    this.baseDelayMillis = baseDelayMillis;
+    this.maxDelayMillis = maxDelayMillis;
+  }
+
+  /**
+   * Fetches the items for the given keys from the given table and passes each item to {@code
+   * itemConsumer}. The consumer may be invoked concurrently from multiple threads.
+   */
+  CompletableFuture<Void> fetch(
+      String table,
+      List<Map<String, AttributeValue>> keys,
+      Consumer<Map<String, AttributeValue>> itemConsumer) {
+    List<List<Map<String, AttributeValue>>> pages = Lists.partition(keys, BATCH_GET_LIMIT);
+    if (pages.isEmpty()) {
+      return completedFuture(null);
+    }
+
+    // Each "lane" requests the next not yet requested page, once its current page is done.
+    AtomicInteger nextPage = new AtomicInteger();
+    int lanes = Math.min(maxConcurrency, pages.size());
+    CompletableFuture<?>[] futures = new CompletableFuture[lanes];
+    for (int i = 0; i < lanes; i++) {
+      futures[i] = nextPage(table, pages, nextPage, itemConsumer);
+    }
+    return CompletableFuture.allOf(futures);
+  }
+
+  private CompletableFuture<Void> nextPage(
+      String table,
+      List<List<Map<String, AttributeValue>>> pages,
+      AtomicInteger nextPage,
+      Consumer<Map<String, AttributeValue>> itemConsumer) {
+    int page = nextPage.getAndIncrement();
+    if (page >= pages.size()) {
+      return completedFuture(null);
+    }
+    return fetchPage(table, pages.get(page), itemConsumer, 0)
+        .thenCompose(v -> nextPage(table, pages, nextPage, itemConsumer));
+  }
+
+  private CompletableFuture<Void> fetchPage(
+      String table,
+      List<Map<String, AttributeValue>> keys,
+      Consumer<Map<String, AttributeValue>> itemConsumer,
+      int retry) {
+    BatchGetItemRequest request =
+        BatchGetItemRequest.builder()
+            .requestItems(singletonMap(table, KeysAndAttributes.builder().keys(keys).build()))
+            .build();
+
+    return client
+        .apply(request)
+        .thenCompose(
+            response -> {
+              List<Map<String, AttributeValue>> items = response.responses().get(table);
+              if (items != null) {
+                items.forEach(itemConsumer);
+              }
+
+              KeysAndAttributes unprocessed = response.unprocessedKeys().get(table);
+              if (unprocessed == null || unprocessed.keys().isEmpty()) {
+                return completedFuture(null);
+              }
+              if (retry >= maxRetries) {
+                CompletableFuture<Void> failed = new CompletableFuture<>();
+                failed.completeExceptionally(
+                    ProvisionedThroughputExceededException.builder()
+                        .message(
+                            String.format(
+                                "%d keys of table '%s' still unprocessed after %d retries",
+                                unprocessed.keys().size(), table, retry))
+                        .build());
+                return failed;
+              }
+
+              return backoff(retry)
+                  .thenCompose(
+                      v -> fetchPage(table, unprocessed.keys(), itemConsumer, retry + 1));
+            });
+  }
+
+  private CompletableFuture<Void> backoff(int retry) {
+    long maxDelay = Math.min(maxDelayMillis, baseDelayMillis << Math.min(retry, 20));
+    long delay = ThreadLocalRandom.current().nextLong(maxDelay + 1);
+    CompletableFuture<Void> future = new CompletableFuture<>();
+    // Do not run the retry on the scheduler thread, it would block all other pending retries.
+    retryScheduler.schedule(
+        () -> {
+          try {
+            retryExecutor.execute(() -> future.complete(null));
+          } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+          }
+        },
+        delay,
+        TimeUnit.MILLISECONDS);
+    return future;
+  }
+}
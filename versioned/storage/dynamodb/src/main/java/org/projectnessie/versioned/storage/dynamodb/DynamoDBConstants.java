@@ -22,6 +22,11 @@ final class DynamoDBConstants {
   static final int BATCH_GET_LIMIT = 100;
   static final int BATCH_WRITE_MAX_REQUESTS = 25;
 
+  // Retries of the unprocessed keys returned by a BatchGetItem request
+  static final int BATCH_GET_MAX_RETRIES = 10;
+  static final long BATCH_GET_RETRY_BASE_DELAY_MILLIS = 25L;
+  static final long BATCH_GET_RETRY_MAX_DELAY_MILLIS = 2000L;
+
   static final String TABLE_REFS = "refs";
   static final String TABLE_OBJS = "objs";
 
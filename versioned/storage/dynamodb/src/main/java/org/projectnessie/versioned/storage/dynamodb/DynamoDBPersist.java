@@ -32,7 +32,6 @@ import static org.projectnessie.versioned.storage.common.objtypes.StringObj.stri
 import static org.projectnessie.versioned.storage.common.objtypes.TagObj.tag;
 import static org.projectnessie.versioned.storage.common.persist.ObjId.objIdFromString;
 import static org.projectnessie.versioned.storage.common.persist.Reference.reference;
-import static org.projectnessie.versioned.storage.dynamodb.DynamoDBConstants.BATCH_GET_LIMIT;
 import static org.projectnessie.versioned.storage.dynamodb.DynamoDBConstants.BATCH_WRITE_MAX_REQUESTS;
 import static org.projectnessie.versioned.storage.dynamodb.DynamoDBConstants.COL_COMMIT;
 import static org.projectnessie.versioned.storage.dynamodb.DynamoDBConstants.COL_COMMIT_CREATED;
@@ -133,13 +132,11 @@ import org.projectnessie.versioned.storage.common.persist.Reference;
 import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
 import software.amazon.awssdk.core.SdkBytes;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
-import software.amazon.awssdk.services.dynamodb.model.BatchGetItemResponse;
 import software.amazon.awssdk.services.dynamodb.model.ComparisonOperator;
 import software.amazon.awssdk.services.dynamodb.model.Condition;
 import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
 import software.amazon.awssdk.services.dynamodb.model.DynamoDbException;
 import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
-import software.amazon.awssdk.services.dynamodb.model.KeysAndAttributes;
 import software.amazon.awssdk.services.dynamodb.model.ScanResponse;
 import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
 
@@ -300,60 +297,46 @@ public class DynamoDBPersist implements Persist {
   @jakarta.annotation.Nonnull
   @Override
   public Reference[] fetchReferences(@Nonnull @jakarta.annotation.Nonnull String[] names) {
-    List<Map<String, AttributeValue>> keys =
-        new ArrayList<>(Math.min(names.length, BATCH_GET_LIMIT));
+    List<Map<String, AttributeValue>> keys = new ArrayList<>(names.length);
     Object2IntHashMap<String> nameToIndex =
-        new Object2IntHashMap<>(200, Hashing.DEFAULT_LOAD_FACTOR, -1);
+        new Object2IntHashMap<>(names.length * 2, Hashing.DEFAULT_LOAD_FACTOR, -1);
     Reference[] r = new Reference[names.length];
     for (int i = 0; i < names.length; i++) {
       String name = names[i];
-      if (name != null) {
-        keys.add(referenceKeyMap(name));
+      if (name != null && nameToIndex.getValue(name) == -1) {
         nameToIndex.put(name, i);
-
-        if (keys.size() == BATCH_GET_LIMIT) {
-          findReferencesPage(r, keys, nameToIndex);
-          keys.clear();
-          nameToIndex.clear();
-        }
+        keys.add(referenceKeyMap(name));
       }
     }
 
-    if (!keys.isEmpty()) {
-      findReferencesPage(r, keys, nameToIndex);
+    // All pages are requested at once, each item is written to its own array element.
+    backend.batchGet(
+        TABLE_REFS,
+        keys,
+        item -> {
+          String name = item.get(KEY_NAME).s().substring(keyPrefix.length());
+          Reference reference =
+              reference(
+                  name,
+                  attributeToObjId(item, COL_REFERENCES_POINTER),
+                  attributeToBool(item, COL_REFERENCES_DELETED));
+          int idx = nameToIndex.getValue(name);
+          if (idx >= 0) {
+            r[idx] = reference;
+          }
+        });
+
+    for (int i = 0; i < names.length; i++) {
+      String name = names[i];
+      if (name != null && r[i] == null) {
+        // duplicate name
+        r[i] = r[nameToIndex.getValue(name)];
+      }
     }
 
     return r;
   }
 
-  private void findReferencesPage(
-      Reference[] r,
-      List<Map<String, AttributeValue>> keys,
-      Object2IntHashMap<String> nameToIndex) {
-    Map<String, KeysAndAttributes> requestItems =
-        singletonMap(TABLE_REFS, KeysAndAttributes.builder().keys(keys).build());
-
-    BatchGetItemResponse response =
-        backend.client().batchGetItem(b -> b.requestItems(requestItems));
-
-    response
-        .responses()
-        .get(TABLE_REFS)
-        .forEach(
-            item -> {
-              String name = item.get(KEY_NAME).s().substring(keyPrefix.length());
-              Reference reference =
-                  reference(
-                      name,
-                      attributeToObjId(item, COL_REFERENCES_POINTER),
-                      attributeToBool(item, COL_REFERENCES_DELETED));
-              int idx = nameToIndex.getValue(name);
-              if (idx >= 0) {
-                r[idx] = reference;
-              }
-            });
-  }
-
   @Override
   @Nonnull
   @jakarta.annotation.Nonnull
@@ -410,31 +393,37 @@ public class DynamoDBPersist implements Persist {
   @Override
   public Obj[] fetchObjs(@Nonnull @jakarta.annotation.Nonnull ObjId[] ids)
       throws ObjNotFoundException {
-    List<Map<String, AttributeValue>> keys = new ArrayList<>(Math.min(ids.length, BATCH_GET_LIMIT));
+    List<Map<String, AttributeValue>> keys = new ArrayList<>(ids.length);
     Object2IntHashMap<ObjId> idToIndex =
-        new Object2IntHashMap<>(200, Hashing.DEFAULT_LOAD_FACTOR, -1);
+        new Object2IntHashMap<>(ids.length * 2, Hashing.DEFAULT_LOAD_FACTOR, -1);
     Obj[] r = new Obj[ids.length];
     for (int i = 0; i < ids.length; i++) {
       ObjId id = ids[i];
-      if (id != null) {
-        keys.add(objKeyMap(id));
+      if (id != null && idToIndex.getValue(id) == -1) {
         idToIndex.put(id, i);
-
-        if (keys.size() == BATCH_GET_LIMIT) {
-          fetchObjsPage(r, keys, idToIndex);
-          keys.clear();
-          idToIndex.clear();
-        }
+        keys.add(objKeyMap(id));
       }
     }
 
-    if (!keys.isEmpty()) {
-      fetchObjsPage(r, keys, idToIndex);
-    }
+    // All pages are requested at once, each item is written to its own array element.
+    backend.batchGet(
+        TABLE_OBJS,
+        keys,
+        item -> {
+          Obj obj = decomposeObj(item);
+          int idx = idToIndex.getValue(obj.id());
+          if (idx != -1) {
+            r[idx] = obj;
+          }
+        });
 
     List<ObjId> notFound = null;
     for (int i = 0; i < ids.length; i++) {
       ObjId id = ids[i];
+      if (id != null && r[i] == null) {
+        // duplicate ID
+        r[i] = r[idToIndex.getValue(id)];
+      }
       if (id != null && r[i] == null) {
         if (notFound == null) {
           notFound = new ArrayList<>();
@@ -449,28 +438,6 @@ public class DynamoDBPersist implements Persist {
     return r;
   }
 
-  private void fetchObjsPage(
-      Obj[] r, List<Map<String, AttributeValue>> keys, Object2IntHashMap<ObjId> idToIndex) {
-
-    Map<String, KeysAndAttributes> requestItems =
-        singletonMap(TABLE_OBJS, KeysAndAttributes.builder().keys(keys).build());
-
-    BatchGetItemResponse response =
-        backend.client().batchGetItem(b -> b.requestItems(requestItems));
-
-    response
-        .responses()
-        .get(TABLE_OBJS)
-        .forEach(
-            item -> {
-              Obj obj = decomposeObj(item);
-              int idx = idToIndex.getValue(obj.id());
-              if (idx != -1) {
-                r[idx] = obj;
-              }
-            });
-  }
-
   @Nonnull
   @jakarta.annotation.Nonnull
   @Override
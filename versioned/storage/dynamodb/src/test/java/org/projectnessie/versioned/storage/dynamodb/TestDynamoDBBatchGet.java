@@ -0,0 +1,202 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.dynamodb;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.projectnessie.versioned.storage.dynamodb.DynamoDBConstants.BATCH_GET_LIMIT;
+import static org.projectnessie.versioned.storage.dynamodb.DynamoDBConstants.KEY_NAME;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.KeysAndAttributes;
+import software.amazon.awssdk.services.dynamodb.model.ProvisionedThroughputExceededException;
+
+@ExtendWith(SoftAssertionsExtension.class)
+public class TestDynamoDBBatchGet {
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  private static final String TABLE = "objs";
+
+  private ScheduledExecutorService scheduler;
+  private ExecutorService executor;
+
+  @BeforeEach
+  void setup() {
+    scheduler = Executors.newSingleThreadScheduledExecutor();
+    executor = Executors.newFixedThreadPool(8);
+  }
+
+  @AfterEach
+  void tearDown() {
+    scheduler.shutdownNow();
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void unprocessedKeysAreRetried() {
+    // Every key is returned as unprocessed by the first request that contains it
+    Set<String> seen = ConcurrentHashMap.newKeySet();
+    Function<BatchGetItemRequest, CompletableFuture<BatchGetItemResponse>> client =
+        request -> {
+          List<Map<String, AttributeValue>> processed = new ArrayList<>();
+          List<Map<String, AttributeValue>> unprocessed = new ArrayList<>();
+          for (Map<String, AttributeValue> key : request.requestItems().get(TABLE).keys()) {
+            (seen.add(key.get(KEY_NAME).s()) ? unprocessed : processed).add(key);
+          }
+          return completedFuture(response(processed, unprocessed));
+        };
+
+    List<Map<String, AttributeValue>> keys = keys(250);
+    Set<String> fetched = ConcurrentHashMap.newKeySet();
+    new DynamoDBBatchGet(client, scheduler, executor, 4, 3, 1L, 5L)
+        .fetch(TABLE, keys, item -> fetched.add(item.get(KEY_NAME).s()))
+        .join();
+
+    soft.assertThat(fetched).containsExactlyInAnyOrderElementsOf(names(keys));
+  }
+
+  @Test
+  public void retriesDoNotRunOnSchedulerThread() throws Exception {
+    Thread schedulerThread = scheduler.submit(Thread::currentThread).get();
+
+    // A synchronous client, every key is returned as unprocessed by the first request
+    Set<String> seen = ConcurrentHashMap.newKeySet();
+    Set<Thread> requestThreads = ConcurrentHashMap.newKeySet();
+    Function<BatchGetItemRequest, CompletableFuture<BatchGetItemResponse>> client =
+        request -> {
+          requestThreads.add(Thread.currentThread());
+          List<Map<String, AttributeValue>> processed = new ArrayList<>();
+          List<Map<String, AttributeValue>> unprocessed = new ArrayList<>();
+          for (Map<String, AttributeValue> key : request.requestItems().get(TABLE).keys()) {
+            (seen.add(key.get(KEY_NAME).s()) ? unprocessed : processed).add(key);
+          }
+          return completedFuture(response(processed, unprocessed));
+        };
+
+    List<Map<String, AttributeValue>> keys = keys(3 * BATCH_GET_LIMIT);
+    Set<String> fetched = ConcurrentHashMap.newKeySet();
+    new DynamoDBBatchGet(client, scheduler, executor, 1, 3, 1L, 5L)
+        .fetch(TABLE, keys, item -> fetched.add(item.get(KEY_NAME).s()))
+        .join();
+
+    soft.assertThat(fetched).containsExactlyInAnyOrderElementsOf(names(keys));
+    soft.assertThat(requestThreads).isNotEmpty().doesNotContain(schedulerThread);
+  }
+
+  @Test
+  public void retriesExhausted() {
+    AtomicInteger requests = new AtomicInteger();
+    Function<BatchGetItemRequest, CompletableFuture<BatchGetItemResponse>> client =
+        request -> {
+          requests.incrementAndGet();
+          return completedFuture(
+              response(Collections.emptyList(), request.requestItems().get(TABLE).keys()));
+        };
+
+    soft.assertThatThrownBy(
+            () ->
+                new DynamoDBBatchGet(client, scheduler, executor, 4, 3, 1L, 5L)
+                    .fetch(TABLE, keys(10), item -> {})
+                    .join())
+        .isInstanceOf(CompletionException.class)
+        .hasCauseInstanceOf(ProvisionedThroughputExceededException.class);
+    soft.assertThat(requests).hasValue(4);
+  }
+
+  @Test
+  public void boundedConcurrency() {
+    int maxConcurrency = 3;
+    AtomicInteger inFlight = new AtomicInteger();
+    AtomicInteger maxInFlight = new AtomicInteger();
+    AtomicInteger requests = new AtomicInteger();
+    Function<BatchGetItemRequest, CompletableFuture<BatchGetItemResponse>> client =
+        request ->
+            CompletableFuture.supplyAsync(
+                () -> {
+                  requests.incrementAndGet();
+                  maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                  try {
+                    Thread.sleep(5L);
+                  } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                  } finally {
+                    inFlight.decrementAndGet();
+                  }
+                  return response(
+                      request.requestItems().get(TABLE).keys(), Collections.emptyList());
+                },
+                executor);
+
+    List<Map<String, AttributeValue>> keys = keys(20 * BATCH_GET_LIMIT + 1);
+    Set<String> fetched = ConcurrentHashMap.newKeySet();
+    new DynamoDBBatchGet(client, scheduler, executor, maxConcurrency, 3, 1L, 5L)
+        .fetch(TABLE, keys, item -> fetched.add(item.get(KEY_NAME).s()))
+        .join();
+
+    soft.assertThat(fetched).containsExactlyInAnyOrderElementsOf(names(keys));
+    soft.assertThat(requests).hasValue(21);
+    soft.assertThat(maxInFlight.get()).isBetween(1, maxConcurrency);
+  }
+
+  private static BatchGetItemResponse response(
+      List<Map<String, AttributeValue>> items, List<Map<String, AttributeValue>> unprocessed) {
+    Map<String, KeysAndAttributes> unprocessedKeys = new HashMap<>();
+    if (!unprocessed.isEmpty()) {
+      unprocessedKeys.put(TABLE, KeysAndAttributes.builder().keys(unprocessed).build());
+    }
+    return BatchGetItemResponse.builder()
+        .responses(Collections.singletonMap(TABLE, items))
+        .unprocessedKeys(unprocessedKeys)
+        .build();
+  }
+
+  private static List<Map<String, AttributeValue>> keys(int num) {
+    return IntStream.range(0, num)
+        .mapToObj(
+            i ->
+                Collections.singletonMap(
+                    KEY_NAME, AttributeValue.builder().s("repo:key-" + i).build()))
+        .collect(Collectors.toList());
+  }
+
+  private static List<String> names(List<Map<String, AttributeValue>> keys) {
+    return keys.stream().map(k -> k.get(KEY_NAME).s()).collect(Collectors.toList());
+  }
+}
@@ -17,7 +17,9 @@ package org.projectnessie.versioned.storage.jdbc;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
+import static java.util.Arrays.asList;
 import static java.util.Arrays.stream;
+import static java.util.Collections.emptySet;
 import static java.util.Objects.requireNonNull;
 import static org.projectnessie.nessie.relocated.protobuf.UnsafeByteOperations.unsafeWrap;
 import static org.projectnessie.versioned.storage.common.indexes.StoreKey.keyFromString;
@@ -61,17 +63,31 @@ import static org.projectnessie.versioned.storage.jdbc.SqlConstants.COL_VALUE_CO
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.COL_VALUE_DATA;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.COL_VALUE_PAYLOAD;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.DELETE_OBJ;
+import static org.projectnessie.versioned.storage.jdbc.SqlConstants.DELETE_PAYLOAD_OBJ;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.ERASE_OBJS;
+import static org.projectnessie.versioned.storage.jdbc.SqlConstants.ERASE_PAYLOAD_OBJS;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.ERASE_REFS;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.FETCH_OBJ_TYPE;
+import static org.projectnessie.versioned.storage.jdbc.SqlConstants.FETCH_PAYLOAD_OBJ_TYPE;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.FIND_OBJS;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.FIND_OBJS_TYPED;
+import static org.projectnessie.versioned.storage.jdbc.SqlConstants.FIND_OBJ_IDS;
+import static org.projectnessie.versioned.storage.jdbc.SqlConstants.FIND_PAYLOAD_OBJS;
+import static org.projectnessie.versioned.storage.jdbc.SqlConstants.FIND_PAYLOAD_OBJS_TYPED;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.FIND_REFERENCES;
+import static org.projectnessie.versioned.storage.jdbc.SqlConstants.IN_LIST_BUCKETS;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.MARK_REFERENCE_AS_DELETED;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.MAX_BATCH_SIZE;
+import static org.projectnessie.versioned.storage.jdbc.SqlConstants.MAX_IN_LIST_SIZE;
+import static org.projectnessie.versioned.storage.jdbc.SqlConstants.MIGRATE_OBJS_PAGE;
+import static org.projectnessie.versioned.storage.jdbc.SqlConstants.OBJ_KEY_COLUMNS;
+import static org.projectnessie.versioned.storage.jdbc.SqlConstants.OBJ_UPDATE_COLUMNS;
+import static org.projectnessie.versioned.storage.jdbc.SqlConstants.PAYLOAD_OBJ_UPDATE_COLUMNS;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.PURGE_REFERENCE;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.SCAN_OBJS;
+import static org.projectnessie.versioned.storage.jdbc.SqlConstants.SCAN_PAYLOAD_OBJS;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.STORE_OBJ;
+import static org.projectnessie.versioned.storage.jdbc.SqlConstants.STORE_PAYLOAD_OBJ;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.UPDATE_REFERENCE_POINTER;
 
 import com.google.common.annotations.VisibleForTesting;
@@ -84,6 +100,7 @@ import java.sql.SQLException;
 import java.sql.Types;
 import java.util.ArrayList;
 import java.util.EnumMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -123,16 +140,20 @@ import org.projectnessie.versioned.storage.common.proto.StorageTypes.HeaderEntry
 import org.projectnessie.versioned.storage.common.proto.StorageTypes.Headers;
 import org.projectnessie.versioned.storage.common.proto.StorageTypes.Stripe;
 import org.projectnessie.versioned.storage.common.proto.StorageTypes.Stripes;
+import org.projectnessie.versioned.storage.serialize.ProtoSerialization;
 
 @SuppressWarnings({"SqlDialectInspection", "SqlNoDataSourceInspection"})
 abstract class AbstractJdbcPersist implements Persist {
 
   private final StoreConfig config;
   private final DatabaseSpecific databaseSpecific;
+  private final JdbcObjectsLayout objectsLayout;
 
-  AbstractJdbcPersist(DatabaseSpecific databaseSpecific, StoreConfig config) {
+  AbstractJdbcPersist(
+      DatabaseSpecific databaseSpecific, JdbcObjectsLayout objectsLayout, StoreConfig config) {
     this.config = config;
     this.databaseSpecific = databaseSpecific;
+    this.objectsLayout = objectsLayout;
   }
 
   @Nonnull
@@ -176,23 +197,29 @@ abstract class AbstractJdbcPersist implements Persist {
       return r;
     }
 
-    try (PreparedStatement ps =
-        conn.prepareStatement(sqlSelectMultiple(FIND_REFERENCES, keys.size()))) {
-      int idx = 1;
-      ps.setString(idx++, config.repositoryId());
-      for (String key : keys) {
-        ps.setString(idx++, key);
-      }
-      try (ResultSet rs = ps.executeQuery()) {
-        while (rs.next()) {
-          Reference ref = deserializeReference(rs);
-          int i = nameToIndex.getValue(ref.name());
-          if (i != -1) {
-            r[i] = ref;
+    try {
+      for (int offset = 0; offset < keys.size(); offset += MAX_IN_LIST_SIZE) {
+        List<String> chunk = keys.subList(offset, Math.min(offset + MAX_IN_LIST_SIZE, keys.size()));
+        int bucket = inListBucketSize(chunk.size());
+        try (PreparedStatement ps =
+            conn.prepareStatement(sqlSelectMultiple(FIND_REFERENCES, bucket))) {
+          int idx = 1;
+          ps.setString(idx++, config.repositoryId());
+          for (int i = 0; i < bucket; i++) {
+            ps.setString(idx++, inListElement(chunk, i));
+          }
+          try (ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+              Reference ref = deserializeReference(rs);
+              int i = nameToIndex.getValue(ref.name());
+              if (i != -1) {
+                r[i] = ref;
+              }
+            }
           }
         }
-        return r;
       }
+      return r;
     } catch (SQLException e) {
       throw unhandledSQLException(e);
     }
@@ -324,7 +351,25 @@ abstract class AbstractJdbcPersist implements Persist {
       @Nonnull @jakarta.annotation.Nonnull Connection conn,
       @Nonnull @jakarta.annotation.Nonnull ObjId id)
       throws ObjNotFoundException {
-    try (PreparedStatement ps = conn.prepareStatement(sqlSelectMultiple(FETCH_OBJ_TYPE, 1))) {
+    try {
+      ObjType objType = null;
+      if (objectsLayout.payloadTable()) {
+        objType = fetchObjType(conn, FETCH_PAYLOAD_OBJ_TYPE, id);
+      }
+      if (objType == null && objectsLayout.columnsTable()) {
+        objType = fetchObjType(conn, FETCH_OBJ_TYPE, id);
+      }
+      if (objType == null) {
+        throw new ObjNotFoundException(id);
+      }
+      return objType;
+    } catch (SQLException e) {
+      throw unhandledSQLException(e);
+    }
+  }
+
+  private ObjType fetchObjType(Connection conn, String sql, ObjId id) throws SQLException {
+    try (PreparedStatement ps = conn.prepareStatement(sql)) {
       ps.setString(1, config.repositoryId());
       serializeObjId(ps, 2, id);
       try (ResultSet rs = ps.executeQuery()) {
@@ -333,9 +378,7 @@ abstract class AbstractJdbcPersist implements Persist {
           return ObjType.valueOf(objType);
         }
       }
-      throw new ObjNotFoundException(id);
-    } catch (SQLException e) {
-      throw unhandledSQLException(e);
+      return null;
     }
   }
 
@@ -371,49 +414,89 @@ abstract class AbstractJdbcPersist implements Persist {
       return r;
     }
 
-    String sql = type == null ? FIND_OBJS : FIND_OBJS_TYPED;
-    sql = sqlSelectMultiple(sql, keys.size());
-
-    try (PreparedStatement ps = conn.prepareStatement(sql)) {
-      int idx = 1;
-      ps.setString(idx++, config.repositoryId());
-      for (ObjId key : keys) {
-        serializeObjId(ps, idx++, key);
+    try {
+      if (objectsLayout.payloadTable()) {
+        findObjs(conn, keys, type, true, idToIndex, r);
       }
-      if (type != null) {
-        ps.setString(idx, type.name());
+      if (objectsLayout.columnsTable()) {
+        if (objectsLayout.payloadTable()) {
+          // Objects that have not been migrated yet are still in the columns table.
+          keys.clear();
+          for (int i = 0; i < ids.length; i++) {
+            if (r[i] == null && ids[i] != null) {
+              keys.add(ids[i]);
+            }
+          }
+        }
+        if (!keys.isEmpty()) {
+          findObjs(conn, keys, type, false, idToIndex, r);
+        }
       }
+    } catch (SQLException e) {
+      throw unhandledSQLException(e);
+    }
 
-      try (ResultSet rs = ps.executeQuery()) {
-        while (rs.next()) {
-          Obj obj = deserializeObj(rs);
-          int i = idToIndex.getValue(obj.id());
-          if (i != -1) {
-            r[i] = obj;
-          }
+    List<ObjId> notFound = null;
+    for (int i = 0; i < ids.length; i++) {
+      ObjId id = ids[i];
+      if (r[i] == null && id != null) {
+        if (notFound == null) {
+          notFound = new ArrayList<>();
         }
+        notFound.add(id);
+      }
+    }
+    if (notFound != null) {
+      throw new ObjNotFoundException(notFound);
+    }
 
-        List<ObjId> notFound = null;
-        for (int i = 0; i < ids.length; i++) {
-          ObjId id = ids[i];
-          if (r[i] == null && id != null) {
-            if (notFound == null) {
-              notFound = new ArrayList<>();
-            }
-            notFound.add(id);
-          }
+    return r;
+  }
+
+  private void findObjs(
+      Connection conn,
+      List<ObjId> keys,
+      ObjType type,
+      boolean payloadTable,
+      Object2IntHashMap<ObjId> idToIndex,
+      Obj[] r)
+      throws SQLException {
+    String sql =
+        payloadTable
+            ? (type == null ? FIND_PAYLOAD_OBJS : FIND_PAYLOAD_OBJS_TYPED)
+            : (type == null ? FIND_OBJS : FIND_OBJS_TYPED);
+
+    for (int offset = 0; offset < keys.size(); offset += MAX_IN_LIST_SIZE) {
+      List<ObjId> chunk = keys.subList(offset, Math.min(offset + MAX_IN_LIST_SIZE, keys.size()));
+      int bucket = inListBucketSize(chunk.size());
+      try (PreparedStatement ps = conn.prepareStatement(sqlSelectMultiple(sql, bucket))) {
+        int idx = 1;
+        ps.setString(idx++, config.repositoryId());
+        for (int i = 0; i < bucket; i++) {
+          serializeObjId(ps, idx++, inListElement(chunk, i));
         }
-        if (notFound != null) {
-          throw new ObjNotFoundException(notFound);
+        if (type != null) {
+          ps.setString(idx, type.name());
         }
 
-        return r;
+        try (ResultSet rs = ps.executeQuery()) {
+          while (rs.next()) {
+            Obj obj = payloadTable ? deserializePayloadObj(rs) : deserializeObj(rs);
+            int i = idToIndex.getValue(obj.id());
+            if (i != -1) {
+              r[i] = obj;
+            }
+          }
+        }
       }
-    } catch (SQLException e) {
-      throw unhandledSQLException(e);
     }
   }
 
+  private static Obj deserializePayloadObj(ResultSet rs) throws SQLException {
+    ObjId id = deserializeObjId(rs, 1);
+    return ProtoSerialization.deserializeObj(id, rs.getBytes(3));
+  }
+
   private Obj deserializeObj(ResultSet rs) throws SQLException {
     ObjId id = deserializeObjId(rs, 1);
     String objType = rs.getString(2);
@@ -467,14 +550,24 @@ abstract class AbstractJdbcPersist implements Persist {
       boolean ignoreSoftSizeRestrictions,
       boolean insert)
       throws ObjTooLargeException {
-    if (!insert) {
-      // Sadly an INSERT INTO ... ON CONFLICT DO UPDATE SET ... does not work with parameters in the
-      // UPDATE SET clause. Since the JDBC connection is configured with auto-commit=false, we can
-      // just DELETE the updates to be upserted and INSERT them again.
-      deleteObjs(conn, stream(objs).map(Obj::id).toArray(ObjId[]::new));
+    if (objectsLayout.payloadTable()) {
+      return upsertPayloadObjs(conn, objs, ignoreSoftSizeRestrictions, insert);
+    }
+
+    String sql;
+    if (insert) {
+      sql = databaseSpecific.wrapInsert(STORE_OBJ);
+    } else {
+      sql = databaseSpecific.wrapUpsert(STORE_OBJ, OBJ_KEY_COLUMNS, OBJ_UPDATE_COLUMNS);
+      if (sql == null) {
+        // The database does not support upserts. Since the JDBC connection is configured with
+        // auto-commit=false, we can just DELETE the updates to be upserted and INSERT them again.
+        deleteObjs(conn, stream(objs).map(Obj::id).toArray(ObjId[]::new));
+        sql = databaseSpecific.wrapInsert(STORE_OBJ);
+      }
     }
 
-    try (PreparedStatement ps = conn.prepareStatement(databaseSpecific.wrapInsert(STORE_OBJ))) {
+    try (PreparedStatement ps = conn.prepareStatement(sql)) {
       boolean[] r = new boolean[objs.length];
 
       Int2IntHashMap batchIndexToObjIndex =
@@ -540,27 +633,142 @@ abstract class AbstractJdbcPersist implements Persist {
 
       return r;
     } catch (SQLException e) {
-      if (databaseSpecific.isConstraintViolation(e)) {
-        throw new UnsupportedOperationException(
-            "The database should support a functionality like PostgreSQL's "
-                + "'ON CONFLICT DO NOTHING' for INSERT statements. For H2, enable the "
-                + "PostgreSQL Compatibility Mode.");
+      throw storeObjsException(e);
+    }
+  }
+
+  /**
+   * Stores objects in the {@link SqlConstants#TABLE_PAYLOAD_OBJS compact objects table}, which
+   * holds the protobuf serialized form of each object in a single column.
+   */
+  private boolean[] upsertPayloadObjs(
+      Connection conn, Obj[] objs, boolean ignoreSoftSizeRestrictions, boolean insert)
+      throws ObjTooLargeException {
+    boolean[] r = new boolean[objs.length];
+    List<ObjId> ids = new ArrayList<>(objs.length);
+    for (Obj obj : objs) {
+      if (obj != null) {
+        checkArgument(obj.id() != null, "Obj to store must have a non-null ID");
+        ids.add(obj.id());
+      }
+    }
+    if (ids.isEmpty()) {
+      return r;
+    }
+
+    int incrementalIndexSizeLimit =
+        ignoreSoftSizeRestrictions ? Integer.MAX_VALUE : effectiveIncrementalIndexSizeLimit();
+    int indexSizeLimit =
+        ignoreSoftSizeRestrictions ? Integer.MAX_VALUE : effectiveIndexSegmentSizeLimit();
+
+    try {
+      Set<ObjId> existingInColumnsTable = emptySet();
+      String sql;
+      if (insert) {
+        if (objectsLayout.columnsTable()) {
+          // Objects that have not been migrated yet must not be stored again.
+          existingInColumnsTable = findObjIds(conn, FIND_OBJ_IDS, ids);
+        }
+        sql = databaseSpecific.wrapInsert(STORE_PAYLOAD_OBJ);
+      } else {
+        if (objectsLayout.columnsTable()) {
+          // Remove the stale, not migrated representation of the updated objects.
+          deleteObjs(conn, DELETE_OBJ, ids);
+        }
+        sql =
+            databaseSpecific.wrapUpsert(
+                STORE_PAYLOAD_OBJ, OBJ_KEY_COLUMNS, PAYLOAD_OBJ_UPDATE_COLUMNS);
+        if (sql == null) {
+          deleteObjs(conn, DELETE_PAYLOAD_OBJ, ids);
+          sql = databaseSpecific.wrapInsert(STORE_PAYLOAD_OBJ);
+        }
+      }
+
+      try (PreparedStatement ps = conn.prepareStatement(sql)) {
+        Int2IntHashMap batchIndexToObjIndex =
+            new Int2IntHashMap(objs.length * 2, Hashing.DEFAULT_LOAD_FACTOR, -1);
+
+        Consumer<int[]> batchResultHandler =
+            updated -> {
+              for (int i = 0; i < updated.length; i++) {
+                if (updated[i] == 1) {
+                  r[batchIndexToObjIndex.get(i)] = true;
+                }
+              }
+            };
+
+        int batchIndex = 0;
+        for (int i = 0; i < objs.length; i++) {
+          Obj obj = objs[i];
+          if (obj == null || existingInColumnsTable.contains(obj.id())) {
+            continue;
+          }
+
+          byte[] payload =
+              ProtoSerialization.serializeObj(obj, incrementalIndexSizeLimit, indexSizeLimit);
+
+          ps.setString(1, config.repositoryId());
+          serializeObjId(ps, 2, obj.id());
+          ps.setString(3, obj.type().name());
+          ps.setBytes(4, payload);
+
+          batchIndexToObjIndex.put(batchIndex++, i);
+          ps.addBatch();
+
+          if (batchIndex == MAX_BATCH_SIZE) {
+            batchIndex = 0;
+            batchResultHandler.accept(ps.executeBatch());
+          }
+        }
+
+        if (batchIndex > 0) {
+          batchResultHandler.accept(ps.executeBatch());
+        }
+      }
+
+      return r;
+    } catch (SQLException e) {
+      throw storeObjsException(e);
+    }
+  }
+
+  private RuntimeException storeObjsException(SQLException e) {
+    if (databaseSpecific.isConstraintViolation(e)) {
+      return new UnsupportedOperationException(
+          "The database should support a functionality like PostgreSQL's "
+              + "'ON CONFLICT DO NOTHING' for INSERT statements. For H2, enable the "
+              + "PostgreSQL Compatibility Mode.");
+    }
+    return unhandledSQLException(e);
+  }
+
+  private Set<ObjId> findObjIds(Connection conn, String sql, List<ObjId> ids)
+      throws SQLException {
+    Set<ObjId> found = new HashSet<>();
+    for (int offset = 0; offset < ids.size(); offset += MAX_IN_LIST_SIZE) {
+      List<ObjId> chunk = ids.subList(offset, Math.min(offset + MAX_IN_LIST_SIZE, ids.size()));
+      int bucket = inListBucketSize(chunk.size());
+      try (PreparedStatement ps = conn.prepareStatement(sqlSelectMultiple(sql, bucket))) {
+        int idx = 1;
+        ps.setString(idx++, config.repositoryId());
+        for (int i = 0; i < bucket; i++) {
+          serializeObjId(ps, idx++, inListElement(chunk, i));
+        }
+
+        try (ResultSet rs = ps.executeQuery()) {
+          while (rs.next()) {
+            found.add(deserializeObjId(rs, 1));
+          }
+        }
       }
-      throw unhandledSQLException(e);
     }
+    return found;
   }
 
   protected final void deleteObj(
       @Nonnull @jakarta.annotation.Nonnull Connection conn,
       @Nonnull @jakarta.annotation.Nonnull ObjId id) {
-    try (PreparedStatement ps = conn.prepareStatement(DELETE_OBJ)) {
-      ps.setString(1, config.repositoryId());
-      serializeObjId(ps, 2, id);
-
-      ps.executeUpdate();
-    } catch (SQLException e) {
-      throw unhandledSQLException(e);
-    }
+    deleteObjs(conn, new ObjId[] {id});
   }
 
   protected final void deleteObjs(
@@ -570,10 +778,27 @@ abstract class AbstractJdbcPersist implements Persist {
       return;
     }
 
-    try (PreparedStatement ps = conn.prepareStatement(DELETE_OBJ)) {
+    List<ObjId> idList = asList(ids);
+    try {
+      if (objectsLayout.payloadTable()) {
+        deleteObjs(conn, DELETE_PAYLOAD_OBJ, idList);
+      }
+      if (objectsLayout.columnsTable()) {
+        deleteObjs(conn, DELETE_OBJ, idList);
+      }
+    } catch (SQLException e) {
+      throw unhandledSQLException(e);
+    }
+  }
+
+  private void deleteObjs(Connection conn, String sql, List<ObjId> ids) throws SQLException {
+    try (PreparedStatement ps = conn.prepareStatement(sql)) {
       int batchSize = 0;
 
       for (ObjId id : ids) {
+        if (id == null) {
+          continue;
+        }
         ps.setString(1, config.repositoryId());
         serializeObjId(ps, 2, id);
         ps.addBatch();
@@ -587,13 +812,6 @@ abstract class AbstractJdbcPersist implements Persist {
       if (batchSize > 0) {
         ps.executeBatch();
       }
-
-    } catch (SQLException e) {
-      throw unhandledSQLException(e);
-    }
-
-    for (ObjId id : ids) {
-      deleteObj(conn, id);
     }
   }
 
@@ -604,7 +822,16 @@ abstract class AbstractJdbcPersist implements Persist {
     } catch (SQLException e) {
       throw unhandledSQLException(e);
     }
-    try (PreparedStatement ps = conn.prepareStatement(ERASE_OBJS)) {
+    if (objectsLayout.columnsTable()) {
+      eraseObjs(conn, ERASE_OBJS);
+    }
+    if (objectsLayout.payloadTable()) {
+      eraseObjs(conn, ERASE_PAYLOAD_OBJS);
+    }
+  }
+
+  private void eraseObjs(Connection conn, String sql) {
+    try (PreparedStatement ps = conn.prepareStatement(sql)) {
       ps.setString(1, config.repositoryId());
       ps.executeUpdate();
     } catch (SQLException e) {
@@ -613,7 +840,83 @@ abstract class AbstractJdbcPersist implements Persist {
   }
 
   protected CloseableIterator<Obj> scanAllObjects(Connection conn, Set<ObjType> returnedObjTypes) {
-    return new ScanAllObjectsIterator(conn, returnedObjTypes);
+    if (objectsLayout.payloadTable() && objectsLayout.columnsTable()) {
+      return new MigratingScanIterator(conn, returnedObjTypes);
+    }
+    return new ScanAllObjectsIterator(conn, returnedObjTypes, objectsLayout.payloadTable(), true);
+  }
+
+  /**
+   * Moves the objects of this repository that are still held in the {@code objs} table to the
+   * compact {@code objs_payload} table, committing after every batch, and returns the number of
+   * moved objects.
+   *
+   * <p>The {@code objs} table is read in pages ordered by object ID, each page starting after the
+   * last object ID of the previous page. Each batch first deletes the rows from the {@code objs}
+   * table and only skips the objects whose rows were definitely not deleted, so objects that were
+   * concurrently updated or deleted are neither resurrected nor overwritten. Existing rows in
+   * {@code objs_payload} take precedence.
+   */
+  protected final long migrateObjs(@Nonnull @jakarta.annotation.Nonnull Connection conn)
+      throws SQLException {
+    checkState(
+        objectsLayout.payloadTable() && objectsLayout.columnsTable(),
+        "Objects can only be migrated with the %s objects layout",
+        JdbcObjectsLayout.PAYLOAD_MIGRATING);
+
+    String insertSql = databaseSpecific.wrapInsert(STORE_PAYLOAD_OBJ);
+    long migrated = 0L;
+    String lastObjId = "";
+    while (true) {
+      List<Obj> batch = new ArrayList<>(MAX_BATCH_SIZE);
+      try (PreparedStatement ps = conn.prepareStatement(MIGRATE_OBJS_PAGE)) {
+        ps.setString(1, config.repositoryId());
+        ps.setString(2, lastObjId);
+        try (ResultSet rs = ps.executeQuery()) {
+          while (rs.next()) {
+            batch.add(deserializeObj(rs));
+          }
+        }
+      }
+      if (batch.isEmpty()) {
+        return migrated;
+      }
+      lastObjId = batch.get(batch.size() - 1).id().toString();
+
+      int[] deleted;
+      try (PreparedStatement ps = conn.prepareStatement(DELETE_OBJ)) {
+        for (Obj obj : batch) {
+          ps.setString(1, config.repositoryId());
+          serializeObjId(ps, 2, obj.id());
+          ps.addBatch();
+        }
+        deleted = ps.executeBatch();
+      }
+
+      try (PreparedStatement ps = conn.prepareStatement(insertSql)) {
+        for (int i = 0; i < deleted.length; i++) {
+          // Drivers may report Statement.SUCCESS_NO_INFO for a deleted row, only 0 means that the
+          // row has been removed concurrently.
+          if (deleted[i] == 0) {
+            continue;
+          }
+          Obj obj = batch.get(i);
+          ps.setString(1, config.repositoryId());
+          serializeObjId(ps, 2, obj.id());
+          ps.setString(3, obj.type().name());
+          ps.setBytes(
+              4, ProtoSerialization.serializeObj(obj, Integer.MAX_VALUE, Integer.MAX_VALUE));
+          ps.addBatch();
+          migrated++;
+        }
+        ps.executeBatch();
+      } catch (ObjTooLargeException e) {
+        // Cannot happen without size limits
+        throw new RuntimeException(e);
+      }
+
+      conn.commit();
+    }
   }
 
   private abstract static class StoreObjDesc<O extends Obj> {
@@ -1068,6 +1371,31 @@ abstract class AbstractJdbcPersist implements Persist {
     }
   }
 
+  /**
+   * Returns the number of placeholders to use in an {@code IN} list for the given number of keys,
+   * the smallest of the {@link SqlConstants#IN_LIST_BUCKETS} that can hold all keys.
+   */
+  @VisibleForTesting
+  static int inListBucketSize(int count) {
+    checkArgument(
+        count > 0 && count <= MAX_IN_LIST_SIZE, "Illegal number of IN list elements: %s", count);
+    for (int bucket : IN_LIST_BUCKETS) {
+      if (count <= bucket) {
+        return bucket;
+      }
+    }
+    return MAX_IN_LIST_SIZE;
+  }
+
+  /**
+   * Returns the value for the {@code i}-th placeholder of an {@code IN} list, repeating the last
+   * key for the padding placeholders, which does not change the result of the query.
+   */
+  @VisibleForTesting
+  static <T> T inListElement(List<T> keys, int i) {
+    return keys.get(Math.min(i, keys.size() - 1));
+  }
+
   @VisibleForTesting
   static String sqlSelectMultiple(String sql, int count) {
     if (count == 1) {
@@ -1094,10 +1422,18 @@ abstract class AbstractJdbcPersist implements Persist {
   }
 
   private class ScanAllObjectsIterator extends ResultSetIterator<Obj> {
-    ScanAllObjectsIterator(Connection conn, Set<ObjType> returnedObjTypes) {
+    private final boolean payloadTable;
+
+    ScanAllObjectsIterator(
+        Connection conn,
+        Set<ObjType> returnedObjTypes,
+        boolean payloadTable,
+        boolean closeConnection) {
       super(
           conn,
-          sqlSelectMultiple(SCAN_OBJS, returnedObjTypes.size()),
+          closeConnection,
+          sqlSelectMultiple(
+              payloadTable ? SCAN_PAYLOAD_OBJS : SCAN_OBJS, returnedObjTypes.size()),
           ps -> {
             int idx = 1;
             ps.setString(idx++, config.repositoryId());
@@ -1105,11 +1441,65 @@ abstract class AbstractJdbcPersist implements Persist {
               ps.setString(idx++, returnedObjType.name());
             }
           });
+      this.payloadTable = payloadTable;
     }
 
     @Override
     protected Obj mapToObj(ResultSet rs) throws SQLException {
-      return deserializeObj(rs);
+      return payloadTable ? deserializePayloadObj(rs) : deserializeObj(rs);
+    }
+  }
+
+  /**
+   * Scans the compact objects table first and then the columns table, using the same connection,
+   * while the objects are being migrated.
+   */
+  private class MigratingScanIterator extends AbstractIterator<Obj>
+      implements CloseableIterator<Obj> {
+    private final Connection conn;
+    private final Set<ObjType> returnedObjTypes;
+    private ScanAllObjectsIterator current;
+    private boolean columnsTable;
+
+    MigratingScanIterator(Connection conn, Set<ObjType> returnedObjTypes) {
+      this.conn = conn;
+      this.returnedObjTypes = returnedObjTypes;
+      try {
+        this.current = new ScanAllObjectsIterator(conn, returnedObjTypes, true, false);
+      } catch (RuntimeException e) {
+        try {
+          conn.close();
+        } catch (Exception ex) {
+          e.addSuppressed(ex);
+        }
+        throw e;
+      }
+    }
+
+    @Nullable
+    @jakarta.annotation.Nullable
+    @Override
+    protected Obj computeNext() {
+      while (true) {
+        if (current.hasNext()) {
+          return current.next();
+        }
+        if (columnsTable) {
+          return endOfData();
+        }
+        current.close();
+        columnsTable = true;
+        current = new ScanAllObjectsIterator(conn, returnedObjTypes, false, false);
+      }
+    }
+
+    @Override
+    public void close() {
+      try {
+        closeMultiple(current, conn);
+      } catch (Exception e) {
+        throw new RuntimeException(e);
+      }
     }
   }
 
@@ -1117,11 +1507,17 @@ abstract class AbstractJdbcPersist implements Persist {
       implements CloseableIterator<R> {
 
     private final Connection conn;
+    private final boolean closeConnection;
     private final PreparedStatement ps;
     private final ResultSet rs;
 
-    ResultSetIterator(Connection conn, String sql, ThrowingConsumer<PreparedStatement> preparer) {
+    ResultSetIterator(
+        Connection conn,
+        boolean closeConnection,
+        String sql,
+        ThrowingConsumer<PreparedStatement> preparer) {
       this.conn = conn;
+      this.closeConnection = closeConnection;
 
       try {
         ps = conn.prepareStatement(sql);
@@ -1142,7 +1538,9 @@ abstract class AbstractJdbcPersist implements Persist {
       List<AutoCloseable> c = new ArrayList<>();
       c.add(rs);
       c.add(ps);
-      c.add(conn);
+      if (closeConnection) {
+        c.add(conn);
+      }
       try {
         closeMultiple(c);
       } catch (Exception e) {
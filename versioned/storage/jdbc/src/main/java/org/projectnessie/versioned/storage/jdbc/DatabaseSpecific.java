@@ -16,6 +16,7 @@
 package org.projectnessie.versioned.storage.jdbc;
 
 import java.sql.SQLException;
+import java.util.List;
 import java.util.Map;
 
 public interface DatabaseSpecific {
@@ -44,4 +45,16 @@ public interface DatabaseSpecific {
   boolean isRetryTransaction(SQLException e);
 
   String wrapInsert(String sql);
+
+  /**
+   * Turns the given {@code INSERT INTO table (columns) VALUES (...)} statement into a statement
+   * that inserts a new row or updates the {@code updateColumns} of an existing row with the same
+   * values for the {@code keyColumns}.
+   *
+   * @return the "upsert" statement or {@code null}, if the database does not support upserts, in
+   *     which case existing rows have to be deleted before inserting those again
+   */
+  default String wrapUpsert(String sql, List<String> keyColumns, List<String> updateColumns) {
+    return null;
+  }
 }
@@ -20,6 +20,7 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Types;
 import java.util.EnumMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import javax.annotation.Nonnull;
@@ -49,8 +50,7 @@ public final class DatabaseSpecifics {
   public static final DatabaseSpecific COCKROACH_DATABASE_SPECIFIC =
       new BasePostgresDatabaseSpecific("VARCHAR");
 
-  public static final DatabaseSpecific H2_DATABASE_SPECIFIC =
-      new BasePostgresDatabaseSpecific("VARCHAR");
+  public static final DatabaseSpecific H2_DATABASE_SPECIFIC = new H2DatabaseSpecific();
 
   public static DatabaseSpecific detect(DataSource dataSource) {
     try (Connection conn = dataSource.getConnection()) {
@@ -141,5 +141,49 @@ public final class DatabaseSpecifics {
     public String wrapInsert(String sql) {
       return sql + " ON CONFLICT DO NOTHING";
     }
+
+    @Override
+    public String wrapUpsert(String sql, List<String> keyColumns, List<String> updateColumns) {
+      StringBuilder upsert =
+          new StringBuilder(sql)
+              .append(" ON CONFLICT (")
+              .append(String.join(", ", keyColumns))
+              .append(") DO UPDATE SET ");
+      for (int i = 0; i < updateColumns.size(); i++) {
+        String col = updateColumns.get(i);
+        if (i > 0) {
+          upsert.append(", ");
+        }
+        upsert.append(col).append(" = EXCLUDED.").append(col);
+      }
+      return upsert.toString();
+    }
+  }
+
+  static class H2DatabaseSpecific extends BasePostgresDatabaseSpecific {
+    private static final String INSERT_INTO = "INSERT INTO ";
+    private static final String VALUES = ") VALUES (";
+
+    H2DatabaseSpecific() {
+      super("VARCHAR");
+    }
+
+    /**
+     * H2 does not support {@code ON CONFLICT ... DO UPDATE}, not even in PostgreSQL compatibility
+     * mode, but its {@code MERGE INTO ... KEY (...)} statement, which updates all given columns.
+     */
+    @Override
+    public String wrapUpsert(String sql, List<String> keyColumns, List<String> updateColumns) {
+      int values = sql.indexOf(VALUES);
+      if (!sql.startsWith(INSERT_INTO) || values == -1) {
+        throw new IllegalArgumentException("Not a simple INSERT statement: " + sql);
+      }
+      return "MERGE INTO "
+          + sql.substring(INSERT_INTO.length(), values + 1)
+          + " KEY ("
+          + String.join(", ", keyColumns)
+          + ")"
+          + sql.substring(values + 1);
+    }
   }
 }
@@ -0,0 +1,41 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.jdbc;
+
+/** H2 backend that stores objects in the compact {@link JdbcObjectsLayout#PAYLOAD} layout. */
+public final class H2PayloadBackendTestFactory extends AbstractJdbcBackendTestFactory {
+
+  @Override
+  protected String jdbcUrl() {
+    return "jdbc:h2:mem:nessie_payload;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+        + "DEFAULT_NULL_ORDERING=HIGH";
+  }
+
+  @Override
+  protected String jdbcUser() {
+    return null;
+  }
+
+  @Override
+  protected String jdbcPass() {
+    return null;
+  }
+
+  @Override
+  protected JdbcObjectsLayout objectsLayout() {
+    return JdbcObjectsLayout.PAYLOAD;
+  }
+}
@@ -19,14 +19,18 @@ import static com.google.common.base.Preconditions.checkState;
 import static org.projectnessie.versioned.storage.jdbc.JdbcColumnType.NAME;
 import static org.projectnessie.versioned.storage.jdbc.JdbcColumnType.OBJ_ID;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.COLS_OBJS_ALL;
+import static org.projectnessie.versioned.storage.jdbc.SqlConstants.COLS_PAYLOAD_OBJS_ALL;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.COL_OBJ_ID;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.COL_REFS_DELETED;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.COL_REFS_NAME;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.COL_REFS_POINTER;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.COL_REPO_ID;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.CREATE_TABLE_OBJS;
+import static org.projectnessie.versioned.storage.jdbc.SqlConstants.CREATE_TABLE_PAYLOAD_OBJS;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.CREATE_TABLE_REFS;
+import static org.projectnessie.versioned.storage.jdbc.SqlConstants.OBJS_REPOSITORIES;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.TABLE_OBJS;
+import static org.projectnessie.versioned.storage.jdbc.SqlConstants.TABLE_PAYLOAD_OBJS;
 import static org.projectnessie.versioned.storage.jdbc.SqlConstants.TABLE_REFS;
 
 import com.google.common.collect.ImmutableMap;
@@ -35,8 +39,10 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.text.MessageFormat;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
@@ -44,11 +50,16 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import javax.sql.DataSource;
+import org.projectnessie.versioned.storage.common.config.StoreConfig;
 import org.projectnessie.versioned.storage.common.persist.Backend;
 import org.projectnessie.versioned.storage.common.persist.PersistFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 final class JdbcBackend implements Backend {
 
+  private static final Logger LOGGER = LoggerFactory.getLogger(JdbcBackend.class);
+
   private final DatabaseSpecific databaseSpecific;
   private final DataSource dataSource;
   private final boolean closeDataSource;
@@ -68,6 +79,10 @@ final class JdbcBackend implements Backend {
     return databaseSpecific;
   }
 
+  JdbcObjectsLayout objectsLayout() {
+    return config.objectsLayout();
+  }
+
   @Override
   public void close() {
     if (closeDataSource) {
@@ -106,19 +121,71 @@ final class JdbcBackend implements Backend {
           Stream.of(COL_REPO_ID, COL_REFS_NAME, COL_REFS_POINTER, COL_REFS_DELETED)
               .collect(Collectors.toSet()),
           ImmutableMap.of(COL_REPO_ID, nameTypeId, COL_REFS_NAME, nameTypeId));
-      createTableIfNotExists(
-          conn,
-          TABLE_OBJS,
-          CREATE_TABLE_OBJS,
-          Stream.concat(
-                  Stream.of(COL_REPO_ID), Arrays.stream(COLS_OBJS_ALL.split(",")).map(String::trim))
-              .collect(Collectors.toSet()),
-          ImmutableMap.of(COL_REPO_ID, nameTypeId, COL_OBJ_ID, objIdTypeId));
+      JdbcObjectsLayout objectsLayout = config.objectsLayout();
+      if (objectsLayout.columnsTable()) {
+        createTableIfNotExists(
+            conn,
+            TABLE_OBJS,
+            CREATE_TABLE_OBJS,
+            Stream.concat(
+                    Stream.of(COL_REPO_ID),
+                    Arrays.stream(COLS_OBJS_ALL.split(",")).map(String::trim))
+                .collect(Collectors.toSet()),
+            ImmutableMap.of(COL_REPO_ID, nameTypeId, COL_OBJ_ID, objIdTypeId));
+      }
+      if (objectsLayout.payloadTable()) {
+        createTableIfNotExists(
+            conn,
+            TABLE_PAYLOAD_OBJS,
+            CREATE_TABLE_PAYLOAD_OBJS,
+            Stream.concat(
+                    Stream.of(COL_REPO_ID),
+                    Arrays.stream(COLS_PAYLOAD_OBJS_ALL.split(",")).map(String::trim))
+                .collect(Collectors.toSet()),
+            ImmutableMap.of(COL_REPO_ID, nameTypeId, COL_OBJ_ID, objIdTypeId));
+      }
     } catch (SQLException e) {
       throw new RuntimeException(e);
     }
   }
 
+  /**
+   * Backfills the {@code objs_payload} table from the {@code objs} table for all repositories.
+   * Once this has finished, no object is left in the {@code objs} table and the objects layout can
+   * be switched to {@link JdbcObjectsLayout#PAYLOAD}, see {@link JdbcObjectsMigration}.
+   */
+  long migrateObjs() {
+    checkState(
+        config.objectsLayout() == JdbcObjectsLayout.PAYLOAD_MIGRATING,
+        "Objects can only be migrated with the %s objects layout",
+        JdbcObjectsLayout.PAYLOAD_MIGRATING);
+
+    List<String> repositoryIds = new ArrayList<>();
+    try (Connection conn = borrowConnection();
+        Statement st = conn.createStatement();
+        ResultSet rs = st.executeQuery(OBJS_REPOSITORIES)) {
+      while (rs.next()) {
+        repositoryIds.add(rs.getString(1));
+      }
+    } catch (SQLException e) {
+      throw new RuntimeException(e);
+    }
+
+    long migrated = 0L;
+    for (String repositoryId : repositoryIds) {
+      StoreConfig storeConfig = StoreConfig.Adjustable.empty().withRepositoryId(repositoryId);
+      migrated += new JdbcPersist(this, storeConfig).migrateObjs();
+    }
+    if (migrated > 0L) {
+      LOGGER.info(
+          "Moved {} objects of {} repositories to the {} table",
+          migrated,
+          repositoryIds.size(),
+          TABLE_PAYLOAD_OBJS);
+    }
+    return migrated;
+  }
+
   private void createTableIfNotExists(
       Connection conn,
       String tableName,
@@ -201,6 +268,10 @@ final class JdbcBackend implements Backend {
       }
       info.append("schema: ").append(s);
     }
+    if (info.length() > 0) {
+      info.append(", ");
+    }
+    info.append("objects layout: ").append(config.objectsLayout());
     return info.toString();
   }
 }
@@ -26,4 +26,9 @@ public interface JdbcBackendBaseConfig {
   @Nullable
   @jakarta.annotation.Nullable
   String schema();
+
+  /** Layout of the table(s) holding the objects. */
+  JdbcObjectsLayout objectsLayout();
+
+  String DEFAULT_OBJECTS_LAYOUT = "COLUMNS";
 }
@@ -23,6 +23,12 @@ public interface JdbcBackendConfig extends JdbcBackendBaseConfig {
 
   DataSource dataSource();
 
+  @Value.Default
+  @Override
+  default JdbcObjectsLayout objectsLayout() {
+    return JdbcObjectsLayout.valueOf(DEFAULT_OBJECTS_LAYOUT);
+  }
+
   static ImmutableJdbcBackendConfig.Builder builder() {
     return ImmutableJdbcBackendConfig.builder();
   }
@@ -0,0 +1,62 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.jdbc;
+
+/** Layout of the table(s) that hold the objects of a repository. */
+public enum JdbcObjectsLayout {
+  /**
+   * Objects are stored in the {@code objs} table, which has a group of columns for each object
+   * type.
+   */
+  COLUMNS(false, true),
+
+  /**
+   * Objects are stored in the compact {@code objs_payload} table, which has a single column holding
+   * the serialized object.
+   */
+  PAYLOAD(true, false),
+
+  /**
+   * Migration from {@link #COLUMNS} to {@link #PAYLOAD}: new objects are stored in the {@code
+   * objs_payload} table, objects are read from the {@code objs_payload} table and, if not found
+   * there, from the {@code objs} table. Upserted and deleted objects are removed from the {@code
+   * objs} table.
+   *
+   * <p>Objects are immutable and therefore rarely rewritten, so the remaining objects have to be
+   * moved from the {@code objs} table to the {@code objs_payload} table explicitly, once, see
+   * {@link JdbcObjectsMigration}. The layout can be switched to {@link #PAYLOAD} once that backfill
+   * has completed.
+   */
+  PAYLOAD_MIGRATING(true, true);
+
+  private final boolean payloadTable;
+  private final boolean columnsTable;
+
+  JdbcObjectsLayout(boolean payloadTable, boolean columnsTable) {
+    this.payloadTable = payloadTable;
+    this.columnsTable = columnsTable;
+  }
+
+  /** Whether objects are written to and read from the {@code objs_payload} table. */
+  boolean payloadTable() {
+    return payloadTable;
+  }
+
+  /** Whether objects are read from the {@code objs} table. */
+  boolean columnsTable() {
+    return columnsTable;
+  }
+}
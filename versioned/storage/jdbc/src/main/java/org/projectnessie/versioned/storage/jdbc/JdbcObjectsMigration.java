@@ -0,0 +1,52 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.jdbc;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import javax.annotation.Nonnull;
+import org.projectnessie.versioned.storage.common.persist.Backend;
+
+/**
+ * Moves the objects of all repositories from the {@code objs} table to the {@code objs_payload}
+ * table, see {@link JdbcObjectsLayout#PAYLOAD_MIGRATING}.
+ *
+ * <p>The backfill is an administrative task that is meant to be run once, for example via the
+ * Nessie server admin tool, and not by every Nessie server during startup.
+ */
+public final class JdbcObjectsMigration {
+
+  private JdbcObjectsMigration() {}
+
+  /**
+   * Whether the given backend is a JDBC backend that uses the {@link
+   * JdbcObjectsLayout#PAYLOAD_MIGRATING} objects layout.
+   */
+  public static boolean canMigrateObjs(@Nonnull @jakarta.annotation.Nonnull Backend backend) {
+    return backend instanceof JdbcBackend
+        && ((JdbcBackend) backend).objectsLayout() == JdbcObjectsLayout.PAYLOAD_MIGRATING;
+  }
+
+  /**
+   * Moves all objects that are still held in the {@code objs} table to the {@code objs_payload}
+   * table and returns the number of moved objects.
+   */
+  public static long migrateObjs(@Nonnull @jakarta.annotation.Nonnull Backend backend) {
+    checkArgument(
+        backend instanceof JdbcBackend, "Objects can only be migrated for a JDBC backend");
+    return ((JdbcBackend) backend).migrateObjs();
+  }
+}
@@ -36,7 +36,7 @@ class JdbcPersist extends AbstractJdbcPersist {
   private final JdbcBackend backend;
 
   JdbcPersist(JdbcBackend backend, StoreConfig config) {
-    super(backend.databaseSpecific(), config);
+    super(backend.databaseSpecific(), backend.objectsLayout(), config);
     this.backend = backend;
   }
 
@@ -257,6 +257,14 @@ class JdbcPersist extends AbstractJdbcPersist {
     withConnectionException(false, conn -> super.updateObjs(conn, objs));
   }
 
+  /**
+   * Moves the objects of this repository from the {@code objs} table to the {@code objs_payload}
+   * table, see {@link JdbcObjectsLayout#PAYLOAD_MIGRATING}.
+   */
+  long migrateObjs() {
+    return withConnection(false, super::migrateObjs);
+  }
+
   @Override
   public void erase() {
     withConnectionVoid(super::erase);
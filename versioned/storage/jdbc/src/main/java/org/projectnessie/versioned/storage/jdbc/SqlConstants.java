@@ -15,10 +15,26 @@
  */
 package org.projectnessie.versioned.storage.jdbc;
 
+import static java.util.Arrays.asList;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
 final class SqlConstants {
 
   static final int MAX_BATCH_SIZE = 50;
 
+  /**
+   * Number of {@code ?} placeholders in the {@code IN} lists of multi-key queries. Queries are
+   * padded to the smallest bucket that can hold all keys, larger queries are split, so that the
+   * database and the JDBC driver only see a few distinct statements and can reuse prepared
+   * statements and query plans.
+   */
+  static final int[] IN_LIST_BUCKETS = {1, 4, 16, 64, 256};
+
+  static final int MAX_IN_LIST_SIZE = IN_LIST_BUCKETS[IN_LIST_BUCKETS.length - 1];
+
   static final String TABLE_REFS = "refs";
   static final String TABLE_OBJS = "objs";
   static final String COL_REPO_ID = "repo";
@@ -27,6 +43,7 @@ final class SqlConstants {
   static final String COL_OBJ_ID = "obj_id";
   static final String DELETE_OBJ =
       "DELETE FROM " + TABLE_OBJS + " WHERE " + COL_REPO_ID + "=? AND " + COL_OBJ_ID + "=?";
+  static final String OBJS_REPOSITORIES = "SELECT DISTINCT " + COL_REPO_ID + " FROM " + TABLE_OBJS;
   static final String COL_OBJ_TYPE = "obj_type";
 
   static final String COLS_COMMIT =
@@ -39,6 +56,9 @@ final class SqlConstants {
   static final String COLS_STRING =
       "s_content_type, s_compression, s_filename, s_predecessors, s_text";
 
+  /** Primary key columns of the objects table. */
+  static final List<String> OBJ_KEY_COLUMNS = asList(COL_REPO_ID, COL_OBJ_ID);
+
   static final String STORE_OBJ =
       "INSERT INTO "
           + TABLE_OBJS
@@ -199,6 +219,14 @@ final class SqlConstants {
           + COLS_TAG
           + ", "
           + COLS_STRING;
+
+  /** Columns of the objects table that are updated, when an existing object is upserted. */
+  static final List<String> OBJ_UPDATE_COLUMNS =
+      Arrays.stream(COLS_OBJS_ALL.split(","))
+          .map(String::trim)
+          .filter(c -> !c.equals(COL_OBJ_ID))
+          .collect(Collectors.toList());
+
   static final int COL_COMMIT_CREATED = 3; // obj_id + obj_type before this column
   static final int COL_COMMIT_SEQ = COL_COMMIT_CREATED + 1;
   static final int COL_COMMIT_MESSAGE = COL_COMMIT_SEQ + 1;
@@ -263,5 +291,110 @@ final class SqlConstants {
           + COL_OBJ_TYPE
           + " IN (?)";
 
+  /**
+   * Used to migrate the objects of the {@code objs} table to the {@code objs_payload} table, reads
+   * the next {@link #MAX_BATCH_SIZE} objects after the given object ID.
+   */
+  static final String MIGRATE_OBJS_PAGE =
+      "SELECT "
+          + COLS_OBJS_ALL
+          + " FROM "
+          + TABLE_OBJS
+          + " WHERE "
+          + COL_REPO_ID
+          + "=? AND "
+          + COL_OBJ_ID
+          + ">? ORDER BY "
+          + COL_OBJ_ID
+          + " LIMIT "
+          + MAX_BATCH_SIZE;
+
+  static final String TABLE_PAYLOAD_OBJS = "objs_payload";
+  static final String COL_PAYLOAD = "payload";
+  static final String COLS_PAYLOAD_OBJS_ALL = COL_OBJ_ID + ", " + COL_OBJ_TYPE + ", " + COL_PAYLOAD;
+
+  /** Columns of the compact objects table that are updated, when an object is upserted. */
+  static final List<String> PAYLOAD_OBJ_UPDATE_COLUMNS = asList(COL_OBJ_TYPE, COL_PAYLOAD);
+
+  static final String CREATE_TABLE_PAYLOAD_OBJS =
+      "CREATE TABLE "
+          + TABLE_PAYLOAD_OBJS
+          + "\n  (\n    "
+          + COL_REPO_ID
+          + " {0}, "
+          + COL_OBJ_ID
+          + " {1}, "
+          + COL_OBJ_TYPE
+          + " {0}, "
+          + COL_PAYLOAD
+          + " {4}"
+          + ",\n    PRIMARY KEY ("
+          + COL_REPO_ID
+          + ", "
+          + COL_OBJ_ID
+          + ")\n  )";
+
+  static final String STORE_PAYLOAD_OBJ =
+      "INSERT INTO "
+          + TABLE_PAYLOAD_OBJS
+          + " ("
+          + COL_REPO_ID
+          + ", "
+          + COLS_PAYLOAD_OBJS_ALL
+          + ") VALUES (?,?,?,?)";
+
+  static final String DELETE_PAYLOAD_OBJ =
+      "DELETE FROM " + TABLE_PAYLOAD_OBJS + " WHERE " + COL_REPO_ID + "=? AND " + COL_OBJ_ID + "=?";
+
+  static final String ERASE_PAYLOAD_OBJS =
+      "DELETE FROM " + TABLE_PAYLOAD_OBJS + " WHERE " + COL_REPO_ID + " = ?";
+
+  static final String FETCH_PAYLOAD_OBJ_TYPE =
+      "SELECT "
+          + COL_OBJ_TYPE
+          + " FROM "
+          + TABLE_PAYLOAD_OBJS
+          + " WHERE "
+          + COL_REPO_ID
+          + "=? AND "
+          + COL_OBJ_ID
+          + " IN (?)";
+
+  static final String FIND_PAYLOAD_OBJS =
+      "SELECT "
+          + COLS_PAYLOAD_OBJS_ALL
+          + " FROM "
+          + TABLE_PAYLOAD_OBJS
+          + " WHERE "
+          + COL_REPO_ID
+          + "=? AND "
+          + COL_OBJ_ID
+          + " IN (?)";
+
+  static final String FIND_PAYLOAD_OBJS_TYPED = FIND_PAYLOAD_OBJS + " AND " + COL_OBJ_TYPE + "=?";
+
+  static final String SCAN_PAYLOAD_OBJS =
+      "SELECT "
+          + COLS_PAYLOAD_OBJS_ALL
+          + " FROM "
+          + TABLE_PAYLOAD_OBJS
+          + " WHERE "
+          + COL_REPO_ID
+          + "=? AND "
+          + COL_OBJ_TYPE
+          + " IN (?)";
+
+  /** Used to check which objects already exist in the {@code objs} table. */
+  static final String FIND_OBJ_IDS =
+      "SELECT "
+          + COL_OBJ_ID
+          + " FROM "
+          + TABLE_OBJS
+          + " WHERE "
+          + COL_REPO_ID
+          + "=? AND "
+          + COL_OBJ_ID
+          + " IN (?)";
+
   private SqlConstants() {}
 }
@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.jdbc;
+
+import static java.util.Arrays.asList;
+import static org.projectnessie.versioned.storage.jdbc.AbstractJdbcPersist.inListBucketSize;
+import static org.projectnessie.versioned.storage.jdbc.AbstractJdbcPersist.inListElement;
+import static org.projectnessie.versioned.storage.jdbc.AbstractJdbcPersist.sqlSelectMultiple;
+import static org.projectnessie.versioned.storage.jdbc.SqlConstants.MAX_IN_LIST_SIZE;
+
+import java.util.List;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith(SoftAssertionsExtension.class)
+public class TestJdbcInLists {
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  @Test
+  public void bucketSizes() {
+    soft.assertThat(inListBucketSize(1)).isEqualTo(1);
+    soft.assertThat(inListBucketSize(2)).isEqualTo(4);
+    soft.assertThat(inListBucketSize(4)).isEqualTo(4);
+    soft.assertThat(inListBucketSize(5)).isEqualTo(16);
+    soft.assertThat(inListBucketSize(17)).isEqualTo(64);
+    soft.assertThat(inListBucketSize(65)).isEqualTo(256);
+    soft.assertThat(inListBucketSize(MAX_IN_LIST_SIZE)).isEqualTo(MAX_IN_LIST_SIZE);
+    soft.assertThatIllegalArgumentException().isThrownBy(() -> inListBucketSize(0));
+    soft.assertThatIllegalArgumentException()
+        .isThrownBy(() -> inListBucketSize(MAX_IN_LIST_SIZE + 1));
+  }
+
+  @Test
+  public void padding() {
+    List<String> keys = asList("a", "b", "c");
+    soft.assertThat(inListElement(keys, 0)).isEqualTo("a");
+    soft.assertThat(inListElement(keys, 2)).isEqualTo("c");
+    soft.assertThat(inListElement(keys, 3)).isEqualTo("c");
+    soft.assertThat(inListElement(keys, 15)).isEqualTo("c");
+  }
+
+  @Test
+  public void selectMultiple() {
+    soft.assertThat(sqlSelectMultiple("SELECT x FROM t WHERE k IN (?)", 1))
+        .isEqualTo("SELECT x FROM t WHERE k IN (?)");
+    soft.assertThat(sqlSelectMultiple("SELECT x FROM t WHERE k IN (?) AND y=?", 4))
+        .isEqualTo("SELECT x FROM t WHERE k IN (?,?,?,?) AND y=?");
+  }
+}
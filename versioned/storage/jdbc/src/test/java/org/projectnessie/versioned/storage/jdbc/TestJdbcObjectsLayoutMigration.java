@@ -0,0 +1,163 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.jdbc;
+
+import static org.projectnessie.versioned.storage.common.objtypes.TagObj.tag;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.randomObjId;
+
+import com.google.common.collect.Lists;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import javax.sql.DataSource;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.projectnessie.nessie.relocated.protobuf.ByteString;
+import org.projectnessie.versioned.storage.common.config.StoreConfig;
+import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
+import org.projectnessie.versioned.storage.common.objtypes.TagObj;
+import org.projectnessie.versioned.storage.common.persist.CloseableIterator;
+import org.projectnessie.versioned.storage.common.persist.Obj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.ObjType;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+
+@ExtendWith(SoftAssertionsExtension.class)
+public class TestJdbcObjectsLayoutMigration {
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  @Test
+  public void migrateColumnsToPayload() throws Exception {
+    DataSource dataSource =
+        DataSourceProducer.builder()
+            .jdbcUrl(
+                "jdbc:h2:mem:nessie_migration;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+                    + "DEFAULT_NULL_ORDERING=HIGH")
+            .build()
+            .createNewDataSource();
+    DatabaseSpecific databaseSpecific = DatabaseSpecifics.detect(dataSource);
+
+    List<TagObj> objects =
+        IntStream.range(0, 4 * SqlConstants.MAX_BATCH_SIZE)
+            .mapToObj(i -> tag(randomObjId(), randomObjId(), "tag " + i, null, ByteString.EMPTY))
+            .collect(Collectors.toList());
+    // More objects than fit into a single page of the backfill
+    List<TagObj> old = objects.subList(0, objects.size() / 2);
+    List<TagObj> migrated = objects.subList(objects.size() / 2, objects.size());
+    TagObj updated =
+        tag(old.get(1).id(), randomObjId(), "updated", null, ByteString.copyFromUtf8("sig"));
+
+    try (JdbcBackend columns =
+        backend(dataSource, databaseSpecific, JdbcObjectsLayout.COLUMNS, false)) {
+      columns.setupSchema();
+      Persist persist = columns.createFactory().newPersist(StoreConfig.Adjustable.empty());
+      persist.erase();
+      soft.assertThat(persist.storeObjs(old.toArray(new Obj[0]))).containsOnly(true);
+    }
+
+    TagObj other = tag(randomObjId(), randomObjId(), "other", null, ByteString.EMPTY);
+    try (JdbcBackend columns =
+        backend(dataSource, databaseSpecific, JdbcObjectsLayout.COLUMNS, false)) {
+      Persist persist =
+          columns
+              .createFactory()
+              .newPersist(StoreConfig.Adjustable.empty().withRepositoryId("other"));
+      persist.erase();
+      soft.assertThat(persist.storeObj(other)).isTrue();
+    }
+
+    try (JdbcBackend payload =
+        backend(dataSource, databaseSpecific, JdbcObjectsLayout.PAYLOAD, false)) {
+      // Only create the compact table, without backfilling it
+      payload.setupSchema();
+    }
+
+    try (JdbcBackend migrating =
+        backend(dataSource, databaseSpecific, JdbcObjectsLayout.PAYLOAD_MIGRATING, false)) {
+      Persist persist = migrating.createFactory().newPersist(StoreConfig.Adjustable.empty());
+
+      // Objects in the columns table are neither stored again nor shadowed
+      boolean[] stored = persist.storeObjs(objects.toArray(new Obj[0]));
+      soft.assertThat(Arrays.copyOfRange(stored, 0, old.size())).containsOnly(false);
+      soft.assertThat(Arrays.copyOfRange(stored, old.size(), objects.size())).containsOnly(true);
+
+      ObjId[] ids = objects.stream().map(Obj::id).toArray(ObjId[]::new);
+      soft.assertThat(persist.fetchObjs(ids)).containsExactlyElementsOf(objects);
+      soft.assertThat(persist.fetchObjType(old.get(0).id())).isSameAs(ObjType.TAG);
+      soft.assertThat(persist.fetchObjType(migrated.get(0).id())).isSameAs(ObjType.TAG);
+
+      persist.updateObj(updated);
+      soft.assertThat(persist.fetchObj(updated.id())).isEqualTo(updated);
+
+      persist.deleteObj(old.get(2).id());
+      soft.assertThatThrownBy(() -> persist.fetchObj(old.get(2).id()))
+          .isInstanceOf(ObjNotFoundException.class);
+
+      try (CloseableIterator<Obj> scan = persist.scanAllObjects(EnumSet.allOf(ObjType.class))) {
+        soft.assertThat(Lists.newArrayList(scan))
+            .hasSize(objects.size() - 1)
+            .contains(updated)
+            .containsAll(migrated)
+            .doesNotContain(old.get(1), old.get(2));
+      }
+
+      // The schema setup does not move any object, the backfill moves the remaining objects of all
+      // repositories, except the updated and the deleted one.
+      migrating.setupSchema();
+      soft.assertThat(JdbcObjectsMigration.canMigrateObjs(migrating)).isTrue();
+      soft.assertThat(JdbcObjectsMigration.migrateObjs(migrating)).isEqualTo(old.size() - 2 + 1);
+      soft.assertThat(JdbcObjectsMigration.migrateObjs(migrating)).isEqualTo(0L);
+    }
+
+    try (JdbcBackend payload =
+        backend(dataSource, databaseSpecific, JdbcObjectsLayout.PAYLOAD, true)) {
+      Persist persist = payload.createFactory().newPersist(StoreConfig.Adjustable.empty());
+      List<Obj> expected = new ArrayList<>(objects);
+      expected.set(1, updated);
+      expected.remove(2);
+      ObjId[] ids = expected.stream().map(Obj::id).toArray(ObjId[]::new);
+      soft.assertThat(persist.fetchObjs(ids)).containsExactlyElementsOf(expected);
+      soft.assertThatThrownBy(() -> persist.fetchObj(old.get(2).id()))
+          .isInstanceOf(ObjNotFoundException.class);
+
+      soft.assertThat(JdbcObjectsMigration.canMigrateObjs(payload)).isFalse();
+      soft.assertThatThrownBy(() -> JdbcObjectsMigration.migrateObjs(payload))
+          .isInstanceOf(IllegalStateException.class);
+
+      Persist otherPersist =
+          payload
+              .createFactory()
+              .newPersist(StoreConfig.Adjustable.empty().withRepositoryId("other"));
+      soft.assertThat(otherPersist.fetchObj(other.id())).isEqualTo(other);
+    }
+  }
+
+  private static JdbcBackend backend(
+      DataSource dataSource,
+      DatabaseSpecific databaseSpecific,
+      JdbcObjectsLayout objectsLayout,
+      boolean closeDataSource) {
+    JdbcBackendConfig config =
+        JdbcBackendConfig.builder().dataSource(dataSource).objectsLayout(objectsLayout).build();
+    return new JdbcBackend(config, databaseSpecific, closeDataSource);
+  }
+}
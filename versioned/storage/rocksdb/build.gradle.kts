@@ -40,6 +40,7 @@ dependencies {
   implementation(libs.guava)
 
   implementation(libs.rocksdb.jni)
+  api(libs.micrometer.core)
 
   compileOnly(libs.immutables.builder)
   compileOnly(libs.immutables.value.annotations)
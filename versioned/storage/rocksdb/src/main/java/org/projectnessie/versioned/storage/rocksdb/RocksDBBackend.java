@@ -26,19 +26,25 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import org.projectnessie.versioned.storage.common.config.StoreConfig;
 import org.projectnessie.versioned.storage.common.persist.Backend;
 import org.projectnessie.versioned.storage.common.persist.PersistFactory;
+import org.rocksdb.BlockBasedTableConfig;
+import org.rocksdb.BloomFilter;
 import org.rocksdb.ColumnFamilyDescriptor;
 import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.ColumnFamilyOptions;
+import org.rocksdb.CompressionType;
 import org.rocksdb.DBOptions;
+import org.rocksdb.LRUCache;
+import org.rocksdb.ReadOptions;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
+import org.rocksdb.Statistics;
 import org.rocksdb.TransactionDB;
 import org.rocksdb.TransactionDBOptions;
 
@@ -53,6 +59,14 @@ final class RocksDBBackend implements Backend {
   private TransactionDB db;
   private ColumnFamilyHandle cfReferences;
   private ColumnFamilyHandle cfObjects;
+  private ReadOptions totalOrderReadOptions;
+  private RocksDBMetrics metrics;
+
+  /**
+   * Native resources that must stay open while the database is open, like options, the block cache
+   * and the bloom filter, closed in reverse order after the database has been closed.
+   */
+  private final List<AutoCloseable> resources = new ArrayList<>();
 
   private final Map<String, RocksDBRepo> repositories = new ConcurrentHashMap<>();
 
@@ -77,17 +91,34 @@ final class RocksDBBackend implements Backend {
     return cfObjects;
   }
 
+  /**
+   * Read options for iterators that scan over all keys of a column family, independent of a
+   * configured prefix extractor.
+   */
+  ReadOptions totalOrderReadOptions() {
+    return totalOrderReadOptions;
+  }
+
   @Override
   public synchronized void close() {
     if (db != null) {
       try {
-        closeMultiple(cfObjects, cfReferences, db);
+        // Metrics must be removed before the database is closed, because those access the database.
+        List<AutoCloseable> closeables =
+            new ArrayList<>(asList(metrics, cfObjects, cfReferences, db));
+        for (int i = resources.size() - 1; i >= 0; i--) {
+          closeables.add(resources.get(i));
+        }
+        closeMultiple(closeables);
       } catch (Exception e) {
         throw new RuntimeException(e);
       } finally {
         db = null;
         cfReferences = null;
         cfObjects = null;
+        totalOrderReadOptions = null;
+        metrics = null;
+        resources.clear();
       }
     }
   }
@@ -102,26 +133,48 @@ final class RocksDBBackend implements Backend {
           "RocksDB cannot use databasePath %s.",
           dbPath);
 
-      List<byte[]> columnFamilies = new ArrayList<>();
-      columnFamilies.add(DEFAULT_COLUMN_FAMILY);
-      CF_ALL.stream().map(s -> s.getBytes(StandardCharsets.UTF_8)).forEach(columnFamilies::add);
-
-      List<ColumnFamilyDescriptor> columnFamilyDescriptors =
-          columnFamilies.stream()
-              .map(
-                  c ->
-                      new ColumnFamilyDescriptor(
-                          c, new ColumnFamilyOptions().optimizeUniversalStyleCompaction()))
-              .collect(Collectors.toList());
-
-      try (final DBOptions dbOptions =
-          new DBOptions().setCreateIfMissing(true).setCreateMissingColumnFamilies(true)) {
-        // TODO: Consider setting WAL limits.
+      BlockBasedTableConfig tableConfig = new BlockBasedTableConfig();
+      if (config.blockCacheSize() > 0L) {
+        tableConfig
+            .setBlockCache(resource(new LRUCache(config.blockCacheSize())))
+            .setCacheIndexAndFilterBlocks(true)
+            .setPinL0FilterAndIndexBlocksInCache(true);
+      }
+      if (config.bloomFilterBitsPerKey() > 0) {
+        tableConfig
+            .setFilterPolicy(resource(new BloomFilter(config.bloomFilterBitsPerKey())))
+            .setWholeKeyFiltering(true);
+      }
+
+      List<ColumnFamilyDescriptor> columnFamilyDescriptors = new ArrayList<>();
+      columnFamilyDescriptors.add(
+          new ColumnFamilyDescriptor(
+              DEFAULT_COLUMN_FAMILY,
+              resource(new ColumnFamilyOptions().optimizeUniversalStyleCompaction())));
+      for (String cf : CF_ALL) {
+        columnFamilyDescriptors.add(
+            new ColumnFamilyDescriptor(
+                cf.getBytes(StandardCharsets.UTF_8), columnFamilyOptions(cf, tableConfig)));
+      }
+
+      DBOptions dbOptions =
+          resource(
+              new DBOptions()
+                  .setCreateIfMissing(true)
+                  .setCreateMissingColumnFamilies(true)
+                  .setMaxTotalWalSize(config.maxTotalWalSize()));
+      Statistics statistics = null;
+      if (config.statisticsEnabled()) {
+        statistics = resource(new Statistics());
+        dbOptions.setStatistics(statistics);
+      }
+
+      try {
         List<ColumnFamilyHandle> columnFamilyHandles = new ArrayList<>();
         db =
             TransactionDB.open(
                 dbOptions,
-                new TransactionDBOptions(),
+                resource(new TransactionDBOptions()),
                 dbPath.toString(),
                 columnFamilyDescriptors,
                 columnFamilyHandles);
@@ -134,12 +187,61 @@ final class RocksDBBackend implements Backend {
 
         cfReferences = columnFamilyHandleMap.get(CF_REFERENCES);
         cfObjects = columnFamilyHandleMap.get(CF_OBJECTS);
+        totalOrderReadOptions = resource(new ReadOptions().setTotalOrderSeek(true));
+
+        if (statistics != null) {
+          metrics =
+              new RocksDBMetrics(
+                  config.meterRegistry(),
+                  dbPath.toAbsolutePath().toString(),
+                  db,
+                  columnFamilyHandleMap,
+                  statistics);
+        }
       } catch (RocksDBException e) {
         throw new RuntimeException("RocksDB failed to start", e);
       }
     }
   }
 
+  private ColumnFamilyOptions columnFamilyOptions(String cf, BlockBasedTableConfig tableConfig) {
+    ColumnFamilyOptions options =
+        resource(new ColumnFamilyOptions())
+            .optimizeUniversalStyleCompaction()
+            .setTableFormatConfig(tableConfig)
+            .setWriteBufferSize(config.writeBufferSize())
+            .setMaxWriteBufferNumber(config.maxWriteBufferNumber());
+    if (config.prefixExtractorLength() > 0) {
+      options.useFixedLengthPrefixExtractor(config.prefixExtractorLength());
+    }
+    if (CF_OBJECTS.equals(cf)) {
+      options
+          .setCompressionType(compressionType(config.objectsCompression()))
+          .setBottommostCompressionType(compressionType(config.objectsBottommostCompression()));
+    } else {
+      options.setCompressionType(compressionType(config.referencesCompression()));
+    }
+    return options;
+  }
+
+  static CompressionType compressionType(String name) {
+    String lower = name.trim().toLowerCase(Locale.ROOT);
+    if (lower.isEmpty() || "none".equals(lower)) {
+      return CompressionType.NO_COMPRESSION;
+    }
+    for (CompressionType type : CompressionType.values()) {
+      if (lower.equals(type.getLibraryName())) {
+        return type;
+      }
+    }
+    throw new IllegalArgumentException("Unknown RocksDB compression type: " + name);
+  }
+
+  private <T extends AutoCloseable> T resource(T resource) {
+    resources.add(resource);
+    return resource;
+  }
+
   @Override
   public void setupSchema() {
     initialize();
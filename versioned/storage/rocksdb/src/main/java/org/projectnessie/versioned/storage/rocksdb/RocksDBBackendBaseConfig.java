@@ -19,4 +19,77 @@ import java.nio.file.Path;
 
 public interface RocksDBBackendBaseConfig {
   Path databasePath();
+
+  /**
+   * Size in bytes of the LRU block cache that is shared by all column families, the RocksDB
+   * default of an 8 MB block cache per column family is used, if {@code 0}.
+   */
+  long blockCacheSize();
+
+  /**
+   * Number of bits per key of the whole-key bloom filters, which let point lookups of non-existing
+   * keys skip reading data blocks. Bloom filters are disabled, if {@code 0}.
+   */
+  int bloomFilterBitsPerKey();
+
+  /**
+   * Compression of the objects column family, one of {@code none}, {@code snappy}, {@code z},
+   * {@code bzip2}, {@code lz4}, {@code lz4hc}, {@code xpress} or {@code zstd}.
+   */
+  String objectsCompression();
+
+  /**
+   * Compression of the bottommost level of the objects column family, which holds most of the
+   * data, same values as for {@link #objectsCompression()}.
+   */
+  String objectsBottommostCompression();
+
+  /**
+   * Compression of the references column family, same values as for {@link #objectsCompression()}.
+   */
+  String referencesCompression();
+
+  /**
+   * Length of the key prefix used by a fixed-length prefix extractor, disabled if {@code 0}.
+   *
+   * <p>All keys start with the repository ID followed by a {@code :}. The prefix extractor and the
+   * prefix bloom filters built from it are only useful, if all repository IDs have the same length.
+   * The value must not be greater than the length of the shortest repository ID plus one.
+   */
+  int prefixExtractorLength();
+
+  /** Size in bytes of a single memtable, per column family. */
+  long writeBufferSize();
+
+  /** Maximum number of memtables, including the active one, per column family. */
+  int maxWriteBufferNumber();
+
+  /**
+   * Maximum total size in bytes of the write-ahead-log files, memtables are flushed when this size
+   * is exceeded. If {@code 0}, RocksDB uses four times the total memtable size.
+   */
+  long maxTotalWalSize();
+
+  /** Whether RocksDB statistics are collected and exported as metrics. */
+  boolean statisticsEnabled();
+
+  long DEFAULT_BLOCK_CACHE_SIZE = 64L * 1024L * 1024L;
+
+  int DEFAULT_BLOOM_FILTER_BITS_PER_KEY = 10;
+
+  String DEFAULT_OBJECTS_COMPRESSION = "lz4";
+
+  String DEFAULT_OBJECTS_BOTTOMMOST_COMPRESSION = "zstd";
+
+  String DEFAULT_REFERENCES_COMPRESSION = "none";
+
+  int DEFAULT_PREFIX_EXTRACTOR_LENGTH = 0;
+
+  long DEFAULT_WRITE_BUFFER_SIZE = 64L * 1024L * 1024L;
+
+  int DEFAULT_MAX_WRITE_BUFFER_NUMBER = 2;
+
+  long DEFAULT_MAX_TOTAL_WAL_SIZE = 0L;
+
+  boolean DEFAULT_STATISTICS_ENABLED = false;
 }
@@ -15,11 +15,83 @@
  */
 package org.projectnessie.versioned.storage.rocksdb;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import org.immutables.value.Value;
 
 @Value.Immutable
 public interface RocksDBBackendConfig extends RocksDBBackendBaseConfig {
 
+  @Value.Default
+  @Override
+  default long blockCacheSize() {
+    return DEFAULT_BLOCK_CACHE_SIZE;
+  }
+
+  @Value.Default
+  @Override
+  default int bloomFilterBitsPerKey() {
+    return DEFAULT_BLOOM_FILTER_BITS_PER_KEY;
+  }
+
+  @Value.Default
+  @Override
+  default String objectsCompression() {
+    return DEFAULT_OBJECTS_COMPRESSION;
+  }
+
+  @Value.Default
+  @Override
+  default String objectsBottommostCompression() {
+    return DEFAULT_OBJECTS_BOTTOMMOST_COMPRESSION;
+  }
+
+  @Value.Default
+  @Override
+  default String referencesCompression() {
+    return DEFAULT_REFERENCES_COMPRESSION;
+  }
+
+  @Value.Default
+  @Override
+  default int prefixExtractorLength() {
+    return DEFAULT_PREFIX_EXTRACTOR_LENGTH;
+  }
+
+  @Value.Default
+  @Override
+  default long writeBufferSize() {
+    return DEFAULT_WRITE_BUFFER_SIZE;
+  }
+
+  @Value.Default
+  @Override
+  default int maxWriteBufferNumber() {
+    return DEFAULT_MAX_WRITE_BUFFER_NUMBER;
+  }
+
+  @Value.Default
+  @Override
+  default long maxTotalWalSize() {
+    return DEFAULT_MAX_TOTAL_WAL_SIZE;
+  }
+
+  @Value.Default
+  @Override
+  default boolean statisticsEnabled() {
+    return DEFAULT_STATISTICS_ENABLED;
+  }
+
+  /**
+   * Registry for the RocksDB statistics meters, if {@link #statisticsEnabled()}, defaults to the
+   * Micrometer global registry.
+   */
+  @Value.Default
+  @Value.Auxiliary
+  default MeterRegistry meterRegistry() {
+    return Metrics.globalRegistry;
+  }
+
   static ImmutableRocksDBBackendConfig.Builder builder() {
     return ImmutableRocksDBBackendConfig.builder();
   }
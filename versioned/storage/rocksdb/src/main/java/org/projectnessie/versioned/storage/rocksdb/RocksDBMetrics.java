@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.rocksdb;
+
+import static java.util.Arrays.asList;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.Statistics;
+import org.rocksdb.TickerType;
+
+/**
+ * Exports RocksDB {@link Statistics statistics} and per column family properties via Micrometer.
+ * The meters are tagged with the database path and only the meters of this instance are removed
+ * from the registry when this instance is closed.
+ */
+final class RocksDBMetrics implements AutoCloseable {
+
+  private static final String PREFIX = "nessie.rocksdb.";
+
+  /** RocksDB properties exported as gauges for each column family. */
+  private static final List<String> CF_PROPERTIES =
+      asList(
+          "rocksdb.estimate-num-keys",
+          "rocksdb.estimate-live-data-size",
+          "rocksdb.cur-size-all-mem-tables",
+          "rocksdb.block-cache-usage",
+          "rocksdb.block-cache-pinned-usage",
+          "rocksdb.estimate-table-readers-mem",
+          "rocksdb.num-running-compactions",
+          "rocksdb.num-running-flushes");
+
+  private final MeterRegistry registry;
+  private final List<Meter> meters = new ArrayList<>();
+
+  RocksDBMetrics(
+      MeterRegistry registry,
+      String databasePath,
+      RocksDB db,
+      Map<String, ColumnFamilyHandle> columnFamilies,
+      Statistics statistics) {
+    this.registry = registry;
+    // Distinguishes the meters of multiple RocksDB instances in the same registry, otherwise those
+    // would share the same meters and closing one instance would remove the other's meters.
+    Tags commonTags = Tags.of("application", "Nessie", "database-path", databasePath);
+
+    for (TickerType ticker : TickerType.values()) {
+      if (ticker == TickerType.TICKER_ENUM_MAX) {
+        continue;
+      }
+      meters.add(
+          FunctionCounter.builder(
+                  PREFIX + ticker.name().toLowerCase(Locale.ROOT).replace('_', '.'),
+                  statistics,
+                  s -> s.getTickerCount(ticker))
+              .tags(commonTags)
+              .register(registry));
+    }
+
+    columnFamilies.forEach(
+        (name, cf) -> {
+          for (String property : CF_PROPERTIES) {
+            meters.add(
+                Gauge.builder(
+                        PREFIX + property.substring("rocksdb.".length()).replace('-', '.'),
+                        db,
+                        d -> longProperty(d, cf, property))
+                    .tags(commonTags.and("column-family", name))
+                    .register(registry));
+          }
+        });
+  }
+
+  private static double longProperty(RocksDB db, ColumnFamilyHandle cf, String property) {
+    try {
+      return db.getLongProperty(cf, property);
+    } catch (RocksDBException | RuntimeException e) {
+      // The database might have been closed or the property is not supported
+      return Double.NaN;
+    }
+  }
+
+  @Override
+  public void close() {
+    meters.forEach(registry::remove);
+    meters.clear();
+  }
+}
@@ -16,6 +16,7 @@
 package org.projectnessie.versioned.storage.rocksdb;
 
 import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Collections.nCopies;
 import static org.projectnessie.versioned.storage.common.persist.Reference.reference;
 import static org.projectnessie.versioned.storage.serialize.ProtoSerialization.deserializeObj;
 import static org.projectnessie.versioned.storage.serialize.ProtoSerialization.deserializeObjId;
@@ -26,6 +27,7 @@ import static org.projectnessie.versioned.storage.serialize.ProtoSerialization.s
 import com.google.common.collect.AbstractIterator;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.locks.Lock;
@@ -48,6 +50,8 @@ import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.RocksIterator;
 import org.rocksdb.TransactionDB;
+import org.rocksdb.WriteBatch;
+import org.rocksdb.WriteOptions;
 
 class RocksDBPersist implements Persist {
 
@@ -395,14 +399,58 @@ class RocksDBPersist implements Persist {
   @jakarta.annotation.Nonnull
   public boolean[] storeObjs(@Nonnull @jakarta.annotation.Nonnull Obj[] objs)
       throws ObjTooLargeException {
-    boolean[] r = new boolean[objs.length];
-    for (int i = 0; i < objs.length; i++) {
-      Obj o = objs[i];
-      if (o != null) {
-        r[i] = storeObj(o, false);
+    int num = objs.length;
+    boolean[] r = new boolean[num];
+
+    List<ObjId> ids = new ArrayList<>(num);
+    for (Obj obj : objs) {
+      if (obj != null) {
+        checkArgument(obj.id() != null, "Obj to store must have a non-null ID");
+        ids.add(obj.id());
       }
     }
-    return r;
+    if (ids.isEmpty()) {
+      return r;
+    }
+
+    int incrementalIndexSizeLimit = effectiveIncrementalIndexSizeLimit();
+    int indexSizeLimit = effectiveIndexSegmentSizeLimit();
+
+    List<Lock> locks = repo.objLocks(ids);
+    try (WriteBatch batch = new WriteBatch();
+        WriteOptions writeOptions = new WriteOptions()) {
+      RocksDBBackend b = backend;
+      TransactionDB db = b.db();
+      ColumnFamilyHandle cf = b.objs();
+
+      List<byte[]> keys = new ArrayList<>(ids.size());
+      for (ObjId id : ids) {
+        keys.add(dbKey(id));
+      }
+      List<byte[]> existing = db.multiGetAsList(nCopies(keys.size(), cf), keys);
+
+      Set<ObjId> added = new HashSet<>();
+      for (int i = 0, ki = 0; i < num; i++) {
+        Obj obj = objs[i];
+        if (obj != null) {
+          int k = ki++;
+          if (existing.get(k) == null && added.add(obj.id())) {
+            batch.put(
+                cf, keys.get(k), serializeObj(obj, incrementalIndexSizeLimit, indexSizeLimit));
+            r[i] = true;
+          }
+        }
+      }
+
+      if (batch.count() > 0) {
+        db.write(writeOptions, batch);
+      }
+      return r;
+    } catch (RocksDBException e) {
+      throw rocksDbException(e);
+    } finally {
+      RocksDBRepo.unlockAll(locks);
+    }
   }
 
   @Override
@@ -424,8 +472,32 @@ class RocksDBPersist implements Persist {
 
   @Override
   public void deleteObjs(@Nonnull @jakarta.annotation.Nonnull ObjId[] ids) {
+    List<ObjId> idList = new ArrayList<>(ids.length);
     for (ObjId id : ids) {
-      deleteObj(id);
+      if (id != null) {
+        idList.add(id);
+      }
+    }
+    if (idList.isEmpty()) {
+      return;
+    }
+
+    List<Lock> locks = repo.objLocks(idList);
+    try (WriteBatch batch = new WriteBatch();
+        WriteOptions writeOptions = new WriteOptions()) {
+      RocksDBBackend b = backend;
+      TransactionDB db = b.db();
+      ColumnFamilyHandle cf = b.objs();
+
+      for (ObjId id : idList) {
+        batch.delete(cf, dbKey(id));
+      }
+
+      db.write(writeOptions, batch);
+    } catch (RocksDBException e) {
+      throw rocksDbException(e);
+    } finally {
+      RocksDBRepo.unlockAll(locks);
     }
   }
 
@@ -455,8 +527,36 @@ class RocksDBPersist implements Persist {
   @Override
   public void upsertObjs(@Nonnull @jakarta.annotation.Nonnull Obj[] objs)
       throws ObjTooLargeException {
-    for (Obj obj : objs) {
-      upsertObj(obj);
+    List<ObjId> ids = new ArrayList<>(objs.length);
+    try (WriteBatch batch = new WriteBatch();
+        WriteOptions writeOptions = new WriteOptions()) {
+      RocksDBBackend b = backend;
+      TransactionDB db = b.db();
+      ColumnFamilyHandle cf = b.objs();
+
+      int incrementalIndexSizeLimit = effectiveIncrementalIndexSizeLimit();
+      int indexSizeLimit = effectiveIndexSegmentSizeLimit();
+      for (Obj obj : objs) {
+        if (obj != null) {
+          ObjId id = obj.id();
+          checkArgument(id != null, "Obj to store must have a non-null ID");
+          ids.add(id);
+          batch.put(cf, dbKey(id), serializeObj(obj, incrementalIndexSizeLimit, indexSizeLimit));
+        }
+      }
+      if (ids.isEmpty()) {
+        return;
+      }
+
+      // Objects are serialized before acquiring the locks, only the write happens under the locks.
+      List<Lock> locks = repo.objLocks(ids);
+      try {
+        db.write(writeOptions, batch);
+      } finally {
+        RocksDBRepo.unlockAll(locks);
+      }
+    } catch (RocksDBException e) {
+      throw rocksDbException(e);
     }
   }
 
@@ -471,7 +571,7 @@ class RocksDBPersist implements Persist {
     b.all()
         .forEach(
             cf -> {
-              try (RocksIterator iter = db.newIterator(cf)) {
+              try (RocksIterator iter = db.newIterator(cf, b.totalOrderReadOptions())) {
                 List<ByteString> deletes = new ArrayList<>();
                 for (iter.seekToFirst(); iter.isValid(); iter.next()) {
                   ByteString key = ByteString.copyFrom(iter.key());
@@ -516,7 +616,7 @@ class RocksDBPersist implements Persist {
       RocksDBBackend b = backend;
       db = b.db();
       cf = b.objs();
-      iter = db.newIterator(b.objs());
+      iter = db.newIterator(b.objs(), b.totalOrderReadOptions());
       iter.seekToFirst();
     }
 
@@ -16,6 +16,8 @@
 package org.projectnessie.versioned.storage.rocksdb;
 
 import com.google.common.util.concurrent.Striped;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.locks.Lock;
 import org.projectnessie.versioned.storage.common.persist.ObjId;
 
@@ -42,4 +44,31 @@ final class RocksDBRepo {
     l.lock();
     return l;
   }
+
+  /**
+   * Acquires the locks for all given object IDs. The locks are always acquired in the order of the
+   * lock stripes to prevent deadlocks between concurrent bulk operations, release the returned
+   * locks via {@link #unlockAll(List)}.
+   */
+  @SuppressWarnings("UnstableApiUsage")
+  List<Lock> objLocks(List<ObjId> ids) {
+    List<Lock> locks = new ArrayList<>();
+    Lock previous = null;
+    // bulkGet() returns the stripes sorted by stripe index, the same stripe may appear multiple
+    // times, but only adjacent to each other.
+    for (Lock l : objLocks.bulkGet(ids)) {
+      if (l != previous) {
+        l.lock();
+        locks.add(l);
+        previous = l;
+      }
+    }
+    return locks;
+  }
+
+  static void unlockAll(List<Lock> locks) {
+    for (int i = locks.size() - 1; i >= 0; i--) {
+      locks.get(i).unlock();
+    }
+  }
 }
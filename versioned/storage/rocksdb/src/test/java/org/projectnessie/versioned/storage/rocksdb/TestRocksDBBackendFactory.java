@@ -17,7 +17,12 @@ package org.projectnessie.versioned.storage.rocksdb;
 
 import static org.projectnessie.versioned.storage.common.logic.Logics.repositoryLogic;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.nio.file.Path;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
 import org.assertj.core.api.SoftAssertions;
 import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
 import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
@@ -29,9 +34,13 @@ import org.projectnessie.versioned.storage.common.logic.RepositoryDescription;
 import org.projectnessie.versioned.storage.common.logic.RepositoryLogic;
 import org.projectnessie.versioned.storage.common.persist.Backend;
 import org.projectnessie.versioned.storage.common.persist.BackendFactory;
+import org.projectnessie.versioned.storage.common.persist.CloseableIterator;
+import org.projectnessie.versioned.storage.common.persist.Obj;
+import org.projectnessie.versioned.storage.common.persist.ObjType;
 import org.projectnessie.versioned.storage.common.persist.Persist;
 import org.projectnessie.versioned.storage.common.persist.PersistFactory;
 import org.projectnessie.versioned.storage.common.persist.PersistLoader;
+import org.rocksdb.CompressionType;
 
 @ExtendWith(SoftAssertionsExtension.class)
 public class TestRocksDBBackendFactory {
@@ -79,6 +88,54 @@ public class TestRocksDBBackendFactory {
     }
   }
 
+  @Test
+  public void tunedProfile() throws Exception {
+    BackendFactory<RocksDBBackendConfig> factory =
+        PersistLoader.findFactoryByName(RocksDBBackendFactory.NAME);
+
+    RocksDBBackendConfig config =
+        RocksDBBackendConfig.builder()
+            .databasePath(rocksDir)
+            .blockCacheSize(1024L * 1024L)
+            .bloomFilterBitsPerKey(12)
+            .objectsCompression("zstd")
+            .objectsBottommostCompression("none")
+            .referencesCompression("LZ4")
+            // The default repository ID is empty, all keys start with ':'
+            .prefixExtractorLength(1)
+            .writeBufferSize(4L * 1024L * 1024L)
+            .maxWriteBufferNumber(3)
+            .maxTotalWalSize(16L * 1024L * 1024L)
+            .statisticsEnabled(true)
+            .build();
+
+    try (Backend backend = factory.buildBackend(config)) {
+      backend.setupSchema();
+      Persist persist = backend.createFactory().newPersist(DEFAULT_CONFIG);
+
+      RepositoryLogic repositoryLogic = repositoryLogic(persist);
+      repositoryLogic.initialize("tuned");
+      soft.assertThat(repositoryLogic.fetchRepositoryDescription()).isNotNull();
+      try (CloseableIterator<Obj> objs = persist.scanAllObjects(EnumSet.allOf(ObjType.class))) {
+        soft.assertThat(objs).hasNext();
+      }
+    }
+  }
+
+  @Test
+  public void compressionType() {
+    soft.assertThat(RocksDBBackend.compressionType("none"))
+        .isEqualTo(CompressionType.NO_COMPRESSION);
+    soft.assertThat(RocksDBBackend.compressionType("")).isEqualTo(CompressionType.NO_COMPRESSION);
+    soft.assertThat(RocksDBBackend.compressionType("lz4"))
+        .isEqualTo(CompressionType.LZ4_COMPRESSION);
+    soft.assertThat(RocksDBBackend.compressionType(" ZSTD "))
+        .isEqualTo(CompressionType.ZSTD_COMPRESSION);
+    soft.assertThatIllegalArgumentException()
+        .isThrownBy(() -> RocksDBBackend.compressionType("foo"))
+        .withMessage("Unknown RocksDB compression type: foo");
+  }
+
   @Test
   public void testFactory() throws Exception {
     RocksDBBackendTestFactory testFactory = new RocksDBBackendTestFactory();
@@ -135,4 +192,40 @@ public class TestRocksDBBackendFactory {
       testFactory.stop();
     }
   }
+
+  @Test
+  public void metricsOfMultipleBackends(@TempDir Path otherDir) throws Exception {
+    BackendFactory<RocksDBBackendConfig> factory =
+        PersistLoader.findFactoryByName(RocksDBBackendFactory.NAME);
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    String path = rocksDir.toAbsolutePath().toString();
+    String otherPath = otherDir.toAbsolutePath().toString();
+
+    try (Backend backend = factory.buildBackend(withMetrics(rocksDir, registry))) {
+      backend.setupSchema();
+      try (Backend other = factory.buildBackend(withMetrics(otherDir, registry))) {
+        other.setupSchema();
+        soft.assertThat(databasePaths(registry)).containsExactlyInAnyOrder(path, otherPath);
+      }
+
+      // Closing a backend only removes its own meters
+      soft.assertThat(databasePaths(registry)).containsExactly(path);
+      soft.assertThat(registry.find("nessie.rocksdb.estimate.num.keys").gauges()).hasSize(2);
+    }
+    soft.assertThat(registry.getMeters()).isEmpty();
+  }
+
+  private static RocksDBBackendConfig withMetrics(Path databasePath, MeterRegistry registry) {
+    return RocksDBBackendConfig.builder()
+        .databasePath(databasePath)
+        .statisticsEnabled(true)
+        .meterRegistry(registry)
+        .build();
+  }
+
+  private static Set<String> databasePaths(MeterRegistry registry) {
+    return registry.getMeters().stream()
+        .map(m -> m.getId().getTag("database-path"))
+        .collect(Collectors.toSet());
+  }
 }
@@ -0,0 +1,275 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.versionstore;
+
+import static org.projectnessie.versioned.storage.common.logic.Logics.commitLogic;
+import static org.projectnessie.versioned.storage.versionstore.BaseCommitHelper.committingOperation;
+import static org.projectnessie.versioned.storage.versionstore.RefMapping.referenceNotFound;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import org.projectnessie.model.CommitMeta;
+import org.projectnessie.model.ContentKey;
+import org.projectnessie.versioned.BranchName;
+import org.projectnessie.versioned.Commit;
+import org.projectnessie.versioned.CommitResult;
+import org.projectnessie.versioned.Hash;
+import org.projectnessie.versioned.Operation;
+import org.projectnessie.versioned.ReferenceConflictException;
+import org.projectnessie.versioned.ReferenceNotFoundException;
+import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
+import org.projectnessie.versioned.storage.common.exceptions.RefConditionFailedException;
+import org.projectnessie.versioned.storage.common.exceptions.RefNotFoundException;
+import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.projectnessie.versioned.storage.common.persist.Reference;
+import org.projectnessie.versioned.storage.versionstore.CommitImpl.CommitRetryState;
+
+/**
+ * Coalesces concurrent commits to the same branch into groups ("group commit").
+ *
+ * <p>Every commit is added to the queue of its branch. The thread that holds the branch's lock
+ * takes the queued commits, applies them in order against an in-memory HEAD, each commit using the
+ * commit created by the previous one as its parent, and publishes the last commit of the group with
+ * a single reference pointer update. Commits that fail, for example due to a conflict with a
+ * previous commit of the group, do not affect the other commits of the group. Threads whose
+ * commits have been handled by another thread just return the outcome.
+ *
+ * <p>If the reference pointer update fails, because the branch has been updated concurrently by
+ * another Nessie instance, the commits of the group are performed individually using the regular
+ * retry mechanism.
+ */
+final class CommitCoalescer {
+
+  private final Persist persist;
+  private final int maxCommits;
+  private final ConcurrentMap<String, BranchQueue> branches = new ConcurrentHashMap<>();
+
+  CommitCoalescer(Persist persist, int maxCommits) {
+    this.persist = persist;
+    this.maxCommits = Math.max(maxCommits, 1);
+  }
+
+  CommitResult<Commit> commit(
+      BranchName branch,
+      Optional<Hash> referenceHash,
+      CommitMeta metadata,
+      List<Operation> operations,
+      Callable<Void> validator,
+      BiConsumer<ContentKey, String> addedContents)
+      throws ReferenceNotFoundException, ReferenceConflictException {
+    PendingCommit pending =
+        new PendingCommit(referenceHash, metadata, operations, validator, addedContents);
+
+    BranchQueue queue = branches.computeIfAbsent(branch.getName(), b -> new BranchQueue());
+    queue.pending.add(pending);
+    queue.lock.lock();
+    try {
+      if (!pending.done) {
+        List<PendingCommit> group = queue.nextGroup(pending);
+        Throwable failure = null;
+        try {
+          commitGroup(branch, group);
+        } catch (Throwable t) {
+          failure = t;
+          throw t;
+        } finally {
+          // The commits have been taken from the queue, their threads must not wait for them.
+          for (PendingCommit c : group) {
+            if (!c.done) {
+              c.failed(
+                  failure != null
+                      ? failure
+                      : new IllegalStateException("Commit has not been processed"));
+            }
+          }
+        }
+      }
+    } finally {
+      queue.lock.unlock();
+      if (queue.pending.isEmpty() && !queue.lock.hasQueuedThreads()) {
+        branches.remove(branch.getName(), queue);
+      }
+    }
+
+    if (pending.retry) {
+      // The commit could not be published as part of a group, perform it individually and retry
+      // on conflicting reference updates.
+      return committingOperation(
+          "commit",
+          branch,
+          referenceHash,
+          persist,
+          CommitImpl::new,
+          (commitImpl, retryState) ->
+              commitImpl.commit(
+                  retryState.isPresent() ? retryState : Optional.of(pending.retryState),
+                  metadata,
+                  operations,
+                  validator,
+                  addedContents));
+    }
+    return pending.result();
+  }
+
+  private void commitGroup(BranchName branch, List<PendingCommit> group) {
+    Reference reference;
+    CommitObj head;
+    try {
+      reference = new RefMapping(persist).resolveNamedRef(branch);
+      head = commitLogic(persist).headCommit(reference);
+    } catch (ReferenceNotFoundException e) {
+      group.forEach(c -> c.failed(e));
+      return;
+    } catch (ObjNotFoundException e) {
+      ReferenceNotFoundException ex = referenceNotFound(e);
+      group.forEach(c -> c.failed(ex));
+      return;
+    } catch (RuntimeException e) {
+      group.forEach(c -> c.failed(e));
+      return;
+    }
+
+    List<PendingCommit> applied = new ArrayList<>(group.size());
+    for (PendingCommit c : group) {
+      try {
+        c.committer = new CommitImpl(branch, c.referenceHash, persist, reference, head);
+        c.newHead = c.committer.createCommit(c.retryState, c.metadata, c.operations, c.validator);
+        head = c.newHead;
+        applied.add(c);
+      } catch (Exception e) {
+        c.failure = e;
+      }
+    }
+
+    if (!applied.isEmpty()) {
+      try {
+        persist.updateReferencePointer(reference, head.id());
+      } catch (RefConditionFailedException e) {
+        // Concurrent update via another Nessie instance. Conflicts might have been caused by
+        // commits of this group, which have not been published.
+        for (PendingCommit c : group) {
+          if (c.failure == null || c.failure instanceof ReferenceConflictException) {
+            c.retry = true;
+          }
+        }
+      } catch (RefNotFoundException e) {
+        RuntimeException ex = new RuntimeException("Internal reference not found", e);
+        applied.forEach(c -> c.failure = ex);
+      } catch (RuntimeException e) {
+        applied.forEach(c -> c.failure = e);
+      }
+    }
+
+    for (PendingCommit c : group) {
+      if (!c.retry && c.failure == null) {
+        try {
+          c.retryState.generatedContentIds.forEach(c.addedContents);
+          c.commitResult = c.committer.commitResult(c.newHead);
+        } catch (Exception e) {
+          c.failure = e;
+        }
+      }
+      c.done = true;
+    }
+  }
+
+  private final class BranchQueue {
+    final Queue<PendingCommit> pending = new ConcurrentLinkedQueue<>();
+    final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Takes up to {@link #maxCommits} commits from the queue, in order, and more if necessary to
+     * include {@code own}.
+     */
+    List<PendingCommit> nextGroup(PendingCommit own) {
+      List<PendingCommit> group = new ArrayList<>();
+      boolean includesOwn = false;
+      while (group.size() < maxCommits || !includesOwn) {
+        PendingCommit c = pending.poll();
+        if (c == null) {
+          break;
+        }
+        group.add(c);
+        includesOwn |= c == own;
+      }
+      return group;
+    }
+  }
+
+  private static final class PendingCommit {
+    final Optional<Hash> referenceHash;
+    final CommitMeta metadata;
+    final List<Operation> operations;
+    final Callable<Void> validator;
+    final BiConsumer<ContentKey, String> addedContents;
+    final CommitRetryState retryState = new CommitRetryState();
+
+    // The following fields are only accessed while holding the branch's lock.
+    CommitImpl committer;
+    CommitObj newHead;
+    CommitResult<Commit> commitResult;
+    Throwable failure;
+    boolean retry;
+    boolean done;
+
+    PendingCommit(
+        Optional<Hash> referenceHash,
+        CommitMeta metadata,
+        List<Operation> operations,
+        Callable<Void> validator,
+        BiConsumer<ContentKey, String> addedContents) {
+      this.referenceHash = referenceHash;
+      this.metadata = metadata;
+      this.operations = operations;
+      this.validator = validator;
+      this.addedContents = addedContents;
+    }
+
+    void failed(Throwable e) {
+      failure = e;
+      done = true;
+    }
+
+    CommitResult<Commit> result() throws ReferenceNotFoundException, ReferenceConflictException {
+      Throwable f = failure;
+      if (f == null) {
+        return commitResult;
+      }
+      if (f instanceof ReferenceNotFoundException) {
+        throw (ReferenceNotFoundException) f;
+      }
+      if (f instanceof ReferenceConflictException) {
+        throw (ReferenceConflictException) f;
+      }
+      if (f instanceof RuntimeException) {
+        throw (RuntimeException) f;
+      }
+      if (f instanceof Error) {
+        throw (Error) f;
+      }
+      throw new RuntimeException(f);
+    }
+  }
+}
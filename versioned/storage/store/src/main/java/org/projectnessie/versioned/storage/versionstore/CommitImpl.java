@@ -145,6 +145,28 @@ class CommitImpl extends BaseCommitHelper {
           ReferenceConflictException,
           RetryException,
           ObjTooLargeException {
+    CommitRetryState commitRetryState =
+        retryState.map(x -> (CommitRetryState) x).orElseGet(CommitRetryState::new);
+
+    CommitObj newHead = createCommit(commitRetryState, metadata, operations, validator);
+
+    bumpReferencePointer(newHead.id(), Optional.of(commitRetryState));
+
+    commitRetryState.generatedContentIds.forEach(addedContents);
+
+    return commitResult(newHead);
+  }
+
+  /**
+   * Validates and persists the commit on top of the current HEAD, but does not update the
+   * reference pointer.
+   */
+  CommitObj createCommit(
+      @Nonnull @jakarta.annotation.Nonnull CommitRetryState commitRetryState,
+      @Nonnull @jakarta.annotation.Nonnull CommitMeta metadata,
+      @Nonnull @jakarta.annotation.Nonnull List<Operation> operations,
+      @Nonnull @jakarta.annotation.Nonnull Callable<Void> validator)
+      throws ReferenceNotFoundException, ReferenceConflictException, ObjTooLargeException {
     try {
       validator.call();
     } catch (RuntimeException e) {
@@ -157,9 +179,6 @@ class CommitImpl extends BaseCommitHelper {
     CreateCommit.Builder commit = newCommitBuilder().parentCommitId(headId());
     List<Obj> objectsToStore = new ArrayList<>(operations.size());
 
-    CommitRetryState commitRetryState =
-        retryState.map(x -> (CommitRetryState) x).orElseGet(CommitRetryState::new);
-
     Consumer<Obj> valueConsumer =
         obj -> {
           if (commitRetryState.storedContents.add(obj.id())) {
@@ -183,17 +202,21 @@ class CommitImpl extends BaseCommitHelper {
           "Hash collision detected, a commit with the same parent commit, commit message, "
               + "headers/commit-metadata and operations already exists");
 
-      bumpReferencePointer(newHead.id(), Optional.of(commitRetryState));
-
-      commitRetryState.generatedContentIds.forEach(addedContents);
+      return newHead;
+    } catch (CommitConflictException e) {
+      throw referenceConflictException(e);
+    } catch (ObjNotFoundException e) {
+      throw referenceNotFound(e);
+    }
+  }
 
+  CommitResult<Commit> commitResult(@Nonnull @jakarta.annotation.Nonnull CommitObj newHead)
+      throws ReferenceNotFoundException {
+    try {
       return ImmutableCommitResult.<Commit>builder()
           .commit(contentMapping.commitObjToCommit(true, newHead))
           .targetBranch((BranchName) RefMapping.referenceToNamedRef(reference))
           .build();
-
-    } catch (CommitConflictException e) {
-      throw referenceConflictException(e);
     } catch (ObjNotFoundException e) {
       throw referenceNotFound(e);
     }
@@ -86,6 +86,24 @@ public final class ContentMapping {
     return r;
   }
 
+  /**
+   * Fetches the contents for the given IDs using a single bulk read. The returned map contains the
+   * contents of all given IDs that refer to a content value.
+   */
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  public Map<ObjId, Content> fetchContents(@Nonnull @jakarta.annotation.Nonnull ObjId[] ids)
+      throws ObjNotFoundException {
+    Map<ObjId, Content> r = new HashMap<>(ids.length * 2);
+    Obj[] objs = persist.fetchObjs(ids);
+    for (Obj obj : objs) {
+      if (obj instanceof ContentValueObj) {
+        r.put(obj.id(), valueToContent((ContentValueObj) obj));
+      }
+    }
+    return r;
+  }
+
   private static Content valueToContent(ContentValueObj contentValue) {
     return STORE_WORKER.valueFromStore((byte) contentValue.payload(), contentValue.data());
   }
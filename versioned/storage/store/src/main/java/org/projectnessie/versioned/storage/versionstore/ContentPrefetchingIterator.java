@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.versionstore;
+
+import static java.util.Collections.emptyMap;
+
+import com.google.common.collect.AbstractIterator;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import org.projectnessie.model.Content;
+import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
+import org.projectnessie.versioned.storage.common.indexes.StoreIndexElement;
+import org.projectnessie.versioned.storage.common.objtypes.CommitOp;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+
+/**
+ * Iterates over index elements and reads ahead up to {@code batchSize} elements, fetching the
+ * content values of all read-ahead elements, that need those, using a single bulk read.
+ *
+ * <p>{@link #content(ObjId)} returns the content values for the element most recently returned by
+ * {@link #next()}.
+ */
+final class ContentPrefetchingIterator extends AbstractIterator<StoreIndexElement<CommitOp>> {
+
+  private final Iterator<StoreIndexElement<CommitOp>> source;
+  private final Predicate<StoreIndexElement<CommitOp>> needsContent;
+  private final ContentMapping contentMapping;
+  private final int batchSize;
+
+  private final Deque<StoreIndexElement<CommitOp>> batch;
+  private Map<ObjId, Content> contents = emptyMap();
+
+  ContentPrefetchingIterator(
+      Iterator<StoreIndexElement<CommitOp>> source,
+      Predicate<StoreIndexElement<CommitOp>> needsContent,
+      ContentMapping contentMapping,
+      int batchSize) {
+    this.source = source;
+    this.needsContent = needsContent;
+    this.contentMapping = contentMapping;
+    this.batchSize = Math.max(batchSize, 1);
+    this.batch = new ArrayDeque<>(this.batchSize);
+  }
+
+  @Override
+  protected StoreIndexElement<CommitOp> computeNext() {
+    if (batch.isEmpty()) {
+      List<ObjId> ids = new ArrayList<>();
+      while (batch.size() < batchSize && source.hasNext()) {
+        StoreIndexElement<CommitOp> el = source.next();
+        batch.add(el);
+        ObjId value = el.content().value();
+        if (value != null && needsContent.test(el)) {
+          ids.add(value);
+        }
+      }
+      if (batch.isEmpty()) {
+        return endOfData();
+      }
+      try {
+        contents =
+            ids.isEmpty() ? emptyMap() : contentMapping.fetchContents(ids.toArray(new ObjId[0]));
+      } catch (ObjNotFoundException e) {
+        throw new RuntimeException("Could not fetch or map content", e);
+      }
+    }
+    return batch.poll();
+  }
+
+  /**
+   * Returns the content for the given value ID, which has been fetched along with the current
+   * batch, or fetches the content individually.
+   */
+  Content content(ObjId value) throws ObjNotFoundException {
+    Content content = contents.get(value);
+    return content != null ? content : contentMapping.fetchContent(value);
+  }
+}
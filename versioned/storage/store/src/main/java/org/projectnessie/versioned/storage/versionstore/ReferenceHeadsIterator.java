@@ -0,0 +1,184 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.versionstore;
+
+import static java.util.Collections.emptyIterator;
+import static org.projectnessie.versioned.storage.common.logic.Logics.commitLogic;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.EMPTY_OBJ_ID;
+
+import com.google.common.collect.AbstractIterator;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.projectnessie.versioned.ReferenceNotFoundException;
+import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
+import org.projectnessie.versioned.storage.common.logic.CommitLogic;
+import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
+import org.projectnessie.versioned.storage.common.persist.Obj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.projectnessie.versioned.storage.common.persist.Reference;
+
+/**
+ * Iterates over references and reads ahead a batch of references, fetching the HEAD commits of all
+ * references in the batch using a single bulk read. The results for the references of a batch are
+ * built by up to {@code parallelism} threads, the order of the references is retained.
+ *
+ * <p>The batch size starts at {@value #INITIAL_BATCH_SIZE} and doubles with every batch up to
+ * {@value #MAX_BATCH_SIZE}, so that small pages do not build results for many references that are
+ * never consumed.
+ */
+final class ReferenceHeadsIterator<R> extends AbstractIterator<Map.Entry<Reference, R>> {
+
+  static final int INITIAL_BATCH_SIZE = 10;
+  static final int MAX_BATCH_SIZE = 100;
+
+  @FunctionalInterface
+  interface ResultBuilder<R> {
+    R build(Reference reference, CommitObj head)
+        throws ReferenceNotFoundException, ObjNotFoundException;
+  }
+
+  private final Iterator<Reference> source;
+  private final Persist persist;
+  private final ResultBuilder<R> resultBuilder;
+  private final int parallelism;
+  private final Executor executor;
+
+  private int batchSize = INITIAL_BATCH_SIZE;
+  private Iterator<Map.Entry<Reference, R>> batch = emptyIterator();
+
+  ReferenceHeadsIterator(
+      Iterator<Reference> source,
+      Persist persist,
+      ResultBuilder<R> resultBuilder,
+      int parallelism,
+      Executor executor) {
+    this.source = source;
+    this.persist = persist;
+    this.resultBuilder = resultBuilder;
+    this.parallelism = Math.max(parallelism, 1);
+    this.executor = executor;
+  }
+
+  @Override
+  protected Map.Entry<Reference, R> computeNext() {
+    if (!batch.hasNext()) {
+      List<Reference> references = new ArrayList<>(batchSize);
+      while (references.size() < batchSize && source.hasNext()) {
+        references.add(source.next());
+      }
+      if (references.isEmpty()) {
+        return endOfData();
+      }
+      batchSize = Math.min(batchSize * 2, MAX_BATCH_SIZE);
+
+      Map<ObjId, CommitObj> heads = fetchHeads(references);
+      batch = buildResults(references, heads).iterator();
+    }
+    return batch.next();
+  }
+
+  private Map<ObjId, CommitObj> fetchHeads(List<Reference> references) {
+    // Many references usually point to the same commit, but IDs must not be fetched twice.
+    Set<ObjId> uniqueIds = new LinkedHashSet<>();
+    for (Reference reference : references) {
+      if (!EMPTY_OBJ_ID.equals(reference.pointer())) {
+        uniqueIds.add(reference.pointer());
+      }
+    }
+    Map<ObjId, CommitObj> heads = new HashMap<>();
+    if (uniqueIds.isEmpty()) {
+      return heads;
+    }
+
+    ObjId[] ids = uniqueIds.toArray(new ObjId[0]);
+    CommitLogic commitLogic = commitLogic(persist);
+    ObjId current = null;
+    try {
+      Obj[] objs = persist.fetchObjs(ids);
+      for (int i = 0; i < ids.length; i++) {
+        current = ids[i];
+        Obj obj = objs[i];
+        // Resolve a CommitObjReference, if necessary
+        heads.put(
+            current, obj instanceof CommitObj ? (CommitObj) obj : commitLogic.fetchCommit(current));
+      }
+    } catch (ObjNotFoundException e) {
+      ObjId notFound = current != null ? current : e.objIds().get(0);
+      Reference reference =
+          references.stream()
+              .filter(r -> r.pointer().equals(notFound))
+              .findFirst()
+              .orElse(references.get(0));
+      throw new RuntimeException("Could not resolve reference " + reference, e);
+    }
+    return heads;
+  }
+
+  private List<Map.Entry<Reference, R>> buildResults(
+      List<Reference> references, Map<ObjId, CommitObj> heads) {
+    int size = references.size();
+    @SuppressWarnings("unchecked")
+    Map.Entry<Reference, R>[] results = new Map.Entry[size];
+    AtomicInteger nextIndex = new AtomicInteger();
+    Runnable worker =
+        () -> {
+          for (int i; (i = nextIndex.getAndIncrement()) < size; ) {
+            Reference reference = references.get(i);
+            try {
+              R result = resultBuilder.build(reference, heads.get(reference.pointer()));
+              results[i] = new SimpleImmutableEntry<>(reference, result);
+            } catch (ReferenceNotFoundException | ObjNotFoundException e) {
+              throw new RuntimeException("Could not resolve reference " + reference, e);
+            }
+          }
+        };
+
+    int threads = Math.min(parallelism, size);
+    if (threads <= 1) {
+      worker.run();
+    } else {
+      // The current thread is one of the workers.
+      CompletableFuture<?>[] futures = new CompletableFuture[threads - 1];
+      for (int t = 0; t < futures.length; t++) {
+        futures[t] = CompletableFuture.runAsync(worker, executor);
+      }
+      worker.run();
+      try {
+        CompletableFuture.allOf(futures).join();
+      } catch (CompletionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException) {
+          throw (RuntimeException) cause;
+        }
+        throw e;
+      }
+    }
+
+    return Arrays.asList(results);
+  }
+}
@@ -128,6 +128,43 @@ public final class TypeMapping {
     // Note: the relative values of outer and inner (key elements) separators affect the correctness
     // of StoreKey comparisons WRT to ContentKey comparisons. The inner separator must be greater
     // than the outer separator because longer ContentKeys are greater than shorter ContentKeys.
+    StringBuilder sb = keyElements(key);
+    sb.append((char) 0).append(CONTENT_DISCRIMINATOR);
+    return StoreKey.keyFromString(sb.toString());
+  }
+
+  /**
+   * Converts a {@link ContentKey} to a {@link StoreKey} that is a {@link
+   * StoreKey#startsWith(StoreKey) prefix} of the store keys of the given content key and of all
+   * content keys that {@link ContentKey#startsWith(ContentKey) start with} the given content key.
+   *
+   * <p>Note: the returned prefix also matches content keys, whose last element merely starts with
+   * the last element of the given key, use {@link #isElementPrefixOf(StoreKey, StoreKey)} to check
+   * for a matching key.
+   */
+  @Nonnull
+  @jakarta.annotation.Nonnull
+  public static StoreKey keyToStoreKeyPrefix(@Nonnull @jakarta.annotation.Nonnull ContentKey key) {
+    return StoreKey.keyFromString(keyElements(key).toString());
+  }
+
+  /**
+   * Checks whether the given store key represents a content key that starts with the content key
+   * represented by the given {@link #keyToStoreKeyPrefix(ContentKey) prefix}.
+   */
+  public static boolean isElementPrefixOf(
+      @Nonnull @jakarta.annotation.Nonnull StoreKey prefix,
+      @Nonnull @jakarta.annotation.Nonnull StoreKey storeKey) {
+    if (!storeKey.startsWith(prefix)) {
+      return false;
+    }
+    String raw = storeKey.rawString();
+    int prefixLength = prefix.rawString().length();
+    // next character must be either the outer (char 0) or the inner (char 1) separator
+    return raw.length() > prefixLength && raw.charAt(prefixLength) <= (char) 1;
+  }
+
+  private static StringBuilder keyElements(ContentKey key) {
     StringBuilder sb = new StringBuilder();
     sb.append(MAIN_UNIVERSE);
     List<String> elements = key.getElements();
@@ -141,8 +178,7 @@ public final class TypeMapping {
         sb.append(elements.get(i));
       }
     }
-    sb.append((char) 0).append(CONTENT_DISCRIMINATOR);
-    return StoreKey.keyFromString(sb.toString());
+    return sb;
   }
 
   @Nonnull
@@ -15,6 +15,7 @@
  */
 package org.projectnessie.versioned.storage.versionstore;
 
+import static java.util.Collections.emptyIterator;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singleton;
 import static java.util.Objects.requireNonNull;
@@ -32,6 +33,7 @@ import static org.projectnessie.versioned.storage.common.logic.ReferencesQuery.r
 import static org.projectnessie.versioned.storage.common.persist.ObjId.EMPTY_OBJ_ID;
 import static org.projectnessie.versioned.storage.common.persist.ObjType.COMMIT;
 import static org.projectnessie.versioned.storage.common.persist.Reference.reference;
+import static org.projectnessie.versioned.storage.common.util.DaemonThreadPools.newBoundedDaemonPool;
 import static org.projectnessie.versioned.storage.versionstore.BaseCommitHelper.committingOperation;
 import static org.projectnessie.versioned.storage.versionstore.BaseCommitHelper.dryRunCommitterSupplier;
 import static org.projectnessie.versioned.storage.versionstore.RefMapping.NO_ANCESTOR;
@@ -45,12 +47,16 @@ import static org.projectnessie.versioned.storage.versionstore.RefMapping.refere
 import static org.projectnessie.versioned.storage.versionstore.RefMapping.referenceToNamedRef;
 import static org.projectnessie.versioned.storage.versionstore.RefMapping.verifyExpectedHash;
 import static org.projectnessie.versioned.storage.versionstore.TypeMapping.hashToObjId;
+import static org.projectnessie.versioned.storage.versionstore.TypeMapping.isElementPrefixOf;
 import static org.projectnessie.versioned.storage.versionstore.TypeMapping.keyToStoreKey;
+import static org.projectnessie.versioned.storage.versionstore.TypeMapping.keyToStoreKeyPrefix;
 import static org.projectnessie.versioned.storage.versionstore.TypeMapping.objIdToHash;
 import static org.projectnessie.versioned.storage.versionstore.TypeMapping.storeKeyToKey;
 import static org.projectnessie.versioned.storage.versionstore.TypeMapping.toCommitMeta;
 import static org.projectnessie.versioned.store.DefaultStoreWorker.contentTypeForPayload;
 
+import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.Iterators;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -60,6 +66,7 @@ import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -83,6 +90,7 @@ import org.projectnessie.versioned.ImmutableReferenceDeletedResult;
 import org.projectnessie.versioned.ImmutableReferenceInfo;
 import org.projectnessie.versioned.ImmutableRepositoryInformation;
 import org.projectnessie.versioned.KeyEntry;
+import org.projectnessie.versioned.KeyRestrictions;
 import org.projectnessie.versioned.MergeConflictException;
 import org.projectnessie.versioned.MergeResult;
 import org.projectnessie.versioned.MetadataRewriter;
@@ -127,7 +135,17 @@ import org.projectnessie.versioned.storage.versionstore.BaseCommitHelper.Committ
 
 public class VersionStoreImpl implements VersionStore {
 
+  /**
+   * Runs the blocking reads to compute the common ancestors and ahead/behind counts of multiple
+   * references concurrently, bounded per request by {@link
+   * org.projectnessie.versioned.storage.common.config.StoreConfig#referenceInfoParallelism()}.
+   */
+  private static final Executor REFERENCE_INFO_EXECUTOR =
+      newBoundedDaemonPool(
+          "nessie-reference-info", Math.max(4, Runtime.getRuntime().availableProcessors()));
+
   private final Persist persist;
+  private final CommitCoalescer commitCoalescer;
 
   @SuppressWarnings("unused")
   public VersionStoreImpl() {
@@ -136,6 +154,10 @@ public class VersionStoreImpl implements VersionStore {
 
   public VersionStoreImpl(Persist persist) {
     this.persist = persist;
+    this.commitCoalescer =
+        persist != null && persist.config().commitCoalescing()
+            ? new CommitCoalescer(persist, persist.config().commitCoalescingMaxCommits())
+            : null;
   }
 
   @Nonnull
@@ -345,22 +367,31 @@ public class VersionStoreImpl implements VersionStore {
 
     CommitLogic commitLogic = commitLogic(persist);
 
-    return new FilteringPaginationIterator<Reference, ReferenceInfo<CommitMeta>>(
-        result,
-        reference -> {
-          try {
-            NamedRef namedRef = referenceToNamedRef(reference);
-            CommitObj head = commitLogic(persist).headCommit(reference);
-            return buildReferenceInfo(params, baseRefHead, commitLogic, namedRef, head);
-          } catch (ReferenceNotFoundException | ObjNotFoundException e) {
-            throw new RuntimeException("Could not resolve reference " + reference, e);
-          }
-        }) {
+    // Computing the common ancestor is the expensive part, parallelize only in that case.
+    boolean computeAncestors =
+        baseRefHead.isPresent()
+            && (computesAncestors(params.getBranchRetrieveOptions())
+                || computesAncestors(params.getTagRetrieveOptions()));
+    int parallelism = computeAncestors ? persist.config().referenceInfoParallelism() : 1;
+
+    ReferenceHeadsIterator<ReferenceInfo<CommitMeta>> referenceInfos =
+        new ReferenceHeadsIterator<>(
+            result,
+            persist,
+            (reference, head) ->
+                buildReferenceInfo(
+                    params, baseRefHead, commitLogic, referenceToNamedRef(reference), head),
+            parallelism,
+            REFERENCE_INFO_EXECUTOR);
+
+    return new FilteringPaginationIterator<
+        Map.Entry<Reference, ReferenceInfo<CommitMeta>>, ReferenceInfo<CommitMeta>>(
+        referenceInfos, Map.Entry::getValue) {
 
       @Override
       protected String computeTokenForCurrent() {
-        Reference c = current();
-        return c != null ? tokenFor(c.name()) : null;
+        Map.Entry<Reference, ReferenceInfo<CommitMeta>> c = current();
+        return c != null ? tokenFor(c.getKey().name()) : null;
       }
 
       @Override
@@ -374,6 +405,10 @@ public class VersionStoreImpl implements VersionStore {
     };
   }
 
+  private static boolean computesAncestors(RetrieveOptions opts) {
+    return opts.isRetrieve() && (opts.isComputeAheadBehind() || opts.isComputeCommonAncestor());
+  }
+
   private ReferenceInfo<CommitMeta> buildReferenceInfo(
       GetNamedRefsParams params,
       Optional<CommitObj> baseRefHead,
@@ -477,11 +512,17 @@ public class VersionStoreImpl implements VersionStore {
       public String tokenForEntry(Commit entry) {
         return pagingToken(entry.getHash().asBytes()).asString();
       }
+
+      @Override
+      public void close() {
+        result.close();
+      }
     };
   }
 
   @Override
-  public PaginationIterator<KeyEntry> getKeys(Ref ref, String pagingToken, boolean withContent)
+  public PaginationIterator<KeyEntry> getKeys(
+      Ref ref, String pagingToken, boolean withContent, KeyRestrictions keyRestrictions)
       throws ReferenceNotFoundException {
     RefMapping refMapping = new RefMapping(persist);
     CommitObj head = refMapping.resolveRefHead(ref);
@@ -495,13 +536,53 @@ public class VersionStoreImpl implements VersionStore {
         pagingToken != null && !pagingToken.isEmpty()
             ? keyFromString(fromString(pagingToken).token().toStringUtf8())
             : null;
-    StoreKey end = null;
-
-    Iterator<StoreIndexElement<CommitOp>> result = index.iterator(begin, end, false);
-    ContentMapping contentMapping = new ContentMapping(persist);
+    ContentKey minKey = keyRestrictions.minKey();
+    if (minKey != null) {
+      begin = greaterKey(begin, keyToStoreKey(minKey));
+    }
+    ContentKey prefixKey = keyRestrictions.prefixKey();
+    StoreKey prefix = prefixKey != null ? keyToStoreKeyPrefix(prefixKey) : null;
+    if (prefix != null) {
+      begin = greaterKey(begin, prefix);
+    }
+    ContentKey maxKey = keyRestrictions.maxKey();
+    StoreKey end = maxKey != null ? keyToStoreKey(maxKey) : null;
+
+    // Push the restrictions down to the index, so only the stripes covering the requested key
+    // range are loaded.
+    Iterator<StoreIndexElement<CommitOp>> result;
+    if (begin != null && end != null && begin.compareTo(end) > 0) {
+      result = emptyIterator();
+    } else {
+      result =
+          prefix != null && end == null && prefix.equals(begin)
+              ? index.iterator(prefix, prefix, false)
+              : index.iterator(begin, end, false);
+      if (prefix != null) {
+        // The keys of all children of the prefix sort before sibling keys that merely start with
+        // the same characters (think: 'ns.x' < 'ns2'), stop at the first key that is no child.
+        result = whileElementPrefixOf(result, prefix);
+      }
+    }
+    result =
+        Iterators.filter(
+            result,
+            indexElement ->
+                indexElement.content().action().exists()
+                    // Note: key==null, if not the "main universe" or not a "content" discriminator
+                    && storeKeyToKey(indexElement.key()) != null);
+
+    // Content values are fetched in batches, see ContentPrefetchingIterator. Without 'withContent'
+    // only the values of legacy index elements without a content ID need to be fetched.
+    ContentPrefetchingIterator prefetching =
+        new ContentPrefetchingIterator(
+            result,
+            indexElement -> withContent || indexElement.content().contentId() == null,
+            new ContentMapping(persist),
+            persist.config().contentFetchBatchSize());
 
     return new FilteringPaginationIterator<StoreIndexElement<CommitOp>, KeyEntry>(
-        result,
+        prefetching,
         indexElement -> {
           try {
             ContentKey key = storeKeyToKey(indexElement.key());
@@ -510,24 +591,23 @@ public class VersionStoreImpl implements VersionStore {
 
             if (withContent) {
               Content c =
-                  contentMapping.fetchContent(
-                      requireNonNull(
-                          indexElement.content().value(), "Required value pointer is null"));
+                  prefetching.content(
+                      requireNonNull(commitOp.value(), "Required value pointer is null"));
               return KeyEntry.of(contentType, key, c);
             }
 
             UUID contentId = commitOp.contentId();
             String contentIdString =
-                contentId != null ? contentId.toString() : contentIdFromContent(commitOp);
+                contentId != null
+                    ? contentId.toString()
+                    : prefetching
+                        .content(requireNonNull(commitOp.value(), "Required value pointer is null"))
+                        .getId();
             return KeyEntry.of(contentType, key, contentIdString);
           } catch (ObjNotFoundException e) {
             throw new RuntimeException("Could not fetch or map content", e);
           }
-        },
-        indexElement ->
-            indexElement.content().action().exists()
-                // Note: key==null, if not the "main universe" or not a "content" discriminator
-                && storeKeyToKey(indexElement.key()) != null) {
+        }) {
       @Override
       protected String computeTokenForCurrent() {
         StoreIndexElement<CommitOp> c = current();
@@ -545,10 +625,24 @@ public class VersionStoreImpl implements VersionStore {
     };
   }
 
-  private String contentIdFromContent(CommitOp commitOp) throws ObjNotFoundException {
-    return new ContentMapping(persist)
-        .fetchContent(requireNonNull(commitOp.value(), "Required value pointer is null"))
-        .getId();
+  private static StoreKey greaterKey(StoreKey current, StoreKey key) {
+    return current == null || key.compareTo(current) > 0 ? key : current;
+  }
+
+  private static Iterator<StoreIndexElement<CommitOp>> whileElementPrefixOf(
+      Iterator<StoreIndexElement<CommitOp>> iterator, StoreKey prefix) {
+    return new AbstractIterator<StoreIndexElement<CommitOp>>() {
+      @Override
+      protected StoreIndexElement<CommitOp> computeNext() {
+        if (iterator.hasNext()) {
+          StoreIndexElement<CommitOp> el = iterator.next();
+          if (isElementPrefixOf(prefix, el.key())) {
+            return el;
+          }
+        }
+        return endOfData();
+      }
+    };
   }
 
   @Override
@@ -624,6 +718,10 @@ public class VersionStoreImpl implements VersionStore {
       @Nonnull @jakarta.annotation.Nonnull Callable<Void> validator,
       @Nonnull @jakarta.annotation.Nonnull BiConsumer<ContentKey, String> addedContents)
       throws ReferenceNotFoundException, ReferenceConflictException {
+    if (commitCoalescer != null) {
+      return commitCoalescer.commit(
+          branch, referenceHash, metadata, operations, validator, addedContents);
+    }
     return committingOperation(
         "commit",
         branch,
@@ -0,0 +1,324 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.versionstore;
+
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.projectnessie.model.CommitMeta.fromMessage;
+import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_COMMIT_COALESCING;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nonnull;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.projectnessie.model.ContentKey;
+import org.projectnessie.model.IcebergTable;
+import org.projectnessie.versioned.BranchName;
+import org.projectnessie.versioned.Commit;
+import org.projectnessie.versioned.CommitResult;
+import org.projectnessie.versioned.Hash;
+import org.projectnessie.versioned.Put;
+import org.projectnessie.versioned.ReferenceConflictException;
+import org.projectnessie.versioned.ReferenceNotFoundException;
+import org.projectnessie.versioned.VersionStore;
+import org.projectnessie.versioned.paging.PaginationIterator;
+import org.projectnessie.versioned.storage.common.exceptions.RefConditionFailedException;
+import org.projectnessie.versioned.storage.common.exceptions.RefNotFoundException;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.projectnessie.versioned.storage.common.persist.Reference;
+import org.projectnessie.versioned.storage.testextension.NessiePersist;
+import org.projectnessie.versioned.storage.testextension.NessieStoreConfig;
+import org.projectnessie.versioned.storage.testextension.PersistExtension;
+
+@ExtendWith({PersistExtension.class, SoftAssertionsExtension.class})
+public class TestCommitCoalescer {
+  @NessieStoreConfig(name = CONFIG_COMMIT_COALESCING, value = "true")
+  @NessiePersist
+  protected static Persist persist;
+
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  private ExecutorService executor;
+
+  @BeforeEach
+  void setup() {
+    executor = Executors.newCachedThreadPool();
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    executor.shutdown();
+    executor.awaitTermination(30, SECONDS);
+  }
+
+  @Test
+  public void concurrentCommits() throws Exception {
+    AtomicInteger pointerUpdates = new AtomicInteger();
+    VersionStore store =
+        new VersionStoreImpl(
+            new PersistDelegate(persist) {
+              @Nonnull
+              @jakarta.annotation.Nonnull
+              @Override
+              public Reference updateReferencePointer(
+                  @Nonnull @jakarta.annotation.Nonnull Reference reference,
+                  @Nonnull @jakarta.annotation.Nonnull ObjId newPointer)
+                  throws RefNotFoundException, RefConditionFailedException {
+                pointerUpdates.incrementAndGet();
+                return super.updateReferencePointer(reference, newPointer);
+              }
+            });
+
+    BranchName branch = BranchName.of("concurrent");
+    store.create(branch, Optional.empty());
+
+    int threads = 8;
+    int commitsPerThread = 10;
+    List<Future<?>> futures = new ArrayList<>();
+    for (int t = 0; t < threads; t++) {
+      int thread = t;
+      futures.add(
+          executor.submit(
+              () -> {
+                for (int i = 0; i < commitsPerThread; i++) {
+                  commitKey(store, branch, Optional.empty(), "key-" + thread + "-" + i);
+                }
+                return null;
+              }));
+    }
+    for (Future<?> future : futures) {
+      future.get();
+    }
+
+    soft.assertThat(countCommits(store, branch)).isEqualTo(threads * commitsPerThread);
+    soft.assertThat(pointerUpdates).hasValueLessThanOrEqualTo(threads * commitsPerThread);
+  }
+
+  @Test
+  public void groupWithConflict() throws Exception {
+    CountDownLatch firstUpdate = new CountDownLatch(1);
+    CountDownLatch releaseFirstUpdate = new CountDownLatch(1);
+    AtomicInteger pointerUpdates = new AtomicInteger();
+    VersionStore store =
+        new VersionStoreImpl(
+            new PersistDelegate(persist) {
+              @Nonnull
+              @jakarta.annotation.Nonnull
+              @Override
+              public Reference updateReferencePointer(
+                  @Nonnull @jakarta.annotation.Nonnull Reference reference,
+                  @Nonnull @jakarta.annotation.Nonnull ObjId newPointer)
+                  throws RefNotFoundException, RefConditionFailedException {
+                if (pointerUpdates.incrementAndGet() == 1) {
+                  // Hold the first group, so that the following commits queue up
+                  firstUpdate.countDown();
+                  try {
+                    releaseFirstUpdate.await();
+                  } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                  }
+                }
+                return super.updateReferencePointer(reference, newPointer);
+              }
+            });
+
+    BranchName branch = BranchName.of("group");
+    Hash base = store.create(branch, Optional.empty()).getHash();
+
+    Future<?> first =
+        executor.submit(() -> commitKey(store, branch, Optional.of(base), "first"));
+    firstUpdate.await();
+
+    List<Thread> queued = new ArrayList<>();
+    List<Future<CommitResult<Commit>>> futures = new ArrayList<>();
+    // "key-1" is committed twice, the second one conflicts
+    for (String key : new String[] {"key-1", "key-2", "key-1", "key-3"}) {
+      CountDownLatch started = new CountDownLatch(1);
+      futures.add(
+          executor.submit(
+              () -> {
+                queued.add(Thread.currentThread());
+                started.countDown();
+                return commitKey(store, branch, Optional.of(base), key);
+              }));
+      started.await();
+      awaitWaiting(queued.get(queued.size() - 1));
+    }
+
+    releaseFirstUpdate.countDown();
+    first.get();
+
+    soft.assertThat(futures.get(0).get().getCommit()).isNotNull();
+    soft.assertThat(futures.get(1).get().getCommit()).isNotNull();
+    soft.assertThatThrownBy(() -> futures.get(2).get())
+        .isInstanceOf(ExecutionException.class)
+        .cause()
+        .isInstanceOf(ReferenceConflictException.class);
+    soft.assertThat(futures.get(3).get().getCommit()).isNotNull();
+
+    // One update for the first commit, one for the group of queued commits
+    soft.assertThat(pointerUpdates).hasValue(2);
+    soft.assertThat(countCommits(store, branch)).isEqualTo(4);
+  }
+
+  @Test
+  public void groupFailsWithError() throws Exception {
+    CountDownLatch firstUpdate = new CountDownLatch(1);
+    CountDownLatch releaseFirstUpdate = new CountDownLatch(1);
+    AtomicInteger pointerUpdates = new AtomicInteger();
+    Error error = new Error("injected failure");
+    VersionStore store =
+        new VersionStoreImpl(
+            new PersistDelegate(persist) {
+              @Nonnull
+              @jakarta.annotation.Nonnull
+              @Override
+              public Reference updateReferencePointer(
+                  @Nonnull @jakarta.annotation.Nonnull Reference reference,
+                  @Nonnull @jakarta.annotation.Nonnull ObjId newPointer)
+                  throws RefNotFoundException, RefConditionFailedException {
+                switch (pointerUpdates.incrementAndGet()) {
+                  case 1:
+                    // Hold the first group, so that the following commits queue up
+                    firstUpdate.countDown();
+                    try {
+                      releaseFirstUpdate.await();
+                    } catch (InterruptedException e) {
+                      throw new RuntimeException(e);
+                    }
+                    break;
+                  case 2:
+                    throw error;
+                  default:
+                    break;
+                }
+                return super.updateReferencePointer(reference, newPointer);
+              }
+            });
+
+    BranchName branch = BranchName.of("error");
+    Hash base = store.create(branch, Optional.empty()).getHash();
+
+    Future<?> first =
+        executor.submit(() -> commitKey(store, branch, Optional.of(base), "first"));
+    firstUpdate.await();
+
+    List<Thread> queued = new ArrayList<>();
+    List<Future<CommitResult<Commit>>> futures = new ArrayList<>();
+    for (String key : new String[] {"key-1", "key-2", "key-3"}) {
+      CountDownLatch started = new CountDownLatch(1);
+      futures.add(
+          executor.submit(
+              () -> {
+                queued.add(Thread.currentThread());
+                started.countDown();
+                return commitKey(store, branch, Optional.of(base), key);
+              }));
+      started.await();
+      awaitWaiting(queued.get(queued.size() - 1));
+    }
+
+    releaseFirstUpdate.countDown();
+    first.get();
+
+    // All commits of the failed group must fail, not only the one of the thread that processed it
+    for (Future<CommitResult<Commit>> future : futures) {
+      soft.assertThatThrownBy(future::get)
+          .isInstanceOf(ExecutionException.class)
+          .cause()
+          .isSameAs(error);
+    }
+    soft.assertThat(pointerUpdates).hasValue(2);
+    soft.assertThat(countCommits(store, branch)).isEqualTo(1);
+  }
+
+  @Test
+  public void concurrentUpdateFallsBackToRetries() throws Exception {
+    VersionStore store = new VersionStoreImpl(persist);
+
+    BranchName branch = BranchName.of("fallback");
+    Hash base = store.create(branch, Optional.empty()).getHash();
+
+    AtomicBoolean intercepted = new AtomicBoolean();
+    VersionStore storeTested =
+        new VersionStoreImpl(
+            new PersistDelegate(persist) {
+              @Nonnull
+              @jakarta.annotation.Nonnull
+              @Override
+              public Reference updateReferencePointer(
+                  @Nonnull @jakarta.annotation.Nonnull Reference reference,
+                  @Nonnull @jakarta.annotation.Nonnull ObjId newPointer)
+                  throws RefNotFoundException, RefConditionFailedException {
+                if (intercepted.compareAndSet(false, true)) {
+                  // Simulate a commit via another Nessie instance
+                  try {
+                    commitKey(store, branch, Optional.of(base), "other-key");
+                  } catch (ReferenceNotFoundException | ReferenceConflictException e) {
+                    throw new RuntimeException(e);
+                  }
+                }
+                return super.updateReferencePointer(reference, newPointer);
+              }
+            });
+
+    soft.assertThat(commitKey(storeTested, branch, Optional.of(base), "some-key").getCommit())
+        .isNotNull();
+    soft.assertThat(countCommits(store, branch)).isEqualTo(2);
+  }
+
+  private static CommitResult<Commit> commitKey(
+      VersionStore store, BranchName branch, Optional<Hash> referenceHash, String key)
+      throws ReferenceNotFoundException, ReferenceConflictException {
+    return store.commit(
+        branch,
+        referenceHash,
+        fromMessage("commit " + key),
+        singletonList(Put.of(ContentKey.of(key), IcebergTable.of("meta", 42, 43, 44, 45))));
+  }
+
+  private static int countCommits(VersionStore store, BranchName branch) throws Exception {
+    int commits = 0;
+    try (PaginationIterator<Commit> iter = store.getCommits(branch, false)) {
+      for (; iter.hasNext(); iter.next()) {
+        commits++;
+      }
+    }
+    return commits;
+  }
+
+  /** Waits until the thread is blocked, waiting for the branch's lock. */
+  private static void awaitWaiting(Thread thread) throws InterruptedException {
+    while (thread.getState() != Thread.State.WAITING) {
+      Thread.sleep(1L);
+    }
+  }
+}
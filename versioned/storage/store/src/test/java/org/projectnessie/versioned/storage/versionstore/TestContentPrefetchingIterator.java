@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.versionstore;
+
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexElement.indexElement;
+import static org.projectnessie.versioned.storage.common.indexes.StoreKey.key;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitOp.Action.ADD;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitOp.commitOp;
+import static org.projectnessie.versioned.store.DefaultStoreWorker.payloadForContent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nonnull;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.projectnessie.model.Content;
+import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
+import org.projectnessie.versioned.storage.common.indexes.StoreIndexElement;
+import org.projectnessie.versioned.storage.common.objtypes.CommitOp;
+import org.projectnessie.versioned.storage.common.objtypes.ContentValueObj;
+import org.projectnessie.versioned.storage.common.persist.Obj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.ObjType;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.projectnessie.versioned.storage.testextension.NessiePersist;
+import org.projectnessie.versioned.storage.testextension.PersistExtension;
+import org.projectnessie.versioned.testworker.OnRefOnly;
+
+@ExtendWith({PersistExtension.class, SoftAssertionsExtension.class})
+public class TestContentPrefetchingIterator {
+  @NessiePersist protected static Persist persist;
+
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 3, 10, 11, 100})
+  public void batchedFetches(int batchSize) throws Exception {
+    AtomicInteger bulkFetches = new AtomicInteger();
+    AtomicInteger individualFetches = new AtomicInteger();
+    Persist counting =
+        new PersistDelegate(persist) {
+          @Override
+          public Obj[] fetchObjs(@Nonnull @jakarta.annotation.Nonnull ObjId[] ids)
+              throws ObjNotFoundException {
+            bulkFetches.incrementAndGet();
+            return super.fetchObjs(ids);
+          }
+
+          @Override
+          public <T extends Obj> T fetchTypedObj(
+              @Nonnull @jakarta.annotation.Nonnull ObjId id, ObjType type, Class<T> typeClass)
+              throws ObjNotFoundException {
+            individualFetches.incrementAndGet();
+            return super.fetchTypedObj(id, type, typeClass);
+          }
+        };
+    ContentMapping contentMapping = new ContentMapping(counting);
+
+    int numElements = 10;
+    List<StoreIndexElement<CommitOp>> elements = new ArrayList<>();
+    List<Content> contents = new ArrayList<>();
+    for (int i = 0; i < numElements; i++) {
+      Content content =
+          contentMapping.assignContentId(
+              OnRefOnly.newOnRef("value" + i), UUID.randomUUID().toString());
+      int payload = payloadForContent(content);
+      ContentValueObj value = contentMapping.buildContent(content, payload);
+      persist.storeObj(value);
+      contents.add(content);
+      elements.add(indexElement(key("k" + i), commitOp(ADD, payload, value.id())));
+    }
+
+    ContentPrefetchingIterator iter =
+        new ContentPrefetchingIterator(elements.iterator(), el -> true, contentMapping, batchSize);
+    List<Content> fetched = new ArrayList<>();
+    while (iter.hasNext()) {
+      StoreIndexElement<CommitOp> el = iter.next();
+      fetched.add(iter.content(el.content().value()));
+    }
+
+    soft.assertThat(fetched).containsExactlyElementsOf(contents);
+    soft.assertThat(bulkFetches).hasValue((numElements + batchSize - 1) / batchSize);
+    soft.assertThat(individualFetches).hasValue(0);
+
+    bulkFetches.set(0);
+    iter =
+        new ContentPrefetchingIterator(elements.iterator(), el -> false, contentMapping, batchSize);
+    soft.assertThat(iter).toIterable().containsExactlyElementsOf(elements);
+    soft.assertThat(bulkFetches).hasValue(0);
+  }
+}
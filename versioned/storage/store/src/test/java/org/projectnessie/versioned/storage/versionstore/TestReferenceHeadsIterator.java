@@ -0,0 +1,123 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.versionstore;
+
+import static java.util.Collections.emptyList;
+import static java.util.Objects.requireNonNull;
+import static org.projectnessie.versioned.storage.common.logic.CreateCommit.newCommitBuilder;
+import static org.projectnessie.versioned.storage.common.logic.Logics.commitLogic;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitHeaders.EMPTY_COMMIT_HEADERS;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.EMPTY_OBJ_ID;
+import static org.projectnessie.versioned.storage.common.persist.Reference.reference;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nonnull;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
+import org.projectnessie.versioned.storage.common.logic.CommitLogic;
+import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
+import org.projectnessie.versioned.storage.common.persist.Obj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.projectnessie.versioned.storage.common.persist.Reference;
+import org.projectnessie.versioned.storage.testextension.NessiePersist;
+import org.projectnessie.versioned.storage.testextension.PersistExtension;
+
+@ExtendWith({PersistExtension.class, SoftAssertionsExtension.class})
+public class TestReferenceHeadsIterator {
+  @NessiePersist protected static Persist persist;
+
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 2, 4, 50})
+  public void batchedHeads(int parallelism) throws Exception {
+    AtomicInteger bulkFetches = new AtomicInteger();
+    AtomicInteger individualFetches = new AtomicInteger();
+    Persist counting =
+        new PersistDelegate(persist) {
+          @Override
+          public Obj[] fetchObjs(@Nonnull @jakarta.annotation.Nonnull ObjId[] ids)
+              throws ObjNotFoundException {
+            bulkFetches.incrementAndGet();
+            return super.fetchObjs(ids);
+          }
+
+          @Override
+          public Obj fetchObj(@Nonnull @jakarta.annotation.Nonnull ObjId id)
+              throws ObjNotFoundException {
+            individualFetches.incrementAndGet();
+            return super.fetchObj(id);
+          }
+        };
+
+    CommitLogic commitLogic = commitLogic(persist);
+    List<CommitObj> commits = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      commits.add(
+          requireNonNull(
+              commitLogic.doCommit(
+                  newCommitBuilder()
+                      .parentCommitId(EMPTY_OBJ_ID)
+                      .headers(EMPTY_COMMIT_HEADERS)
+                      .message("commit " + i + " " + UUID.randomUUID())
+                      .build(),
+                  emptyList())));
+    }
+
+    // 10 + 20 + 15 references, read in 3 batches
+    int numReferences = 45;
+    List<Reference> references = new ArrayList<>();
+    List<ObjId> expectedHeads = new ArrayList<>();
+    for (int i = 0; i < numReferences; i++) {
+      CommitObj head = i % 4 == 3 ? null : commits.get(i % 4);
+      references.add(
+          reference("refs/heads/branch-" + i, head != null ? head.id() : EMPTY_OBJ_ID, false));
+      expectedHeads.add(head != null ? head.id() : null);
+    }
+
+    ReferenceHeadsIterator<ObjId> iter =
+        new ReferenceHeadsIterator<>(
+            references.iterator(),
+            counting,
+            (reference, head) -> head != null ? head.id() : null,
+            parallelism,
+            ForkJoinPool.commonPool());
+
+    List<Reference> resultReferences = new ArrayList<>();
+    List<ObjId> resultHeads = new ArrayList<>();
+    while (iter.hasNext()) {
+      Map.Entry<Reference, ObjId> entry = iter.next();
+      resultReferences.add(entry.getKey());
+      resultHeads.add(entry.getValue());
+    }
+
+    soft.assertThat(resultReferences).containsExactlyElementsOf(references);
+    soft.assertThat(resultHeads).containsExactlyElementsOf(expectedHeads);
+    soft.assertThat(bulkFetches).hasValue(3);
+    soft.assertThat(individualFetches).hasValue(0);
+  }
+}
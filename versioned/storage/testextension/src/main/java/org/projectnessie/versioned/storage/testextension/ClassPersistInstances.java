@@ -19,11 +19,13 @@ import static org.projectnessie.versioned.storage.common.logic.Logics.repository
 import static org.projectnessie.versioned.storage.testextension.PersistExtension.KEY_REUSABLE_BACKEND;
 import static org.projectnessie.versioned.storage.testextension.PersistExtension.NAMESPACE;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import org.junit.jupiter.api.extension.ExtensionContext;
 import org.junit.jupiter.api.extension.ExtensionContext.Store;
 import org.projectnessie.versioned.storage.cache.CacheBackend;
+import org.projectnessie.versioned.storage.cache.CacheConfig;
 import org.projectnessie.versioned.storage.cache.PersistCaches;
 import org.projectnessie.versioned.storage.common.config.StoreConfig;
 import org.projectnessie.versioned.storage.common.logic.RepositoryLogic;
@@ -46,7 +48,14 @@ final class ClassPersistInstances {
     NessiePersistCache nessiePersistCache =
         PersistExtension.annotationInstance(context, NessiePersistCache.class);
     cacheBackend =
-        nessiePersistCache != null ? PersistCaches.newBackend(nessiePersistCache.capacity()) : null;
+        nessiePersistCache != null
+            ? PersistCaches.newBackend(
+                CacheConfig.builder()
+                    .capacity(nessiePersistCache.capacity())
+                    .objCapacity(nessiePersistCache.objCapacity())
+                    .referenceTtl(Duration.ofMillis(nessiePersistCache.referenceTtlMillis()))
+                    .build())
+            : null;
 
     @SuppressWarnings("resource")
     Backend backend = reusableTestBackend.backend(context);
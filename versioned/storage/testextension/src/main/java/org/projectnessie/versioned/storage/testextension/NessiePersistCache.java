@@ -24,11 +24,16 @@ import java.lang.annotation.Target;
 /**
  * Adds a cache in front of the created {@link
  * org.projectnessie.versioned.storage.common.persist.Persist} instances, if the {@link #capacity()}
- * is {@code >= 0}.
+ * is {@code >= 0}. The tier for deserialized objects is enabled, if {@link #objCapacity()} is
+ * {@code > 0}, references are cached, if {@link #referenceTtlMillis()} is {@code > 0}.
  */
 @Target(ElementType.TYPE)
 @Retention(RetentionPolicy.RUNTIME)
 @Inherited
 public @interface NessiePersistCache {
   long capacity() default 1024 * 1024;
+
+  long objCapacity() default 0;
+
+  long referenceTtlMillis() default 0;
 }
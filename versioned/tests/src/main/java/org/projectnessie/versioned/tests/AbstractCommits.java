@@ -21,14 +21,17 @@ import static org.assertj.core.api.Assertions.tuple;
 import static org.assertj.core.api.Assumptions.assumeThat;
 import static org.assertj.core.api.InstanceOfAssertFactories.list;
 import static org.assertj.core.api.InstanceOfAssertFactories.type;
+import static org.projectnessie.versioned.KeyRestrictions.prefixKeyRestriction;
 import static org.projectnessie.versioned.testworker.OnRefOnly.newOnRef;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.Callable;
+import java.util.stream.Collectors;
 import org.assertj.core.api.SoftAssertions;
 import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
 import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
@@ -40,6 +43,7 @@ import org.projectnessie.model.Conflict;
 import org.projectnessie.model.Conflict.ConflictType;
 import org.projectnessie.model.Content;
 import org.projectnessie.model.ContentKey;
+import org.projectnessie.model.Namespace;
 import org.projectnessie.versioned.BranchName;
 import org.projectnessie.versioned.Commit;
 import org.projectnessie.versioned.CommitResult;
@@ -47,6 +51,7 @@ import org.projectnessie.versioned.Delete;
 import org.projectnessie.versioned.GetNamedRefsParams;
 import org.projectnessie.versioned.Hash;
 import org.projectnessie.versioned.KeyEntry;
+import org.projectnessie.versioned.KeyRestrictions;
 import org.projectnessie.versioned.Put;
 import org.projectnessie.versioned.ReferenceAlreadyExistsException;
 import org.projectnessie.versioned.ReferenceConflictException;
@@ -248,6 +253,66 @@ public abstract class AbstractCommits extends AbstractNestedVersionStore {
     soft.assertThat(store().getValue(initialCommit, ContentKey.of("t4"))).isNull();
   }
 
+  /*
+   * Test:
+   * - Create a new branch
+   * - Add namespaces and keys in those namespaces
+   * - Check keys returned for prefix and min/max key restrictions
+   */
+  @Test
+  public void keysWithRestrictions() throws Exception {
+    BranchName branch = BranchName.of("keysWithRestrictions");
+    store().create(branch, Optional.empty());
+
+    ContentKey ns = ContentKey.of("ns");
+    ContentKey nsSub = ContentKey.of("ns", "sub");
+    ContentKey ns2 = ContentKey.of("ns2");
+    ContentKey nsTable = ContentKey.of("ns", "t1");
+    ContentKey nsSubTable = ContentKey.of("ns", "sub", "t2");
+    ContentKey ns2Table = ContentKey.of("ns2", "t3");
+    ContentKey table = ContentKey.of("t4");
+
+    commit("Namespaces")
+        .put(ns, Namespace.of(ns))
+        .put(ns2, Namespace.of(ns2))
+        .toBranch(branch);
+    commit("Nested namespace").put(nsSub, Namespace.of(nsSub)).toBranch(branch);
+    commit("Tables")
+        .put(nsTable, V_1_1)
+        .put(nsSubTable, V_2_1)
+        .put(ns2Table, V_3_1)
+        .put(table, V_4_1)
+        .toBranch(branch);
+
+    soft.assertThat(keys(branch, KeyRestrictions.NO_KEY_RESTRICTIONS))
+        .containsExactlyInAnyOrder(ns, nsSub, ns2, nsTable, nsSubTable, ns2Table, table);
+    soft.assertThat(keys(branch, prefixKeyRestriction(ns)))
+        .containsExactlyInAnyOrder(ns, nsSub, nsTable, nsSubTable);
+    soft.assertThat(keys(branch, prefixKeyRestriction(nsSub)))
+        .containsExactlyInAnyOrder(nsSub, nsSubTable);
+    soft.assertThat(keys(branch, prefixKeyRestriction(ContentKey.of("n")))).isEmpty();
+    soft.assertThat(keys(branch, prefixKeyRestriction(ContentKey.of("ns", "sub", "t")))).isEmpty();
+    soft.assertThat(keys(branch, KeyRestrictions.builder().minKey(ns2).build()))
+        .containsExactlyInAnyOrder(ns2, ns2Table, table);
+    soft.assertThat(keys(branch, KeyRestrictions.builder().maxKey(nsSub).build()))
+        .containsExactlyInAnyOrder(ns, nsSub);
+    soft.assertThat(keys(branch, KeyRestrictions.builder().minKey(nsSub).maxKey(ns2).build()))
+        .containsExactlyInAnyOrder(nsSub, nsSubTable, nsTable, ns2);
+    soft.assertThat(
+            keys(branch, KeyRestrictions.builder().prefixKey(ns).minKey(nsSubTable).build()))
+        .containsExactlyInAnyOrder(nsSubTable, nsTable);
+    soft.assertThat(keys(branch, KeyRestrictions.builder().minKey(ns2).maxKey(ns).build()))
+        .isEmpty();
+  }
+
+  private List<ContentKey> keys(BranchName branch, KeyRestrictions keyRestrictions)
+      throws ReferenceNotFoundException {
+    try (PaginationIterator<KeyEntry> keys =
+        store().getKeys(branch, null, false, keyRestrictions)) {
+      return stream(keys).map(KeyEntry::getKey).collect(Collectors.toList());
+    }
+  }
+
   /*
    * Test:
    * - Create a new branch
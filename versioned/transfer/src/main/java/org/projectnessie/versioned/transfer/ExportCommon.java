@@ -49,7 +49,7 @@ abstract class ExportCommon {
 
       exporter.progressListener().progress(ProgressEvent.START_COMMITS);
       HeadsAndForks headsAndForks = exportCommits(exportContext);
-      exportContext.commitOutput.finishCurrentFile();
+      exportContext.finishCommitFiles();
       writeHeadsAndForks(headsAndForks);
       exporter.progressListener().progress(ProgressEvent.END_COMMITS);
 
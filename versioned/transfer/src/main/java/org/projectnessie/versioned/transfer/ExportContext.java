@@ -16,6 +16,8 @@
 package org.projectnessie.versioned.transfer;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import org.projectnessie.versioned.transfer.files.ExportFileSupplier;
 import org.projectnessie.versioned.transfer.serialize.TransferTypes.Commit;
 import org.projectnessie.versioned.transfer.serialize.TransferTypes.ExportMeta;
@@ -24,13 +26,20 @@ import org.projectnessie.versioned.transfer.serialize.TransferTypes.Ref;
 
 final class ExportContext {
 
+  private final ExportFileSupplier exportFiles;
+  private final NessieExporter exporter;
   private final ExportMeta.Builder exportMeta;
 
   final SizeLimitedOutput namedReferenceOutput;
   final SizeLimitedOutput commitOutput;
 
+  /** Additional commit outputs for concurrent exports, guarded by {@code this}. */
+  private final List<SizeLimitedOutput> commitShards = new ArrayList<>();
+
   ExportContext(
       ExportFileSupplier exportFiles, NessieExporter exporter, ExportMeta.Builder exportMeta) {
+    this.exportFiles = exportFiles;
+    this.exporter = exporter;
     this.exportMeta = exportMeta;
     namedReferenceOutput =
         new SizeLimitedOutput(
@@ -44,8 +53,40 @@ final class ExportContext {
             exportFiles,
             exporter,
             NessieExporter.COMMITS_PREFIX,
-            exportMeta::addCommitsFiles,
-            exportMeta::setCommitCount);
+            this::addCommitsFile,
+            count -> {});
+  }
+
+  private synchronized void addCommitsFile(String fileName) {
+    exportMeta.addCommitsFiles(fileName);
+  }
+
+  /**
+   * Returns the commit output for the given shard. Shard {@code 0} is {@link #commitOutput}, every
+   * other shard writes its own files, so threads that export commits concurrently do not share an
+   * output stream. A shard must only be used by one thread at a time.
+   */
+  synchronized SizeLimitedOutput commitShard(int shard) {
+    if (shard == 0) {
+      return commitOutput;
+    }
+    while (commitShards.size() < shard) {
+      commitShards.add(
+          new SizeLimitedOutput(
+              exportFiles,
+              exporter,
+              NessieExporter.COMMITS_PREFIX + "-" + (commitShards.size() + 1),
+              this::addCommitsFile,
+              count -> {}));
+    }
+    return commitShards.get(shard - 1);
+  }
+
+  private synchronized List<SizeLimitedOutput> commitOutputs() {
+    List<SizeLimitedOutput> outputs = new ArrayList<>(commitShards.size() + 1);
+    outputs.add(commitOutput);
+    outputs.addAll(commitShards);
+    return outputs;
   }
 
   public void writeRef(Ref ref) {
@@ -60,14 +101,25 @@ final class ExportContext {
     commitOutput.writeEntity(commit);
   }
 
+  void finishCommitFiles() throws IOException {
+    for (SizeLimitedOutput output : commitOutputs()) {
+      output.finishCurrentFile();
+    }
+  }
+
   ExportMeta finish() throws IOException {
     namedReferenceOutput.finish();
-    commitOutput.finish();
+    long commitCount = 0L;
+    for (SizeLimitedOutput output : commitOutputs()) {
+      output.finish();
+      commitCount += output.entityCount;
+    }
+    exportMeta.setCommitCount(commitCount);
     return exportMeta.build();
   }
 
   void closeSilently() {
     namedReferenceOutput.closeSilently();
-    commitOutput.closeSilently();
+    commitOutputs().forEach(SizeLimitedOutput::closeSilently);
   }
 }
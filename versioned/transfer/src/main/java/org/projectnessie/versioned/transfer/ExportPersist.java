@@ -23,6 +23,7 @@ import static org.projectnessie.versioned.storage.common.logic.Logics.referenceL
 import static org.projectnessie.versioned.storage.common.logic.Logics.repositoryLogic;
 import static org.projectnessie.versioned.storage.common.logic.ReferencesQuery.referencesQuery;
 import static org.projectnessie.versioned.storage.common.persist.ObjType.VALUE;
+import static org.projectnessie.versioned.transfer.TransferThreads.runConcurrently;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import java.io.IOException;
@@ -54,6 +55,8 @@ import org.projectnessie.versioned.transfer.serialize.TransferTypes.Ref;
 import org.projectnessie.versioned.transfer.serialize.TransferTypes.RepositoryDescriptionProto;
 
 final class ExportPersist extends ExportCommon {
+  private final Object progressLock = new Object();
+
   ExportPersist(ExportFileSupplier exportFiles, NessieExporter exporter) {
     super(exportFiles, exporter);
   }
@@ -72,15 +75,16 @@ final class ExportPersist extends ExportCommon {
   HeadsAndForks exportCommits(ExportContext exportContext) {
     IndexesLogic indexesLogic = indexesLogic(exporter.persist());
 
-    Consumer<CommitObj> commitHandler =
-        c -> {
-          Commit commit = mapCommitObj(c, indexesLogic);
-          exportContext.writeCommit(commit);
-          exporter.progressListener().progress(ProgressEvent.COMMIT_WRITTEN);
-        };
-
-    HeadsAndForkPoints headsAndForkPoints =
-        exporter.fullScan() ? scanDatabase(commitHandler) : scanAllReferences(commitHandler);
+    int parallelism = exporter.exportParallelism();
+    HeadsAndForkPoints headsAndForkPoints;
+    if (exporter.fullScan()) {
+      headsAndForkPoints = scanDatabase(commitHandler(exportContext.commitOutput, indexesLogic));
+    } else if (parallelism > 1) {
+      headsAndForkPoints = scanAllReferencesConcurrently(exportContext, indexesLogic, parallelism);
+    } else {
+      headsAndForkPoints =
+          scanAllReferences(commitHandler(exportContext.commitOutput, indexesLogic));
+    }
 
     HeadsAndForks.Builder hf =
         HeadsAndForks.newBuilder()
@@ -90,6 +94,16 @@ final class ExportPersist extends ExportCommon {
     return hf.build();
   }
 
+  private Consumer<CommitObj> commitHandler(SizeLimitedOutput output, IndexesLogic indexesLogic) {
+    return c -> {
+      Commit commit = mapCommitObj(c, indexesLogic);
+      output.writeEntity(commit);
+      synchronized (progressLock) {
+        exporter.progressListener().progress(ProgressEvent.COMMIT_WRITTEN);
+      }
+    };
+  }
+
   private HeadsAndForkPoints scanAllReferences(Consumer<CommitObj> commitHandler) {
     Persist persist = requireNonNull(exporter.persist());
 
@@ -98,25 +112,70 @@ final class ExportPersist extends ExportCommon {
             exporter.expectedCommitCount(), persist.config().currentTimeMicros());
 
     ReferenceLogic referenceLogic = referenceLogic(persist);
-    CommitLogic commitLogic = commitLogic(persist);
     referenceLogic
         .queryReferences(referencesQuery())
-        .forEachRemaining(
-            ref -> {
-              for (Iterator<CommitObj> commitIter =
-                      commitLogic.commitLog(commitLogQuery(ref.pointer()));
-                  commitIter.hasNext(); ) {
-                CommitObj commit = commitIter.next();
-                if (!identify.handleCommit(commit)) {
-                  break;
+        .forEachRemaining(ref -> walkCommitLog(ref, identify, commitHandler));
+
+    return identify.finish();
+  }
+
+  /**
+   * Walks the commit logs of the named references using {@code parallelism} threads. Each thread
+   * writes the commits to its own {@link ExportContext#commitShard(int) commit output}.
+   *
+   * <p>Commits that are reachable from multiple references are exported only once, because the
+   * commit log walk of a reference stops at the first commit that has already been seen by any
+   * thread, the same as for the sequential export.
+   */
+  private HeadsAndForkPoints scanAllReferencesConcurrently(
+      ExportContext exportContext, IndexesLogic indexesLogic, int parallelism) {
+    Persist persist = requireNonNull(exporter.persist());
+
+    IdentifyHeadsAndForkPoints identify =
+        new IdentifyHeadsAndForkPoints(
+            exporter.expectedCommitCount(), persist.config().currentTimeMicros());
+
+    Iterator<Reference> references = referenceLogic(persist).queryReferences(referencesQuery());
+    runConcurrently(
+        "nessie-export-",
+        parallelism,
+        shard -> {
+          Consumer<CommitObj> commitHandler =
+              commitHandler(exportContext.commitShard(shard), indexesLogic);
+          return () -> {
+            while (true) {
+              Reference ref;
+              synchronized (references) {
+                if (!references.hasNext()) {
+                  return;
                 }
-                commitHandler.accept(commit);
+                ref = references.next();
               }
-            });
+              walkCommitLog(ref, identify, commitHandler);
+            }
+          };
+        });
 
     return identify.finish();
   }
 
+  private void walkCommitLog(
+      Reference ref, IdentifyHeadsAndForkPoints identify, Consumer<CommitObj> commitHandler) {
+    CommitLogic commitLogic = commitLogic(exporter.persist());
+    for (Iterator<CommitObj> commitIter = commitLogic.commitLog(commitLogQuery(ref.pointer()));
+        commitIter.hasNext(); ) {
+      CommitObj commit = commitIter.next();
+      boolean commitNew;
+      synchronized (identify) {
+        commitNew = identify.handleCommit(commit);
+      }
+      if (!commitNew) {
+        break;
+      }
+      commitHandler.accept(commit);
+    }
+  }
+
   private HeadsAndForkPoints scanDatabase(Consumer<CommitObj> commitHandler) {
     CommitLogic commitLogic = commitLogic(requireNonNull(exporter.persist()));
     return commitLogic.identifyAllHeadsAndForkPoints(exporter.expectedCommitCount(), commitHandler);
@@ -23,9 +23,20 @@ import static org.projectnessie.versioned.storage.common.objtypes.CommitOp.Actio
 import static org.projectnessie.versioned.storage.common.objtypes.CommitOp.commitOp;
 import static org.projectnessie.versioned.storage.common.objtypes.CommitOp.contentIdMaybe;
 import static org.projectnessie.versioned.storage.common.objtypes.ContentValueObj.contentValue;
+import static org.projectnessie.versioned.transfer.TransferThreads.awaitAll;
+import static org.projectnessie.versioned.transfer.TransferThreads.newThreadPool;
+import static org.projectnessie.versioned.transfer.TransferThreads.runConcurrently;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.projectnessie.model.Content;
 import org.projectnessie.nessie.relocated.protobuf.ByteString;
 import org.projectnessie.versioned.storage.batching.BatchingPersist;
@@ -44,7 +55,14 @@ import org.projectnessie.versioned.transfer.serialize.TransferTypes.HeadsAndFork
 import org.projectnessie.versioned.transfer.serialize.TransferTypes.Operation;
 
 abstract class ImportPersistCommon extends ImportCommon {
+  /** Number of decoded commits per import worker that the reader can queue up. */
+  static final int QUEUED_COMMITS_PER_WORKER = 100;
+
+  /** Marks the end of the commits in the queue, one per import worker. */
+  private static final Commit END_OF_COMMITS = Commit.getDefaultInstance();
+
   protected final BatchingPersist persist;
+  private final Object progressLock = new Object();
 
   ImportPersistCommon(ExportMeta exportMeta, NessieImporter importer) {
     super(exportMeta, importer);
@@ -70,22 +88,49 @@ abstract class ImportPersistCommon extends ImportCommon {
   void importFinalize(HeadsAndForks headsAndForks) {
     try {
       IndexesLogic indexesLogic = indexesLogic(persist);
-      for (ByteString head : headsAndForks.getHeadsList()) {
-        try {
-          indexesLogic.completeIndexesInCommitChain(
-              ObjId.objIdFromBytes(head),
-              () -> importer.progressListener().progress(ProgressEvent.FINALIZE_PROGRESS));
-        } catch (ObjNotFoundException e) {
-          throw new RuntimeException(e);
-        }
+      int parallelism = importer.importParallelism();
+      if (parallelism <= 1) {
+        headsAndForks.getHeadsList().forEach(head -> completeIndexes(indexesLogic, head));
+        return;
       }
+
+      // Complete the shared history first. Afterwards, the not yet completed parts of the commit
+      // chains of the heads are disjoint and can be completed concurrently.
+      headsAndForks.getForkPointsList().forEach(fork -> completeIndexes(indexesLogic, fork));
+      persist.flush();
+
+      List<ByteString> heads = headsAndForks.getHeadsList();
+      AtomicInteger nextHead = new AtomicInteger();
+      runConcurrently(
+          "nessie-import-finalize-",
+          parallelism,
+          t ->
+              () -> {
+                for (int i; (i = nextHead.getAndIncrement()) < heads.size(); ) {
+                  completeIndexes(indexesLogic, heads.get(i));
+                }
+              });
     } finally {
       persist.flush();
     }
   }
 
+  private void completeIndexes(IndexesLogic indexesLogic, ByteString commitId) {
+    try {
+      indexesLogic.completeIndexesInCommitChain(
+          ObjId.objIdFromBytes(commitId), () -> progress(ProgressEvent.FINALIZE_PROGRESS));
+    } catch (ObjNotFoundException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
   @Override
   long importCommits() throws IOException {
+    int parallelism = importer.importParallelism();
+    if (parallelism > 1) {
+      return importCommitsConcurrently(parallelism);
+    }
+
     long commitCount = 0L;
     try {
       for (String fileName : exportMeta.getCommitsFilesList()) {
@@ -95,7 +140,7 @@ abstract class ImportPersistCommon extends ImportCommon {
             if (commit == null) {
               break;
             }
-            processCommit(commit);
+            processCommit(persist, commit);
             commitCount++;
           }
         } catch (ObjTooLargeException e) {
@@ -108,9 +153,116 @@ abstract class ImportPersistCommon extends ImportCommon {
     return commitCount;
   }
 
-  abstract void processCommit(Commit commit) throws IOException, ObjTooLargeException;
+  /**
+   * Pipelined commit import: the calling thread decodes the commits from the export files into a
+   * bounded queue, {@code parallelism} workers build the commit and content objects from the
+   * queue. Each worker has its own {@link BatchingPersist}, which hands off full batches to a pool
+   * of {@code parallelism} writer threads, so that building and writing objects overlap.
+   *
+   * <p>The order in which commits are written does not matter, because the indexes of all imported
+   * commits are incomplete until {@link #importFinalize(HeadsAndForks)}.
+   */
+  private long importCommitsConcurrently(int parallelism) throws IOException {
+    BlockingQueue<Commit> queue = new ArrayBlockingQueue<>(parallelism * QUEUED_COMMITS_PER_WORKER);
+    ExecutorService workers = newThreadPool("nessie-import-worker-", parallelism);
+    ExecutorService writers = newThreadPool("nessie-import-writer-", parallelism);
+    try {
+      List<CompletableFuture<Void>> futures = new ArrayList<>(parallelism);
+      for (int i = 0; i < parallelism; i++) {
+        futures.add(CompletableFuture.runAsync(() -> importWorker(queue, writers), workers));
+      }
+
+      long commitCount = 0L;
+      try {
+        for (String fileName : exportMeta.getCommitsFilesList()) {
+          try (InputStream input = importFiles.newFileInput(fileName)) {
+            while (true) {
+              Commit commit = Commit.parseDelimitedFrom(input);
+              if (commit == null) {
+                break;
+              }
+              enqueue(queue, commit, futures);
+              commitCount++;
+            }
+          }
+        }
+      } finally {
+        for (int i = 0; i < parallelism; i++) {
+          enqueue(queue, END_OF_COMMITS, futures);
+        }
+      }
+
+      awaitAll(futures);
+      return commitCount;
+    } finally {
+      workers.shutdownNow();
+      writers.shutdown();
+    }
+  }
+
+  private void importWorker(BlockingQueue<Commit> queue, ExecutorService writers) {
+    BatchingPersist workerPersist =
+        WriteBatching.builder()
+            .persist(requireNonNull(importer.persist()))
+            .batchSize(importer.commitBatchSize())
+            .optimistic(true)
+            .flushExecutor(writers)
+            .build()
+            .create();
+    try {
+      while (true) {
+        Commit commit = queue.take();
+        if (commit == END_OF_COMMITS) {
+          break;
+        }
+        processCommit(workerPersist, commit);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    } catch (IOException | ObjTooLargeException e) {
+      throw new RuntimeException(e);
+    } finally {
+      workerPersist.flush();
+    }
+  }
+
+  /**
+   * Adds a commit to the queue, fails if a worker has terminated, because that can only happen
+   * after a failure, which would otherwise let the reader wait forever.
+   */
+  private static void enqueue(
+      BlockingQueue<Commit> queue, Commit commit, List<CompletableFuture<Void>> workers) {
+    try {
+      while (!queue.offer(commit, 100, TimeUnit.MILLISECONDS)) {
+        for (CompletableFuture<Void> worker : workers) {
+          if (worker.isDone()) {
+            awaitAll(workers);
+            throw new IllegalStateException("Import worker terminated unexpectedly");
+          }
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    }
+  }
+
+  /**
+   * Reports a progress event. Events may be reported by multiple import threads, the events are
+   * serialized here, so {@link ProgressListener} implementations do not need to be thread-safe.
+   */
+  void progress(ProgressEvent event) {
+    synchronized (progressLock) {
+      importer.progressListener().progress(event);
+    }
+  }
+
+  abstract void processCommit(BatchingPersist persist, Commit commit)
+      throws IOException, ObjTooLargeException;
 
-  void processCommitOp(StoreIndex<CommitOp> index, Operation op, StoreKey storeKey) {
+  void processCommitOp(
+      BatchingPersist persist, StoreIndex<CommitOp> index, Operation op, StoreKey storeKey) {
     byte payload = (byte) op.getPayload();
     switch (op.getOperationType()) {
       case Delete:
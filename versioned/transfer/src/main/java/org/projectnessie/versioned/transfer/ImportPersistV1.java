@@ -26,6 +26,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import org.projectnessie.model.CommitMeta;
 import org.projectnessie.model.ContentKey;
+import org.projectnessie.versioned.storage.batching.BatchingPersist;
 import org.projectnessie.versioned.storage.common.exceptions.ObjTooLargeException;
 import org.projectnessie.versioned.storage.common.exceptions.RefAlreadyExistsException;
 import org.projectnessie.versioned.storage.common.exceptions.RetryTimeoutException;
@@ -95,7 +96,8 @@ final class ImportPersistV1 extends ImportPersistCommon {
   }
 
   @Override
-  void processCommit(Commit commit) throws IOException, ObjTooLargeException {
+  void processCommit(BatchingPersist persist, Commit commit)
+      throws IOException, ObjTooLargeException {
     CommitMeta metadata;
     try (InputStream in = commit.getMetadata().newInput()) {
       metadata = importer.objectMapper().readValue(in, CommitMeta.class);
@@ -119,13 +121,13 @@ final class ImportPersistV1 extends ImportPersistCommon {
         .forEach(
             op -> {
               StoreKey storeKey = keyToStoreKey(ContentKey.of(op.getContentKeyList()));
-              processCommitOp(index, op, storeKey);
+              processCommitOp(persist, index, op, storeKey);
             });
 
     c.incrementalIndex(index.serialize());
 
     persist.storeObj(c.build());
 
-    importer.progressListener().progress(ProgressEvent.COMMIT_WRITTEN);
+    progress(ProgressEvent.COMMIT_WRITTEN);
   }
 }
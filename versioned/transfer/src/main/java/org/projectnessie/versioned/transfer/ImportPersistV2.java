@@ -25,6 +25,7 @@ import static org.projectnessie.versioned.storage.common.objtypes.CommitObj.comm
 import java.io.IOException;
 import java.io.InputStream;
 import java.time.Instant;
+import org.projectnessie.versioned.storage.batching.BatchingPersist;
 import org.projectnessie.versioned.storage.common.exceptions.ObjTooLargeException;
 import org.projectnessie.versioned.storage.common.exceptions.RefAlreadyExistsException;
 import org.projectnessie.versioned.storage.common.exceptions.RetryTimeoutException;
@@ -95,7 +96,7 @@ final class ImportPersistV2 extends ImportPersistCommon {
   }
 
   @Override
-  void processCommit(Commit commit) throws ObjTooLargeException {
+  void processCommit(BatchingPersist persist, Commit commit) throws ObjTooLargeException {
     CommitHeaders.Builder headers = newCommitHeaders();
     commit
         .getHeadersList()
@@ -119,13 +120,13 @@ final class ImportPersistV2 extends ImportPersistCommon {
         .forEach(
             op -> {
               StoreKey storeKey = keyFromString(op.getContentKey(0));
-              processCommitOp(index, op, storeKey);
+              processCommitOp(persist, index, op, storeKey);
             });
 
     c.incrementalIndex(index.serialize());
 
     persist.storeObj(c.build());
 
-    importer.progressListener().progress(ProgressEvent.COMMIT_WRITTEN);
+    progress(ProgressEvent.COMMIT_WRITTEN);
   }
 }
@@ -17,6 +17,7 @@ package org.projectnessie.versioned.transfer;
 
 import static com.google.common.base.Preconditions.checkState;
 import static org.projectnessie.versioned.transfer.ExportImportConstants.DEFAULT_BUFFER_SIZE;
+import static org.projectnessie.versioned.transfer.ExportImportConstants.DEFAULT_EXPORT_PARALLELISM;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.IOException;
@@ -71,6 +72,14 @@ public abstract class NessieExporter {
      */
     Builder expectedCommitCount(int expectedCommitCount);
 
+    /**
+     * Optional, specify the number of threads that walk the commit logs of the named references,
+     * defaults to {@value ExportImportConstants#DEFAULT_EXPORT_PARALLELISM}. Each thread writes the
+     * commits to its own set of files. Only effective when exporting from a {@code Persist} without
+     * {@link #fullScan(boolean)}.
+     */
+    Builder exportParallelism(int exportParallelism);
+
     Builder progressListener(ProgressListener progressListener);
 
     Builder exportFileSupplier(ExportFileSupplier exportFileSupplier);
@@ -93,6 +102,7 @@ public abstract class NessieExporter {
     checkState(
         persist() == null ^ databaseAdapter() == null,
         "Must supply either persist() or databaseAdapter(), never both");
+    checkState(exportParallelism() > 0, "exportParallelism must be positive");
   }
 
   /**
@@ -130,6 +140,11 @@ public abstract class NessieExporter {
     return ExportImportConstants.DEFAULT_EXPECTED_COMMIT_COUNT;
   }
 
+  @Value.Default
+  int exportParallelism() {
+    return DEFAULT_EXPORT_PARALLELISM;
+  }
+
   abstract ExportFileSupplier exportFileSupplier();
 
   @Value.Default
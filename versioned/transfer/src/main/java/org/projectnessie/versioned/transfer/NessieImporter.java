@@ -18,6 +18,7 @@ package org.projectnessie.versioned.transfer;
 import static com.google.common.base.Preconditions.checkState;
 import static org.projectnessie.versioned.transfer.ExportImportConstants.DEFAULT_ATTACHMENT_BATCH_SIZE;
 import static org.projectnessie.versioned.transfer.ExportImportConstants.DEFAULT_COMMIT_BATCH_SIZE;
+import static org.projectnessie.versioned.transfer.ExportImportConstants.DEFAULT_IMPORT_PARALLELISM;
 import static org.projectnessie.versioned.transfer.ExportImportConstants.EXPORT_METADATA;
 import static org.projectnessie.versioned.transfer.ExportImportConstants.HEADS_AND_FORKS;
 import static org.projectnessie.versioned.transfer.ExportImportConstants.REPOSITORY_DESCRIPTION;
@@ -69,6 +70,14 @@ public abstract class NessieImporter {
      */
     Builder attachmentBatchSize(int attachmentBatchSize);
 
+    /**
+     * Optional, specify the number of threads that build and write the imported commits and that
+     * complete the commit indexes of independent branch heads, defaults to {@value
+     * ExportImportConstants#DEFAULT_IMPORT_PARALLELISM}, which imports sequentially. Only
+     * effective when importing into a {@code Persist}.
+     */
+    Builder importParallelism(int importParallelism);
+
     Builder progressListener(ProgressListener progressListener);
 
     Builder importFileSupplier(ImportFileSupplier importFileSupplier);
@@ -89,6 +98,7 @@ public abstract class NessieImporter {
     checkState(
         persist() == null ^ databaseAdapter() == null,
         "Must supply either persist() or databaseAdapter(), never both");
+    checkState(importParallelism() > 0, "importParallelism must be positive");
   }
 
   @Value.Default
@@ -101,6 +111,11 @@ public abstract class NessieImporter {
     return DEFAULT_ATTACHMENT_BATCH_SIZE;
   }
 
+  @Value.Default
+  int importParallelism() {
+    return DEFAULT_IMPORT_PARALLELISM;
+  }
+
   @Value.Default
   StoreWorker storeWorker() {
     return DefaultStoreWorker.instance();
@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.transfer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+/** Helpers to run the concurrent parts of exports and imports. */
+final class TransferThreads {
+
+  private TransferThreads() {}
+
+  /** Creates a fixed size pool of daemon threads with names starting with {@code namePrefix}. */
+  static ExecutorService newThreadPool(String namePrefix, int threads) {
+    AtomicInteger threadNum = new AtomicInteger();
+    return Executors.newFixedThreadPool(
+        threads,
+        r -> {
+          Thread t = new Thread(r, namePrefix + threadNum.incrementAndGet());
+          t.setDaemon(true);
+          return t;
+        });
+  }
+
+  /**
+   * Runs {@code parallelism} tasks, provided by {@code task} for each task index, on a new thread
+   * pool and waits for all of them to finish.
+   */
+  static void runConcurrently(String namePrefix, int parallelism, IntFunction<Runnable> task) {
+    ExecutorService executor = newThreadPool(namePrefix, parallelism);
+    try {
+      List<CompletableFuture<Void>> futures = new ArrayList<>(parallelism);
+      for (int i = 0; i < parallelism; i++) {
+        futures.add(CompletableFuture.runAsync(task.apply(i), executor));
+      }
+      awaitAll(futures);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /** Waits for all futures to finish, rethrows the failure of the first failed future. */
+  static void awaitAll(List<CompletableFuture<Void>> futures) {
+    try {
+      CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+    } catch (CompletionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw e;
+    }
+  }
+}
@@ -21,18 +21,39 @@ import static java.nio.file.Files.createDirectories;
 import static java.nio.file.Files.newOutputStream;
 
 import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 import javax.annotation.Nonnull;
 import org.immutables.value.Value;
 
-/** Nessie exporter that creates a ZIP file. */
+/**
+ * Nessie exporter that creates a ZIP file.
+ *
+ * <p>A ZIP file can only be written one entry at a time. Files that are written while another file
+ * is being written, for example by a concurrent export, are spooled to a temporary file and
+ * compressed into the ZIP file by a background thread, once complete.
+ */
 @Value.Immutable
 public abstract class ZipArchiveExporter implements ExportFileSupplier {
 
+  /** Held while an entry is written to the ZIP output. */
+  private final Semaphore zipEntryPermit = new Semaphore(1);
+
+  private ExecutorService spoolAppender;
+  private final List<Future<?>> spooledEntries = new ArrayList<>();
+
   public static Builder builder() {
     return ImmutableZipArchiveExporter.builder();
   }
@@ -70,22 +91,97 @@ public abstract class ZipArchiveExporter implements ExportFileSupplier {
         fileName.indexOf('/') == -1 && fileName.indexOf('\\') == -1, "Directories not supported");
     checkArgument(!fileName.isEmpty(), "Invalid file name argument");
 
-    ZipOutputStream out = zipOutput();
-    out.putNextEntry(new ZipEntry(fileName));
-    return new NonClosingOutputStream(out);
+    ZipOutputStream zip = zipOutput();
+    if (zipEntryPermit.tryAcquire()) {
+      try {
+        zip.putNextEntry(new ZipEntry(fileName));
+      } catch (IOException | RuntimeException e) {
+        zipEntryPermit.release();
+        throw e;
+      }
+      return new NonClosingOutputStream(zip, zipEntryPermit::release);
+    }
+
+    // Another entry is currently being written, spool this one and append it to the ZIP file later.
+    Path spoolFile =
+        Files.createTempFile(outputFile().toAbsolutePath().getParent(), ".nessie-export-", ".tmp");
+    return new FilterOutputStream(new BufferedOutputStream(newOutputStream(spoolFile))) {
+      private boolean open = true;
+
+      @Override
+      public void write(byte[] b, int off, int len) throws IOException {
+        out.write(b, off, len);
+      }
+
+      @Override
+      public void close() throws IOException {
+        if (open) {
+          open = false;
+          super.close();
+          appendSpooled(fileName, spoolFile);
+        }
+      }
+    };
+  }
+
+  private synchronized void appendSpooled(String fileName, Path spoolFile) {
+    if (spoolAppender == null) {
+      spoolAppender =
+          Executors.newSingleThreadExecutor(
+              r -> {
+                Thread t = new Thread(r, "nessie-export-zip");
+                t.setDaemon(true);
+                return t;
+              });
+    }
+    spooledEntries.add(
+        spoolAppender.submit(
+            () -> {
+              zipEntryPermit.acquireUninterruptibly();
+              try {
+                ZipOutputStream out = zipOutput();
+                out.putNextEntry(new ZipEntry(fileName));
+                Files.copy(spoolFile, out);
+                out.closeEntry();
+              } finally {
+                zipEntryPermit.release();
+                Files.deleteIfExists(spoolFile);
+              }
+              return null;
+            }));
   }
 
   @Override
   public void close() throws Exception {
-    zipOutput().close();
+    List<Future<?>> pending;
+    synchronized (this) {
+      pending = new ArrayList<>(spooledEntries);
+      if (spoolAppender != null) {
+        spoolAppender.shutdown();
+      }
+    }
+    try {
+      for (Future<?> entry : pending) {
+        try {
+          entry.get();
+        } catch (ExecutionException e) {
+          Throwable cause = e.getCause();
+          throw cause instanceof Exception ? (Exception) cause : e;
+        }
+      }
+    } finally {
+      zipOutput().close();
+    }
   }
 
   private static final class NonClosingOutputStream extends OutputStream {
     private final ZipOutputStream out;
+    private final Runnable onClose;
     private boolean open = true;
 
-    private NonClosingOutputStream(ZipOutputStream out) {
+    private NonClosingOutputStream(ZipOutputStream out, Runnable onClose) {
       this.out = out;
+      this.onClose = onClose;
     }
 
     @Override
@@ -119,6 +215,7 @@ public abstract class ZipArchiveExporter implements ExportFileSupplier {
           out.closeEntry();
         } finally {
           open = false;
+          onClose.run();
         }
       }
     }
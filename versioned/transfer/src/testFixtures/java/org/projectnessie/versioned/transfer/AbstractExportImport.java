@@ -28,15 +28,24 @@ import static org.projectnessie.versioned.transfer.ExportImportConstants.HEADS_A
 import static org.projectnessie.versioned.transfer.ExportImportTestUtil.commitMeta;
 import static org.projectnessie.versioned.transfer.ExportImportTestUtil.intToHash;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.time.Clock;
 import java.time.Instant;
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import org.junit.jupiter.api.Test;
@@ -253,6 +262,56 @@ public abstract class AbstractExportImport {
     assertThat(createdCommits.cardinality()).isEqualTo(numCommits);
   }
 
+  @Test
+  public void concurrentFileOutputs(@TempDir Path targetDir) throws Exception {
+    int numFiles = 8;
+    int numLines = 10_000;
+
+    ExecutorService executor = Executors.newFixedThreadPool(numFiles);
+    try (ExportFileSupplier exportFileSupplier = prepareExporter(targetDir)) {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int f = 0; f < numFiles; f++) {
+        String fileName = "file-" + f;
+        futures.add(
+            executor.submit(
+                () -> {
+                  try (Writer writer =
+                      new OutputStreamWriter(
+                          exportFileSupplier.newFileOutput(fileName), StandardCharsets.UTF_8)) {
+                    for (int i = 0; i < numLines; i++) {
+                      writer.write(fileName + " line " + i + "\n");
+                    }
+                  }
+                  return null;
+                }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    List<String> expectedFileNames =
+        IntStream.range(0, numFiles).mapToObj(f -> "file-" + f).collect(Collectors.toList());
+    assertThat(listFiles(targetDir)).containsExactlyInAnyOrderElementsOf(expectedFileNames);
+
+    try (ImportFileSupplier importFileSupplier = prepareImporter(targetDir)) {
+      for (String fileName : expectedFileNames) {
+        try (BufferedReader reader =
+            new BufferedReader(
+                new InputStreamReader(
+                    importFileSupplier.newFileInput(fileName), StandardCharsets.UTF_8))) {
+          assertThat(reader.lines())
+              .containsExactlyElementsOf(
+                  IntStream.range(0, numLines)
+                      .mapToObj(i -> fileName + " line " + i)
+                      .collect(Collectors.toList()));
+        }
+      }
+    }
+  }
+
   protected abstract ExportMeta readMeta(Path targetDir) throws IOException;
 
   protected abstract HeadsAndForks readHeadsAndForks(Path targetDir) throws IOException;